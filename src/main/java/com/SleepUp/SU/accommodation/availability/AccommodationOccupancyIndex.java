@@ -0,0 +1,135 @@
+package com.SleepUp.SU.accommodation.availability;
+
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.availability.ReservationInterval;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Occupancy bitmap per accommodation, used by the filter to prune booked candidates
+ * without a reservation subquery. Bitmaps start the night before today so that the
+ * inclusive date semantics of the filter can be answered from the first searchable day.
+ * The bitmap of an accommodation is recomputed and persisted with its origin after each reservation
+ * commit; other replicas pick the persisted copy up on their next sync when their origin matches.
+ */
+@Component
+public class AccommodationOccupancyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AccommodationOccupancyIndex.class);
+
+    private final AccommodationRepository accommodationRepository;
+    private final ReservationRepository reservationRepository;
+    private final TransactionTemplate requiresNewTransaction;
+    private final int horizonDays;
+
+    private volatile Map<Long, OccupancyBitmap> bitmaps = new ConcurrentHashMap<>();
+    private volatile LocalDate origin;
+    private volatile LocalDateTime lastSync;
+
+    public AccommodationOccupancyIndex(AccommodationRepository accommodationRepository,
+                                       ReservationRepository reservationRepository,
+                                       PlatformTransactionManager transactionManager,
+                                       AppProperties appProperties) {
+        this.accommodationRepository = accommodationRepository;
+        this.reservationRepository = reservationRepository;
+        this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+        this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.horizonDays = appProperties.getAvailability().getOccupancyHorizonDays();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 5 0 * * *")
+    public void rebuildAll() {
+        LocalDateTime startedAt = LocalDateTime.now();
+        LocalDate newOrigin = LocalDate.now().minusDays(1);
+
+        Map<Long, List<ReservationInterval>> staysByAccommodation = reservationRepository
+                .findAllActiveIntervals(newOrigin, BookingStatus.CANCELLED).stream()
+                .collect(Collectors.groupingBy(ReservationInterval::accommodationId));
+
+        Map<Long, OccupancyBitmap> rebuilt = new ConcurrentHashMap<>();
+        staysByAccommodation.forEach((accommodationId, stays) ->
+                rebuilt.put(accommodationId, OccupancyBitmap.of(newOrigin, horizonDays, stays)));
+
+        bitmaps = rebuilt;
+        origin = newOrigin;
+        lastSync = startedAt;
+        log.info("Occupancy index rebuilt for {} accommodations", rebuilt.size());
+    }
+
+    @Scheduled(fixedDelayString = "${availability.occupancy-sync-ms:60000}")
+    public void syncFromDatabase() {
+        LocalDate currentOrigin = origin;
+        if (currentOrigin == null) {
+            return;
+        }
+        LocalDateTime startedAt = LocalDateTime.now();
+        for (OccupancySnapshot snapshot : accommodationRepository.findOccupancyUpdatedSince(lastSync)) {
+            if (snapshot.bitmap() != null && currentOrigin.equals(snapshot.origin())) {
+                bitmaps.put(snapshot.accommodationId(),
+                        OccupancyBitmap.fromBytes(currentOrigin, horizonDays, snapshot.bitmap()));
+            }
+        }
+        lastSync = startedAt;
+    }
+
+    /**
+     * Recomputes the bitmap of one accommodation from its reservations and persists it.
+     * Must run outside the transaction that changed the reservations.
+     */
+    public void refresh(Long accommodationId) {
+        LocalDate currentOrigin = origin;
+        if (currentOrigin == null || accommodationId == null) {
+            return;
+        }
+        OccupancyBitmap bitmap = OccupancyBitmap.of(currentOrigin, horizonDays,
+                reservationRepository.findActiveIntervalsForAccommodation(accommodationId, currentOrigin, BookingStatus.CANCELLED));
+        bitmaps.put(accommodationId, bitmap);
+        requiresNewTransaction.executeWithoutResult(status ->
+                accommodationRepository.updateOccupancy(accommodationId, bitmap.toBytes(), currentOrigin, LocalDateTime.now()));
+    }
+
+    /**
+     * Returns the ids of accommodations with a non-cancelled stay touching {@code [fromDate, toDate]},
+     * using the same inclusive bounds as {@code AccommodationSpecification.noBookingOverlap}.
+     * Empty when the index is not built yet or the range runs past the horizon.
+     */
+    public Optional<Set<Long>> findOccupied(LocalDate fromDate, LocalDate toDate) {
+        LocalDate currentOrigin = origin;
+        long fromNight = fromDate.toEpochDay() - 1;
+        long toNight = toDate.toEpochDay() + 1;
+        if (currentOrigin == null
+                || fromNight < currentOrigin.toEpochDay()
+                || toNight > currentOrigin.toEpochDay() + horizonDays) {
+            return Optional.empty();
+        }
+
+        Set<Long> occupied = new HashSet<>();
+        bitmaps.forEach((accommodationId, bitmap) -> {
+            if (!bitmap.isFree(fromNight, toNight)) {
+                occupied.add(accommodationId);
+            }
+        });
+        return Optional.of(occupied);
+    }
+}
@@ -0,0 +1,96 @@
+package com.SleepUp.SU.accommodation.availability;
+
+import com.SleepUp.SU.reservation.availability.ReservationInterval;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDate;
+import java.util.Collection;
+
+/**
+ * One bit per night over a fixed horizon starting at {@code origin}.
+ * Bit {@code i} is set when the night of {@code origin + i} is taken by a non-cancelled stay.
+ */
+public final class OccupancyBitmap {
+
+    private final long originDay;
+    private final int horizonDays;
+    private final long[] words;
+
+    private OccupancyBitmap(long originDay, int horizonDays, long[] words) {
+        this.originDay = originDay;
+        this.horizonDays = horizonDays;
+        this.words = words;
+    }
+
+    public static OccupancyBitmap of(LocalDate origin, int horizonDays, Collection<ReservationInterval> stays) {
+        OccupancyBitmap bitmap = new OccupancyBitmap(origin.toEpochDay(), horizonDays, new long[wordCount(horizonDays)]);
+        stays.forEach(stay -> bitmap.markNights(stay.startDay(), stay.endDay()));
+        return bitmap;
+    }
+
+    public static OccupancyBitmap fromBytes(LocalDate origin, int horizonDays, byte[] bytes) {
+        long[] words = new long[wordCount(horizonDays)];
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        for (int i = 0; i < words.length && buffer.remaining() >= Long.BYTES; i++) {
+            words[i] = buffer.getLong();
+        }
+        return new OccupancyBitmap(origin.toEpochDay(), horizonDays, words);
+    }
+
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(words.length * Long.BYTES);
+        for (long word : words) {
+            buffer.putLong(word);
+        }
+        return buffer.array();
+    }
+
+    public LocalDate getOrigin() {
+        return LocalDate.ofEpochDay(originDay);
+    }
+
+    /**
+     * True when every night of {@code [fromDay, toDay)} falls inside the horizon.
+     */
+    public boolean covers(long fromDay, long toDay) {
+        return fromDay >= originDay && toDay <= originDay + horizonDays;
+    }
+
+    /**
+     * True when no night of {@code [fromDay, toDay)} is taken. Nights outside the horizon are ignored.
+     */
+    public boolean isFree(long fromDay, long toDay) {
+        int from = (int) Math.max(0, fromDay - originDay);
+        int to = (int) Math.min(horizonDays, toDay - originDay);
+        if (from >= to) {
+            return true;
+        }
+        int firstWord = from >>> 6;
+        int lastWord = (to - 1) >>> 6;
+        for (int i = firstWord; i <= lastWord; i++) {
+            long mask = -1L;
+            if (i == firstWord) {
+                mask &= -1L << (from & 63);
+            }
+            if (i == lastWord) {
+                mask &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            if ((words[i] & mask) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void markNights(long fromDay, long toDay) {
+        int from = (int) Math.max(0, fromDay - originDay);
+        int to = (int) Math.min(horizonDays, toDay - originDay);
+        for (int night = from; night < to; night++) {
+            words[night >>> 6] |= 1L << (night & 63);
+        }
+    }
+
+    private static int wordCount(int horizonDays) {
+        return (horizonDays + 63) >>> 6;
+    }
+}
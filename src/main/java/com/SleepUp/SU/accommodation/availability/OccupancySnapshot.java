@@ -0,0 +1,12 @@
+package com.SleepUp.SU.accommodation.availability;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record OccupancySnapshot(
+        Long accommodationId,
+        byte[] bitmap,
+        LocalDate origin,
+        LocalDateTime updatedAt
+) {
+}
@@ -0,0 +1,95 @@
+package com.SleepUp.SU.accommodation.catalog;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.UnaryOperator;
+
+/**
+ * Read model of the accommodation catalog, answering anonymous listings and filters without a query.
+ * Readers take the current {@link CatalogSnapshot} through a volatile read and never lock; writes made
+ * through {@code AccommodationServiceImpl} derive a new snapshot after commit, and a rebuild every
+ * {@code search.catalog-rebuild-ms} picks up changes made on other replicas. Its 30 second default keeps
+ * them no staler than the entries of the filter result cache.
+ */
+@Component
+public class AccommodationCatalog {
+
+    private static final Logger log = LoggerFactory.getLogger(AccommodationCatalog.class);
+
+    private final AccommodationRepository accommodationRepository;
+
+    private volatile CatalogSnapshot snapshot;
+    private List<UnaryOperator<CatalogSnapshot>> writesDuringRebuild;
+
+    public AccommodationCatalog(AccommodationRepository accommodationRepository) {
+        this.accommodationRepository = accommodationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${search.catalog-rebuild-ms:30000}",
+            initialDelayString = "${search.catalog-rebuild-ms:30000}")
+    public void rebuildAll() {
+        synchronized (this) {
+            writesDuringRebuild = new ArrayList<>();
+        }
+        CatalogSnapshot rebuilt = null;
+        try {
+            rebuilt = CatalogSnapshot.of(accommodationRepository.findAllCatalogEntries());
+        } finally {
+            synchronized (this) {
+                if (rebuilt != null) {
+                    // Writes committed while the rows were read may be missing from them; replaying is idempotent
+                    for (UnaryOperator<CatalogSnapshot> write : writesDuringRebuild) {
+                        rebuilt = write.apply(rebuilt);
+                    }
+                    snapshot = rebuilt;
+                }
+                writesDuringRebuild = null;
+            }
+        }
+        log.info("Accommodation catalog rebuilt with {} accommodations", rebuilt.size());
+    }
+
+    /**
+     * Stores the current state of an accommodation once the surrounding transaction commits.
+     */
+    public void onSaved(Accommodation accommodation) {
+        CatalogEntry entry = CatalogEntry.of(accommodation);
+        TransactionUtil.afterCommit(() -> apply(current -> current.with(entry)));
+    }
+
+    /**
+     * Drops an accommodation once the surrounding transaction commits.
+     */
+    public void onDeleted(Long accommodationId) {
+        TransactionUtil.afterCommit(() -> apply(current -> current.without(accommodationId)));
+    }
+
+    /**
+     * The current snapshot; empty until the first build completes, in which case callers query the database.
+     */
+    public Optional<CatalogSnapshot> snapshot() {
+        return Optional.ofNullable(snapshot);
+    }
+
+    private synchronized void apply(UnaryOperator<CatalogSnapshot> write) {
+        CatalogSnapshot current = snapshot;
+        if (current != null) {
+            snapshot = write.apply(current);
+        }
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.SleepUp.SU.accommodation.catalog;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of one accommodation kept by the catalog read model.
+ */
+public record CatalogEntry(
+        Long id,
+        String name,
+        Double price,
+        int guestNumber,
+        Boolean petFriendly,
+        String location,
+        String imageUrl,
+        LocalDate availableFrom,
+        LocalDate availableTo
+) {
+    public static CatalogEntry of(Accommodation accommodation) {
+        return new CatalogEntry(
+                accommodation.getId(),
+                accommodation.getName(),
+                accommodation.getPrice(),
+                accommodation.getGuestNumber(),
+                accommodation.getPetFriendly(),
+                accommodation.getLocation(),
+                accommodation.getImageUrl(),
+                accommodation.getAvailableFrom(),
+                accommodation.getAvailableTo()
+        );
+    }
+
+    AccommodationResponseSummary summary() {
+        return new AccommodationResponseSummary(id, name, price, guestNumber, Boolean.TRUE.equals(petFriendly), location, imageUrl);
+    }
+}
@@ -0,0 +1,94 @@
+package com.SleepUp.SU.accommodation.catalog;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The rows of one {@link CatalogSnapshot} matching a filter, read back as an offset page in id order,
+ * a slice, or a keyset page in the order of a sort key.
+ */
+public final class CatalogSelection {
+
+    private final CatalogSnapshot snapshot;
+    private final BitSet rows;
+
+    CatalogSelection(CatalogSnapshot snapshot, BitSet rows) {
+        this.snapshot = snapshot;
+        this.rows = rows;
+    }
+
+    public long count() {
+        return rows.cardinality();
+    }
+
+    public Page<AccommodationResponseSummary> page(Pageable pageable) {
+        return new PageImpl<>(collect(pageable.getOffset(), pageable.getPageSize()), pageable, count());
+    }
+
+    public Slice<AccommodationResponseSummary> slice(Pageable pageable) {
+        List<AccommodationResponseSummary> content = collect(pageable.getOffset(), pageable.getPageSize() + 1);
+        boolean hasNext = content.size() > pageable.getPageSize();
+        return new SliceImpl<>(hasNext ? content.subList(0, pageable.getPageSize()) : content, pageable, hasNext);
+    }
+
+    /**
+     * Up to {@code size} rows strictly after {@code position} in the order of {@code sortKey},
+     * with the cursor of the last one when more follow.
+     */
+    public CursorPage<AccommodationResponseSummary> cursorPage(AccommodationSortKey sortKey, KeysetCursor position, int size) {
+        List<AccommodationResponseSummary> items = new ArrayList<>(Math.min(size, snapshot.size()));
+        int lastRow = -1;
+        boolean hasMore = false;
+        int index = snapshot.firstIndexAfter(sortKey, position);
+        if (sortKey == AccommodationSortKey.ID) {
+            // Rows are in id order already, so the bit set can be walked directly
+            for (int row = rows.nextSetBit(index); row >= 0; row = rows.nextSetBit(row + 1)) {
+                if (items.size() == size) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(snapshot.summary(row));
+                lastRow = row;
+            }
+        } else {
+            for (; index < snapshot.size(); index++) {
+                int row = snapshot.rowAt(sortKey, index);
+                if (!rows.get(row)) {
+                    continue;
+                }
+                if (items.size() == size) {
+                    hasMore = true;
+                    break;
+                }
+                items.add(snapshot.summary(row));
+                lastRow = row;
+            }
+        }
+
+        String nextCursor = hasMore ? snapshot.positionOf(sortKey, lastRow).encode() : null;
+        return new CursorPage<>(List.copyOf(items), nextCursor);
+    }
+
+    private List<AccommodationResponseSummary> collect(long offset, int limit) {
+        List<AccommodationResponseSummary> content = new ArrayList<>(Math.min(limit, rows.cardinality()));
+        int row = rows.nextSetBit(0);
+        for (long skipped = 0; skipped < offset && row >= 0; skipped++) {
+            row = rows.nextSetBit(row + 1);
+        }
+        for (; row >= 0 && content.size() < limit; row = rows.nextSetBit(row + 1)) {
+            content.add(snapshot.summary(row));
+        }
+        return content;
+    }
+}
@@ -0,0 +1,326 @@
+package com.SleepUp.SU.accommodation.catalog;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+/**
+ * Immutable, column-oriented copy of the accommodation catalog. Rows are ordered by id; the columns
+ * the filter looks at are primitive arrays (availability as epoch days) and pet-friendliness a bit set,
+ * so a filter is a loop over arrays instead of a query. Two permutations give the rows in price and
+ * first-available-date order for keyset paging. A snapshot is never modified: writes derive a new one,
+ * copying the columns once.
+ */
+public final class CatalogSnapshot {
+
+    private static final CatalogSnapshot EMPTY = of(Set.of());
+
+    private final long[] ids;
+    private final double[] prices;
+    private final int[] guestNumbers;
+    private final BitSet petFriendly;
+    private final int[] availableFrom;
+    private final int[] availableTo;
+    private final AccommodationResponseSummary[] summaries;
+    private final int[] byPrice;
+    private final int[] byAvailableFrom;
+    private final BitSet allRows;
+
+    private CatalogSnapshot(Columns columns, int[] byPrice, int[] byAvailableFrom) {
+        this.ids = columns.ids;
+        this.prices = columns.prices;
+        this.guestNumbers = columns.guestNumbers;
+        this.petFriendly = columns.petFriendly;
+        this.availableFrom = columns.availableFrom;
+        this.availableTo = columns.availableTo;
+        this.summaries = columns.summaries;
+        this.byPrice = byPrice;
+        this.byAvailableFrom = byAvailableFrom;
+        this.allRows = new BitSet(ids.length);
+        this.allRows.set(0, ids.length);
+    }
+
+    public static CatalogSnapshot empty() {
+        return EMPTY;
+    }
+
+    public static CatalogSnapshot of(Collection<CatalogEntry> entries) {
+        CatalogEntry[] sorted = entries.stream().sorted(Comparator.comparing(CatalogEntry::id)).toArray(CatalogEntry[]::new);
+        Columns columns = new Columns(sorted.length);
+        for (int row = 0; row < sorted.length; row++) {
+            columns.fill(row, sorted[row]);
+        }
+        return new CatalogSnapshot(columns,
+                columns.sortedRows(AccommodationSortKey.PRICE),
+                columns.sortedRows(AccommodationSortKey.AVAILABLE_FROM));
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    /**
+     * Snapshot with {@code entry} added, or replacing the row with the same id.
+     */
+    public CatalogSnapshot with(CatalogEntry entry) {
+        int found = Arrays.binarySearch(ids, entry.id());
+        return found >= 0 ? splice(found, 1, entry) : splice(-found - 1, 0, entry);
+    }
+
+    /**
+     * Snapshot without the row of {@code accommodationId}; this one when there is no such row.
+     */
+    public CatalogSnapshot without(Long accommodationId) {
+        int found = Arrays.binarySearch(ids, accommodationId);
+        return found >= 0 ? splice(found, 1, null) : this;
+    }
+
+    public CatalogSelection all() {
+        return new CatalogSelection(this, allRows);
+    }
+
+    /**
+     * Rows matching the price, guest, pet and availability predicates of {@code filter}, with the same
+     * inclusive bounds as {@code AccommodationSpecification}. Limited to {@code textMatches} when not null
+     * and excluding {@code occupied} when not null; the text terms and booking dates of the filter are
+     * expected to be resolved into those two sets by the caller.
+     */
+    public CatalogSelection select(FilterAccommodationDTO filter, Set<Long> textMatches, Set<Long> occupied) {
+        BitSet rows = textMatches != null ? rowsOf(textMatches) : (BitSet) allRows.clone();
+        if (occupied != null) {
+            rows.andNot(rowsOf(occupied));
+        }
+
+        double minPrice = filter.minPrice() != null ? filter.minPrice() : Double.NEGATIVE_INFINITY;
+        double maxPrice = filter.maxPrice() != null ? filter.maxPrice() : Double.POSITIVE_INFINITY;
+        boolean anyGuestNumber = filter.guestNumber() == null;
+        int guestNumber = anyGuestNumber ? 0 : filter.guestNumber();
+        boolean anyPet = filter.petFriendly() == null;
+        boolean pet = !anyPet && filter.petFriendly();
+
+        // availableBetween: only a lower bound on availableFrom for a from date alone, only an upper
+        // bound on availableTo for a to date alone, range overlap when both are given
+        LocalDate from = filter.fromDate();
+        LocalDate to = filter.toDate();
+        int availableFromMin = Integer.MIN_VALUE;
+        int availableFromMax = Integer.MAX_VALUE;
+        int availableToMin = Integer.MIN_VALUE;
+        int availableToMax = Integer.MAX_VALUE;
+        if (from != null && to != null) {
+            availableFromMax = epochDay(to);
+            availableToMin = epochDay(from);
+        } else if (from != null) {
+            availableFromMin = epochDay(from);
+        } else if (to != null) {
+            availableToMax = epochDay(to);
+        }
+
+        for (int row = rows.nextSetBit(0); row >= 0; row = rows.nextSetBit(row + 1)) {
+            boolean matches = prices[row] >= minPrice && prices[row] <= maxPrice
+                    && (anyGuestNumber || guestNumbers[row] == guestNumber)
+                    && (anyPet || petFriendly.get(row) == pet)
+                    && availableFrom[row] >= availableFromMin && availableFrom[row] <= availableFromMax
+                    && availableTo[row] >= availableToMin && availableTo[row] <= availableToMax;
+            if (!matches) {
+                rows.clear(row);
+            }
+        }
+        return new CatalogSelection(this, rows);
+    }
+
+    AccommodationResponseSummary summary(int row) {
+        return summaries[row];
+    }
+
+    /**
+     * Row at position {@code index} in the order of {@code sortKey}.
+     */
+    int rowAt(AccommodationSortKey sortKey, int index) {
+        return switch (sortKey) {
+            case ID -> index;
+            case PRICE -> byPrice[index];
+            case AVAILABLE_FROM -> byAvailableFrom[index];
+        };
+    }
+
+    /**
+     * Position in the order of {@code sortKey} of the first row strictly after {@code position}; 0 when it is null.
+     */
+    int firstIndexAfter(AccommodationSortKey sortKey, KeysetCursor position) {
+        if (position == null) {
+            return 0;
+        }
+        int low = 0;
+        int high = ids.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (compareToPosition(sortKey, rowAt(sortKey, middle), position) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    KeysetCursor positionOf(AccommodationSortKey sortKey, int row) {
+        return switch (sortKey) {
+            case ID -> sortKey.positionOf(ids[row], null);
+            case PRICE -> sortKey.positionOf(ids[row], prices[row]);
+            case AVAILABLE_FROM -> sortKey.positionOf(ids[row], LocalDate.ofEpochDay(availableFrom[row]));
+        };
+    }
+
+    private int compareToPosition(AccommodationSortKey sortKey, int row, KeysetCursor position) {
+        int byValue = switch (sortKey) {
+            case ID -> 0;
+            case PRICE -> Double.compare(prices[row], AccommodationSortKey.priceOf(position));
+            case AVAILABLE_FROM -> Integer.compare(availableFrom[row], epochDay(AccommodationSortKey.availableFromOf(position)));
+        };
+        return byValue != 0 ? byValue : Long.compare(ids[row], position.id());
+    }
+
+    /**
+     * Snapshot with {@code removed} rows dropped at {@code row} and, when {@code entry} is not null,
+     * a row holding it in their place.
+     */
+    private CatalogSnapshot splice(int row, int removed, CatalogEntry entry) {
+        int added = entry != null ? 1 : 0;
+        int length = ids.length;
+        Columns columns = new Columns(length - removed + added);
+        splice(ids, columns.ids, length, row, removed, added);
+        splice(prices, columns.prices, length, row, removed, added);
+        splice(guestNumbers, columns.guestNumbers, length, row, removed, added);
+        splice(availableFrom, columns.availableFrom, length, row, removed, added);
+        splice(availableTo, columns.availableTo, length, row, removed, added);
+        splice(summaries, columns.summaries, length, row, removed, added);
+        columns.petFriendly.or(petFriendly.get(0, row));
+        for (int i = petFriendly.nextSetBit(row + removed); i >= 0; i = petFriendly.nextSetBit(i + 1)) {
+            columns.petFriendly.set(i - removed + added);
+        }
+
+        int[] priceOrder = spliceOrder(byPrice, row, removed, added);
+        int[] availableFromOrder = spliceOrder(byAvailableFrom, row, removed, added);
+        if (entry != null) {
+            columns.fill(row, entry);
+            priceOrder = columns.place(priceOrder, AccommodationSortKey.PRICE, row);
+            availableFromOrder = columns.place(availableFromOrder, AccommodationSortKey.AVAILABLE_FROM, row);
+        }
+        return new CatalogSnapshot(columns, priceOrder, availableFromOrder);
+    }
+
+    private BitSet rowsOf(Set<Long> accommodationIds) {
+        BitSet rows = new BitSet(ids.length);
+        for (Long accommodationId : accommodationIds) {
+            int row = Arrays.binarySearch(ids, accommodationId);
+            if (row >= 0) {
+                rows.set(row);
+            }
+        }
+        return rows;
+    }
+
+    private static int epochDay(LocalDate date) {
+        return Math.toIntExact(date.toEpochDay());
+    }
+
+    private static void splice(Object source, Object target, int length, int row, int removed, int added) {
+        System.arraycopy(source, 0, target, 0, row);
+        System.arraycopy(source, row + removed, target, row + added, length - row - removed);
+    }
+
+    /**
+     * The order without {@code row} when it was removed, with the rows after it renumbered.
+     */
+    private static int[] spliceOrder(int[] order, int row, int removed, int added) {
+        int[] spliced = new int[order.length - removed];
+        int next = 0;
+        for (int candidate : order) {
+            if (removed == 1 && candidate == row) {
+                continue;
+            }
+            spliced[next++] = candidate >= row + removed ? candidate - removed + added : candidate;
+        }
+        return spliced;
+    }
+
+    /**
+     * Column arrays of a snapshot under construction.
+     */
+    private static final class Columns {
+
+        private final long[] ids;
+        private final double[] prices;
+        private final int[] guestNumbers;
+        private final BitSet petFriendly;
+        private final int[] availableFrom;
+        private final int[] availableTo;
+        private final AccommodationResponseSummary[] summaries;
+
+        Columns(int size) {
+            this.ids = new long[size];
+            this.prices = new double[size];
+            this.guestNumbers = new int[size];
+            this.petFriendly = new BitSet(size);
+            this.availableFrom = new int[size];
+            this.availableTo = new int[size];
+            this.summaries = new AccommodationResponseSummary[size];
+        }
+
+        void fill(int row, CatalogEntry entry) {
+            ids[row] = entry.id();
+            prices[row] = entry.price();
+            guestNumbers[row] = entry.guestNumber();
+            petFriendly.set(row, Boolean.TRUE.equals(entry.petFriendly()));
+            availableFrom[row] = epochDay(entry.availableFrom());
+            availableTo[row] = epochDay(entry.availableTo());
+            summaries[row] = entry.summary();
+        }
+
+        int compare(AccommodationSortKey sortKey, int a, int b) {
+            int byValue = switch (sortKey) {
+                case ID -> 0;
+                case PRICE -> Double.compare(prices[a], prices[b]);
+                case AVAILABLE_FROM -> Integer.compare(availableFrom[a], availableFrom[b]);
+            };
+            return byValue != 0 ? byValue : Long.compare(ids[a], ids[b]);
+        }
+
+        int[] sortedRows(AccommodationSortKey sortKey) {
+            return IntStream.range(0, ids.length).boxed()
+                    .sorted((a, b) -> compare(sortKey, a, b))
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+
+        /**
+         * Inserts {@code row} into an order that lacks it, at the position given by {@code sortKey}.
+         */
+        int[] place(int[] order, AccommodationSortKey sortKey, int row) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(sortKey, order[middle], row) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            int[] placed = new int[order.length + 1];
+            System.arraycopy(order, 0, placed, 0, low);
+            placed[low] = row;
+            System.arraycopy(order, low, placed, low + 1, order.length - low);
+            return placed;
+        }
+    }
+}
@@ -4,7 +4,10 @@ import com.SleepUp.SU.accommodation.dto.AccommodationRequest;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseDetail;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
 import com.SleepUp.SU.accommodation.service.AccommodationService;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
 import com.SleepUp.SU.user.entity.CustomUserDetails;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -16,7 +19,10 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Tag(name = "Accommodation", description = "Operation related to accommodations")
@@ -24,19 +30,51 @@ import java.util.List;
 @RequestMapping("/accommodations")
 @RequiredArgsConstructor
 public class AccommodationController {
+    private static final int DEFAULT_PAGE_SIZE = 50;
+
     private final AccommodationService accommodationService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping
-    @Operation(summary = "Get All Accommodations", description = "Retrieve a list of all accommodations with summary details.",
+    @Operation(summary = "Get All Accommodations", description = "Retrieve accommodations with summary details, ordered by id, price or first available date. " +
+            "Results are paginated with an opaque cursor returned in the X-Next-Cursor header.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of accommodations"),
-                    @ApiResponse(responseCode = "204", ref = "#/components/responses/NoContent"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
                     @ApiResponse(responseCode = "403", ref = "#/components/responses/Forbidden"),
                     @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
             })
-    @ResponseStatus(HttpStatus.OK)
-    public List<AccommodationResponseSummary> getAllAccommodations(@AuthenticationPrincipal CustomUserDetails customUserDetails){
-        return accommodationService.getAllAccommodations();
+    public ResponseEntity<List<AccommodationResponseSummary>> getAllAccommodations(
+            @RequestParam(defaultValue = "ID") AccommodationSortKey sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + DEFAULT_PAGE_SIZE) int size){
+        CursorPage<AccommodationResponseSummary> page = accommodationService.getAccommodationsPage(sort, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping(params = "stream=true")
+    @Operation(summary = "Stream All Accommodations", description = "Stream every accommodation with summary details as NDJSON, in id order.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully streamed all accommodations"),
+                    @ApiResponse(responseCode = "403", ref = "#/components/responses/Forbidden"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    public ResponseEntity<StreamingResponseBody> streamAllAccommodations() {
+        StreamingResponseBody body = outputStream -> accommodationService.streamAllAccommodations(summary -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(summary));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @GetMapping("/{id}")
@@ -10,6 +10,9 @@ public interface AccommodationMapper {
     AccommodationResponseSummary toSummary(Accommodation accommodation);
 
     @Mapping(target = "reservations", ignore = true)
+    @Mapping(target = "occupancyBitmap", ignore = true)
+    @Mapping(target = "occupancyUpdatedAt", ignore = true)
+    @Mapping(target = "geoCell", ignore = true)
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "managedBy", source = "user")
     @Mapping(target = "name", source = "accommodationRequest.name")
@@ -48,6 +48,18 @@ public record AccommodationRequest (
         LocalDate availableTo,
 
         @NotNull
-        MultipartFile image
+        MultipartFile image,
+
+        @DecimalMin(value = "-90.0", message = "Latitude must be between -90 and 90")
+        @DecimalMax(value = "90.0", message = "Latitude must be between -90 and 90")
+        Double latitude,
+
+        @DecimalMin(value = "-180.0", message = "Longitude must be between -180 and 180")
+        @DecimalMax(value = "180.0", message = "Longitude must be between -180 and 180")
+        Double longitude
 ){
+    @AssertTrue(message = "Latitude and longitude must be given together")
+    public boolean isCoordinatesComplete() {
+        return (latitude == null) == (longitude == null);
+    }
 }
\ No newline at end of file
@@ -24,6 +24,8 @@ public record AccommodationResponseDetail(
         @JsonFormat(pattern = "yyyy-MM-dd")
         LocalDate availableTo,
         String managedByUsername,
-        String imageUrl
+        String imageUrl,
+        Double latitude,
+        Double longitude
 ) {
 }
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.SleepUp.SU.accommodation.dto;
+
+public record AccommodationSuggestion(
+        String text,
+        Type type,
+        Long accommodationId
+) {
+    public enum Type {NAME, LOCATION}
+}
@@ -0,0 +1,10 @@
+package com.SleepUp.SU.accommodation.dto;
+
+import com.SleepUp.SU.accommodation.facet.AccommodationFacets;
+import org.springframework.data.domain.Page;
+
+public record FilterFacetsResponse(
+        Page<AccommodationResponseSummary> results,
+        AccommodationFacets facets
+) {
+}
@@ -0,0 +1,7 @@
+package com.SleepUp.SU.accommodation.dto;
+
+public record NearbyAccommodationResponse(
+        AccommodationResponseSummary accommodation,
+        double distanceKm
+) {
+}
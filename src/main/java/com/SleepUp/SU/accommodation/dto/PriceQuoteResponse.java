@@ -0,0 +1,18 @@
+package com.SleepUp.SU.accommodation.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record PriceQuoteResponse(
+        Long accommodationId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate,
+        long nights,
+        BigDecimal subtotal,
+        boolean discountApplied,
+        BigDecimal totalPrice
+) {
+}
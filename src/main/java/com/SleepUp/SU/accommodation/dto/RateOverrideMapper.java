@@ -0,0 +1,15 @@
+package com.SleepUp.SU.accommodation.dto;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.pricing.RateOverride;
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+
+@Mapper(componentModel = "spring")
+public interface RateOverrideMapper {
+    RateOverrideResponse toResponse(RateOverride rateOverride);
+
+    @Mapping(target = "id", ignore = true)
+    @Mapping(target = "accommodation", source = "accommodation")
+    RateOverride toEntity(RateOverrideRequest rateOverrideRequest, Accommodation accommodation);
+}
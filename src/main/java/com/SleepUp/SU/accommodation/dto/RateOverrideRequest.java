@@ -0,0 +1,29 @@
+package com.SleepUp.SU.accommodation.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.Digits;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record RateOverrideRequest(
+        @NotNull(message = "Start date must be specified in yyyy-MM-dd format")
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate startDate,
+
+        @NotNull(message = "End date must be specified in yyyy-MM-dd format")
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        LocalDate endDate,
+
+        @NotNull(message = "Nightly price must be provided")
+        @Positive(message = "Nightly price must be positive")
+        @Digits(integer = 8, fraction = 2, message = "Nightly price must have at most 2 decimals")
+        BigDecimal nightlyPrice,
+
+        boolean weekendsOnly
+) {
+}
@@ -0,0 +1,16 @@
+package com.SleepUp.SU.accommodation.dto;
+
+import lombok.Builder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Builder
+public record RateOverrideResponse(
+        Long id,
+        LocalDate startDate,
+        LocalDate endDate,
+        BigDecimal nightlyPrice,
+        boolean weekendsOnly
+) {
+}
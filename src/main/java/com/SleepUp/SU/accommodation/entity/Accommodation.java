@@ -1,23 +1,36 @@
 package com.SleepUp.SU.accommodation.entity;
 
+import com.SleepUp.SU.accommodation.geo.GeoGrid;
 import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.user.entity.User;
 import jakarta.persistence.*;
 import lombok.*;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
-@Table(name = "accommodations")
+@Table(name = "accommodations", indexes = {
+        @Index(name = "idx_accommodations_price_id", columnList = "price, id"),
+        @Index(name = "idx_accommodations_available_from_id", columnList = "available_from, id"),
+        @Index(name = "idx_accommodations_geo_cell", columnList = "geo_cell")
+})
+@NamedEntityGraph(name = Accommodation.OWNER_GRAPH, attributeNodes = @NamedAttributeNode("managedBy"))
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Accommodation {
+
+    /**
+     * Accommodation with its owner, needed to map a detail
+     */
+    public static final String OWNER_GRAPH = "Accommodation.owner";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -55,10 +68,38 @@ public class Accommodation {
     @Column(nullable = false, name = "available_to")
     private LocalDate availableTo;
 
-    @ManyToOne
+    private Double latitude;
+
+    private Double longitude;
+
+    /**
+     * {@link GeoGrid} cell of the coordinates, kept in sync on every write
+     */
+    @Column(name = "geo_cell")
+    private Integer geoCell;
+
+    @Column(name = "occupancy_bitmap", length = 512)
+    private byte[] occupancyBitmap;
+
+    @Column(name = "occupancy_updated_at")
+    private LocalDateTime occupancyUpdatedAt;
+
+    /**
+     * Date of the first bit of {@code occupancyBitmap}
+     */
+    @Column(name = "occupancy_origin")
+    private LocalDate occupancyOrigin;
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "managed_by_user_id")
     private User managedBy;
 
     @OneToMany(mappedBy = "accommodation", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     private Set<Reservation> reservations = new HashSet<>();
-}
\ No newline at end of file
+
+    @PrePersist
+    @PreUpdate
+    void updateGeoCell() {
+        geoCell = GeoGrid.cellOf(latitude, longitude);
+    }
+}
@@ -0,0 +1,10 @@
+package com.SleepUp.SU.accommodation.exceptions;
+
+import com.SleepUp.SU.exceptions.AppException;
+import com.SleepUp.SU.exceptions.ExceptionsMessageHelper;
+
+public class RateOverrideNotFoundByIdException extends AppException {
+    public RateOverrideNotFoundByIdException(Long attributeValue) {
+        super(ExceptionsMessageHelper.entityNotFound("Rate override", "id", attributeValue.toString()));
+    }
+}
@@ -0,0 +1,100 @@
+package com.SleepUp.SU.accommodation.facet;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Facet counts over every accommodation matching a filter: a price histogram, pet-friendly
+ * yes/no, guest capacity buckets and the most common locations. Only non-empty buckets are listed.
+ */
+public record AccommodationFacets(
+        long total,
+        List<PriceBucket> priceHistogram,
+        PetFriendlyCounts petFriendly,
+        List<CapacityBucket> guestCapacity,
+        List<LocationCount> topLocations
+) {
+    /**
+     * First guest number of each capacity bucket; the last bucket is open ended
+     */
+    static final int[] CAPACITY_BUCKET_STARTS = {1, 3, 5, 7};
+
+    public record PriceBucket(double from, double to, long count) {
+    }
+
+    public record PetFriendlyCounts(long yes, long no) {
+    }
+
+    public record CapacityBucket(int minGuests, Integer maxGuests, long count) {
+    }
+
+    public record LocationCount(String location, long count) {
+    }
+
+    public static AccommodationFacets empty() {
+        return new AccommodationFacets(0, List.of(), new PetFriendlyCounts(0, 0), List.of(), List.of());
+    }
+
+    /**
+     * Folds the grouped counts into every facet in a single pass.
+     */
+    public static AccommodationFacets of(List<FacetGroup> groups, double priceBucketWidth, int topLocations) {
+        long total = 0;
+        long petFriendly = 0;
+        TreeMap<Long, Long> priceCounts = new TreeMap<>();
+        long[] capacityCounts = new long[CAPACITY_BUCKET_STARTS.length];
+        Map<String, Long> locationCounts = new HashMap<>();
+
+        for (FacetGroup group : groups) {
+            long count = group.count();
+            total += count;
+            if (group.petFriendly()) {
+                petFriendly += count;
+            }
+            priceCounts.merge(group.priceBucket(), count, Long::sum);
+            capacityCounts[capacityBucketOf(group.guestNumber())] += count;
+            if (group.location() != null) {
+                locationCounts.merge(group.location(), count, Long::sum);
+            }
+        }
+
+        List<PriceBucket> priceHistogram = new ArrayList<>(priceCounts.size());
+        priceCounts.forEach((bucket, count) ->
+                priceHistogram.add(new PriceBucket(bucket * priceBucketWidth, (bucket + 1) * priceBucketWidth, count)));
+
+        List<CapacityBucket> guestCapacity = new ArrayList<>(capacityCounts.length);
+        for (int i = 0; i < capacityCounts.length; i++) {
+            if (capacityCounts[i] > 0) {
+                Integer maxGuests = i + 1 < CAPACITY_BUCKET_STARTS.length ? CAPACITY_BUCKET_STARTS[i + 1] - 1 : null;
+                guestCapacity.add(new CapacityBucket(CAPACITY_BUCKET_STARTS[i], maxGuests, capacityCounts[i]));
+            }
+        }
+
+        List<LocationCount> locations = locationCounts.entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+                .limit(topLocations)
+                .map(entry -> new LocationCount(entry.getKey(), entry.getValue()))
+                .toList();
+
+        return new AccommodationFacets(total, List.copyOf(priceHistogram),
+                new PetFriendlyCounts(petFriendly, total - petFriendly), List.copyOf(guestCapacity), locations);
+    }
+
+    /**
+     * Number of buckets and locations held, used to weigh cached facets
+     */
+    public int size() {
+        return priceHistogram.size() + guestCapacity.size() + topLocations.size() + 1;
+    }
+
+    private static int capacityBucketOf(int guestNumber) {
+        int bucket = 0;
+        while (bucket + 1 < CAPACITY_BUCKET_STARTS.length && guestNumber >= CAPACITY_BUCKET_STARTS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+}
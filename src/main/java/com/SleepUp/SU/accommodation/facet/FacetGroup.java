@@ -0,0 +1,14 @@
+package com.SleepUp.SU.accommodation.facet;
+
+/**
+ * Number of matching accommodations sharing one combination of facet values.
+ * {@code priceBucket} is the price divided by the bucket width, rounded down.
+ */
+public record FacetGroup(
+        long priceBucket,
+        boolean petFriendly,
+        int guestNumber,
+        String location,
+        long count
+) {
+}
@@ -2,6 +2,12 @@ package com.SleepUp.SU.accommodation.filter;
 
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
 import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.dto.FilterFacetsResponse;
+import com.SleepUp.SU.accommodation.dto.GeoFilterDTO;
+import com.SleepUp.SU.accommodation.dto.NearbyAccommodationResponse;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.SleepUp.SU.utils.dto.SliceResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,8 +17,11 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 @Tag(name = "Accommodation Filter", description = "Operations related to filtering accommodations")
 @RestController
 @RequestMapping("/accommodations")
@@ -38,4 +47,82 @@ public class AccommodationFilterController {
         return accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable);
     }
 
-}
\ No newline at end of file
+    @GetMapping(value = "/filter", params = "slice=true")
+    @Operation(summary = "Filter Accommodations (slice)", description = "Retrieve a page of filtered accommodations without counting every match. hasNext tells whether another page follows; set withTotal to also get an approximate total.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered accommodations"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.OK)
+    public SliceResponse<AccommodationResponseSummary> getFilteredAccommodationsSlice(
+            @ModelAttribute @Valid FilterAccommodationDTO filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size,
+            @RequestParam(defaultValue = "false") boolean withTotal) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        return accommodationFilterService.getFilteredAccommodationsSlice(filter, pageable, withTotal);
+    }
+
+    @GetMapping(value = "/filter", params = "facets=true")
+    @Operation(summary = "Filter Accommodations (with facets)", description = "Retrieve a paginated list of filtered accommodations together with facet counts over every match: " +
+            "a price histogram, pet-friendly yes/no, guest capacity buckets and the most common locations.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered accommodations and facets"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.OK)
+    public FilterFacetsResponse getFilteredAccommodationsWithFacets(
+            @ModelAttribute @Valid FilterAccommodationDTO filter,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        return accommodationFilterService.getFilteredAccommodationsWithFacets(filter, pageable);
+    }
+
+    @GetMapping("/filter/nearby")
+    @Operation(summary = "Filter Accommodations by location", description = "Retrieve filtered accommodations within radiusKm of latitude/longitude, " +
+            "or inside the box given by minLatitude, maxLatitude, minLongitude and maxLongitude, nearest first and with their distance in km. " +
+            "Bounding-box results are sorted by distance from latitude/longitude when given, otherwise from the centre of the box.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved nearby accommodations"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.OK)
+    public Page<NearbyAccommodationResponse> getNearbyAccommodations(
+            @ModelAttribute @Valid FilterAccommodationDTO filter,
+            @ModelAttribute @Valid GeoFilterDTO geo,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+
+        Pageable pageable = PageRequest.of(page, size);
+        return accommodationFilterService.getNearbyAccommodations(filter, geo, pageable);
+    }
+
+    @GetMapping(value = "/filter", params = "keyset=true")
+    @Operation(summary = "Filter Accommodations (cursor)", description = "Retrieve filtered accommodations ordered by id, price or first available date. " +
+            "Results are paginated with an opaque cursor returned in the X-Next-Cursor header, so deep pages cost the same as the first.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved filtered accommodations"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    public ResponseEntity<List<AccommodationResponseSummary>> getFilteredAccommodationsByCursor(
+            @ModelAttribute @Valid FilterAccommodationDTO filter,
+            @RequestParam(defaultValue = "ID") AccommodationSortKey sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+
+        CursorPage<AccommodationResponseSummary> page =
+                accommodationFilterService.getFilteredAccommodationsByCursor(filter, sort, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+}
@@ -0,0 +1,33 @@
+package com.SleepUp.SU.accommodation.filter;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+
+import java.time.LocalDate;
+
+/**
+ * The columns of an accommodation the filter looks at, copied so that the state
+ * before an update can be compared with the state after it.
+ */
+public record AccommodationFilterFields(
+        String name,
+        String description,
+        String location,
+        Double price,
+        int guestNumber,
+        Boolean petFriendly,
+        LocalDate availableFrom,
+        LocalDate availableTo
+) {
+    public static AccommodationFilterFields of(Accommodation accommodation) {
+        return new AccommodationFilterFields(
+                accommodation.getName(),
+                accommodation.getDescription(),
+                accommodation.getLocation(),
+                accommodation.getPrice(),
+                accommodation.getGuestNumber(),
+                accommodation.getPetFriendly(),
+                accommodation.getAvailableFrom(),
+                accommodation.getAvailableTo()
+        );
+    }
+}
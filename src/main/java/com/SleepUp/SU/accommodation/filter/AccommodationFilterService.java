@@ -1,35 +1,261 @@
 package com.SleepUp.SU.accommodation.filter;
 
+import com.SleepUp.SU.accommodation.availability.AccommodationOccupancyIndex;
+import com.SleepUp.SU.accommodation.catalog.AccommodationCatalog;
+import com.SleepUp.SU.accommodation.catalog.CatalogSelection;
+import com.SleepUp.SU.accommodation.catalog.CatalogSnapshot;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.accommodation.dto.AccommodationMapper;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
 import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.dto.FilterFacetsResponse;
+import com.SleepUp.SU.accommodation.dto.GeoFilterDTO;
+import com.SleepUp.SU.accommodation.dto.NearbyAccommodationResponse;
+import com.SleepUp.SU.accommodation.facet.AccommodationFacets;
+import com.SleepUp.SU.accommodation.geo.GeoQuery;
+import com.SleepUp.SU.accommodation.search.AccommodationTextIndex;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
+import com.SleepUp.SU.config.properties.AppProperties;
 import com.SleepUp.SU.utils.EntityUtil;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.SleepUp.SU.utils.dto.SliceResponse;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
 @Service
 @RequiredArgsConstructor
 public class AccommodationFilterService {
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final AccommodationRepository accommodationRepository;
     private final AccommodationMapper accommodationMapper;
     private final AccommodationSpecification accommodationSpecification;
+    private final AccommodationTextIndex accommodationTextIndex;
+    private final AccommodationOccupancyIndex accommodationOccupancyIndex;
+    private final AccommodationCatalog accommodationCatalog;
+    private final FilterResultCache filterResultCache;
+    private final AppProperties appProperties;
 
     public Page<AccommodationResponseSummary> getAllFilteredAccommodationsWithPagination(
             FilterAccommodationDTO filter,
             Pageable pageable) {
 
+        validateDates(filter);
+
+        return filterResultCache.getOrLoad(FilterCacheKey.of(filter, pageable), () -> findFilteredPage(filter, pageable));
+    }
+
+    /**
+     * Same search without the count query: reads one row past the page to know whether another follows.
+     * The approximate total, when requested, is counted once per filter and cached; on the last page it is
+     * derived from the offset instead.
+     */
+    public SliceResponse<AccommodationResponseSummary> getFilteredAccommodationsSlice(
+            FilterAccommodationDTO filter,
+            Pageable pageable,
+            boolean withTotal) {
+
+        validateDates(filter);
+
+        FilterCacheKey key = FilterCacheKey.of(filter, pageable);
+        Slice<AccommodationResponseSummary> slice = filterResultCache.getOrLoadSlice(key.asSlice(), () -> findFilteredSlice(filter, pageable));
+
+        Long approximateTotal = null;
+        if (withTotal) {
+            approximateTotal = !slice.hasNext() && (slice.hasContent() || pageable.getPageNumber() == 0)
+                    ? pageable.getOffset() + slice.getNumberOfElements()
+                    : filterResultCache.getOrLoadTotal(key.forTotal(), () -> countFiltered(filter));
+        }
+        return new SliceResponse<>(slice.getContent(), slice.getNumber(), slice.getSize(), slice.hasNext(), approximateTotal);
+    }
+
+    /**
+     * The requested page together with facet counts over every match. The facets come from a single
+     * grouped query over the candidate set and are cached per filter, so paging does not recompute them.
+     */
+    public FilterFacetsResponse getFilteredAccommodationsWithFacets(
+            FilterAccommodationDTO filter,
+            Pageable pageable) {
+
+        Page<AccommodationResponseSummary> results = getAllFilteredAccommodationsWithPagination(filter, pageable);
+        AccommodationFacets facets = filterResultCache.getOrLoadFacets(
+                FilterCacheKey.of(filter, pageable).forFacets(), () -> computeFacets(filter));
+        return new FilterFacetsResponse(results, facets);
+    }
+
+    /**
+     * Filtered accommodations within a radius or bounding box, nearest first. Only the grid cells
+     * covering the search area are read; exact distances are computed for those candidates alone.
+     */
+    public Page<NearbyAccommodationResponse> getNearbyAccommodations(
+            FilterAccommodationDTO filter,
+            GeoFilterDTO geo,
+            Pageable pageable) {
+
+        validateDates(filter);
+        GeoQuery geoQuery = GeoQuery.of(geo, appProperties.getSearch().getGeoMaxRadiusKm());
+
+        Optional<Specification<Accommodation>> spec = buildSpecification(filter);
+        if (spec.isEmpty()) {
+            return Page.empty(pageable);
+        }
+
+        List<NearbyAccommodationResponse> matches = accommodationRepository
+                .findAll(spec.get().and(AccommodationSpecification.withinBox(geoQuery.box()))).stream()
+                .map(accommodation -> new NearbyAccommodationResponse(
+                        accommodationMapper.toSummary(accommodation),
+                        geoQuery.origin().distanceKm(accommodation.getLatitude(), accommodation.getLongitude())))
+                .filter(match -> geoQuery.radiusKm() == null || match.distanceKm() <= geoQuery.radiusKm())
+                .sorted(Comparator.comparingDouble(NearbyAccommodationResponse::distanceKm)
+                        .thenComparing(match -> match.accommodation().id()))
+                .toList();
+
+        int from = (int) Math.min(pageable.getOffset(), matches.size());
+        int to = Math.min(from + pageable.getPageSize(), matches.size());
+        return new PageImpl<>(matches.subList(from, to), pageable, matches.size());
+    }
+
+    /**
+     * Keyset page of the filtered accommodations in the order of {@code sortKey}. Deeper pages
+     * seek past the cursor instead of skipping rows with OFFSET, and no count query is run.
+     */
+    public CursorPage<AccommodationResponseSummary> getFilteredAccommodationsByCursor(
+            FilterAccommodationDTO filter,
+            AccommodationSortKey sortKey,
+            String cursor,
+            int size) {
+
+        validateDates(filter);
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        KeysetCursor position = cursor != null ? sortKey.decode(cursor) : null;
+
+        Optional<CatalogSelection> selection = selectFromCatalog(filter);
+        if (selection.isPresent()) {
+            return selection.get().cursorPage(sortKey, position, pageSize);
+        }
+
+        Optional<Specification<Accommodation>> spec = buildSpecification(filter);
+        if (spec.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<Accommodation> rows = accommodationRepository.findBy(
+                spec.get().and(AccommodationSpecification.after(sortKey, position)),
+                query -> query.sortBy(sortKey.sort()).limit(pageSize + 1).all());
+        boolean hasMore = rows.size() > pageSize;
+        List<Accommodation> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasMore ? sortKey.positionOf(page.getLast()).encode() : null;
+        return new CursorPage<>(page.stream().map(accommodationMapper::toSummary).toList(), nextCursor);
+    }
+
+    private void validateDates(FilterAccommodationDTO filter) {
         if(filter.fromDate() != null && filter.toDate() != null){
             EntityUtil.validateCheckInOutDates(filter.fromDate(), filter.toDate());
         }
+    }
 
-        Specification<Accommodation> spec = accommodationSpecification.buildSpecification(filter);
-        Page<Accommodation> accommodationPage = accommodationRepository.findAll(spec, pageable);
+    private Page<AccommodationResponseSummary> findFilteredPage(FilterAccommodationDTO filter, Pageable pageable) {
+        Optional<CatalogSelection> selection = pageable.getSort().isUnsorted() ? selectFromCatalog(filter) : Optional.empty();
+        if (selection.isPresent()) {
+            return selection.get().page(pageable);
+        }
+        return buildSpecification(filter)
+                .map(spec -> accommodationRepository.findAll(spec, pageable).map(accommodationMapper::toSummary))
+                .orElseGet(() -> Page.empty(pageable));
+    }
+
+    private Slice<AccommodationResponseSummary> findFilteredSlice(FilterAccommodationDTO filter, Pageable pageable) {
+        Optional<CatalogSelection> selection = pageable.getSort().isUnsorted() ? selectFromCatalog(filter) : Optional.empty();
+        if (selection.isPresent()) {
+            return selection.get().slice(pageable);
+        }
+        return buildSpecification(filter)
+                .map(spec -> accommodationRepository.findBy(spec, query -> query.slice(pageable)).map(accommodationMapper::toSummary))
+                .orElseGet(() -> new SliceImpl<>(List.of(), pageable, false));
+    }
+
+    private long countFiltered(FilterAccommodationDTO filter) {
+        Optional<CatalogSelection> selection = selectFromCatalog(filter);
+        if (selection.isPresent()) {
+            return selection.get().count();
+        }
+        return buildSpecification(filter)
+                .map(accommodationRepository::count)
+                .orElse(0L);
+    }
+
+    private AccommodationFacets computeFacets(FilterAccommodationDTO filter) {
+        AppProperties.SearchProperties search = appProperties.getSearch();
+        return buildSpecification(filter)
+                .map(spec -> AccommodationFacets.of(
+                        accommodationRepository.findFacetGroups(spec, search.getFacetPriceBucketWidth()),
+                        search.getFacetPriceBucketWidth(),
+                        search.getFacetTopLocations()))
+                .orElseGet(AccommodationFacets::empty);
+    }
+
+    /**
+     * Answers the filter from the catalog read model when every predicate can be: the snapshot is built,
+     * and the text and occupancy indexes can resolve the text terms and the booked stays. Results come
+     * in id order. Empty otherwise, in which case the database is queried.
+     */
+    private Optional<CatalogSelection> selectFromCatalog(FilterAccommodationDTO filter) {
+        Optional<CatalogSnapshot> snapshot = accommodationCatalog.snapshot();
+        if (snapshot.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Set<Long> textMatches = null;
+        if (hasText(filter.name()) || hasText(filter.description()) || hasText(filter.location())) {
+            Optional<Set<Long>> matches = accommodationTextIndex.search(filter.name(), filter.description(), filter.location());
+            if (matches.isEmpty()) {
+                return Optional.empty();
+            }
+            textMatches = matches.get();
+        }
+
+        Set<Long> occupied = null;
+        if (filter.fromDate() != null && filter.toDate() != null) {
+            Optional<Set<Long>> booked = accommodationOccupancyIndex.findOccupied(filter.fromDate(), filter.toDate());
+            if (booked.isEmpty()) {
+                return Optional.empty();
+            }
+            occupied = booked.get();
+        }
+
+        return Optional.of(snapshot.get().select(filter, textMatches, occupied));
+    }
+
+    private static boolean hasText(String term) {
+        return term != null && !term.isEmpty();
+    }
+
+    /**
+     * Resolves the text predicates through the text index when it can answer.
+     * Empty when no accommodation can match, so no query is needed.
+     */
+    private Optional<Specification<Accommodation>> buildSpecification(FilterAccommodationDTO filter) {
+        Optional<Set<Long>> textMatches = accommodationTextIndex.search(filter.name(), filter.description(), filter.location());
+        if (textMatches.isPresent() && textMatches.get().isEmpty()) {
+            return Optional.empty();
+        }
 
-        return accommodationPage.map(accommodationMapper::toSummary);
+        return Optional.of(textMatches
+                .map(ids -> accommodationSpecification.buildSpecification(filter, ids))
+                .orElseGet(() -> accommodationSpecification.buildSpecification(filter)));
     }
-}
\ No newline at end of file
+}
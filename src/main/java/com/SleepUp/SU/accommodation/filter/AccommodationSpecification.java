@@ -1,20 +1,44 @@
 package com.SleepUp.SU.accommodation.filter;
 
+import com.SleepUp.SU.accommodation.availability.AccommodationOccupancyIndex;
 import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.geo.BoundingBox;
+import com.SleepUp.SU.accommodation.geo.GeoGrid;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
 import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
+import jakarta.persistence.criteria.Path;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import jakarta.persistence.criteria.Subquery;
+import lombok.RequiredArgsConstructor;
 import org.springframework.data.jpa.domain.Specification;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
+import java.util.EnumSet;
+import java.util.Set;
 
 @Component
+@RequiredArgsConstructor
 public class AccommodationSpecification {
 
+    private static final Set<BookingStatus> ACTIVE_STATUSES = EnumSet.complementOf(EnumSet.of(BookingStatus.CANCELLED));
+
+    /**
+     * Largest occupied set sent as a {@code NOT IN} list; past it the {@code NOT EXISTS} subquery is cheaper
+     */
+    static final int MAX_EXCLUDED_IDS = 1000;
+
+    /**
+     * Largest set of text matches sent as an {@code IN} list; past it the {@code LIKE} predicates are used instead
+     */
+    static final int MAX_MATCHED_IDS = 1000;
+
+    private final AccommodationOccupancyIndex accommodationOccupancyIndex;
+
     public static Specification<Accommodation> hasName(String name) {
         return (root, query, cb) ->
                 name == null ? null : cb.like(cb.lower(root.get("name")), "%" + name.toLowerCase() + "%");
@@ -56,31 +80,116 @@ public class AccommodationSpecification {
         };
     }
 
+    /**
+     * Accommodations without a non-cancelled stay touching {@code [newStartDate, newEndDate]}, written as
+     * {@code NOT EXISTS} with plain range bounds so the lookup can seek through
+     * {@code idx_reservations_availability} and stop at the first overlapping stay.
+     */
     public static Specification<Accommodation> noBookingOverlap(LocalDate newStartDate, LocalDate newEndDate) {
         return (root, query, cb) -> {
             if (newStartDate == null || newEndDate == null) {
                 return null;
             }
 
-            Subquery<Long> subquery = query.subquery(Long.class);
+            Subquery<Integer> subquery = query.subquery(Integer.class);
             Root<Reservation> reservationRoot = subquery.from(Reservation.class);
-            subquery.select(cb.count(reservationRoot));
+            subquery.select(cb.literal(1));
 
             Predicate sameAccommodation = cb.equal(reservationRoot.get("accommodation").get("id"), root.get("id"));
 
-            Predicate notCancelled = cb.notEqual(reservationRoot.get("bookingStatus"), BookingStatus.CANCELLED);
+            Predicate notCancelled = reservationRoot.get("bookingStatus").in(ACTIVE_STATUSES);
 
-            Predicate overlap = cb.not(cb.or(
-                    cb.greaterThan(reservationRoot.get("checkInDate"), newEndDate),
-                    cb.lessThan(reservationRoot.get("checkOutDate"), newStartDate)
-            ));
+            Predicate overlap = cb.and(
+                    cb.lessThanOrEqualTo(reservationRoot.get("checkInDate"), newEndDate),
+                    cb.greaterThanOrEqualTo(reservationRoot.get("checkOutDate"), newStartDate)
+            );
 
             subquery.where(cb.and(sameAccommodation, notCancelled, overlap));
 
-            return cb.equal(subquery, 0L);
+            return cb.not(cb.exists(subquery));
+        };
+    }
+
+    public static Specification<Accommodation> idNotIn(Set<Long> excludedIds) {
+        return (root, query, cb) ->
+                excludedIds == null || excludedIds.isEmpty() ? null : cb.not(root.get("id").in(excludedIds));
+    }
+
+    public static Specification<Accommodation> idIn(Set<Long> ids) {
+        return (root, query, cb) -> ids == null ? null : root.get("id").in(ids);
+    }
+
+    /**
+     * Rows strictly after {@code position} in the order of {@code sortKey}, written as
+     * {@code key > v OR (key = v AND id > lastId)} so the composite index can seek to it.
+     */
+    public static Specification<Accommodation> after(AccommodationSortKey sortKey, KeysetCursor position) {
+        return (root, query, cb) -> {
+            if (position == null) {
+                return null;
+            }
+            Predicate idAfter = cb.greaterThan(root.get("id"), position.id());
+            return switch (sortKey) {
+                case ID -> idAfter;
+                case PRICE -> {
+                    double price = AccommodationSortKey.priceOf(position);
+                    yield cb.or(
+                            cb.greaterThan(root.get("price"), price),
+                            cb.and(cb.equal(root.get("price"), price), idAfter));
+                }
+                case AVAILABLE_FROM -> {
+                    LocalDate availableFrom = AccommodationSortKey.availableFromOf(position);
+                    yield cb.or(
+                            cb.greaterThan(root.get("availableFrom"), availableFrom),
+                            cb.and(cb.equal(root.get("availableFrom"), availableFrom), idAfter));
+                }
+            };
         };
     }
 
+    /**
+     * Accommodations with coordinates inside the box. The grid cell ranges let the database
+     * seek through the geo_cell index; the coordinate bounds then trim the edge cells.
+     */
+    public static Specification<Accommodation> withinBox(BoundingBox box) {
+        return (root, query, cb) -> {
+            if (box == null) {
+                return null;
+            }
+            Path<Integer> cell = root.get("geoCell");
+            Predicate[] cells = GeoGrid.covering(box).stream()
+                    .map(range -> range.first() == range.last()
+                            ? cb.equal(cell, range.first())
+                            : cb.between(cell, range.first(), range.last()))
+                    .toArray(Predicate[]::new);
+
+            Path<Double> longitude = root.get("longitude");
+            Predicate withinLongitude = box.crossesAntimeridian()
+                    ? cb.or(cb.greaterThanOrEqualTo(longitude, box.minLongitude()), cb.lessThanOrEqualTo(longitude, box.maxLongitude()))
+                    : cb.between(longitude, box.minLongitude(), box.maxLongitude());
+
+            return cb.and(
+                    cb.or(cells),
+                    cb.between(root.get("latitude"), box.minLatitude(), box.maxLatitude()),
+                    withinLongitude
+            );
+        };
+    }
+
+    /**
+     * Excludes the ids the occupancy index reports as booked, or falls back to {@link #noBookingOverlap}
+     * when the index cannot answer or the occupied set is too large to bind as a list.
+     */
+    public Specification<Accommodation> notBookedBetween(LocalDate newStartDate, LocalDate newEndDate) {
+        if (newStartDate == null || newEndDate == null) {
+            return noBookingOverlap(newStartDate, newEndDate);
+        }
+        return accommodationOccupancyIndex.findOccupied(newStartDate, newEndDate)
+                .filter(occupied -> occupied.size() <= MAX_EXCLUDED_IDS)
+                .map(AccommodationSpecification::idNotIn)
+                .orElseGet(() -> noBookingOverlap(newStartDate, newEndDate));
+    }
+
     public static Specification<Accommodation> petFriendly(Boolean petFriendly) {
         return (root, query, cb) -> {
             if (petFriendly == null) {
@@ -98,11 +207,29 @@ public class AccommodationSpecification {
         return Specification.<Accommodation>unrestricted()
                 .and(AccommodationSpecification.hasName(filter.name()))
                 .and(AccommodationSpecification.hasDescription(filter.description()))
+                .and(AccommodationSpecification.locatedAt(filter.location()))
+                .and(buildNonTextSpecification(filter));
+    }
+
+    /**
+     * Same filter with the name, description and location predicates already resolved
+     * to the ids in {@code textMatches}, unless there are too many of them to bind as a list.
+     */
+    public Specification<Accommodation> buildSpecification(FilterAccommodationDTO filter, Set<Long> textMatches) {
+        if (textMatches != null && textMatches.size() > MAX_MATCHED_IDS) {
+            return buildSpecification(filter);
+        }
+        return Specification.<Accommodation>unrestricted()
+                .and(AccommodationSpecification.idIn(textMatches))
+                .and(buildNonTextSpecification(filter));
+    }
+
+    private Specification<Accommodation> buildNonTextSpecification(FilterAccommodationDTO filter) {
+        return Specification.<Accommodation>unrestricted()
                 .and(AccommodationSpecification.priceBetween(filter.minPrice(), filter.maxPrice()))
                 .and(AccommodationSpecification.guestNumber(filter.guestNumber()))
-                .and(AccommodationSpecification.locatedAt(filter.location()))
                 .and(AccommodationSpecification.availableBetween(filter.fromDate(), filter.toDate()))
-                .and(noBookingOverlap(filter.fromDate(), filter.toDate()))
+                .and(notBookedBetween(filter.fromDate(), filter.toDate()))
                 .and(AccommodationSpecification.petFriendly(filter.petFriendly()));
     }
 }
\ No newline at end of file
@@ -0,0 +1,110 @@
+package com.SleepUp.SU.accommodation.filter;
+
+import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.Locale;
+
+/**
+ * Canonical form of a filter request. Text terms are lower-cased and blank terms dropped,
+ * matching how the filter treats them, so equivalent requests share one cache entry.
+ * {@code view} tells apart a page, a count-free slice, the total and the facets of the same filter.
+ */
+public record FilterCacheKey(
+        String name,
+        String description,
+        String location,
+        Double minPrice,
+        Double maxPrice,
+        Integer guestNumber,
+        LocalDate fromDate,
+        LocalDate toDate,
+        Boolean petFriendly,
+        int page,
+        int size,
+        Sort sort,
+        View view
+) {
+    public enum View {PAGE, SLICE, TOTAL, FACETS}
+
+    public static FilterCacheKey of(FilterAccommodationDTO filter, Pageable pageable) {
+        return new FilterCacheKey(
+                canonical(filter.name()),
+                canonical(filter.description()),
+                canonical(filter.location()),
+                filter.minPrice(),
+                filter.maxPrice(),
+                filter.guestNumber(),
+                filter.fromDate(),
+                filter.toDate(),
+                filter.petFriendly(),
+                pageable.getPageNumber(),
+                pageable.getPageSize(),
+                pageable.getSort(),
+                View.PAGE
+        );
+    }
+
+    public FilterCacheKey asSlice() {
+        return new FilterCacheKey(name, description, location, minPrice, maxPrice, guestNumber,
+                fromDate, toDate, petFriendly, page, size, sort, View.SLICE);
+    }
+
+    public FilterCacheKey forTotal() {
+        return new FilterCacheKey(name, description, location, minPrice, maxPrice, guestNumber,
+                fromDate, toDate, petFriendly, 0, 0, Sort.unsorted(), View.TOTAL);
+    }
+
+    public FilterCacheKey forFacets() {
+        return new FilterCacheKey(name, description, location, minPrice, maxPrice, guestNumber,
+                fromDate, toDate, petFriendly, 0, 0, Sort.unsorted(), View.FACETS);
+    }
+
+    /**
+     * True when the accommodation, in the given state, passes every predicate of this filter
+     * except the booking overlap, which cannot be checked without its reservations.
+     * Mirrors {@code AccommodationSpecification}; unknown values count as a match.
+     */
+    public boolean couldMatch(AccommodationFilterFields accommodation) {
+        return contains(accommodation.name(), name)
+                && contains(accommodation.description(), description)
+                && contains(accommodation.location(), location)
+                && (minPrice == null || accommodation.price() == null || accommodation.price() >= minPrice)
+                && (maxPrice == null || accommodation.price() == null || accommodation.price() <= maxPrice)
+                && (guestNumber == null || accommodation.guestNumber() == guestNumber)
+                && (petFriendly == null || accommodation.petFriendly() == null || petFriendly.equals(accommodation.petFriendly()))
+                && availableBetween(accommodation.availableFrom(), accommodation.availableTo());
+    }
+
+    /**
+     * True when a non-cancelled stay over {@code [checkIn, checkOut]} changes the booking
+     * overlap predicate of this filter. Filters without both dates do not look at bookings.
+     */
+    public boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+        return fromDate != null && toDate != null
+                && !checkIn.isAfter(toDate) && !checkOut.isBefore(fromDate);
+    }
+
+    private boolean availableBetween(LocalDate availableFrom, LocalDate availableTo) {
+        if (availableFrom == null || availableTo == null) {
+            return true;
+        }
+        if (fromDate != null && toDate != null) {
+            return !availableFrom.isAfter(toDate) && !availableTo.isBefore(fromDate);
+        }
+        if (fromDate != null) {
+            return !availableFrom.isBefore(fromDate);
+        }
+        return toDate == null || !availableTo.isAfter(toDate);
+    }
+
+    private static boolean contains(String value, String term) {
+        return term == null || (value == null || value.toLowerCase(Locale.ROOT).contains(term));
+    }
+
+    private static String canonical(String term) {
+        return term == null || term.isEmpty() ? null : term.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,176 @@
+package com.SleepUp.SU.accommodation.filter;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.facet.AccommodationFacets;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.utils.TransactionUtil;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded LRU cache of filter results keyed by {@link FilterCacheKey}: pages, count-free slices,
+ * the totals shown next to slices and facet counts. Entries are weighed by the number of summaries they hold
+ * and evicted once either the entry or the weight budget is exceeded; they also expire after a
+ * TTL so writes made on other replicas are picked up.
+ * Writes invalidate only the entries they can affect: accommodation writes drop the filters the
+ * old or new state could match, reservation writes drop the filters whose dates overlap the stay.
+ */
+@Component
+public class FilterResultCache {
+
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<FilterCacheKey, CachedResult> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long weight;
+    private long generation;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private final Counter invalidations;
+
+    public FilterResultCache(AppProperties appProperties, MeterRegistry meterRegistry) {
+        AppProperties.SearchProperties search = appProperties.getSearch();
+        this.maxEntries = search.getFilterCacheMaxEntries();
+        this.maxWeight = search.getFilterCacheMaxWeight();
+        this.ttlNanos = search.getFilterCacheTtlMs() * 1_000_000L;
+
+        this.hits = Counter.builder("accommodation.filter.cache.requests").tag("result", "hit").register(meterRegistry);
+        this.misses = Counter.builder("accommodation.filter.cache.requests").tag("result", "miss").register(meterRegistry);
+        this.evictions = Counter.builder("accommodation.filter.cache.evictions").register(meterRegistry);
+        this.invalidations = Counter.builder("accommodation.filter.cache.invalidations").register(meterRegistry);
+        Gauge.builder("accommodation.filter.cache.entries", this, FilterResultCache::size).register(meterRegistry);
+        Gauge.builder("accommodation.filter.cache.weight", this, FilterResultCache::weight).register(meterRegistry);
+    }
+
+    /**
+     * Returns the cached page for {@code key}, or loads and caches it. A result loaded while an
+     * invalidation ran is returned but not cached, since it may predate the write.
+     */
+    public Page<AccommodationResponseSummary> getOrLoad(FilterCacheKey key, Supplier<Page<AccommodationResponseSummary>> loader) {
+        return getOrLoad(key, loader, page -> page.getNumberOfElements() + 1L);
+    }
+
+    public Slice<AccommodationResponseSummary> getOrLoadSlice(FilterCacheKey key, Supplier<Slice<AccommodationResponseSummary>> loader) {
+        return getOrLoad(key, loader, slice -> slice.getNumberOfElements() + 1L);
+    }
+
+    public long getOrLoadTotal(FilterCacheKey key, LongSupplier loader) {
+        return getOrLoad(key, loader::getAsLong, total -> 1L);
+    }
+
+    public AccommodationFacets getOrLoadFacets(FilterCacheKey key, Supplier<AccommodationFacets> loader) {
+        return getOrLoad(key, loader, AccommodationFacets::size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getOrLoad(FilterCacheKey key, Supplier<T> loader, ToLongFunction<T> weigher) {
+        long startedAt;
+        synchronized (this) {
+            CachedResult cached = entries.get(key);
+            if (cached != null && cached.expiresAt() - System.nanoTime() > 0) {
+                hits.increment();
+                return (T) cached.value();
+            }
+            if (cached != null) {
+                remove(key, cached);
+            }
+            startedAt = generation;
+        }
+        misses.increment();
+
+        T value = loader.get();
+        put(key, value, weigher.applyAsLong(value), startedAt);
+        return value;
+    }
+
+    /**
+     * Drops the entries an accommodation write can affect, once the surrounding transaction commits.
+     * Either state may be null for creates and deletes.
+     */
+    public void onAccommodationChanged(AccommodationFilterFields before, AccommodationFilterFields after) {
+        TransactionUtil.afterCommit(() -> invalidate(key ->
+                (before != null && key.couldMatch(before)) || (after != null && key.couldMatch(after))));
+    }
+
+    /**
+     * Drops the entries whose date range overlaps a stay that was booked, cancelled or removed.
+     * Must run after the reservation write has committed.
+     */
+    public void onStayChanged(LocalDate checkIn, LocalDate checkOut) {
+        if (checkIn == null || checkOut == null) {
+            invalidateAll();
+            return;
+        }
+        invalidate(key -> key.overlaps(checkIn, checkOut));
+    }
+
+    /**
+     * Drops every entry, for writes whose effect on the cached filters is unknown.
+     */
+    public void invalidateAll() {
+        invalidate(key -> true);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long weight() {
+        return weight;
+    }
+
+    private synchronized void put(FilterCacheKey key, Object value, long valueWeight, long startedAt) {
+        if (generation != startedAt || valueWeight > maxWeight) {
+            return;
+        }
+        CachedResult previous = entries.put(key, new CachedResult(value, valueWeight, System.nanoTime() + ttlNanos));
+        if (previous != null) {
+            weight -= previous.weight();
+        }
+        weight += valueWeight;
+
+        Iterator<Map.Entry<FilterCacheKey, CachedResult>> eldest = entries.entrySet().iterator();
+        while ((entries.size() > maxEntries || weight > maxWeight) && eldest.hasNext()) {
+            weight -= eldest.next().getValue().weight();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private synchronized void invalidate(Predicate<FilterCacheKey> affected) {
+        generation++;
+        Iterator<Map.Entry<FilterCacheKey, CachedResult>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<FilterCacheKey, CachedResult> entry = iterator.next();
+            if (affected.test(entry.getKey())) {
+                weight -= entry.getValue().weight();
+                iterator.remove();
+                invalidations.increment();
+            }
+        }
+    }
+
+    private void remove(FilterCacheKey key, CachedResult cached) {
+        entries.remove(key);
+        weight -= cached.weight();
+    }
+
+    private record CachedResult(Object value, long weight, long expiresAt) {
+    }
+}
@@ -0,0 +1,56 @@
+package com.SleepUp.SU.accommodation.geo;
+
+/**
+ * Latitude/longitude box. When {@code minLongitude > maxLongitude} the box crosses the
+ * antimeridian and covers both {@code [minLongitude, 180]} and {@code [-180, maxLongitude]}.
+ */
+public record BoundingBox(double minLatitude, double maxLatitude, double minLongitude, double maxLongitude) {
+
+    private static final double KM_PER_DEGREE = Math.PI * GeoPoint.EARTH_RADIUS_KM / 180;
+
+    /**
+     * Smallest box holding every point within {@code radiusKm} of {@code center}.
+     */
+    public static BoundingBox around(GeoPoint center, double radiusKm) {
+        double dLat = radiusKm / KM_PER_DEGREE;
+        double minLatitude = center.latitude() - dLat;
+        double maxLatitude = center.latitude() + dLat;
+        if (minLatitude <= -90 || maxLatitude >= 90) {
+            return new BoundingBox(Math.max(minLatitude, -90), Math.min(maxLatitude, 90), -180, 180);
+        }
+
+        double dLon = dLat / Math.cos(Math.toRadians(Math.max(Math.abs(minLatitude), Math.abs(maxLatitude))));
+        if (dLon >= 180) {
+            return new BoundingBox(minLatitude, maxLatitude, -180, 180);
+        }
+        return new BoundingBox(minLatitude, maxLatitude,
+                wrapLongitude(center.longitude() - dLon), wrapLongitude(center.longitude() + dLon));
+    }
+
+    public boolean crossesAntimeridian() {
+        return minLongitude > maxLongitude;
+    }
+
+    public GeoPoint center() {
+        double span = crossesAntimeridian() ? maxLongitude + 360 - minLongitude : maxLongitude - minLongitude;
+        return new GeoPoint((minLatitude + maxLatitude) / 2, wrapLongitude(minLongitude + span / 2));
+    }
+
+    /**
+     * Distance from the centre to the farthest corner, used to bound the size of a box.
+     */
+    public double halfDiagonalKm() {
+        GeoPoint center = center();
+        return Math.max(center.distanceKm(minLatitude, minLongitude), center.distanceKm(maxLatitude, minLongitude));
+    }
+
+    private static double wrapLongitude(double longitude) {
+        if (longitude < -180) {
+            return longitude + 360;
+        }
+        if (longitude > 180) {
+            return longitude - 360;
+        }
+        return longitude;
+    }
+}
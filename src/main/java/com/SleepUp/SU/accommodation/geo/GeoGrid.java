@@ -0,0 +1,67 @@
+package com.SleepUp.SU.accommodation.geo;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Uniform grid of {@value #CELL_DEGREES} degree cells numbered row by row from the south-west
+ * corner. Each accommodation stores the number of its cell in an indexed column, so a bounding
+ * box maps to one contiguous range of cell numbers per grid row and is answered with index
+ * range scans instead of a full table scan.
+ */
+public final class GeoGrid {
+
+    public static final double CELL_DEGREES = 0.25;
+    static final int ROWS = (int) (180 / CELL_DEGREES);
+    static final int COLUMNS = (int) (360 / CELL_DEGREES);
+
+    private GeoGrid() {
+    }
+
+    public record CellRange(int first, int last) {
+    }
+
+    public static Integer cellOf(Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            return null;
+        }
+        return rowOf(latitude) * COLUMNS + columnOf(longitude);
+    }
+
+    /**
+     * Cell ranges covering the box, merged where consecutive rows touch.
+     */
+    public static List<CellRange> covering(BoundingBox box) {
+        int firstColumn = columnOf(box.minLongitude());
+        int lastColumn = columnOf(box.maxLongitude());
+        boolean wraps = box.crossesAntimeridian();
+
+        List<CellRange> ranges = new ArrayList<>();
+        for (int row = rowOf(box.minLatitude()); row <= rowOf(box.maxLatitude()); row++) {
+            int rowStart = row * COLUMNS;
+            if (wraps) {
+                add(ranges, rowStart, rowStart + lastColumn);
+                add(ranges, rowStart + firstColumn, rowStart + COLUMNS - 1);
+            } else {
+                add(ranges, rowStart + firstColumn, rowStart + lastColumn);
+            }
+        }
+        return ranges;
+    }
+
+    private static void add(List<CellRange> ranges, int first, int last) {
+        if (!ranges.isEmpty() && ranges.getLast().last() + 1 == first) {
+            ranges.set(ranges.size() - 1, new CellRange(ranges.getLast().first(), last));
+        } else {
+            ranges.add(new CellRange(first, last));
+        }
+    }
+
+    private static int rowOf(double latitude) {
+        return Math.min(ROWS - 1, Math.max(0, (int) Math.floor((latitude + 90) / CELL_DEGREES)));
+    }
+
+    private static int columnOf(double longitude) {
+        return Math.min(COLUMNS - 1, Math.max(0, (int) Math.floor((longitude + 180) / CELL_DEGREES)));
+    }
+}
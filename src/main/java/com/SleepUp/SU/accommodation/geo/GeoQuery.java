@@ -0,0 +1,45 @@
+package com.SleepUp.SU.accommodation.geo;
+
+import com.SleepUp.SU.accommodation.dto.GeoFilterDTO;
+import com.SleepUp.SU.exceptions.InvalidGeoQueryException;
+
+/**
+ * A radius or bounding-box search: the box to look up in the grid, the point distances are
+ * measured from, and for radius searches the radius matches must fall within.
+ */
+public record GeoQuery(BoundingBox box, GeoPoint origin, Double radiusKm) {
+
+    /**
+     * Radius search when latitude, longitude and radius are given, otherwise a bounding-box
+     * search sorted by distance from the given point or, without one, from the box centre.
+     */
+    public static GeoQuery of(GeoFilterDTO geo, double maxRadiusKm) {
+        boolean hasPoint = geo.latitude() != null && geo.longitude() != null;
+        if ((geo.latitude() == null) != (geo.longitude() == null)) {
+            throw new InvalidGeoQueryException("Latitude and longitude must be given together");
+        }
+
+        if (geo.radiusKm() != null) {
+            if (!hasPoint) {
+                throw new InvalidGeoQueryException("A radius search needs latitude and longitude");
+            }
+            if (geo.radiusKm() > maxRadiusKm) {
+                throw new InvalidGeoQueryException("Radius must be at most " + maxRadiusKm + " km");
+            }
+            GeoPoint origin = new GeoPoint(geo.latitude(), geo.longitude());
+            return new GeoQuery(BoundingBox.around(origin, geo.radiusKm()), origin, geo.radiusKm());
+        }
+
+        if (geo.minLatitude() == null || geo.maxLatitude() == null || geo.minLongitude() == null || geo.maxLongitude() == null) {
+            throw new InvalidGeoQueryException("Give latitude, longitude and radiusKm, or minLatitude, maxLatitude, minLongitude and maxLongitude");
+        }
+        if (geo.minLatitude() > geo.maxLatitude()) {
+            throw new InvalidGeoQueryException("minLatitude must not be greater than maxLatitude");
+        }
+        BoundingBox box = new BoundingBox(geo.minLatitude(), geo.maxLatitude(), geo.minLongitude(), geo.maxLongitude());
+        if (box.halfDiagonalKm() > maxRadiusKm) {
+            throw new InvalidGeoQueryException("Bounding box must fit within a " + maxRadiusKm + " km radius");
+        }
+        return new GeoQuery(box, hasPoint ? new GeoPoint(geo.latitude(), geo.longitude()) : box.center(), null);
+    }
+}
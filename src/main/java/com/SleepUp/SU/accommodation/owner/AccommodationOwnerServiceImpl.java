@@ -1,10 +1,7 @@
 package com.SleepUp.SU.accommodation.owner;
 
-import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
-import com.SleepUp.SU.accommodation.dto.AccommodationMapper;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
-import com.SleepUp.SU.utils.EntityUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
@@ -14,12 +11,9 @@ import java.util.List;
 @RequiredArgsConstructor
 public class AccommodationOwnerServiceImpl implements AccommodationOwnerService{
     private final AccommodationRepository accommodationRepository;
-    private final EntityUtil mapperUtil;
-    private final AccommodationMapper accommodationMapper;
 
     @Override
     public List<AccommodationResponseSummary> getAllAccommodationsByOwnerId(Long userId){
-        List<Accommodation> accommodations = accommodationRepository.findByManagedBy_Id(userId);
-        return mapperUtil.mapEntitiesToDTOs(accommodations, accommodationMapper::toSummary);
+        return accommodationRepository.findSummariesByManagedById(userId);
     }
 }
\ No newline at end of file
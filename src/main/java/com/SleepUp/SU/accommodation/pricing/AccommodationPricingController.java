@@ -0,0 +1,89 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import com.SleepUp.SU.accommodation.dto.PriceQuoteResponse;
+import com.SleepUp.SU.accommodation.dto.RateOverrideRequest;
+import com.SleepUp.SU.accommodation.dto.RateOverrideResponse;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Tag(name = "Accommodation Pricing", description = "Price quotes and nightly rate overrides of accommodations")
+@RestController
+@RequestMapping("/accommodations/{id}")
+@RequiredArgsConstructor
+public class AccommodationPricingController {
+    private final AccommodationPricingService accommodationPricingService;
+
+    @GetMapping("/quote")
+    @Operation(summary = "Get Price Quote", description = "Price a stay from the nightly rates of the accommodation, including the loyalty discount of the authenticated guest. Nothing is booked.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully priced the stay"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "404", ref = "#/components/responses/AccommodationFound"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.OK)
+    public PriceQuoteResponse getQuote(
+            @PathVariable Long id,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkInDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate checkOutDate,
+            @AuthenticationPrincipal CustomUserDetails customUserDetails) {
+        Long userId = customUserDetails != null ? customUserDetails.getId() : null;
+        return accommodationPricingService.getQuote(id, checkInDate, checkOutDate, userId);
+    }
+
+    @GetMapping("/rates")
+    @Operation(summary = "Get Rate Overrides", description = "Retrieve the nightly rate overrides of an accommodation.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved rate overrides"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.OK)
+    public List<RateOverrideResponse> getRateOverrides(@PathVariable Long id) {
+        return accommodationPricingService.getRateOverrides(id);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or @accommodationAccessEvaluator.isOwner(#id, principal.id)")
+    @PostMapping("/rates")
+    @Operation(summary = "Create Rate Override", description = "Set the nightly price of a range of nights, optionally only Friday and Saturday nights.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Successfully created the rate override"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "401", ref = "#/components/responses/Unauthorized"),
+                    @ApiResponse(responseCode = "403", ref = "#/components/responses/Forbidden"),
+                    @ApiResponse(responseCode = "404", ref = "#/components/responses/AccommodationFound"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.CREATED)
+    public RateOverrideResponse createRateOverride(
+            @PathVariable Long id,
+            @Valid @RequestBody RateOverrideRequest rateOverrideRequest) {
+        return accommodationPricingService.createRateOverride(id, rateOverrideRequest);
+    }
+
+    @PreAuthorize("hasRole('ADMIN') or @accommodationAccessEvaluator.isOwner(#id, principal.id)")
+    @DeleteMapping("/rates/{rateId}")
+    @Operation(summary = "Delete Rate Override", description = "Delete a nightly rate override of an accommodation.",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Successfully deleted the rate override"),
+                    @ApiResponse(responseCode = "401", ref = "#/components/responses/Unauthorized"),
+                    @ApiResponse(responseCode = "403", ref = "#/components/responses/Forbidden"),
+                    @ApiResponse(responseCode = "404", ref = "#/components/responses/RateOverrideFound"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void deleteRateOverride(@PathVariable Long id, @PathVariable Long rateId) {
+        accommodationPricingService.deleteRateOverride(id, rateId);
+    }
+}
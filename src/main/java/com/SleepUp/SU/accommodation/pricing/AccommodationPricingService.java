@@ -0,0 +1,18 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import com.SleepUp.SU.accommodation.dto.PriceQuoteResponse;
+import com.SleepUp.SU.accommodation.dto.RateOverrideRequest;
+import com.SleepUp.SU.accommodation.dto.RateOverrideResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface AccommodationPricingService {
+    PriceQuoteResponse getQuote(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate, Long userId);
+
+    List<RateOverrideResponse> getRateOverrides(Long accommodationId);
+
+    RateOverrideResponse createRateOverride(Long accommodationId, RateOverrideRequest rateOverrideRequest);
+
+    void deleteRateOverride(Long accommodationId, Long rateOverrideId);
+}
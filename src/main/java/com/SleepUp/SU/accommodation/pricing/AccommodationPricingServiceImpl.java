@@ -0,0 +1,83 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import com.SleepUp.SU.accommodation.dto.PriceQuoteResponse;
+import com.SleepUp.SU.accommodation.dto.RateOverrideMapper;
+import com.SleepUp.SU.accommodation.dto.RateOverrideRequest;
+import com.SleepUp.SU.accommodation.dto.RateOverrideResponse;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.exceptions.RateOverrideNotFoundByIdException;
+import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.exceptions.InvalidDateRangeError;
+import com.SleepUp.SU.exceptions.InvalidDateRangeException;
+import com.SleepUp.SU.reservation.exceptions.AccommodationUnavailableException;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
+import com.SleepUp.SU.utils.EntityUtil;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class AccommodationPricingServiceImpl implements AccommodationPricingService {
+
+    private final RateOverrideRepository rateOverrideRepository;
+    private final RateOverrideMapper rateOverrideMapper;
+    private final AccommodationServiceHelper accommodationServiceHelper;
+    private final PricingEngine pricingEngine;
+    private final LoyaltyStayTracker loyaltyStayTracker;
+
+    /**
+     * Prices a stay exactly as a booking would, including the loyalty discount of an authenticated guest,
+     * without writing anything or reading reservations.
+     */
+    @Override
+    public PriceQuoteResponse getQuote(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate, Long userId) {
+        EntityUtil.validateCheckInOutDates(checkInDate, checkOutDate);
+        Accommodation accommodation = accommodationServiceHelper.getAccommodationEntityById(accommodationId);
+        if (checkInDate.isBefore(accommodation.getAvailableFrom()) || checkOutDate.isAfter(accommodation.getAvailableTo())) {
+            throw new AccommodationUnavailableException(accommodation);
+        }
+
+        boolean discount = userId != null && loyaltyStayTracker.isEligible(userId, accommodationId);
+        PriceQuote quote = pricingEngine.quote(accommodation, checkInDate, checkOutDate, discount);
+
+        return PriceQuoteResponse.builder()
+                .accommodationId(accommodationId)
+                .checkInDate(checkInDate)
+                .checkOutDate(checkOutDate)
+                .nights(quote.nights())
+                .subtotal(quote.subtotalAmount())
+                .discountApplied(quote.discountApplied())
+                .totalPrice(quote.totalAmount())
+                .build();
+    }
+
+    @Override
+    public List<RateOverrideResponse> getRateOverrides(Long accommodationId) {
+        return rateOverrideRepository.findByAccommodationIdOrderByStartDateAscIdAsc(accommodationId).stream()
+                .map(rateOverrideMapper::toResponse)
+                .toList();
+    }
+
+    @Override
+    public RateOverrideResponse createRateOverride(Long accommodationId, RateOverrideRequest rateOverrideRequest) {
+        if (!rateOverrideRequest.startDate().isBefore(rateOverrideRequest.endDate())) {
+            throw new InvalidDateRangeException(InvalidDateRangeError.RANGE_ORDER);
+        }
+        Accommodation accommodation = accommodationServiceHelper.getAccommodationEntityById(accommodationId);
+
+        RateOverride saved = rateOverrideRepository.save(rateOverrideMapper.toEntity(rateOverrideRequest, accommodation));
+        pricingEngine.evict(accommodationId);
+        return rateOverrideMapper.toResponse(saved);
+    }
+
+    @Override
+    public void deleteRateOverride(Long accommodationId, Long rateOverrideId) {
+        RateOverride rateOverride = rateOverrideRepository.findByIdAndAccommodationId(rateOverrideId, accommodationId)
+                .orElseThrow(() -> new RateOverrideNotFoundByIdException(rateOverrideId));
+        rateOverrideRepository.delete(rateOverride);
+        pricingEngine.evict(accommodationId);
+    }
+}
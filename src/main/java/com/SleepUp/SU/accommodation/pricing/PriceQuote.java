@@ -0,0 +1,21 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import java.math.BigDecimal;
+
+/**
+ * Price of a stay in minor units, before and after the loyalty discount.
+ */
+public record PriceQuote(
+        long nights,
+        long subtotal,
+        long total,
+        boolean discountApplied
+) {
+    public BigDecimal subtotalAmount() {
+        return RateCalendar.fromMinorUnits(subtotal);
+    }
+
+    public BigDecimal totalAmount() {
+        return RateCalendar.fromMinorUnits(total);
+    }
+}
@@ -0,0 +1,79 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.config.properties.AppProperties;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Prices stays from a {@link RateCalendar} per accommodation, cached in memory.
+ * A calendar is rebuilt when the day rolls over, when the base price of the accommodation changed,
+ * when its overrides are edited on this replica, or once older than {@code pricing.calendar-ttl-ms},
+ * which bounds staleness caused by override edits on other replicas. Never writes.
+ */
+@Component
+public class PricingEngine {
+
+    private static final long LOYALTY_DISCOUNT_PERCENT = 20;
+
+    private final RateOverrideRepository rateOverrideRepository;
+    private final int horizonDays;
+    private final long ttlMs;
+
+    private final ConcurrentHashMap<Long, CachedCalendar> calendars = new ConcurrentHashMap<>();
+
+    public PricingEngine(RateOverrideRepository rateOverrideRepository, AppProperties appProperties) {
+        this.rateOverrideRepository = rateOverrideRepository;
+        this.horizonDays = appProperties.getPricing().getCalendarHorizonDays();
+        this.ttlMs = appProperties.getPricing().getCalendarTtlMs();
+    }
+
+    public PriceQuote quote(Accommodation accommodation, LocalDate checkInDate, LocalDate checkOutDate, boolean discount) {
+        long subtotal = calendarFor(accommodation).total(checkInDate, checkOutDate);
+        long total = discount ? applyLoyaltyDiscount(subtotal) : subtotal;
+        return new PriceQuote(ChronoUnit.DAYS.between(checkInDate, checkOutDate), subtotal, total, discount);
+    }
+
+    public BigDecimal price(Accommodation accommodation, LocalDate checkInDate, LocalDate checkOutDate, boolean discount) {
+        return quote(accommodation, checkInDate, checkOutDate, discount).totalAmount();
+    }
+
+    public RateCalendar calendarFor(Accommodation accommodation) {
+        LocalDate today = LocalDate.now();
+        long baseRate = RateCalendar.toMinorUnits(accommodation.getPrice());
+        if (accommodation.getId() == null) {
+            return RateCalendar.of(today, horizonDays, baseRate, List.of());
+        }
+
+        long now = System.currentTimeMillis();
+        CachedCalendar cached = calendars.get(accommodation.getId());
+        if (cached == null
+                || now - cached.loadedAt > ttlMs
+                || !cached.calendar.getOrigin().equals(today)
+                || cached.calendar.getBaseRate() != baseRate) {
+            cached = new CachedCalendar(RateCalendar.of(today, horizonDays, baseRate,
+                    rateOverrideRepository.findActiveByAccommodationId(accommodation.getId(), today)), now);
+            calendars.put(accommodation.getId(), cached);
+        }
+        return cached.calendar;
+    }
+
+    public void evict(Long accommodationId) {
+        calendars.remove(accommodationId);
+    }
+
+    /**
+     * Rounds half up, like the previous {@code BigDecimal} computation.
+     */
+    static long applyLoyaltyDiscount(long amount) {
+        return (amount * (100 - LOYALTY_DISCOUNT_PERCENT) + 50) / 100;
+    }
+
+    private record CachedCalendar(RateCalendar calendar, long loadedAt) {
+    }
+}
@@ -0,0 +1,103 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Nightly rates of one accommodation over a fixed horizon starting at {@code origin}, in minor units (cents).
+ * Keeps prefix sums so that the total of any stay is two array reads, whatever its length.
+ * Nights outside the horizon are charged the base rate.
+ */
+public final class RateCalendar {
+
+    private final long originDay;
+    private final int horizonDays;
+    private final long baseRate;
+    private final long[] prefixSums;
+
+    private RateCalendar(long originDay, int horizonDays, long baseRate, long[] prefixSums) {
+        this.originDay = originDay;
+        this.horizonDays = horizonDays;
+        this.baseRate = baseRate;
+        this.prefixSums = prefixSums;
+    }
+
+    /**
+     * Builds the calendar from the base rate and the overrides, applied in iteration order so later ones win.
+     */
+    public static RateCalendar of(LocalDate origin, int horizonDays, long baseRate, Collection<RateOverride> overrides) {
+        long originDay = origin.toEpochDay();
+        long[] rates = new long[horizonDays];
+        Arrays.fill(rates, baseRate);
+
+        for (RateOverride override : overrides) {
+            long rate = toMinorUnits(override.getNightlyPrice());
+            int from = (int) Math.max(0, override.getStartDate().toEpochDay() - originDay);
+            int to = (int) Math.min(horizonDays, override.getEndDate().toEpochDay() - originDay);
+            for (int night = from; night < to; night++) {
+                if (!override.isWeekendsOnly() || isWeekendNight(originDay + night)) {
+                    rates[night] = rate;
+                }
+            }
+        }
+
+        long[] prefixSums = new long[horizonDays + 1];
+        for (int night = 0; night < horizonDays; night++) {
+            prefixSums[night + 1] = prefixSums[night] + rates[night];
+        }
+        return new RateCalendar(originDay, horizonDays, baseRate, prefixSums);
+    }
+
+    public LocalDate getOrigin() {
+        return LocalDate.ofEpochDay(originDay);
+    }
+
+    public long getBaseRate() {
+        return baseRate;
+    }
+
+    /**
+     * Total in minor units of the nights from {@code checkInDate} up to, but excluding, {@code checkOutDate}.
+     */
+    public long total(LocalDate checkInDate, LocalDate checkOutDate) {
+        long fromDay = checkInDate.toEpochDay();
+        long toDay = checkOutDate.toEpochDay();
+        if (toDay <= fromDay) {
+            return 0;
+        }
+        int from = (int) Math.clamp(fromDay - originDay, 0, horizonDays);
+        int to = (int) Math.clamp(toDay - originDay, 0, horizonDays);
+        long nightsInside = Math.max(0, to - from);
+        long inside = nightsInside > 0 ? prefixSums[to] - prefixSums[from] : 0;
+        return inside + (toDay - fromDay - nightsInside) * baseRate;
+    }
+
+    public long rate(LocalDate night) {
+        long offset = night.toEpochDay() - originDay;
+        if (offset < 0 || offset >= horizonDays) {
+            return baseRate;
+        }
+        return prefixSums[(int) offset + 1] - prefixSums[(int) offset];
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    public static long toMinorUnits(Double amount) {
+        return toMinorUnits(BigDecimal.valueOf(amount));
+    }
+
+    public static BigDecimal fromMinorUnits(long amount) {
+        return BigDecimal.valueOf(amount, 2);
+    }
+
+    private static boolean isWeekendNight(long epochDay) {
+        DayOfWeek day = LocalDate.ofEpochDay(epochDay).getDayOfWeek();
+        return day == DayOfWeek.FRIDAY || day == DayOfWeek.SATURDAY;
+    }
+}
@@ -0,0 +1,48 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Nightly price set by the owner for the nights from {@code startDate} up to, but excluding, {@code endDate}.
+ * Covers seasons as well as single-night overrides; a weekends-only override applies to Friday and Saturday nights.
+ * When overrides overlap, the most recently created one wins.
+ */
+@Entity
+@Table(name = "rate_overrides", indexes = {
+        @Index(name = "idx_rate_overrides_accommodation", columnList = "accommodation_id, end_date")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RateOverride {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "accommodation_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Accommodation accommodation;
+
+    @Column(nullable = false, name = "start_date")
+    private LocalDate startDate;
+
+    @Column(nullable = false, name = "end_date")
+    private LocalDate endDate;
+
+    @Column(nullable = false, name = "nightly_price", precision = 10, scale = 2)
+    private BigDecimal nightlyPrice;
+
+    @Column(nullable = false, name = "weekends_only")
+    private boolean weekendsOnly;
+}
@@ -0,0 +1,27 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface RateOverrideRepository extends JpaRepository<RateOverride, Long> {
+
+    /**
+     * Gets the overrides of an accommodation with nights from the given date onwards, oldest first
+     * Used to build the rate calendar, where later overrides win
+     */
+    @Query("SELECT r FROM RateOverride r WHERE r.accommodation.id = :accommodationId " +
+            "AND r.endDate > :fromDate ORDER BY r.id")
+    List<RateOverride> findActiveByAccommodationId(@Param("accommodationId") Long accommodationId,
+                                                   @Param("fromDate") LocalDate fromDate);
+
+    List<RateOverride> findByAccommodationIdOrderByStartDateAscIdAsc(Long accommodationId);
+
+    Optional<RateOverride> findByIdAndAccommodationId(Long id, Long accommodationId);
+}
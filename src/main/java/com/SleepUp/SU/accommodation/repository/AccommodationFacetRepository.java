@@ -0,0 +1,16 @@
+package com.SleepUp.SU.accommodation.repository;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.facet.FacetGroup;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface AccommodationFacetRepository {
+
+    /**
+     * Counts the accommodations matching the specification grouped by every facet at once
+     * One grouped query replaces one count query per facet value
+     */
+    List<FacetGroup> findFacetGroups(Specification<Accommodation> spec, double priceBucketWidth);
+}
@@ -0,0 +1,49 @@
+package com.SleepUp.SU.accommodation.repository;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.facet.FacetGroup;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class AccommodationFacetRepositoryImpl implements AccommodationFacetRepository {
+
+    private final EntityManager entityManager;
+
+    @Override
+    public List<FacetGroup> findFacetGroups(Specification<Accommodation> spec, double priceBucketWidth) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Accommodation> root = query.from(Accommodation.class);
+
+        Expression<Number> priceBucket = cb.floor(cb.quot(root.<Double>get("price"), cb.literal(priceBucketWidth)));
+        Expression<Boolean> petFriendly = root.get("petFriendly");
+        Expression<Integer> guestNumber = root.get("guestNumber");
+        Expression<String> location = root.get("location");
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.multiselect(priceBucket, petFriendly, guestNumber, location, cb.count(root))
+                .groupBy(priceBucket, petFriendly, guestNumber, location);
+
+        return entityManager.createQuery(query).getResultStream()
+                .map(row -> new FacetGroup(
+                        row.get(0, Number.class).longValue(),
+                        Boolean.TRUE.equals(row.get(1, Boolean.class)),
+                        row.get(2, Integer.class),
+                        row.get(3, String.class),
+                        row.get(4, Long.class)))
+                .toList();
+    }
+}
@@ -1,15 +1,161 @@
 package com.SleepUp.SU.accommodation.repository;
 
+import com.SleepUp.SU.accommodation.availability.OccupancySnapshot;
+import com.SleepUp.SU.accommodation.catalog.CatalogEntry;
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.search.AccommodationText;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface AccommodationRepository extends JpaRepository <Accommodation, Long>, JpaSpecificationExecutor<Accommodation> {
+public interface AccommodationRepository extends JpaRepository <Accommodation, Long>, JpaSpecificationExecutor<Accommodation>,
+        AccommodationFacetRepository {
+    /**
+     * Makes MySQL Connector/J hand over result rows one at a time instead of buffering the whole result
+     */
+    int STREAM_FETCH_SIZE = Integer.MIN_VALUE;
+
     List<Accommodation> findByManagedBy_Id(Long userId);
+
+    /**
+     * Streams every accommodation projected straight into summaries, one row at a time
+     * No entity is loaded, so nothing is kept in the persistence context
+     * Must be consumed and closed inside a transaction, which can run no other statement until then
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary(" +
+            "a.id, a.name, a.price, a.guestNumber, a.petFriendly, a.location, a.imageUrl) " +
+            "FROM Accommodation a ORDER BY a.id")
+    Stream<AccommodationResponseSummary> streamAllSummaries();
+
+    /**
+     * Gets the accommodations of an owner projected straight into summaries
+     */
+    @Query("SELECT new com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary(" +
+            "a.id, a.name, a.price, a.guestNumber, a.petFriendly, a.location, a.imageUrl) " +
+            "FROM Accommodation a WHERE a.managedBy.id = :userId ORDER BY a.id")
+    List<AccommodationResponseSummary> findSummariesByManagedById(@Param("userId") Long userId);
+
+    /**
+     * Keyset page of summaries ordered by id
+     * Returns rows strictly after afterId
+     */
+    @Query("SELECT new com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary(" +
+            "a.id, a.name, a.price, a.guestNumber, a.petFriendly, a.location, a.imageUrl) " +
+            "FROM Accommodation a WHERE a.id > :afterId ORDER BY a.id")
+    List<AccommodationResponseSummary> findSummaryPageById(@Param("afterId") Long afterId, Limit limit);
+
+    /**
+     * Keyset page of summaries ordered by price and id
+     * Returns rows strictly after (afterPrice, afterId)
+     */
+    @Query("SELECT new com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary(" +
+            "a.id, a.name, a.price, a.guestNumber, a.petFriendly, a.location, a.imageUrl) " +
+            "FROM Accommodation a WHERE a.price > :afterPrice OR (a.price = :afterPrice AND a.id > :afterId) " +
+            "ORDER BY a.price, a.id")
+    List<AccommodationResponseSummary> findSummaryPageByPrice(@Param("afterPrice") Double afterPrice,
+                                                              @Param("afterId") Long afterId,
+                                                              Limit limit);
+
+    /**
+     * Keyset page of summaries ordered by the first available date and id
+     * Returns rows strictly after (afterDate, afterId)
+     */
+    @Query("SELECT new com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary(" +
+            "a.id, a.name, a.price, a.guestNumber, a.petFriendly, a.location, a.imageUrl) " +
+            "FROM Accommodation a WHERE a.availableFrom > :afterDate OR (a.availableFrom = :afterDate AND a.id > :afterId) " +
+            "ORDER BY a.availableFrom, a.id")
+    List<AccommodationResponseSummary> findSummaryPageByAvailableFrom(@Param("afterDate") LocalDate afterDate,
+                                                                      @Param("afterId") Long afterId,
+                                                                      Limit limit);
+
+    /**
+     * Gets the first available date of an accommodation
+     * Summaries do not carry it, so it is looked up for the last row of a keyset page
+     */
+    @Query("SELECT a.availableFrom FROM Accommodation a WHERE a.id = :id")
+    Optional<LocalDate> findAvailableFromById(@Param("id") Long id);
+
     boolean existsByName(String name);
     boolean existsByIdAndManagedBy_Id(Long accommodationId, Long userId);
-}
\ No newline at end of file
+
+    /**
+     * Gets an accommodation with its owner in one query
+     * Used wherever the accommodation is mapped to a detail
+     */
+    @EntityGraph(Accommodation.OWNER_GRAPH)
+    Optional<Accommodation> findWithOwnerById(Long id);
+
+    /**
+     * Loads an accommodation holding a write lock on its row until the transaction ends
+     * Serializes bookings of the same accommodation across replicas
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Accommodation a WHERE a.id = :id")
+    Optional<Accommodation> findByIdForUpdate(@Param("id") Long id);
+
+    /**
+     * Loads several accommodations holding write locks on their rows until the transaction ends
+     * Rows are locked in id order so concurrent batches cannot deadlock each other
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Accommodation a WHERE a.id IN :ids ORDER BY a.id")
+    List<Accommodation> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Gets the occupancy bitmaps written since the given instant
+     * Used to pick up reservation changes made on other replicas
+     */
+    @Query("SELECT new com.SleepUp.SU.accommodation.availability.OccupancySnapshot(" +
+            "a.id, a.occupancyBitmap, a.occupancyOrigin, a.occupancyUpdatedAt) " +
+            "FROM Accommodation a WHERE a.occupancyUpdatedAt > :since")
+    List<OccupancySnapshot> findOccupancyUpdatedSince(@Param("since") LocalDateTime since);
+
+    /**
+     * Gets the searchable text of every accommodation
+     * Used to build the in-memory text index
+     */
+    @Query("SELECT new com.SleepUp.SU.accommodation.search.AccommodationText(" +
+            "a.id, a.name, a.description, a.location) FROM Accommodation a")
+    List<AccommodationText> findAllTexts();
+
+    /**
+     * Gets the listing and filter columns of every accommodation
+     * Used to build the in-memory catalog read model
+     */
+    @Query("SELECT new com.SleepUp.SU.accommodation.catalog.CatalogEntry(" +
+            "a.id, a.name, a.price, a.guestNumber, a.petFriendly, a.location, a.imageUrl, a.availableFrom, a.availableTo) " +
+            "FROM Accommodation a")
+    List<CatalogEntry> findAllCatalogEntries();
+
+    @Modifying
+    @Query("UPDATE Accommodation a SET a.occupancyBitmap = :bitmap, a.occupancyOrigin = :origin, " +
+            "a.occupancyUpdatedAt = :updatedAt WHERE a.id = :accommodationId")
+    int updateOccupancy(@Param("accommodationId") Long accommodationId,
+                        @Param("bitmap") byte[] bitmap,
+                        @Param("origin") LocalDate origin,
+                        @Param("updatedAt") LocalDateTime updatedAt);
+}
@@ -0,0 +1,7 @@
+package com.SleepUp.SU.accommodation.search;
+
+public record AccommodationPopularity(
+        Long accommodationId,
+        Long reservations
+) {
+}
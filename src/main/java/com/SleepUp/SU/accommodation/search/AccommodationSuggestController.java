@@ -0,0 +1,35 @@
+package com.SleepUp.SU.accommodation.search;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationSuggestion;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@Tag(name = "Accommodation Suggest", description = "Typeahead suggestions for the search box")
+@RestController
+@RequestMapping("/accommodations")
+@RequiredArgsConstructor
+public class AccommodationSuggestController {
+
+    private final AccommodationSuggestIndex accommodationSuggestIndex;
+
+    @GetMapping("/suggest")
+    @Operation(summary = "Suggest accommodations", description = "Accommodation names and locations with a word starting with q, ignoring case, most booked first. " +
+            "Answered from memory, so it is cheap enough to call on every keystroke.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully retrieved suggestions"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.OK)
+    public List<AccommodationSuggestion> suggest(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "10") int limit) {
+
+        return accommodationSuggestIndex.suggest(q, limit);
+    }
+}
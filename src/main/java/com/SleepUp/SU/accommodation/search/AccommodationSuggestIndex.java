@@ -0,0 +1,364 @@
+package com.SleepUp.SU.accommodation.search;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationSuggestion;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Typeahead index over accommodation names and locations. Every word start of a value is a key
+ * in a trie whose nodes cache their best suggestions, so a lookup walks the typed prefix and reads
+ * one array, without touching the database. Names rank by the non-cancelled reservations of their
+ * accommodation, locations by those of every accommodation there.
+ * Writes made through {@code AccommodationServiceImpl} are applied after commit and only recompute
+ * the nodes on the paths of the changed keys; a periodic rebuild refreshes popularity and picks up
+ * changes made on other replicas.
+ */
+@Component
+public class AccommodationSuggestIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AccommodationSuggestIndex.class);
+
+    private final AccommodationRepository accommodationRepository;
+    private final ReservationRepository reservationRepository;
+    private final int maxResults;
+
+    private volatile Trie trie;
+    private List<Consumer<Trie>> writesDuringRebuild;
+
+    public AccommodationSuggestIndex(AccommodationRepository accommodationRepository,
+                                     ReservationRepository reservationRepository,
+                                     AppProperties appProperties) {
+        this.accommodationRepository = accommodationRepository;
+        this.reservationRepository = reservationRepository;
+        this.maxResults = appProperties.getSearch().getSuggestMaxResults();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${search.suggest-index-rebuild-ms:600000}",
+            initialDelayString = "${search.suggest-index-rebuild-ms:600000}")
+    public void rebuildAll() {
+        synchronized (this) {
+            writesDuringRebuild = new ArrayList<>();
+        }
+        Trie rebuilt = new Trie(maxResults);
+        try {
+            Map<Long, Long> popularity = reservationRepository.countReservationsByAccommodation(BookingStatus.CANCELLED).stream()
+                    .collect(Collectors.toMap(AccommodationPopularity::accommodationId, AccommodationPopularity::reservations));
+            accommodationRepository.findAllTexts().forEach(text -> rebuilt.put(text.accommodationId(), text.name(),
+                    text.location(), popularity.getOrDefault(text.accommodationId(), 0L)));
+        } finally {
+            synchronized (this) {
+                // Writes committed while the rows were read may be missing from them; replaying is idempotent
+                writesDuringRebuild.forEach(write -> write.accept(rebuilt));
+                writesDuringRebuild = null;
+                trie = rebuilt;
+            }
+        }
+        log.info("Suggest index rebuilt for {} accommodations", rebuilt.size());
+    }
+
+    /**
+     * Indexes the current name and location of an accommodation, keeping its popularity,
+     * once the surrounding transaction commits.
+     */
+    public void onSaved(Accommodation accommodation) {
+        Long accommodationId = accommodation.getId();
+        String name = accommodation.getName();
+        String location = accommodation.getLocation();
+        TransactionUtil.afterCommit(() -> apply(index ->
+                index.put(accommodationId, name, location, index.popularityOf(accommodationId))));
+    }
+
+    /**
+     * Drops an accommodation from the index once the surrounding transaction commits.
+     */
+    public void onDeleted(Long accommodationId) {
+        TransactionUtil.afterCommit(() -> apply(index -> index.remove(accommodationId)));
+    }
+
+    /**
+     * Names and locations with a word starting with {@code query}, ignoring case, most popular first.
+     * Empty for a blank query or before the index is built.
+     */
+    public List<AccommodationSuggestion> suggest(String query, int limit) {
+        Trie current = trie;
+        if (current == null || query == null || query.isBlank()) {
+            return List.of();
+        }
+        return current.suggest(normalize(query), Math.min(Math.max(limit, 1), maxResults));
+    }
+
+    private synchronized void apply(Consumer<Trie> write) {
+        Trie current = trie;
+        if (current != null) {
+            write.accept(current);
+        }
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+
+    static String normalize(String value) {
+        return value.strip().toLowerCase(Locale.ROOT).replaceAll("\\s+", " ");
+    }
+
+    private record Entry(AccommodationSuggestion suggestion, String key, long score) {
+    }
+
+    private static final Comparator<Entry> RANKING = Comparator.comparingLong(Entry::score).reversed()
+            .thenComparing(entry -> entry.suggestion().text())
+            .thenComparing(entry -> entry.suggestion().type())
+            .thenComparing(entry -> entry.suggestion().accommodationId(), Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private record Indexed(Entry name, String locationKey, long popularity) {
+    }
+
+    private static final class LocationStats {
+        private Entry entry;
+        private int accommodations;
+
+        private LocationStats(Entry entry) {
+            this.entry = entry;
+        }
+    }
+
+    /**
+     * Child labels sorted for binary search. Replaced as a whole, so readers never see a label without its node.
+     */
+    private record Children(char[] labels, Node[] nodes) {
+
+        static final Children EMPTY = new Children(new char[0], new Node[0]);
+
+        Node get(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            return position >= 0 ? nodes[position] : null;
+        }
+
+        Children with(char label, Node node) {
+            int position = -Arrays.binarySearch(labels, label) - 1;
+            char[] newLabels = new char[labels.length + 1];
+            Node[] newNodes = new Node[nodes.length + 1];
+            System.arraycopy(labels, 0, newLabels, 0, position);
+            System.arraycopy(nodes, 0, newNodes, 0, position);
+            newLabels[position] = label;
+            newNodes[position] = node;
+            System.arraycopy(labels, position, newLabels, position + 1, labels.length - position);
+            System.arraycopy(nodes, position, newNodes, position + 1, nodes.length - position);
+            return new Children(newLabels, newNodes);
+        }
+
+        Children without(char label) {
+            int position = Arrays.binarySearch(labels, label);
+            char[] newLabels = new char[labels.length - 1];
+            Node[] newNodes = new Node[nodes.length - 1];
+            System.arraycopy(labels, 0, newLabels, 0, position);
+            System.arraycopy(nodes, 0, newNodes, 0, position);
+            System.arraycopy(labels, position + 1, newLabels, position, labels.length - position - 1);
+            System.arraycopy(nodes, position + 1, newNodes, position, nodes.length - position - 1);
+            return new Children(newLabels, newNodes);
+        }
+    }
+
+    private static final class Node {
+        private static final Entry[] NO_ENTRIES = new Entry[0];
+
+        private volatile Children children = Children.EMPTY;
+        private volatile Entry[] top = NO_ENTRIES;
+        private List<Entry> terminals;
+    }
+
+    /**
+     * Writes are serialized by the index; readers only follow {@code children} and read {@code top}.
+     */
+    private static final class Trie {
+
+        private final int maxResults;
+        private final Node root = new Node();
+        private final Map<Long, Indexed> accommodations = new HashMap<>();
+        private final Map<String, LocationStats> locations = new HashMap<>();
+
+        private Trie(int maxResults) {
+            this.maxResults = maxResults;
+        }
+
+        int size() {
+            return accommodations.size();
+        }
+
+        long popularityOf(Long accommodationId) {
+            Indexed indexed = accommodations.get(accommodationId);
+            return indexed != null ? indexed.popularity() : 0;
+        }
+
+        List<AccommodationSuggestion> suggest(String prefix, int limit) {
+            Node node = root;
+            for (int i = 0; i < prefix.length() && node != null; i++) {
+                node = node.children.get(prefix.charAt(i));
+            }
+            if (node == null) {
+                return List.of();
+            }
+            Entry[] top = node.top;
+            List<AccommodationSuggestion> suggestions = new ArrayList<>(Math.min(limit, top.length));
+            for (int i = 0; i < top.length && i < limit; i++) {
+                suggestions.add(top[i].suggestion());
+            }
+            return suggestions;
+        }
+
+        void put(Long accommodationId, String name, String location, long popularity) {
+            remove(accommodationId);
+            Entry nameEntry = null;
+            if (name != null && !name.isBlank()) {
+                nameEntry = new Entry(new AccommodationSuggestion(name, AccommodationSuggestion.Type.NAME, accommodationId),
+                        normalize(name), popularity);
+                insert(nameEntry);
+            }
+            String locationKey = null;
+            if (location != null && !location.isBlank()) {
+                locationKey = normalize(location);
+                addToLocation(locationKey, location, popularity);
+            }
+            accommodations.put(accommodationId, new Indexed(nameEntry, locationKey, popularity));
+        }
+
+        void remove(Long accommodationId) {
+            Indexed previous = accommodations.remove(accommodationId);
+            if (previous == null) {
+                return;
+            }
+            if (previous.name() != null) {
+                delete(previous.name());
+            }
+            if (previous.locationKey() != null) {
+                removeFromLocation(previous.locationKey(), previous.popularity());
+            }
+        }
+
+        private void addToLocation(String key, String text, long popularity) {
+            LocationStats stats = locations.get(key);
+            if (stats == null) {
+                stats = new LocationStats(new Entry(
+                        new AccommodationSuggestion(text, AccommodationSuggestion.Type.LOCATION, null), key, popularity));
+                locations.put(key, stats);
+                insert(stats.entry);
+            } else {
+                replace(stats, stats.entry.score() + popularity);
+            }
+            stats.accommodations++;
+        }
+
+        private void removeFromLocation(String key, long popularity) {
+            LocationStats stats = locations.get(key);
+            if (--stats.accommodations == 0) {
+                locations.remove(key);
+                delete(stats.entry);
+            } else {
+                replace(stats, stats.entry.score() - popularity);
+            }
+        }
+
+        private void replace(LocationStats stats, long score) {
+            if (score == stats.entry.score()) {
+                return;
+            }
+            delete(stats.entry);
+            stats.entry = new Entry(stats.entry.suggestion(), stats.entry.key(), score);
+            insert(stats.entry);
+        }
+
+        private void insert(Entry entry) {
+            for (int start : wordStarts(entry.key())) {
+                Node[] path = new Node[entry.key().length() - start + 1];
+                path[0] = root;
+                for (int i = start; i < entry.key().length(); i++) {
+                    Node parent = path[i - start];
+                    char label = entry.key().charAt(i);
+                    Node child = parent.children.get(label);
+                    if (child == null) {
+                        child = new Node();
+                        parent.children = parent.children.with(label, child);
+                    }
+                    path[i - start + 1] = child;
+                }
+                Node last = path[path.length - 1];
+                if (last.terminals == null) {
+                    last.terminals = new ArrayList<>(1);
+                }
+                last.terminals.add(entry);
+                recompute(path);
+            }
+        }
+
+        private void delete(Entry entry) {
+            for (int start : wordStarts(entry.key())) {
+                Node[] path = new Node[entry.key().length() - start + 1];
+                path[0] = root;
+                for (int i = start; i < entry.key().length(); i++) {
+                    path[i - start + 1] = path[i - start].children.get(entry.key().charAt(i));
+                }
+                Node last = path[path.length - 1];
+                last.terminals.remove(entry);
+                for (int depth = path.length - 1; depth > 0; depth--) {
+                    Node node = path[depth];
+                    boolean empty = (node.terminals == null || node.terminals.isEmpty()) && node.children.labels().length == 0;
+                    if (!empty) {
+                        break;
+                    }
+                    path[depth - 1].children = path[depth - 1].children.without(entry.key().charAt(start + depth - 1));
+                }
+                recompute(path);
+            }
+        }
+
+        /**
+         * Recomputes the cached suggestions from the deepest node of the path up to the root.
+         */
+        private void recompute(Node[] path) {
+            for (int depth = path.length - 1; depth >= 0; depth--) {
+                Node node = path[depth];
+                List<Entry> candidates = new ArrayList<>();
+                if (node.terminals != null) {
+                    candidates.addAll(node.terminals);
+                }
+                for (Node child : node.children.nodes()) {
+                    candidates.addAll(Arrays.asList(child.top));
+                }
+                node.top = candidates.stream().distinct().sorted(RANKING).limit(maxResults).toArray(Entry[]::new);
+            }
+        }
+
+        private static List<Integer> wordStarts(String key) {
+            List<Integer> starts = new ArrayList<>();
+            for (int i = 0; i < key.length(); i++) {
+                if (Character.isLetterOrDigit(key.charAt(i)) && (i == 0 || !Character.isLetterOrDigit(key.charAt(i - 1)))) {
+                    starts.add(i);
+                }
+            }
+            if (starts.isEmpty() || starts.getFirst() != 0) {
+                starts.addFirst(0);
+            }
+            return starts;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package com.SleepUp.SU.accommodation.search;
+
+public record AccommodationText(
+        Long accommodationId,
+        String name,
+        String description,
+        String location
+) {
+}
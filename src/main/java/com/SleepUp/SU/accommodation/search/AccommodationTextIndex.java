@@ -0,0 +1,232 @@
+package com.SleepUp.SU.accommodation.search;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.utils.TransactionUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Trigram index over the name, description and location of every accommodation, used by the
+ * filter to resolve its text predicates to ids instead of scanning the table with
+ * {@code LIKE '%term%'}. Values are lower-cased and cut into overlapping 3-character grams
+ * taken across word boundaries, so a term matches exactly when it is a substring of the
+ * value, as with the SQL predicate. Terms shorter than a gram are checked against the
+ * stored values directly.
+ * Writes made through {@code AccommodationServiceImpl} are applied after commit; a periodic
+ * rebuild picks up changes made on other replicas.
+ */
+@Component
+public class AccommodationTextIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(AccommodationTextIndex.class);
+
+    static final int GRAM = 3;
+
+    public enum Field {NAME, DESCRIPTION, LOCATION}
+
+    private final AccommodationRepository accommodationRepository;
+
+    private volatile Map<Field, Postings> postings;
+    private List<Consumer<Map<Field, Postings>>> writesDuringRebuild;
+
+    public AccommodationTextIndex(AccommodationRepository accommodationRepository) {
+        this.accommodationRepository = accommodationRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${search.text-index-rebuild-ms:600000}",
+            initialDelayString = "${search.text-index-rebuild-ms:600000}")
+    public void rebuildAll() {
+        synchronized (this) {
+            writesDuringRebuild = new ArrayList<>();
+        }
+        Map<Field, Postings> rebuilt = null;
+        try {
+            Map<Field, Postings> read = emptyPostings();
+            accommodationRepository.findAllTexts().forEach(text -> put(read, text));
+            rebuilt = read;
+        } finally {
+            synchronized (this) {
+                if (rebuilt != null) {
+                    // Writes committed while the rows were read may be missing from them; replaying is idempotent
+                    for (Consumer<Map<Field, Postings>> write : writesDuringRebuild) {
+                        write.accept(rebuilt);
+                    }
+                    postings = rebuilt;
+                }
+                writesDuringRebuild = null;
+            }
+        }
+        log.info("Text index rebuilt for {} accommodations", rebuilt.get(Field.NAME).texts.size());
+    }
+
+    /**
+     * Indexes the current name, description and location of an accommodation,
+     * once the surrounding transaction commits.
+     */
+    public void onSaved(Accommodation accommodation) {
+        AccommodationText text = new AccommodationText(accommodation.getId(), accommodation.getName(),
+                accommodation.getDescription(), accommodation.getLocation());
+        TransactionUtil.afterCommit(() -> apply(index -> put(index, text)));
+    }
+
+    /**
+     * Drops an accommodation from the index once the surrounding transaction commits.
+     */
+    public void onDeleted(Long accommodationId) {
+        TransactionUtil.afterCommit(() -> apply(index -> remove(index, accommodationId)));
+    }
+
+    /**
+     * Returns the ids of accommodations whose fields contain every given term, ignoring case.
+     * Null or empty terms do not restrict the result. Empty when no term is given or the index
+     * is not built yet, in which case the caller falls back to the SQL predicates.
+     */
+    public Optional<Set<Long>> search(String name, String description, String location) {
+        Map<Field, Postings> current = postings;
+        if (current == null) {
+            return Optional.empty();
+        }
+        Set<Long> result = null;
+        result = restrict(result, current.get(Field.NAME), name);
+        result = restrict(result, current.get(Field.DESCRIPTION), description);
+        result = restrict(result, current.get(Field.LOCATION), location);
+        return Optional.ofNullable(result);
+    }
+
+    private static Set<Long> restrict(Set<Long> result, Postings field, String term) {
+        if (term == null || term.isEmpty() || (result != null && result.isEmpty())) {
+            return result;
+        }
+        Set<Long> matches = field.matches(normalize(term), result);
+        if (result == null) {
+            return matches;
+        }
+        result.retainAll(matches);
+        return result;
+    }
+
+    private synchronized void apply(Consumer<Map<Field, Postings>> write) {
+        Map<Field, Postings> current = postings;
+        if (current != null) {
+            write.accept(current);
+        }
+        if (writesDuringRebuild != null) {
+            writesDuringRebuild.add(write);
+        }
+    }
+
+    private static void put(Map<Field, Postings> index, AccommodationText text) {
+        index.get(Field.NAME).put(text.accommodationId(), text.name());
+        index.get(Field.DESCRIPTION).put(text.accommodationId(), text.description());
+        index.get(Field.LOCATION).put(text.accommodationId(), text.location());
+    }
+
+    private static void remove(Map<Field, Postings> index, Long accommodationId) {
+        index.values().forEach(field -> field.remove(accommodationId));
+    }
+
+    private static Map<Field, Postings> emptyPostings() {
+        Map<Field, Postings> index = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            index.put(field, new Postings());
+        }
+        return index;
+    }
+
+    private static String normalize(String value) {
+        return value.toLowerCase(Locale.ROOT);
+    }
+
+    private static Set<String> grams(String value) {
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + GRAM <= value.length(); i++) {
+            grams.add(value.substring(i, i + GRAM));
+        }
+        return grams;
+    }
+
+    /**
+     * Lower-cased values and gram postings of one field. Writes are serialized by the index;
+     * new grams are added before the value is swapped and stale ones removed after, so a
+     * concurrent reader always finds the id under the grams of the value it verifies against.
+     */
+    private static final class Postings {
+
+        private final Map<Long, String> texts = new ConcurrentHashMap<>();
+        private final Map<String, Set<Long>> ids = new ConcurrentHashMap<>();
+
+        void put(Long accommodationId, String value) {
+            if (value == null) {
+                remove(accommodationId);
+                return;
+            }
+            String text = normalize(value);
+            String previous = texts.get(accommodationId);
+            Set<String> added = grams(text);
+            added.forEach(gram -> ids.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(accommodationId));
+            texts.put(accommodationId, text);
+            if (previous != null) {
+                Set<String> stale = grams(previous);
+                stale.removeAll(added);
+                stale.forEach(gram -> unlink(gram, accommodationId));
+            }
+        }
+
+        void remove(Long accommodationId) {
+            String previous = texts.remove(accommodationId);
+            if (previous != null) {
+                grams(previous).forEach(gram -> unlink(gram, accommodationId));
+            }
+        }
+
+        /**
+         * Ids whose value contains {@code term}, limited to {@code within} when it is not null.
+         * The rarest gram of the term picks the candidates, which are then verified against the value.
+         */
+        Set<Long> matches(String term, Set<Long> within) {
+            Set<Long> candidates = within != null ? within : texts.keySet();
+            for (String gram : grams(term)) {
+                Set<Long> posting = ids.get(gram);
+                if (posting == null) {
+                    return new HashSet<>();
+                }
+                if (posting.size() < candidates.size()) {
+                    candidates = posting;
+                }
+            }
+
+            Set<Long> matches = new HashSet<>();
+            for (Long accommodationId : candidates) {
+                String text = texts.get(accommodationId);
+                if (text != null && text.contains(term) && (within == null || within.contains(accommodationId))) {
+                    matches.add(accommodationId);
+                }
+            }
+            return matches;
+        }
+
+        private void unlink(String gram, Long accommodationId) {
+            ids.computeIfPresent(gram, (key, posting) -> {
+                posting.remove(accommodationId);
+                return posting.isEmpty() ? null : posting;
+            });
+        }
+    }
+}
@@ -3,12 +3,16 @@ package com.SleepUp.SU.accommodation.service;
 import com.SleepUp.SU.accommodation.dto.AccommodationRequest;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseDetail;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.utils.dto.CursorPage;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface AccommodationService {
-    List<AccommodationResponseSummary> getAllAccommodations();
+    CursorPage<AccommodationResponseSummary> getAccommodationsPage(AccommodationSortKey sortKey, String cursor, int size);
+
+    void streamAllAccommodations(Consumer<AccommodationResponseSummary> consumer);
 
     AccommodationResponseDetail getAccommodationById(Long id);
 
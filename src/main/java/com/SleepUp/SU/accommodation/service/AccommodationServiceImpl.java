@@ -1,32 +1,106 @@
 package com.SleepUp.SU.accommodation.service;
 
+import com.SleepUp.SU.accommodation.catalog.AccommodationCatalog;
+import com.SleepUp.SU.accommodation.catalog.CatalogSnapshot;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.accommodation.dto.AccommodationMapper;
 import com.SleepUp.SU.accommodation.dto.AccommodationRequest;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseDetail;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.exceptions.AccommodationNotFoundByIdException;
+import com.SleepUp.SU.accommodation.filter.AccommodationFilterFields;
+import com.SleepUp.SU.accommodation.filter.FilterResultCache;
+import com.SleepUp.SU.accommodation.search.AccommodationSuggestIndex;
+import com.SleepUp.SU.accommodation.search.AccommodationTextIndex;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
 import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.user.entity.User;
 import com.SleepUp.SU.utils.EntityUtil;
-import jakarta.transaction.Transactional;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class AccommodationServiceImpl implements AccommodationService{
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+
     private final AccommodationRepository accommodationRepository;
     private final AccommodationMapper accommodationMapper;
     private final AccommodationServiceHelper accommodationServiceHelper;
     private final EntityUtil entityUtil;
+    private final AccommodationTextIndex accommodationTextIndex;
+    private final AccommodationSuggestIndex accommodationSuggestIndex;
+    private final AccommodationCatalog accommodationCatalog;
+    private final FilterResultCache filterResultCache;
+    private final LoyaltyStayTracker loyaltyStayTracker;
 
+    /**
+     * Returns one keyset page of summaries in the order of {@code sortKey}, from the catalog read model
+     * once it is built. Otherwise only {@code size + 1} rows are read, however deep the page is.
+     */
     @Override
-    public List<AccommodationResponseSummary> getAllAccommodations(){
-        List<Accommodation> accommodations = accommodationRepository.findAll();
-        return accommodations.stream().map(accommodationMapper::toSummary).toList();
+    public CursorPage<AccommodationResponseSummary> getAccommodationsPage(AccommodationSortKey sortKey, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        KeysetCursor position = cursor != null ? sortKey.decode(cursor) : null;
+
+        Optional<CatalogSnapshot> catalog = accommodationCatalog.snapshot();
+        if (catalog.isPresent()) {
+            return catalog.get().all().cursorPage(sortKey, position, pageSize);
+        }
+
+        List<AccommodationResponseSummary> rows = findSummaryPage(sortKey, position, Limit.of(pageSize + 1));
+        boolean hasMore = rows.size() > pageSize;
+        List<AccommodationResponseSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = hasMore ? positionOf(sortKey, page.getLast()).encode() : null;
+        return new CursorPage<>(List.copyOf(page), nextCursor);
+    }
+
+    /**
+     * Hands every accommodation to {@code consumer} in id order from a single streamed query,
+     * so only one row is held in memory however large the catalog is. The transaction keeps the
+     * connection and its open result set until the stream is closed; being read-only, Hibernate
+     * skips the flush and dirty checking and MySQL runs it without taking a transaction id.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllAccommodations(Consumer<AccommodationResponseSummary> consumer) {
+        try (Stream<AccommodationResponseSummary> summaries = accommodationRepository.streamAllSummaries()) {
+            summaries.forEach(consumer);
+        }
+    }
+
+    private List<AccommodationResponseSummary> findSummaryPage(AccommodationSortKey sortKey, KeysetCursor position, Limit limit) {
+        Long afterId = position != null ? position.id() : 0L;
+        return switch (sortKey) {
+            case ID -> accommodationRepository.findSummaryPageById(afterId, limit);
+            case PRICE -> accommodationRepository.findSummaryPageByPrice(
+                    position != null ? AccommodationSortKey.priceOf(position) : -Double.MAX_VALUE, afterId, limit);
+            case AVAILABLE_FROM -> accommodationRepository.findSummaryPageByAvailableFrom(
+                    position != null ? AccommodationSortKey.availableFromOf(position) : MIN_DATE, afterId, limit);
+        };
+    }
+
+    private KeysetCursor positionOf(AccommodationSortKey sortKey, AccommodationResponseSummary last) {
+        return switch (sortKey) {
+            case ID -> sortKey.positionOf(last.id(), null);
+            case PRICE -> sortKey.positionOf(last.id(), last.price());
+            case AVAILABLE_FROM -> sortKey.positionOf(last.id(), accommodationRepository.findAvailableFromById(last.id())
+                    .orElseThrow(() -> new AccommodationNotFoundByIdException(last.id())));
+        };
     }
 
     @Override
@@ -42,6 +116,10 @@ public class AccommodationServiceImpl implements AccommodationService{
         accommodationServiceHelper.postImageCloudinary(accommodationRequest, accommodation);
 
         Accommodation savedAccommodation = accommodationRepository.save(accommodation);
+        accommodationTextIndex.onSaved(savedAccommodation);
+        accommodationSuggestIndex.onSaved(savedAccommodation);
+        accommodationCatalog.onSaved(savedAccommodation);
+        filterResultCache.onAccommodationChanged(null, AccommodationFilterFields.of(savedAccommodation));
         return accommodationMapper.toDetail(savedAccommodation);
     }
 
@@ -49,6 +127,7 @@ public class AccommodationServiceImpl implements AccommodationService{
     @Transactional
     public AccommodationResponseDetail updateAccommodation(Long id, AccommodationRequest accommodationRequest){
         Accommodation accommodation = accommodationServiceHelper.getAccommodationEntityById(id);
+        AccommodationFilterFields before = AccommodationFilterFields.of(accommodation);
         if (!accommodation.getName().equals(accommodationRequest.name())){
             accommodationServiceHelper.validateAccommodationNameDoesNotExist(accommodationRequest.name());
         }
@@ -63,8 +142,14 @@ public class AccommodationServiceImpl implements AccommodationService{
         entityUtil.updateField(accommodationRequest.checkOutTime(), accommodation::getCheckOutTime, accommodation::setCheckOutTime);
         entityUtil.updateField(accommodationRequest.availableFrom(), accommodation::getAvailableFrom, accommodation::setAvailableFrom);
         entityUtil.updateField(accommodationRequest.availableTo(), accommodation::getAvailableTo, accommodation::setAvailableTo);
+        entityUtil.updateField(accommodationRequest.latitude(), accommodation::getLatitude, accommodation::setLatitude);
+        entityUtil.updateField(accommodationRequest.longitude(), accommodation::getLongitude, accommodation::setLongitude);
 
         accommodationServiceHelper.cloudinaryManagement(accommodationRequest, accommodation);
+        accommodationTextIndex.onSaved(accommodation);
+        accommodationSuggestIndex.onSaved(accommodation);
+        accommodationCatalog.onSaved(accommodation);
+        filterResultCache.onAccommodationChanged(before, AccommodationFilterFields.of(accommodation));
 
         return accommodationMapper.toDetail(accommodation);
     }
@@ -74,5 +159,10 @@ public class AccommodationServiceImpl implements AccommodationService{
         Accommodation accommodation = accommodationServiceHelper.getAccommodationEntityById(id);
         accommodationServiceHelper.deleteImageCloudinary(accommodation.getImageUrl());
         accommodationRepository.delete(accommodation);
+        loyaltyStayTracker.deleteForAccommodation(id);
+        accommodationTextIndex.onDeleted(id);
+        accommodationSuggestIndex.onDeleted(id);
+        accommodationCatalog.onDeleted(id);
+        filterResultCache.onAccommodationChanged(AccommodationFilterFields.of(accommodation), null);
     }
 }
\ No newline at end of file
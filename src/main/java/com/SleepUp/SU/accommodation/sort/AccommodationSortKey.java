@@ -0,0 +1,82 @@
+package com.SleepUp.SU.accommodation.sort;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.exceptions.InvalidCursorException;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Stable orders accommodations can be paged through with keyset cursors, always ascending
+ * and with the id breaking ties. Cursors carry the name of their sort key, so a cursor
+ * issued for one order is rejected by another.
+ */
+public enum AccommodationSortKey {
+    ID("id"),
+    PRICE("price"),
+    AVAILABLE_FROM("availableFrom");
+
+    private static final char PREFIX_SEPARATOR = ':';
+
+    private final String attribute;
+
+    AccommodationSortKey(String attribute) {
+        this.attribute = attribute;
+    }
+
+    public String getAttribute() {
+        return attribute;
+    }
+
+    public Sort sort() {
+        return this == ID ? Sort.by("id") : Sort.by(attribute).and(Sort.by("id"));
+    }
+
+    public KeysetCursor positionOf(Accommodation accommodation) {
+        return switch (this) {
+            case ID -> positionOf(accommodation.getId(), null);
+            case PRICE -> positionOf(accommodation.getId(), accommodation.getPrice());
+            case AVAILABLE_FROM -> positionOf(accommodation.getId(), accommodation.getAvailableFrom());
+        };
+    }
+
+    public KeysetCursor positionOf(Long id, Object value) {
+        return new KeysetCursor(name() + PREFIX_SEPARATOR + (value != null ? value : ""), id);
+    }
+
+    /**
+     * Decodes a cursor issued for this sort key, rejecting cursors issued for another one.
+     */
+    public KeysetCursor decode(String cursor) {
+        KeysetCursor position = KeysetCursor.decode(cursor);
+        String prefix = name() + PREFIX_SEPARATOR;
+        if (!position.sortKey().startsWith(prefix)) {
+            throw new InvalidCursorException();
+        }
+        KeysetCursor decoded = new KeysetCursor(position.sortKey().substring(prefix.length()), position.id());
+        if (this == PRICE) {
+            priceOf(decoded);
+        } else if (this == AVAILABLE_FROM) {
+            availableFromOf(decoded);
+        }
+        return decoded;
+    }
+
+    public static double priceOf(KeysetCursor position) {
+        try {
+            return Double.parseDouble(position.sortKey());
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException();
+        }
+    }
+
+    public static LocalDate availableFromOf(KeysetCursor position) {
+        try {
+            return LocalDate.parse(position.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException();
+        }
+    }
+}
@@ -7,10 +7,15 @@ import com.SleepUp.SU.accommodation.exceptions.AccommodationAlreadyExistsByNameE
 import com.SleepUp.SU.accommodation.exceptions.AccommodationNotFoundByIdException;
 import com.SleepUp.SU.cloudinary.CloudinaryService;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
 import org.springframework.stereotype.Service;
 
 import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -25,7 +30,25 @@ public class AccommodationServiceHelper {
     }
 
     public Accommodation getAccommodationEntityById(Long id) {
-        return accommodationRepository.findById(id).orElseThrow(() -> new AccommodationNotFoundByIdException(id));
+        return accommodationRepository.findWithOwnerById(id).orElseThrow(() -> new AccommodationNotFoundByIdException(id));
+    }
+
+    /**
+     * The owner is loaded separately rather than joined so only the accommodation row is locked;
+     * it is initialized here because booking notifications read it after the transaction ends.
+     */
+    public Accommodation lockAccommodationEntityById(Long id) {
+        Accommodation accommodation = accommodationRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new AccommodationNotFoundByIdException(id));
+        Hibernate.initialize(accommodation.getManagedBy());
+        return accommodation;
+    }
+
+    public Map<Long, Accommodation> lockAccommodationEntitiesByIds(Collection<Long> ids) {
+        List<Accommodation> accommodations = accommodationRepository.findAllByIdForUpdate(ids);
+        accommodations.forEach(accommodation -> Hibernate.initialize(accommodation.getManagedBy()));
+        return accommodations.stream()
+                .collect(Collectors.toMap(Accommodation::getId, Function.identity()));
     }
 
     public boolean isAccommodationOwnedByUser(Long accommodationId, Long userId){
@@ -44,4 +44,10 @@ public class AuthController {
     public ApiMessageDto logout(HttpServletRequest request) {
         return authService.logout(request);
     }
+
+    @PostMapping("/logout-all")
+    @ResponseStatus(HttpStatus.OK)
+    public ApiMessageDto logoutAll(@AuthenticationPrincipal CustomUserDetails customUserDetails) {
+        return authService.logoutAll(customUserDetails);
+    }
 }
\ No newline at end of file
@@ -2,7 +2,9 @@ package com.SleepUp.SU.auth;
 
 import com.SleepUp.SU.auth.dto.*;
 import com.SleepUp.SU.security.jwt.JwtService;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.utils.UserServiceHelper;
 import com.SleepUp.SU.user.dto.UserMapper;
@@ -37,6 +39,7 @@ public class AuthService {
     private final AuthenticationManager authenticationManager;
     private final UserServiceHelper userServiceHelper;
     private final EmailService emailService;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     @Transactional
     public UserResponse register(UserRequest request) throws MessagingException {
@@ -91,4 +94,14 @@ public class AuthService {
         return new ApiMessageDto("Logout successful");
     }
 
+    /**
+     * Ends every session of the user by moving to the next token generation, without blacklisting tokens.
+     */
+    @Transactional
+    public ApiMessageDto logoutAll(CustomUserDetails customUserDetails) {
+        userRepository.incrementTokenGeneration(customUserDetails.getId());
+        authenticatedUserCache.invalidate(customUserDetails.getId());
+        return new ApiMessageDto("Logged out from all sessions");
+    }
+
 }
\ No newline at end of file
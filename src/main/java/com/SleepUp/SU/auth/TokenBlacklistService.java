@@ -1,57 +1,107 @@
 package com.SleepUp.SU.auth;
 
+import com.SleepUp.SU.auth.revocation.LocalRevocationFilter;
+import com.SleepUp.SU.auth.revocation.RevocationStore;
 import com.SleepUp.SU.security.jwt.JwtService;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Optional;
 
+/**
+ * Revoked tokens, keyed by a 64-bit digest of their {@code jti} claim rather than the token itself,
+ * and kept in the configured {@link RevocationStore} until they expire. Lookups go through the node's
+ * {@link LocalRevocationFilter} first, so only probable hits reach the store.
+ * A token that cannot be verified is keyed by a digest of the whole token and kept for a week.
+ */
 @Service
 @RequiredArgsConstructor
 public class TokenBlacklistService {
 
-    private final ConcurrentHashMap<String, Long> blacklistedTokens = new ConcurrentHashMap<>();
+    private static final long PURGE_INTERVAL_MS = 60_000;
+    private static final long UNVERIFIED_TTL_MS = 7L * 24 * 60 * 60 * 1000;
 
     private final JwtService jwtService;
+    private final RevocationStore revocationStore;
+    private final LocalRevocationFilter localRevocationFilter;
 
     public void addToBlacklist(String token) {
-        try {
-            Date expiration = jwtService.extractExpiration(token);
-            blacklistedTokens.put(token, expiration.getTime());
-        } catch (Exception e){
-            long expirationTime = System.currentTimeMillis() + (7 * 24 * 60 * 60 * 1000);
-            blacklistedTokens.put(token, expirationTime);
+        Optional<Claims> claims = jwtService.verifiedClaims(token);
+        if (claims.isPresent()) {
+            Date expiration = claims.get().getExpiration();
+            long expiresAt = expiration != null ? expiration.getTime() : System.currentTimeMillis() + UNVERIFIED_TTL_MS;
+            revoke(keyOf(token, claims.get()), expiresAt);
+        } else {
+            revoke(digest("token:" + token), System.currentTimeMillis() + UNVERIFIED_TTL_MS);
         }
     }
 
     public boolean isTokenInBlacklist(String token) {
-        Long expirationTime = blacklistedTokens.get(token);
-
-        if (expirationTime == null){
-            return false;
-        }
-
-        if (System.currentTimeMillis() > expirationTime) {
-            blacklistedTokens.remove(token);
-            return false;
-        }
+        return jwtService.verifiedClaims(token)
+                .map(claims -> isRevoked(token, claims))
+                .orElseGet(() -> isRevoked(digest("token:" + token)));
+    }
 
-        return true;
+    /**
+     * Same as {@link #isTokenInBlacklist(String)} for a token whose claims were already verified.
+     */
+    public boolean isRevoked(String token, Claims verifiedClaims) {
+        return isRevoked(keyOf(token, verifiedClaims));
     }
 
     public void removeFromBlacklist(String token) {
-        blacklistedTokens.remove(token);
+        long key = jwtService.verifiedClaims(token)
+                .map(claims -> keyOf(token, claims))
+                .orElseGet(() -> digest("token:" + token));
+        revocationStore.remove(key);
     }
 
-    @Scheduled(fixedRate = 3600000)
+    @Scheduled(fixedRate = PURGE_INTERVAL_MS)
     public void removeExpiredTokens() {
-        long currentTime = System.currentTimeMillis();
-        blacklistedTokens.entrySet().removeIf(entry -> currentTime > entry.getValue());
+        revocationStore.purgeExpired(System.currentTimeMillis());
+    }
+
+    public long getBlacklistedTokensCount() {
+        return revocationStore.size();
+    }
+
+    /**
+     * Revokes a jti until {@code expiresAt}; exposed to the package for tests and benchmarks.
+     */
+    void revokeJti(String jti, long expiresAt) {
+        revoke(digest("jti:" + jti), expiresAt);
     }
 
-    public int getBlacklistedTokensCount() {
-        return blacklistedTokens.size();
+    private void revoke(long key, long expiresAt) {
+        if (expiresAt <= System.currentTimeMillis()) {
+            return;
+        }
+        revocationStore.revoke(key, expiresAt);
+        localRevocationFilter.add(key);
+    }
+
+    private boolean isRevoked(long key) {
+        return localRevocationFilter.mightBeRevoked(key) && revocationStore.isRevoked(key, System.currentTimeMillis());
+    }
+
+    private static long keyOf(String token, Claims claims) {
+        String jti = claims.getId();
+        return jti != null ? digest("jti:" + jti) : digest("token:" + token);
+    }
+
+    private static long digest(String value) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return ByteBuffer.wrap(hash).getLong();
+        } catch (NoSuchAlgorithmException exception) {
+            throw new IllegalStateException("SHA-256 is not available", exception);
+        }
     }
-}
\ No newline at end of file
+}
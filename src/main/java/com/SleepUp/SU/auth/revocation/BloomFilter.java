@@ -0,0 +1,58 @@
+package com.SleepUp.SU.auth.revocation;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over 64-bit keys that are already uniform digests, so the probe positions come from
+ * the two halves of the key (double hashing) instead of rehashing it. Sized for an expected number
+ * of keys at a target false-positive rate; beyond that the rate degrades but there are still no
+ * false negatives. Adds and lookups are lock-free.
+ */
+final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+
+    BloomFilter(long expectedKeys, double falsePositiveRate) {
+        long bits = (long) Math.ceil(-expectedKeys * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        int wordCount = (int) Math.min(Integer.MAX_VALUE - 8, Math.max(1, (bits + 63) / 64));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = wordCount * 64L;
+        this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expectedKeys * Math.log(2)));
+    }
+
+    void add(long key) {
+        long first = key & 0xFFFF_FFFFL;
+        long second = key >>> 32;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(first + i * second, bitCount);
+            long mask = 1L << bit;
+            int index = (int) (bit >>> 6);
+            long word = words.get(index);
+            if ((word & mask) == 0) {
+                words.getAndAccumulate(index, mask, (current, added) -> current | added);
+            }
+        }
+    }
+
+    boolean mightContain(long key) {
+        long first = key & 0xFFFF_FFFFL;
+        long second = key >>> 32;
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(first + i * second, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+}
@@ -0,0 +1,87 @@
+package com.SleepUp.SU.auth.revocation;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.function.LongConsumer;
+import java.util.stream.Stream;
+
+/**
+ * Revocations kept in the {@code revoked_tokens} table, so a token revoked through one replica is
+ * rejected by all of them. Replicas sync by row id; each sync re-reads a window of recent ids because
+ * identity values are handed out before commit, so a row may become visible after a higher id has.
+ */
+@Component
+@ConditionalOnProperty(name = "revocation.store", havingValue = "database")
+@RequiredArgsConstructor
+public class DatabaseRevocationStore implements RevocationStore {
+
+    static final int SYNC_BATCH_SIZE = 10_000;
+    static final long SYNC_OVERLAP = 1_000;
+
+    private final RevokedTokenRepository revokedTokenRepository;
+
+    @Override
+    public void revoke(long key, long expiresAt) {
+        if (revokedTokenRepository.extendExpiry(key, expiresAt) > 0 || revokedTokenRepository.existsByTokenKey(key)) {
+            return;
+        }
+        try {
+            revokedTokenRepository.saveAndFlush(RevokedToken.builder().tokenKey(key).expiresAt(expiresAt).build());
+        } catch (DataIntegrityViolationException exception) {
+            // Revoked concurrently through another replica
+            revokedTokenRepository.extendExpiry(key, expiresAt);
+        }
+    }
+
+    @Override
+    public boolean isRevoked(long key, long nowMillis) {
+        return revokedTokenRepository.existsByTokenKeyAndExpiresAtGreaterThan(key, nowMillis);
+    }
+
+    @Override
+    public void remove(long key) {
+        revokedTokenRepository.deleteByTokenKey(key);
+    }
+
+    @Override
+    public RevocationChanges changesSince(long cursor) {
+        List<RevokedTokenChange> changes = revokedTokenRepository.findChangesAfter(
+                Math.max(0, cursor - SYNC_OVERLAP), PageRequest.of(0, SYNC_BATCH_SIZE));
+        long[] keys = new long[changes.size()];
+        long next = cursor;
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = changes.get(i).tokenKey();
+            next = Math.max(next, changes.get(i).id());
+        }
+        return new RevocationChanges(keys, next);
+    }
+
+    @Override
+    public long currentCursor() {
+        return revokedTokenRepository.findLatestId();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void forEachActiveKey(long nowMillis, LongConsumer action) {
+        try (Stream<Long> keys = revokedTokenRepository.streamActiveKeys(nowMillis)) {
+            keys.forEach(action::accept);
+        }
+    }
+
+    @Override
+    public void purgeExpired(long nowMillis) {
+        revokedTokenRepository.deleteExpired(nowMillis);
+    }
+
+    @Override
+    public long size() {
+        return revokedTokenRepository.count();
+    }
+}
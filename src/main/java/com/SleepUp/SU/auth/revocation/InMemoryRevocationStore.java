@@ -0,0 +1,81 @@
+package com.SleepUp.SU.auth.revocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Revocations held in this JVM only, grouped into one-minute expiry buckets. The default store;
+ * suited to a single node, since a token revoked here stays valid on other replicas.
+ */
+@Component
+@ConditionalOnProperty(name = "revocation.store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryRevocationStore implements RevocationStore {
+
+    static final long BUCKET_MS = 60_000;
+
+    private final RevokedTokenTable revokedTokens = new RevokedTokenTable();
+
+    @Override
+    public void revoke(long key, long expiresAt) {
+        synchronized (revokedTokens) {
+            revokedTokens.revoke(key, bucketOf(expiresAt));
+        }
+    }
+
+    @Override
+    public boolean isRevoked(long key, long nowMillis) {
+        int currentBucket = bucketOf(nowMillis);
+        synchronized (revokedTokens) {
+            return revokedTokens.isRevoked(key, currentBucket);
+        }
+    }
+
+    @Override
+    public void remove(long key) {
+        synchronized (revokedTokens) {
+            revokedTokens.remove(key);
+        }
+    }
+
+    @Override
+    public RevocationChanges changesSince(long cursor) {
+        return RevocationChanges.none(cursor);
+    }
+
+    @Override
+    public long currentCursor() {
+        return 0;
+    }
+
+    @Override
+    public void forEachActiveKey(long nowMillis, LongConsumer action) {
+        int currentBucket = bucketOf(nowMillis);
+        synchronized (revokedTokens) {
+            revokedTokens.forEachKey(currentBucket, action);
+        }
+    }
+
+    @Override
+    public void purgeExpired(long nowMillis) {
+        int currentBucket = bucketOf(nowMillis);
+        synchronized (revokedTokens) {
+            revokedTokens.purgeBefore(currentBucket);
+        }
+    }
+
+    @Override
+    public long size() {
+        synchronized (revokedTokens) {
+            return revokedTokens.size();
+        }
+    }
+
+    /**
+     * Bucket a timestamp falls in, counted in minutes since the epoch and never below 1.
+     */
+    private static int bucketOf(long epochMillis) {
+        return (int) Math.max(1, Math.ceilDiv(epochMillis, BUCKET_MS));
+    }
+}
@@ -0,0 +1,115 @@
+package com.SleepUp.SU.auth.revocation;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Per-node Bloom filter in front of the {@link RevocationStore}, so a token that was never revoked is
+ * accepted without leaving the JVM and only probable hits reach the store. Keys revoked through this
+ * node are added at once, keys revoked elsewhere arrive with the incremental sync, and a periodic
+ * rebuild from the active keys drops the bits of expired and removed tokens. Until the first build
+ * completes every key is reported as a probable hit.
+ */
+@Component
+public class LocalRevocationFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(LocalRevocationFilter.class);
+
+    private final RevocationStore revocationStore;
+    private final long expectedTokens;
+    private final double falsePositiveRate;
+
+    private final Object syncLock = new Object();
+    private volatile BloomFilter filter;
+    private long cursor;
+    private long[] addedDuringRebuild;
+    private int addedDuringRebuildCount;
+
+    public LocalRevocationFilter(RevocationStore revocationStore, AppProperties appProperties) {
+        this.revocationStore = revocationStore;
+        this.expectedTokens = appProperties.getRevocation().getBloomExpectedTokens();
+        this.falsePositiveRate = appProperties.getRevocation().getBloomFalsePositiveRate();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${revocation.rebuild-ms:3600000}",
+            initialDelayString = "${revocation.rebuild-ms:3600000}")
+    public void rebuild() {
+        synchronized (syncLock) {
+            synchronized (this) {
+                addedDuringRebuild = new long[16];
+                addedDuringRebuildCount = 0;
+            }
+            BloomFilter rebuilt = null;
+            int[] keyCount = new int[1];
+            try {
+                long startCursor = revocationStore.currentCursor();
+                BloomFilter next = new BloomFilter(expectedTokens, falsePositiveRate);
+                revocationStore.forEachActiveKey(System.currentTimeMillis(), key -> {
+                    next.add(key);
+                    keyCount[0]++;
+                });
+                rebuilt = next;
+                cursor = startCursor;
+            } finally {
+                synchronized (this) {
+                    if (rebuilt != null) {
+                        // Keys revoked while the store was read may be missing from it
+                        for (int i = 0; i < addedDuringRebuildCount; i++) {
+                            rebuilt.add(addedDuringRebuild[i]);
+                        }
+                        filter = rebuilt;
+                    }
+                    addedDuringRebuild = null;
+                }
+            }
+            log.info("Revocation filter rebuilt with {} tokens", keyCount[0]);
+        }
+    }
+
+    /**
+     * Adds the keys revoked through other nodes since the last sync.
+     */
+    @Scheduled(fixedDelayString = "${revocation.sync-ms:5000}")
+    public void sync() {
+        synchronized (syncLock) {
+            if (filter == null) {
+                // The first build reads every key
+                return;
+            }
+            RevocationChanges changes = revocationStore.changesSince(cursor);
+            for (long key : changes.keys()) {
+                add(key);
+            }
+            cursor = changes.cursor();
+        }
+    }
+
+    public synchronized void add(long key) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(key);
+        }
+        if (addedDuringRebuild != null) {
+            if (addedDuringRebuildCount == addedDuringRebuild.length) {
+                addedDuringRebuild = Arrays.copyOf(addedDuringRebuild, addedDuringRebuildCount * 2);
+            }
+            addedDuringRebuild[addedDuringRebuildCount++] = key;
+        }
+    }
+
+    /**
+     * False only when {@code key} was certainly not revoked as of the last sync.
+     */
+    public boolean mightBeRevoked(long key) {
+        BloomFilter current = filter;
+        return current == null || current.mightContain(key);
+    }
+}
@@ -0,0 +1,11 @@
+package com.SleepUp.SU.auth.revocation;
+
+/**
+ * Keys revoked since a cursor, and the cursor to ask from next.
+ */
+public record RevocationChanges(long[] keys, long cursor) {
+
+    public static RevocationChanges none(long cursor) {
+        return new RevocationChanges(new long[0], cursor);
+    }
+}
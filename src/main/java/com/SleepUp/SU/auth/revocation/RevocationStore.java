@@ -0,0 +1,37 @@
+package com.SleepUp.SU.auth.revocation;
+
+import java.util.function.LongConsumer;
+
+/**
+ * Where revoked token keys are kept, selected with {@code revocation.store}. Keys are 64-bit
+ * digests and expiry times are epoch milliseconds; a key stops being revoked once it expires.
+ */
+public interface RevocationStore {
+
+    /**
+     * Revokes {@code key} until {@code expiresAt}; revoking a key again keeps the later expiry.
+     */
+    void revoke(long key, long expiresAt);
+
+    boolean isRevoked(long key, long nowMillis);
+
+    void remove(long key);
+
+    /**
+     * Keys revoked after {@code cursor}, which starts at {@link #currentCursor()}; a store whose
+     * revocations all go through this node returns none.
+     */
+    RevocationChanges changesSince(long cursor);
+
+    /**
+     * Cursor marking the latest revocation, taken before {@link #forEachActiveKey} so changes made
+     * while the keys are read are picked up by the next {@link #changesSince}.
+     */
+    long currentCursor();
+
+    void forEachActiveKey(long nowMillis, LongConsumer action);
+
+    void purgeExpired(long nowMillis);
+
+    long size();
+}
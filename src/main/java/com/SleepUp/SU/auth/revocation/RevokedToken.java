@@ -0,0 +1,33 @@
+package com.SleepUp.SU.auth.revocation;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A revoked token shared by every replica, identified by the 64-bit digest the blacklist keys it by.
+ * Rows are only appended or deleted, so the id doubles as the cursor replicas sync from.
+ */
+@Entity
+@Table(name = "revoked_tokens", indexes = {
+        @Index(name = "idx_revoked_tokens_expires_at", columnList = "expires_at")
+})
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RevokedToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false, unique = true, name = "token_key")
+    private long tokenKey;
+
+    /**
+     * Epoch milliseconds after which the token would be rejected anyway
+     */
+    @Column(nullable = false, name = "expires_at")
+    private long expiresAt;
+}
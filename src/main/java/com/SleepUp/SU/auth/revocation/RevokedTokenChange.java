@@ -0,0 +1,7 @@
+package com.SleepUp.SU.auth.revocation;
+
+/**
+ * Id and key of a revoked token row, read when replicas sync their filters.
+ */
+public record RevokedTokenChange(Long id, Long tokenKey) {
+}
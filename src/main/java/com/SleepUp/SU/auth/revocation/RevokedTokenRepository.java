@@ -0,0 +1,68 @@
+package com.SleepUp.SU.auth.revocation;
+
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, Long> {
+
+    /**
+     * Makes MySQL Connector/J hand over result rows one at a time instead of buffering the whole result
+     */
+    int STREAM_FETCH_SIZE = Integer.MIN_VALUE;
+
+    boolean existsByTokenKeyAndExpiresAtGreaterThan(long tokenKey, long nowMillis);
+
+    /**
+     * Gets the rows after an id, oldest first
+     * Used by replicas to sync revocations made elsewhere
+     */
+    @Query("SELECT new com.SleepUp.SU.auth.revocation.RevokedTokenChange(r.id, r.tokenKey) " +
+            "FROM RevokedToken r WHERE r.id > :afterId ORDER BY r.id")
+    List<RevokedTokenChange> findChangesAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    @Query("SELECT COALESCE(MAX(r.id), 0) FROM RevokedToken r")
+    long findLatestId();
+
+    /**
+     * Streams the keys that have not expired yet, one row at a time
+     * Used to rebuild the filters, must be consumed inside a transaction that runs no other statement meanwhile
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + STREAM_FETCH_SIZE),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r.tokenKey FROM RevokedToken r WHERE r.expiresAt > :nowMillis")
+    Stream<Long> streamActiveKeys(@Param("nowMillis") long nowMillis);
+
+    /**
+     * Moves the expiry of a key forward, never back
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE RevokedToken r SET r.expiresAt = :expiresAt WHERE r.tokenKey = :tokenKey AND r.expiresAt < :expiresAt")
+    int extendExpiry(@Param("tokenKey") long tokenKey, @Param("expiresAt") long expiresAt);
+
+    boolean existsByTokenKey(long tokenKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.tokenKey = :tokenKey")
+    int deleteByTokenKey(@Param("tokenKey") long tokenKey);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :nowMillis")
+    int deleteExpired(@Param("nowMillis") long nowMillis);
+}
@@ -0,0 +1,164 @@
+package com.SleepUp.SU.auth.revocation;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.LongConsumer;
+
+/**
+ * Revoked token digests with the expiry bucket each one is kept until. Digests live in an
+ * open-addressing table of two primitive arrays (linear probing, backward-shift deletion so
+ * removals leave no tombstones), and each bucket lists the digests expiring in it, so purging
+ * touches only expired entries. Buckets are positive integers. Not thread safe; callers lock.
+ */
+final class RevokedTokenTable {
+
+    private static final int EMPTY = 0;
+    private static final int INITIAL_CAPACITY = 64;
+
+    private long[] keys = new long[INITIAL_CAPACITY];
+    private int[] buckets = new int[INITIAL_CAPACITY];
+    private int size;
+
+    private final TreeMap<Integer, KeyList> expiring = new TreeMap<>();
+
+    /**
+     * Revokes {@code key} until the end of {@code bucket}; a key revoked again keeps the later bucket.
+     */
+    void revoke(long key, int bucket) {
+        int slot = find(key);
+        if (slot >= 0) {
+            if (bucket <= buckets[slot]) {
+                return;
+            }
+            buckets[slot] = bucket;
+        } else {
+            if ((size + 1) * 4L > keys.length * 3L) {
+                resize(keys.length * 2);
+            }
+            insert(key, bucket);
+            size++;
+        }
+        expiring.computeIfAbsent(bucket, ignored -> new KeyList()).add(key);
+    }
+
+    /**
+     * Whether {@code key} is revoked in a bucket that has not ended before {@code currentBucket}.
+     */
+    boolean isRevoked(long key, int currentBucket) {
+        int slot = find(key);
+        return slot >= 0 && buckets[slot] >= currentBucket;
+    }
+
+    boolean remove(long key) {
+        int slot = find(key);
+        if (slot < 0) {
+            return false;
+        }
+        deleteAt(slot);
+        return true;
+    }
+
+    /**
+     * Drops every key whose bucket ended before {@code currentBucket}, visiting only those buckets.
+     */
+    int purgeBefore(int currentBucket) {
+        int purged = 0;
+        Map.Entry<Integer, KeyList> head;
+        while ((head = expiring.firstEntry()) != null && head.getKey() < currentBucket) {
+            expiring.pollFirstEntry();
+            int bucket = head.getKey();
+            KeyList list = head.getValue();
+            for (int i = 0; i < list.size; i++) {
+                // Skip keys removed since, or revoked again into a later bucket
+                int slot = find(list.keys[i]);
+                if (slot >= 0 && buckets[slot] == bucket) {
+                    deleteAt(slot);
+                    purged++;
+                }
+            }
+        }
+        return purged;
+    }
+
+    /**
+     * Passes every key still revoked at {@code currentBucket} to {@code action}.
+     */
+    void forEachKey(int currentBucket, LongConsumer action) {
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (buckets[slot] >= currentBucket) {
+                action.accept(keys[slot]);
+            }
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    private int find(long key) {
+        int mask = keys.length - 1;
+        for (int slot = slotOf(key, mask); buckets[slot] != EMPTY; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private void insert(long key, int bucket) {
+        int mask = keys.length - 1;
+        int slot = slotOf(key, mask);
+        while (buckets[slot] != EMPTY) {
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        buckets[slot] = bucket;
+    }
+
+    private void deleteAt(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        for (int next = (hole + 1) & mask; buckets[next] != EMPTY; next = (next + 1) & mask) {
+            // An entry may fill the hole unless its home slot lies after the hole on its probe path
+            int home = slotOf(keys[next], mask);
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                buckets[hole] = buckets[next];
+                hole = next;
+            }
+        }
+        keys[hole] = 0;
+        buckets[hole] = EMPTY;
+        size--;
+    }
+
+    private void resize(int capacity) {
+        long[] oldKeys = keys;
+        int[] oldBuckets = buckets;
+        keys = new long[capacity];
+        buckets = new int[capacity];
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldBuckets[slot] != EMPTY) {
+                insert(oldKeys[slot], oldBuckets[slot]);
+            }
+        }
+    }
+
+    private static int slotOf(long key, int mask) {
+        // Keys are digests already, so their low bits are uniformly spread
+        return (int) key & mask;
+    }
+
+    private static final class KeyList {
+        private long[] keys = new long[4];
+        private int size;
+
+        void add(long key) {
+            if (size == keys.length) {
+                keys = Arrays.copyOf(keys, size * 2);
+            }
+            keys[size++] = key;
+        }
+    }
+}
@@ -40,6 +40,7 @@ public class SwaggerConfig {
                         .addResponses("Forbidden", apiResponse(403, "Access denied"))
                         .addResponses("AccommodationFound", apiResponse(404, "Accommodation not found"))
                         .addResponses("ReservationFound", apiResponse(404, "Reservation not found"))
+                        .addResponses("RateOverrideFound", apiResponse(404, "Rate override not found"))
                         .addResponses("UserFound", apiResponse(404, "User not found"))
                         .addResponses("Conflict", apiResponse(409, "Conflict with current state of the resource"))
                         .addResponses("InternalServerError", apiResponse(500, "Internal server error"))
@@ -22,6 +22,18 @@ public class AppProperties {
     @Valid
     private CloudinaryProperties cloudinary = new CloudinaryProperties();
 
+    @Valid
+    private AvailabilityProperties availability = new AvailabilityProperties();
+
+    @Valid
+    private PricingProperties pricing = new PricingProperties();
+
+    @Valid
+    private SearchProperties search = new SearchProperties();
+
+    @Valid
+    private RevocationProperties revocation = new RevocationProperties();
+
     @Data
     public static class JwtProperties {
         @NotBlank(message = "jwt.secret must not be blank")
@@ -32,6 +44,15 @@ public class AppProperties {
 
         @NotNull(message = "jwt.refresh-expiration-ms must not be null")
         private Long refreshExpirationMs;
+
+        @Positive(message = "jwt.claims-cache-max-entries must be positive")
+        private int claimsCacheMaxEntries = 10000;
+
+        @Positive(message = "jwt.principal-cache-max-entries must be positive")
+        private int principalCacheMaxEntries = 10000;
+
+        @Positive(message = "jwt.principal-cache-ttl-ms must be positive")
+        private long principalCacheTtlMs = 60000;
     }
 
     @Data
@@ -45,4 +66,80 @@ public class AppProperties {
         @NotBlank(message = "cloudinary.api_secret must not be blank")
         private String apiSecret;
     }
-}
\ No newline at end of file
+
+    @Data
+    public static class AvailabilityProperties {
+        @Positive(message = "availability.index-ttl-ms must be positive")
+        private long indexTtlMs = 60000;
+
+        @Positive(message = "availability.occupancy-horizon-days must be positive")
+        @Max(value = 4096, message = "availability.occupancy-horizon-days must be at most 4096")
+        private int occupancyHorizonDays = 730;
+
+        @Positive(message = "availability.lock-stripes must be positive")
+        @Max(value = 65536, message = "availability.lock-stripes must be at most 65536")
+        private int lockStripes = 256;
+    }
+
+    @Data
+    public static class PricingProperties {
+        @Positive(message = "pricing.calendar-horizon-days must be positive")
+        @Max(value = 4096, message = "pricing.calendar-horizon-days must be at most 4096")
+        private int calendarHorizonDays = 730;
+
+        @Positive(message = "pricing.calendar-ttl-ms must be positive")
+        private long calendarTtlMs = 60000;
+    }
+
+    @Data
+    public static class SearchProperties {
+        @Positive(message = "search.text-index-rebuild-ms must be positive")
+        private long textIndexRebuildMs = 600000;
+
+        @Positive(message = "search.filter-cache-max-entries must be positive")
+        private int filterCacheMaxEntries = 1000;
+
+        @Positive(message = "search.filter-cache-max-weight must be positive")
+        private long filterCacheMaxWeight = 50000;
+
+        @Positive(message = "search.filter-cache-ttl-ms must be positive")
+        private long filterCacheTtlMs = 30000;
+
+        @Positive(message = "search.facet-price-bucket-width must be positive")
+        private double facetPriceBucketWidth = 50;
+
+        @Positive(message = "search.facet-top-locations must be positive")
+        private int facetTopLocations = 10;
+
+        @Positive(message = "search.geo-max-radius-km must be positive")
+        private double geoMaxRadiusKm = 300;
+
+        @Positive(message = "search.suggest-index-rebuild-ms must be positive")
+        private long suggestIndexRebuildMs = 600000;
+
+        @Positive(message = "search.suggest-max-results must be positive")
+        private int suggestMaxResults = 10;
+
+        @Positive(message = "search.catalog-rebuild-ms must be positive")
+        private long catalogRebuildMs = 600000;
+    }
+
+    @Data
+    public static class RevocationProperties {
+        @Pattern(regexp = "memory|database", message = "revocation.store must be memory or database")
+        private String store = "memory";
+
+        @Positive(message = "revocation.sync-ms must be positive")
+        private long syncMs = 5000;
+
+        @Positive(message = "revocation.rebuild-ms must be positive")
+        private long rebuildMs = 3600000;
+
+        @Positive(message = "revocation.bloom-expected-tokens must be positive")
+        private long bloomExpectedTokens = 1000000;
+
+        @DecimalMin(value = "0.0001", message = "revocation.bloom-false-positive-rate must be at least 0.0001")
+        @DecimalMax(value = "0.5", message = "revocation.bloom-false-positive-rate must be at most 0.5")
+        private double bloomFalsePositiveRate = 0.01;
+    }
+}
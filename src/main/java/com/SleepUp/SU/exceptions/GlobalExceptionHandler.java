@@ -2,6 +2,7 @@ package com.SleepUp.SU.exceptions;
 
 import com.SleepUp.SU.accommodation.exceptions.AccommodationAlreadyExistsByNameException;
 import com.SleepUp.SU.accommodation.exceptions.AccommodationNotFoundByIdException;
+import com.SleepUp.SU.accommodation.exceptions.RateOverrideNotFoundByIdException;
 import com.SleepUp.SU.reservation.exceptions.*;
 import com.SleepUp.SU.utils.exceptions.UserEmailAlreadyExistsException;
 import com.SleepUp.SU.utils.exceptions.UserNotFoundByIdException;
@@ -18,6 +19,7 @@ import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -29,6 +31,7 @@ public class GlobalExceptionHandler {
             UserNotFoundByIdException.class,
             UserNotFoundByUsernameException.class,
             AccommodationNotFoundByIdException.class,
+            RateOverrideNotFoundByIdException.class,
             ReservationNotFoundByIdException.class
     })
     public ResponseEntity<ErrorResponse> handleNotFound(RuntimeException ex, HttpServletRequest req) {
@@ -49,6 +52,8 @@ public class GlobalExceptionHandler {
 
     @ExceptionHandler({
             InvalidDateRangeException.class,
+            InvalidCursorException.class,
+            InvalidGeoQueryException.class,
             AccommodationConstraintsException.class,
             AccommodationUnavailableException.class
     })
@@ -88,6 +93,14 @@ public class GlobalExceptionHandler {
         return buildResponse(HttpStatus.BAD_REQUEST, message, request);
     }
 
+    @ExceptionHandler(MethodArgumentTypeMismatchException.class)
+    public ResponseEntity<ErrorResponse> handleMethodArgumentTypeMismatch(MethodArgumentTypeMismatchException exception, HttpServletRequest request) {
+
+        String message = "Invalid value '" + exception.getValue() + "' for parameter '" + exception.getName() + "'";
+
+        return buildResponse(HttpStatus.BAD_REQUEST, message, request);
+    }
+
     @ExceptionHandler(AccessDeniedException.class)
     public ResponseEntity<ErrorResponse> handleAccessDeniedException(AccessDeniedException exception, HttpServletRequest request) {
 
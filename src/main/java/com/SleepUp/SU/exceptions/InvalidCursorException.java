@@ -0,0 +1,7 @@
+package com.SleepUp.SU.exceptions;
+
+public class InvalidCursorException extends AppException {
+    public InvalidCursorException() {
+        super("Invalid pagination cursor");
+    }
+}
@@ -2,7 +2,8 @@ package com.SleepUp.SU.exceptions;
 
 public enum InvalidDateRangeError {
     PAST("Check-in date cannot be in the past"),
-    ORDER("Check-in date must be before check-out date");
+    ORDER("Check-in date must be before check-out date"),
+    RANGE_ORDER("Start date must be before end date");
 
     private final String message;
 
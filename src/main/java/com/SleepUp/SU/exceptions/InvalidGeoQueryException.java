@@ -0,0 +1,7 @@
+package com.SleepUp.SU.exceptions;
+
+public class InvalidGeoQueryException extends AppException {
+    public InvalidGeoQueryException(String message) {
+        super(message);
+    }
+}
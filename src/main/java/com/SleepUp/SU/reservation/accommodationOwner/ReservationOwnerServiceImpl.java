@@ -9,7 +9,6 @@ import com.SleepUp.SU.reservation.exceptions.ReservationModificationException;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
-import com.SleepUp.SU.utils.EntityUtil;
 import com.SleepUp.SU.utils.email.EmailService;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
@@ -24,15 +23,13 @@ import java.util.Optional;
 public class ReservationOwnerServiceImpl implements ReservationOwnerService{
 
     private final ReservationRepository reservationRepository;
-    private final EntityUtil entityUtil;
     private final ReservationMapper reservationMapper;
     private final ReservationServiceHelper reservationServiceHelper;
     private final EmailService emailService;
 
     @Override
     public List<ReservationResponseSummary> getReservationsForMyAccommodation(Long accommodationId) {
-        List<Reservation> reservations = reservationRepository.findByAccommodationId(accommodationId);
-        return entityUtil.mapEntitiesToDTOs(reservations, reservationMapper::toSummary);
+        return reservationRepository.findSummariesByAccommodationId(accommodationId);
     }
 
     @Override
@@ -58,7 +55,10 @@ public class ReservationOwnerServiceImpl implements ReservationOwnerService{
 
                     Optional.of(status)
                             .filter(s -> s == BookingStatus.CANCELLED)
-                            .ifPresent(s -> emailService.sendCancellationByOwnerNotificationEmail(existingReservation));
+                            .ifPresent(s -> {
+                                reservationServiceHelper.refreshLoyaltyStay(existingReservation);
+                                emailService.sendCancellationByOwnerNotificationEmail(existingReservation);
+                            });
                 });
 
         return reservationMapper.toDetail(existingReservation);
@@ -1,6 +1,5 @@
 package com.SleepUp.SU.reservation.admin;
 
-import com.SleepUp.SU.reservation.dto.ReservationMapper;
 import com.SleepUp.SU.reservation.dto.ReservationResponseSummary;
 import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.reservation.exceptions.ReservationNotFoundByIdException;
@@ -9,6 +8,7 @@ import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
 import com.SleepUp.SU.utils.EntityUtil;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
@@ -17,21 +17,20 @@ import java.util.List;
 public class ReservationAdminServiceImpl implements ReservationAdminService {
 
     private final ReservationRepository reservationRepository;
-    private final ReservationMapper reservationMapper;
     private final ReservationServiceHelper reservationServiceHelper;
     private final EntityUtil entityUtil;
 
     @Override
     public List<ReservationResponseSummary> getAllReservations(){
-        List<Reservation> reservations = reservationRepository.findAll();
-        return reservations.stream().map(reservationMapper::toSummary).toList();
+        return reservationRepository.findAllSummaries();
     }
 
     @Override
+    @Transactional
     public void deleteReservationByAdmin(Long reservationId) {
-        if (!reservationRepository.existsById(reservationId)) {
-            throw new ReservationNotFoundByIdException(reservationId);
-        }
-        reservationRepository.deleteById(reservationId);
+        Reservation reservation = reservationRepository.findById(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundByIdException(reservationId));
+        reservationRepository.delete(reservation);
+        reservationServiceHelper.refreshLoyaltyStay(reservation);
     }
 }
\ No newline at end of file
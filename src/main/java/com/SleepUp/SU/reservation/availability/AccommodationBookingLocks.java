@@ -0,0 +1,97 @@
+package com.SleepUp.SU.reservation.availability;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Fixed set of locks striped by accommodation id. Bookings for the same accommodation
+ * queue here instead of on the database row lock, while bookings for different
+ * accommodations rarely share a stripe. Cross-replica safety comes from the row lock
+ * taken inside the booking transaction.
+ */
+@Component
+public class AccommodationBookingLocks {
+
+    private final ReentrantLock[] stripes;
+    private final int mask;
+
+    public AccommodationBookingLocks(AppProperties appProperties) {
+        int size = Integer.highestOneBit(Math.max(1, appProperties.getAvailability().getLockStripes() - 1)) << 1;
+        this.stripes = new ReentrantLock[size];
+        this.mask = size - 1;
+        for (int i = 0; i < size; i++) {
+            stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Runs {@code action} in {@code transactionTemplate} holding the accommodation's stripe until the
+     * transaction completes. The stripe is released from an after-completion callback, so when the
+     * template joins a caller's transaction it stays held until that transaction commits or rolls back.
+     */
+    public <T> T inTransaction(Long accommodationId, TransactionTemplate transactionTemplate, TransactionCallback<T> action) {
+        ReentrantLock lock = stripeFor(accommodationId);
+        lock.lock();
+        boolean[] releasedOnCompletion = new boolean[1];
+        try {
+            return transactionTemplate.execute(status -> {
+                if (TransactionSynchronizationManager.isSynchronizationActive()) {
+                    TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int completionStatus) {
+                            lock.unlock();
+                        }
+                    });
+                    releasedOnCompletion[0] = true;
+                }
+                return action.doInTransaction(status);
+            });
+        } finally {
+            if (!releasedOnCompletion[0]) {
+                // The transaction never started or has no synchronization to release the stripe from
+                lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Runs {@code action} holding the stripes of every given accommodation.
+     * Stripes are always taken in ascending order so overlapping batches cannot deadlock.
+     */
+    public <T> T withLocks(Collection<Long> accommodationIds, Supplier<T> action) {
+        int[] indexes = accommodationIds.stream()
+                .mapToInt(this::stripeIndex)
+                .distinct()
+                .sorted()
+                .toArray();
+        int acquired = 0;
+        try {
+            for (int index : indexes) {
+                stripes[index].lock();
+                acquired++;
+            }
+            return action.get();
+        } finally {
+            for (int i = acquired - 1; i >= 0; i--) {
+                stripes[indexes[i]].unlock();
+            }
+        }
+    }
+
+    ReentrantLock stripeFor(Long accommodationId) {
+        return stripes[stripeIndex(accommodationId)];
+    }
+
+    private int stripeIndex(Long accommodationId) {
+        int hash = Long.hashCode(accommodationId);
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
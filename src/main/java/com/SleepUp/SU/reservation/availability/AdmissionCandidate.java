@@ -0,0 +1,15 @@
+package com.SleepUp.SU.reservation.availability;
+
+import java.time.LocalDate;
+
+public record AdmissionCandidate(
+        Long userId,
+        Long accommodationId,
+        String accommodationName,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) {
+    public boolean overlaps(LocalDate checkIn, LocalDate checkOut) {
+        return checkInDate.isBefore(checkOut) && checkOutDate.isAfter(checkIn);
+    }
+}
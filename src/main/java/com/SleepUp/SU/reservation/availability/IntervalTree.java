@@ -0,0 +1,169 @@
+package com.SleepUp.SU.reservation.availability;
+
+/**
+ * AVL-balanced interval tree over half-open {@code [start, end)} ranges of epoch days.
+ * Every node keeps the maximum end of its subtree, so an overlap probe only descends
+ * one branch per level. Nodes are ordered by {@code (start, id)} so equal starts can coexist.
+ * Not thread-safe: callers synchronize on the owning index entry.
+ */
+public class IntervalTree {
+
+    private Node root;
+    private int size;
+
+    public void add(long id, long start, long end) {
+        root = insert(root, id, start, end);
+        size++;
+    }
+
+    public boolean remove(long id, long start) {
+        int before = size;
+        root = delete(root, id, start);
+        return size < before;
+    }
+
+    /**
+     * Returns true when any stored interval intersects {@code [start, end)}.
+     */
+    public boolean overlaps(long start, long end) {
+        Node node = root;
+        while (node != null) {
+            if (node.start < end && node.end > start) {
+                return true;
+            }
+            if (node.left != null && node.left.maxEnd > start) {
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int compare(long startA, long idA, long startB, long idB) {
+        int byStart = Long.compare(startA, startB);
+        return byStart != 0 ? byStart : Long.compare(idA, idB);
+    }
+
+    private Node insert(Node node, long id, long start, long end) {
+        if (node == null) {
+            return new Node(id, start, end);
+        }
+        if (compare(start, id, node.start, node.id) < 0) {
+            node.left = insert(node.left, id, start, end);
+        } else {
+            node.right = insert(node.right, id, start, end);
+        }
+        return rebalance(node);
+    }
+
+    private Node delete(Node node, long id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = compare(start, id, node.start, node.id);
+        if (cmp < 0) {
+            node.left = delete(node.left, id, start);
+        } else if (cmp > 0) {
+            node.right = delete(node.right, id, start);
+        } else {
+            size--;
+            if (node.left == null) {
+                return node.right;
+            }
+            if (node.right == null) {
+                return node.left;
+            }
+            Node successor = node.right;
+            while (successor.left != null) {
+                successor = successor.left;
+            }
+            node.right = detachMin(node.right);
+            successor.left = node.left;
+            successor.right = node.right;
+            return rebalance(successor);
+        }
+        return rebalance(node);
+    }
+
+    private Node detachMin(Node node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        node.left = detachMin(node.left);
+        return rebalance(node);
+    }
+
+    private Node rebalance(Node node) {
+        update(node);
+        int balance = height(node.left) - height(node.right);
+        if (balance > 1) {
+            if (height(node.left.left) < height(node.left.right)) {
+                node.left = rotateLeft(node.left);
+            }
+            return rotateRight(node);
+        }
+        if (balance < -1) {
+            if (height(node.right.right) < height(node.right.left)) {
+                node.right = rotateRight(node.right);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private Node rotateRight(Node node) {
+        Node pivot = node.left;
+        node.left = pivot.right;
+        pivot.right = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private Node rotateLeft(Node node) {
+        Node pivot = node.right;
+        node.right = pivot.left;
+        pivot.left = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private static void update(Node node) {
+        node.height = 1 + Math.max(height(node.left), height(node.right));
+        long maxEnd = node.end;
+        if (node.left != null) {
+            maxEnd = Math.max(maxEnd, node.left.maxEnd);
+        }
+        if (node.right != null) {
+            maxEnd = Math.max(maxEnd, node.right.maxEnd);
+        }
+        node.maxEnd = maxEnd;
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static final class Node {
+        private final long id;
+        private final long start;
+        private final long end;
+        private long maxEnd;
+        private int height = 1;
+        private Node left;
+        private Node right;
+
+        private Node(long id, long start, long end) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.maxEnd = end;
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.SleepUp.SU.reservation.availability;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Outcome of the admission checks for a new booking: the stays that block it
+ * and whether the guest earned the loyalty discount at that accommodation.
+ */
+public record ReservationAdmission(
+        List<AdmissionCandidate> userConflicts,
+        List<AdmissionCandidate> accommodationConflicts,
+        boolean discountEligible
+) {
+    public static ReservationAdmission clear(boolean discountEligible) {
+        return new ReservationAdmission(List.of(), List.of(), discountEligible);
+    }
+
+    public static ReservationAdmission of(List<AdmissionCandidate> candidates,
+                                          Long userId,
+                                          Long accommodationId,
+                                          LocalDate checkInDate,
+                                          LocalDate checkOutDate,
+                                          boolean discountEligible) {
+        List<AdmissionCandidate> userConflicts = candidates.stream()
+                .filter(c -> userId.equals(c.userId()) && c.overlaps(checkInDate, checkOutDate))
+                .toList();
+        List<AdmissionCandidate> accommodationConflicts = candidates.stream()
+                .filter(c -> accommodationId.equals(c.accommodationId()) && c.overlaps(checkInDate, checkOutDate))
+                .toList();
+
+        return new ReservationAdmission(userConflicts, accommodationConflicts, discountEligible);
+    }
+
+    public boolean hasConflicts() {
+        return !userConflicts.isEmpty() || !accommodationConflicts.isEmpty();
+    }
+}
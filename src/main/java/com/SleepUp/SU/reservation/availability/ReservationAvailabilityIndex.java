@@ -0,0 +1,113 @@
+package com.SleepUp.SU.reservation.availability;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * In-memory index of non-cancelled stays per accommodation and per user.
+ * Entries are loaded lazily from the database, kept current by {@link ReservationAvailabilityListener}
+ * and reloaded once older than {@code availability.index-ttl-ms}, which bounds staleness
+ * caused by writes on other replicas. A positive answer must still be confirmed against the database.
+ */
+@Component
+public class ReservationAvailabilityIndex {
+
+    private final ReservationRepository reservationRepository;
+    private final long ttlMs;
+
+    private final ConcurrentHashMap<Long, IndexedStays> byAccommodation = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, IndexedStays> byUser = new ConcurrentHashMap<>();
+
+    public ReservationAvailabilityIndex(ReservationRepository reservationRepository, AppProperties appProperties) {
+        this.reservationRepository = reservationRepository;
+        this.ttlMs = appProperties.getAvailability().getIndexTtlMs();
+    }
+
+    public boolean hasAccommodationOverlap(Long accommodationId, LocalDate checkInDate, LocalDate checkOutDate) {
+        IndexedStays stays = resolve(byAccommodation, accommodationId, id ->
+                reservationRepository.findActiveIntervalsForAccommodation(id, LocalDate.now(), BookingStatus.CANCELLED));
+        return stays.overlaps(checkInDate.toEpochDay(), checkOutDate.toEpochDay());
+    }
+
+    public boolean hasUserOverlap(Long userId, LocalDate checkInDate, LocalDate checkOutDate) {
+        IndexedStays stays = resolve(byUser, userId, id ->
+                reservationRepository.findActiveIntervalsForUser(id, LocalDate.now(), BookingStatus.CANCELLED));
+        return stays.overlaps(checkInDate.toEpochDay(), checkOutDate.toEpochDay());
+    }
+
+    public void onReservationSaved(ReservationInterval interval, BookingStatus status) {
+        boolean active = status != BookingStatus.CANCELLED;
+        apply(byAccommodation.get(interval.accommodationId()), interval, active);
+        apply(byUser.get(interval.userId()), interval, active);
+    }
+
+    public void onReservationRemoved(ReservationInterval interval) {
+        apply(byAccommodation.get(interval.accommodationId()), interval, false);
+        apply(byUser.get(interval.userId()), interval, false);
+    }
+
+    public void evictAccommodation(Long accommodationId) {
+        byAccommodation.remove(accommodationId);
+    }
+
+    public void evictUser(Long userId) {
+        byUser.remove(userId);
+    }
+
+    private IndexedStays resolve(ConcurrentHashMap<Long, IndexedStays> entries, Long key,
+                                 Function<Long, List<ReservationInterval>> loader) {
+        long now = System.currentTimeMillis();
+        IndexedStays stays = entries.get(key);
+        if (stays == null || now - stays.loadedAt > ttlMs) {
+            stays = new IndexedStays(loader.apply(key), now);
+            entries.put(key, stays);
+        }
+        return stays;
+    }
+
+    private static void apply(IndexedStays stays, ReservationInterval interval, boolean active) {
+        if (stays == null || interval.id() == null) {
+            return;
+        }
+        stays.remove(interval.id());
+        if (active) {
+            stays.add(interval);
+        }
+    }
+
+    private static final class IndexedStays {
+        private final IntervalTree tree = new IntervalTree();
+        private final Map<Long, Long> startById = new HashMap<>();
+        private final long loadedAt;
+
+        private IndexedStays(List<ReservationInterval> intervals, long loadedAt) {
+            this.loadedAt = loadedAt;
+            intervals.forEach(this::add);
+        }
+
+        private synchronized boolean overlaps(long start, long end) {
+            return tree.overlaps(start, end);
+        }
+
+        private synchronized void add(ReservationInterval interval) {
+            tree.add(interval.id(), interval.startDay(), interval.endDay());
+            startById.put(interval.id(), interval.startDay());
+        }
+
+        private synchronized void remove(Long id) {
+            Long start = startById.remove(id);
+            if (start != null) {
+                tree.remove(id, start);
+            }
+        }
+    }
+}
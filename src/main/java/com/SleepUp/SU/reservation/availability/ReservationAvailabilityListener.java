@@ -0,0 +1,54 @@
+package com.SleepUp.SU.reservation.availability;
+
+import com.SleepUp.SU.accommodation.availability.AccommodationOccupancyIndex;
+import com.SleepUp.SU.accommodation.filter.FilterResultCache;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.utils.TransactionUtil;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Keeps {@link ReservationAvailabilityIndex} and {@link AccommodationOccupancyIndex} in sync
+ * with every reservation write, whichever service performs it, and drops the cached filter
+ * results the write can affect. Changes are applied after commit so rolled back writes never
+ * reach the indexes.
+ */
+public class ReservationAvailabilityListener {
+
+    private final ObjectProvider<ReservationAvailabilityIndex> availabilityIndex;
+    private final ObjectProvider<AccommodationOccupancyIndex> occupancyIndex;
+    private final ObjectProvider<FilterResultCache> filterResultCache;
+
+    public ReservationAvailabilityListener(ObjectProvider<ReservationAvailabilityIndex> availabilityIndex,
+                                           ObjectProvider<AccommodationOccupancyIndex> occupancyIndex,
+                                           ObjectProvider<FilterResultCache> filterResultCache) {
+        this.availabilityIndex = availabilityIndex;
+        this.occupancyIndex = occupancyIndex;
+        this.filterResultCache = filterResultCache;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSave(Reservation reservation) {
+        ReservationInterval interval = ReservationInterval.of(reservation);
+        BookingStatus status = reservation.getBookingStatus();
+        TransactionUtil.afterCommit(() -> {
+            availabilityIndex.ifAvailable(index -> index.onReservationSaved(interval, status));
+            occupancyIndex.ifAvailable(index -> index.refresh(interval.accommodationId()));
+            filterResultCache.ifAvailable(cache -> cache.onStayChanged(interval.checkInDate(), interval.checkOutDate()));
+        });
+    }
+
+    @PostRemove
+    public void onRemove(Reservation reservation) {
+        ReservationInterval interval = ReservationInterval.of(reservation);
+        TransactionUtil.afterCommit(() -> {
+            availabilityIndex.ifAvailable(index -> index.onReservationRemoved(interval));
+            occupancyIndex.ifAvailable(index -> index.refresh(interval.accommodationId()));
+            filterResultCache.ifAvailable(cache -> cache.onStayChanged(interval.checkInDate(), interval.checkOutDate()));
+        });
+    }
+}
@@ -0,0 +1,31 @@
+package com.SleepUp.SU.reservation.availability;
+
+import com.SleepUp.SU.reservation.entity.Reservation;
+
+import java.time.LocalDate;
+
+public record ReservationInterval(
+        Long id,
+        Long accommodationId,
+        Long userId,
+        LocalDate checkInDate,
+        LocalDate checkOutDate
+) {
+    public static ReservationInterval of(Reservation reservation) {
+        return new ReservationInterval(
+                reservation.getId(),
+                reservation.getAccommodation() != null ? reservation.getAccommodation().getId() : null,
+                reservation.getUser() != null ? reservation.getUser().getId() : null,
+                reservation.getCheckInDate(),
+                reservation.getCheckOutDate()
+        );
+    }
+
+    public long startDay() {
+        return checkInDate.toEpochDay();
+    }
+
+    public long endDay() {
+        return checkOutDate.toEpochDay();
+    }
+}
@@ -0,0 +1,6 @@
+package com.SleepUp.SU.reservation.batch;
+
+public enum BatchMode {
+    ALL_OR_NOTHING,
+    BEST_EFFORT
+}
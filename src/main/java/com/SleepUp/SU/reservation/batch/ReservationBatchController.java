@@ -0,0 +1,43 @@
+package com.SleepUp.SU.reservation.batch;
+
+import com.SleepUp.SU.reservation.dto.BatchReservationRequest;
+import com.SleepUp.SU.reservation.dto.BatchReservationResponse;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+@Tag(name = "Reservation Batch", description = "Operations to book several stays at once")
+@RestController
+@RequestMapping("/reservations/batch")
+@RequiredArgsConstructor
+@PreAuthorize("isAuthenticated()")
+public class ReservationBatchController {
+
+    private final ReservationBatchService reservationBatchService;
+
+    @PostMapping
+    @Operation(summary = "Create Reservations in Batch", description = "Book several stays in one request, either all-or-nothing or best-effort.",
+            responses = {
+                    @ApiResponse(responseCode = "201", description = "Successfully processed the batch"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "401", ref = "#/components/responses/Unauthorized"),
+                    @ApiResponse(responseCode = "403", ref = "#/components/responses/Forbidden"),
+                    @ApiResponse(responseCode = "404", ref = "#/components/responses/ReservationFound"),
+                    @ApiResponse(responseCode = "409", ref = "#/components/responses/Conflict"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    @ResponseStatus(HttpStatus.CREATED)
+    public BatchReservationResponse createReservations(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @Valid @RequestBody BatchReservationRequest batchReservationRequest
+    ) {
+        return reservationBatchService.createReservations(batchReservationRequest, customUserDetails.getUser());
+    }
+}
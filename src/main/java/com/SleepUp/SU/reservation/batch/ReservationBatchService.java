@@ -0,0 +1,10 @@
+package com.SleepUp.SU.reservation.batch;
+
+import com.SleepUp.SU.reservation.dto.BatchReservationRequest;
+import com.SleepUp.SU.reservation.dto.BatchReservationResponse;
+import com.SleepUp.SU.user.entity.User;
+
+public interface ReservationBatchService {
+
+    BatchReservationResponse createReservations(BatchReservationRequest batchReservationRequest, User user);
+}
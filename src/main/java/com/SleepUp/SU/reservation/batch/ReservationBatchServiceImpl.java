@@ -0,0 +1,166 @@
+package com.SleepUp.SU.reservation.batch;
+
+import com.SleepUp.SU.accommodation.availability.AccommodationOccupancyIndex;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.exceptions.AccommodationNotFoundByIdException;
+import com.SleepUp.SU.accommodation.filter.FilterResultCache;
+import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.exceptions.AppException;
+import com.SleepUp.SU.reservation.availability.AccommodationBookingLocks;
+import com.SleepUp.SU.reservation.availability.AdmissionCandidate;
+import com.SleepUp.SU.reservation.availability.ReservationAdmission;
+import com.SleepUp.SU.reservation.availability.ReservationAvailabilityIndex;
+import com.SleepUp.SU.reservation.availability.ReservationInterval;
+import com.SleepUp.SU.reservation.dto.*;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.repository.ReservationBatchRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.utils.EntityUtil;
+import com.SleepUp.SU.utils.email.EmailService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class ReservationBatchServiceImpl implements ReservationBatchService {
+
+    private final ReservationBatchRepository reservationBatchRepository;
+    private final ReservationMapper reservationMapper;
+    private final ReservationServiceHelper reservationServiceHelper;
+    private final AccommodationServiceHelper accommodationServiceHelper;
+    private final AccommodationBookingLocks accommodationBookingLocks;
+    private final ReservationAvailabilityIndex reservationAvailabilityIndex;
+    private final AccommodationOccupancyIndex accommodationOccupancyIndex;
+    private final FilterResultCache filterResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final EmailService emailService;
+    private final EntityUtil entityUtil;
+
+    /**
+     * Books every stay of the batch in one transaction, holding the stripes and row locks of all
+     * involved accommodations. Overlaps are checked against one set-based query plus the stays
+     * accepted earlier in the same batch, and accepted stays are inserted as one JDBC batch.
+     * In {@link BatchMode#ALL_OR_NOTHING} the first rejected stay aborts the whole batch.
+     * The JDBC batch bypasses the entity listeners, so the availability indexes and the cached
+     * filter results are refreshed here once the transaction has committed.
+     */
+    @Override
+    public BatchReservationResponse createReservations(BatchReservationRequest batchReservationRequest, User user) {
+        Set<Long> accommodationIds = batchReservationRequest.stays().stream()
+                .map(BatchStayRequest::accommodationId)
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        BatchOutcome outcome = accommodationBookingLocks.withLocks(accommodationIds, () -> {
+            BatchOutcome committed = transactionTemplate.execute(status ->
+                    admitAndInsert(batchReservationRequest, user, accommodationIds));
+            refreshAvailability(committed.accepted());
+            return committed;
+        });
+
+        notifyOwners(outcome.accepted());
+
+        return new BatchReservationResponse(
+                entityUtil.mapEntitiesToDTOs(outcome.accepted(), reservationMapper::toDetail),
+                outcome.rejected());
+    }
+
+    private BatchOutcome admitAndInsert(BatchReservationRequest batchReservationRequest, User user, Set<Long> accommodationIds) {
+        List<BatchStayRequest> stays = batchReservationRequest.stays();
+        Map<Long, Accommodation> accommodations = accommodationServiceHelper.lockAccommodationEntitiesByIds(accommodationIds);
+
+        LocalDate fromDate = stays.stream().map(BatchStayRequest::checkInDate).min(Comparator.naturalOrder()).orElseThrow();
+        LocalDate toDate = stays.stream().map(BatchStayRequest::checkOutDate).max(Comparator.naturalOrder()).orElseThrow();
+        List<AdmissionCandidate> candidates = accommodations.isEmpty()
+                ? new ArrayList<>()
+                : new ArrayList<>(reservationServiceHelper.findBatchAdmissionCandidates(
+                        user.getId(), accommodations.keySet(), fromDate, toDate));
+        Set<Long> discountEligible = reservationServiceHelper.findDiscountEligibleAccommodationIds(
+                user.getId(), accommodations.keySet());
+
+        List<Reservation> accepted = new ArrayList<>();
+        List<BatchStayRejection> rejected = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+
+        for (int i = 0; i < stays.size(); i++) {
+            BatchStayRequest stay = stays.get(i);
+            try {
+                Reservation reservation = admitStay(stay, user, accommodations, candidates,
+                        discountEligible.contains(stay.accommodationId()));
+                reservation.setCreatedDate(now);
+                accepted.add(reservation);
+                candidates.add(new AdmissionCandidate(user.getId(), stay.accommodationId(),
+                        reservation.getAccommodation().getName(), stay.checkInDate(), stay.checkOutDate()));
+                discountEligible.add(stay.accommodationId());
+            } catch (AppException e) {
+                if (batchReservationRequest.mode() == BatchMode.ALL_OR_NOTHING) {
+                    throw e;
+                }
+                rejected.add(new BatchStayRejection(i, stay.accommodationId(), e.getMessage()));
+            }
+        }
+
+        reservationBatchRepository.insertAll(accepted);
+        reservationServiceHelper.recordLoyaltyStays(accepted);
+        return new BatchOutcome(accepted, rejected);
+    }
+
+    private Reservation admitStay(BatchStayRequest stay, User user, Map<Long, Accommodation> accommodations,
+                                  List<AdmissionCandidate> candidates, boolean discountEligible) {
+        ReservationRequest reservationRequest = stay.toReservationRequest();
+        reservationServiceHelper.validateReservationDates(reservationRequest);
+
+        Accommodation accommodation = accommodations.get(stay.accommodationId());
+        if (accommodation == null) {
+            throw new AccommodationNotFoundByIdException(stay.accommodationId());
+        }
+
+        reservationServiceHelper.validateGuestIsNotOwner(accommodation, user);
+        reservationServiceHelper.validateAccommodationAvailability(accommodation, reservationRequest);
+        ReservationAdmission admission = reservationServiceHelper.resolveAdmission(accommodation, user, reservationRequest,
+                candidates, discountEligible);
+
+        Reservation reservation = reservationMapper.toEntity(
+                reservationRequest,
+                BookingStatus.PENDING,
+                user, accommodation,
+                false);
+        reservationServiceHelper.updatePriceWithDiscountIfDeserved(reservation, accommodation, admission);
+        return reservation;
+    }
+
+    private void refreshAvailability(List<Reservation> accepted) {
+        accepted.forEach(reservation ->
+                reservationAvailabilityIndex.onReservationSaved(ReservationInterval.of(reservation), BookingStatus.PENDING));
+        accepted.stream()
+                .map(reservation -> reservation.getAccommodation().getId())
+                .distinct()
+                .forEach(accommodationOccupancyIndex::refresh);
+        accepted.forEach(reservation ->
+                filterResultCache.onStayChanged(reservation.getCheckInDate(), reservation.getCheckOutDate()));
+    }
+
+    private void notifyOwners(List<Reservation> accepted) {
+        accepted.stream()
+                .collect(Collectors.groupingBy(reservation -> reservation.getAccommodation().getId(),
+                        LinkedHashMap::new, Collectors.toList()))
+                .values()
+                .forEach(emailService::sendOwnerBatchReservedNotification);
+    }
+
+    private record BatchOutcome(List<Reservation> accepted, List<BatchStayRejection> rejected) {
+    }
+}
@@ -6,16 +6,23 @@ import com.SleepUp.SU.reservation.dto.ReservationRequest;
 import com.SleepUp.SU.reservation.dto.ReservationResponseDetail;
 import com.SleepUp.SU.reservation.dto.ReservationResponseSummary;
 import com.SleepUp.SU.user.entity.CustomUserDetails;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 
 @Tag(name = "Reservation", description = "Operations related to reservations")
@@ -25,21 +32,55 @@ import java.util.List;
 @PreAuthorize("isAuthenticated()")
 public class ReservationController {
     private final ReservationService reservationService;
+    private final ObjectMapper objectMapper;
 
     @GetMapping("/reservations")
-    @Operation(summary = "Get My Reservations", description = "Retrieve a list of reservations made by the authenticated user.",
+    @Operation(summary = "Get My Reservations", description = "Retrieve the reservations made by the authenticated user, ordered by check-in date. " +
+            "Results are paginated with an opaque cursor returned in the X-Next-Cursor header.",
             responses = {
                     @ApiResponse(responseCode = "200", description = "Successfully retrieved list of reservations"),
                     @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
                     @ApiResponse(responseCode = "403", ref = "#/components/responses/Forbidden"),
                     @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
             })
-    @ResponseStatus(HttpStatus.OK)
-    public List<ReservationResponseSummary> getMyReservations(
+    public ResponseEntity<List<ReservationResponseSummary>> getMyReservations(
+            @AuthenticationPrincipal CustomUserDetails customUserDetails,
+            @RequestParam ReservationTime time,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int size
+    ) {
+        CursorPage<ReservationResponseSummary> page = reservationService.getMyReservations(customUserDetails.getId(), time, cursor, size);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(CursorPage.NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
+    @GetMapping(value = "/reservations", params = "stream=true")
+    @Operation(summary = "Stream My Reservations", description = "Stream every reservation made by the authenticated user as NDJSON, ordered by check-in date.",
+            responses = {
+                    @ApiResponse(responseCode = "200", description = "Successfully streamed the reservations"),
+                    @ApiResponse(responseCode = "400", ref = "#/components/responses/BadRequest"),
+                    @ApiResponse(responseCode = "403", ref = "#/components/responses/Forbidden"),
+                    @ApiResponse(responseCode = "500", ref = "#/components/responses/InternalServerError")
+            })
+    public ResponseEntity<StreamingResponseBody> streamMyReservations(
             @AuthenticationPrincipal CustomUserDetails customUserDetails,
             @RequestParam ReservationTime time
     ) {
-        return reservationService.getMyReservations(customUserDetails.getId(), time);
+        Long userId = customUserDetails.getId();
+        StreamingResponseBody body = outputStream -> reservationService.streamMyReservations(userId, time, summary -> {
+            try {
+                outputStream.write(objectMapper.writeValueAsBytes(summary));
+                outputStream.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @PostMapping("/accommodations/{accommodationId}/reservations")
@@ -0,0 +1,21 @@
+package com.SleepUp.SU.reservation.dto;
+
+import com.SleepUp.SU.reservation.batch.BatchMode;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Builder;
+
+import java.util.List;
+
+@Builder
+public record BatchReservationRequest(
+        @NotNull
+        BatchMode mode,
+
+        @NotEmpty
+        @Size(max = 50)
+        List<@Valid @NotNull BatchStayRequest> stays
+) {
+}
@@ -0,0 +1,9 @@
+package com.SleepUp.SU.reservation.dto;
+
+import java.util.List;
+
+public record BatchReservationResponse(
+        List<ReservationResponseDetail> created,
+        List<BatchStayRejection> rejected
+) {
+}
@@ -0,0 +1,8 @@
+package com.SleepUp.SU.reservation.dto;
+
+public record BatchStayRejection(
+        int index,
+        Long accommodationId,
+        String message
+) {
+}
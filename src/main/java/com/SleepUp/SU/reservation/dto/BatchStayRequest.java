@@ -0,0 +1,29 @@
+package com.SleepUp.SU.reservation.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import lombok.Builder;
+
+import java.time.LocalDate;
+
+@Builder
+public record BatchStayRequest(
+        @NotNull
+        Long accommodationId,
+
+        @Positive
+        Integer guestNumber,
+
+        @NotNull
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate checkInDate,
+
+        @NotNull
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd")
+        LocalDate checkOutDate
+) {
+    public ReservationRequest toReservationRequest() {
+        return new ReservationRequest(guestNumber, checkInDate, checkOutDate);
+    }
+}
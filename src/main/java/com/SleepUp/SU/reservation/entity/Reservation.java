@@ -1,6 +1,7 @@
 package com.SleepUp.SU.reservation.entity;
 
 import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.reservation.availability.ReservationAvailabilityListener;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.user.entity.User;
 import jakarta.persistence.*;
@@ -14,18 +15,32 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name= "reservations")
+@Table(name= "reservations", indexes = {
+        @Index(name = "idx_reservations_user_check_in", columnList = "user_id, check_in_date, id"),
+        @Index(name = "idx_reservations_availability", columnList = "accommodation_id, check_out_date, check_in_date, booking_status")
+})
+@NamedEntityGraph(name = Reservation.NOTIFICATION_GRAPH, attributeNodes = {
+        @NamedAttributeNode("user"),
+        @NamedAttributeNode(value = "accommodation", subgraph = "accommodation.managedBy")
+}, subgraphs = @NamedSubgraph(name = "accommodation.managedBy", attributeNodes = @NamedAttributeNode("managedBy")))
+@EntityListeners(ReservationAvailabilityListener.class)
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
 public class Reservation {
+
+    /**
+     * Guest, accommodation and its owner, everything the reservation emails read after the transaction ends
+     */
+    public static final String NOTIFICATION_GRAPH = "Reservation.notification";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @NotNull
     @JoinColumn(name = "user_id")
     private User user;
@@ -34,7 +49,7 @@ public class Reservation {
     @Column(name = "guest_number")
     private Integer guestNumber;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "accommodation_id", nullable = false)
     private Accommodation accommodation;
 
@@ -0,0 +1,53 @@
+package com.SleepUp.SU.reservation.loyalty;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Creation time of the latest non-cancelled reservation of a guest at an accommodation.
+ * {@code lastBookedAt} is null once every reservation of the pair has been cancelled.
+ * Implements {@link Persistable} so that saving a new pair inserts it without a prior select.
+ */
+@Entity
+@Table(name = "loyalty_stays")
+@Getter
+@Setter
+@NoArgsConstructor
+public class LoyaltyStay implements Persistable<LoyaltyStayId> {
+
+    @EmbeddedId
+    private LoyaltyStayId id;
+
+    @Column(name = "last_booked_at")
+    private LocalDateTime lastBookedAt;
+
+    @Transient
+    private boolean isNew = true;
+
+    public LoyaltyStay(LoyaltyStayId id, LocalDateTime lastBookedAt) {
+        this.id = id;
+        this.lastBookedAt = lastBookedAt;
+    }
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+}
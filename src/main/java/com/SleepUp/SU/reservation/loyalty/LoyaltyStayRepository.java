@@ -0,0 +1,71 @@
+package com.SleepUp.SU.reservation.loyalty;
+
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LoyaltyStayRepository extends JpaRepository<LoyaltyStay, LoyaltyStayId> {
+
+    /**
+     * Gets, among the given accommodations, those where the user booked since the given date
+     */
+    @Query("SELECT l.id.accommodationId FROM LoyaltyStay l WHERE l.id.userId = :userId " +
+            "AND l.id.accommodationId IN :accommodationIds AND l.lastBookedAt >= :since")
+    List<Long> findAccommodationIdsBookedSince(@Param("userId") Long userId,
+                                               @Param("accommodationIds") Collection<Long> accommodationIds,
+                                               @Param("since") LocalDateTime since);
+
+    /**
+     * Recomputes the last booking of a pair from its remaining non-cancelled reservations
+     * Used after a reservation of the pair is cancelled or deleted
+     */
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyStay l SET l.lastBookedAt = (" +
+            "SELECT MAX(r.createdDate) FROM Reservation r WHERE r.user.id = :userId " +
+            "AND r.accommodation.id = :accommodationId AND r.bookingStatus != :cancelledStatus) " +
+            "WHERE l.id.userId = :userId AND l.id.accommodationId = :accommodationId")
+    int recompute(@Param("userId") Long userId,
+                  @Param("accommodationId") Long accommodationId,
+                  @Param("cancelledStatus") BookingStatus cancelledStatus);
+
+    /**
+     * Recomputes the last booking of every pair from its non-cancelled reservations
+     * Used to reconcile rows with reservations written by instances that do not track them
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("UPDATE LoyaltyStay l SET l.lastBookedAt = (" +
+            "SELECT MAX(r.createdDate) FROM Reservation r WHERE r.user.id = l.id.userId " +
+            "AND r.accommodation.id = l.id.accommodationId AND r.bookingStatus != :cancelledStatus)")
+    int recomputeAll(@Param("cancelledStatus") BookingStatus cancelledStatus);
+
+    /**
+     * Inserts the pairs that have non-cancelled reservations but no row yet, in one statement
+     * Used to reconcile rows with reservations written by instances that do not track them
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true)
+    @Query("INSERT INTO LoyaltyStay (id.userId, id.accommodationId, lastBookedAt) " +
+            "SELECT r.user.id, r.accommodation.id, MAX(r.createdDate) FROM Reservation r " +
+            "WHERE r.bookingStatus != :cancelledStatus AND NOT EXISTS (" +
+            "SELECT 1 FROM LoyaltyStay l WHERE l.id.userId = r.user.id AND l.id.accommodationId = r.accommodation.id) " +
+            "GROUP BY r.user.id, r.accommodation.id")
+    int insertMissingFromReservations(@Param("cancelledStatus") BookingStatus cancelledStatus);
+
+    @Modifying
+    @Query("DELETE FROM LoyaltyStay l WHERE l.id.userId = :userId")
+    int deleteByUserId(@Param("userId") Long userId);
+
+    @Modifying
+    @Query("DELETE FROM LoyaltyStay l WHERE l.id.accommodationId = :accommodationId")
+    int deleteByAccommodationId(@Param("accommodationId") Long accommodationId);
+}
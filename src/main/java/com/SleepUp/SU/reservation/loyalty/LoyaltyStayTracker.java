@@ -0,0 +1,128 @@
+package com.SleepUp.SU.reservation.loyalty;
+
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Answers the loyalty discount question with a primary key lookup on {@link LoyaltyStay}
+ * instead of scanning the reservations of the guest. Booking services record every new
+ * reservation and refresh the pair whenever one of its reservations is cancelled or deleted,
+ * inside the same transaction, so the table never lags behind the reservations.
+ */
+@Component
+@RequiredArgsConstructor
+public class LoyaltyStayTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(LoyaltyStayTracker.class);
+
+    private final LoyaltyStayRepository loyaltyStayRepository;
+
+    /**
+     * True when the guest has a non-cancelled reservation at the accommodation created within the last year.
+     */
+    public boolean isEligible(Long userId, Long accommodationId) {
+        LocalDateTime since = eligibleSince();
+        return loyaltyStayRepository.findById(new LoyaltyStayId(userId, accommodationId))
+                .map(LoyaltyStay::getLastBookedAt)
+                .filter(lastBookedAt -> !lastBookedAt.isBefore(since))
+                .isPresent();
+    }
+
+    /**
+     * Returns the accommodations, among the given ones, where the guest earned the discount.
+     */
+    public Set<Long> findEligibleAccommodationIds(Long userId, Collection<Long> accommodationIds) {
+        if (accommodationIds.isEmpty()) {
+            return new HashSet<>();
+        }
+        return new HashSet<>(loyaltyStayRepository.findAccommodationIdsBookedSince(userId, accommodationIds, eligibleSince()));
+    }
+
+    /**
+     * Records a newly saved reservation. Callers hold the accommodation lock, so two bookings
+     * of the same pair never race, and have usually loaded the pair through {@link #isEligible}
+     * in the same transaction: the change is then flushed with the commit without another select.
+     */
+    @Transactional
+    public void recordBooking(Reservation reservation) {
+        LocalDateTime bookedAt = reservation.getCreatedDate() != null ? reservation.getCreatedDate() : LocalDateTime.now();
+        LoyaltyStayId id = new LoyaltyStayId(reservation.getUser().getId(), reservation.getAccommodation().getId());
+
+        Optional<LoyaltyStay> existing = loyaltyStayRepository.findById(id);
+        if (existing.isEmpty()) {
+            loyaltyStayRepository.save(new LoyaltyStay(id, bookedAt));
+            return;
+        }
+        LoyaltyStay stay = existing.get();
+        if (stay.getLastBookedAt() == null || stay.getLastBookedAt().isBefore(bookedAt)) {
+            stay.setLastBookedAt(bookedAt);
+        }
+    }
+
+    @Transactional
+    public void recordBookings(Collection<Reservation> reservations) {
+        reservations.forEach(this::recordBooking);
+    }
+
+    /**
+     * Recomputes the pair from its remaining reservations after one of them was cancelled or deleted.
+     */
+    @Transactional
+    public void refresh(Long userId, Long accommodationId) {
+        loyaltyStayRepository.recompute(userId, accommodationId, BookingStatus.CANCELLED);
+    }
+
+    /**
+     * Drops the pairs of a deleted guest, whose reservations have moved to the replacement user.
+     */
+    @Transactional
+    public void deleteForUser(Long userId) {
+        loyaltyStayRepository.deleteByUserId(userId);
+    }
+
+    /**
+     * Drops the pairs of a deleted accommodation.
+     */
+    @Transactional
+    public void deleteForAccommodation(Long accommodationId) {
+        loyaltyStayRepository.deleteByAccommodationId(accommodationId);
+    }
+
+    /**
+     * Brings the table in line with the reservations: recomputes every pair, then inserts the missing ones.
+     * Both steps are idempotent, so every instance runs them on start and nightly. That also covers
+     * reservations written during a rolling deploy by instances that do not track the table yet,
+     * and reservations seeded straight into the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "0 15 0 * * *")
+    public void reconcile() {
+        int recomputed = loyaltyStayRepository.recomputeAll(BookingStatus.CANCELLED);
+        try {
+            int inserted = loyaltyStayRepository.insertMissingFromReservations(BookingStatus.CANCELLED);
+            log.info("Loyalty stays reconciled: {} pairs recomputed, {} inserted", recomputed, inserted);
+        } catch (DataIntegrityViolationException e) {
+            log.info("Loyalty stays inserted concurrently by another instance");
+        }
+    }
+
+    private static LocalDateTime eligibleSince() {
+        return LocalDate.now().minusYears(1).atStartOfDay();
+    }
+}
@@ -0,0 +1,73 @@
+package com.SleepUp.SU.reservation.repository;
+
+import com.SleepUp.SU.reservation.entity.Reservation;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Inserts reservations as one JDBC batch. Hibernate cannot batch inserts of
+ * {@code IDENTITY} ids, so multi-stay bookings go through this repository instead of
+ * {@code saveAll}. Entity listeners do not run for these rows; callers update the
+ * availability indexes themselves.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ReservationBatchRepository {
+
+    private static final String INSERT_SQL = "INSERT INTO reservations " +
+            "(booking_status, check_in_date, check_out_date, created_date, email_sent, guest_number, " +
+            "accommodation_id, user_id, total_price) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts every reservation and assigns the generated ids back to the entities.
+     */
+    public void insertAll(List<Reservation> reservations) {
+        if (reservations.isEmpty()) {
+            return;
+        }
+
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, new String[]{"id"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Reservation reservation = reservations.get(i);
+                        ps.setString(1, reservation.getBookingStatus().name());
+                        ps.setDate(2, Date.valueOf(reservation.getCheckInDate()));
+                        ps.setDate(3, Date.valueOf(reservation.getCheckOutDate()));
+                        ps.setTimestamp(4, Timestamp.valueOf(reservation.getCreatedDate()));
+                        ps.setBoolean(5, Boolean.TRUE.equals(reservation.getEmailSent()));
+                        ps.setObject(6, reservation.getGuestNumber());
+                        ps.setLong(7, reservation.getAccommodation().getId());
+                        ps.setLong(8, reservation.getUser().getId());
+                        ps.setBigDecimal(9, reservation.getTotalPrice());
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return reservations.size();
+                    }
+                },
+                keyHolder);
+
+        List<Map<String, Object>> keys = keyHolder.getKeyList();
+        for (int i = 0; i < reservations.size() && i < keys.size(); i++) {
+            Object id = keys.get(i).values().iterator().next();
+            reservations.get(i).setId(((Number) id).longValue());
+        }
+    }
+}
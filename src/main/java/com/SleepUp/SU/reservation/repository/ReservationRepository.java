@@ -1,7 +1,13 @@
 package com.SleepUp.SU.reservation.repository;
 
+import com.SleepUp.SU.accommodation.search.AccommodationPopularity;
+import com.SleepUp.SU.reservation.availability.AdmissionCandidate;
+import com.SleepUp.SU.reservation.availability.ReservationInterval;
+import com.SleepUp.SU.reservation.dto.ReservationResponseSummary;
 import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.reservation.status.BookingStatus;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -9,82 +15,140 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
-import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface ReservationRepository extends JpaRepository<Reservation, Long>, JpaSpecificationExecutor<Reservation> {
 
     /**
-     * Checks if a user has reservations that overlap with the dates provided
-     * Cancelled reservations are excluded
+     * Loads, in a single round trip, every non-cancelled stay that blocks a new booking:
+     * stays of the user or of the accommodation overlapping the dates
      */
-    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.user.id = :userId " +
-            "AND r.bookingStatus != :cancelledStatus " +
-            "AND (r.checkInDate < :checkOutDate AND r.checkOutDate > :checkInDate)")
-    boolean existsOverlappingReservationForUser(@Param("userId") Long userId,
-                                                @Param("checkInDate") LocalDate checkInDate,
-                                                @Param("checkOutDate") LocalDate checkOutDate,
-                                                @Param("cancelledStatus") BookingStatus cancelledStatus);
+    @Query("SELECT new com.SleepUp.SU.reservation.availability.AdmissionCandidate(" +
+            "r.user.id, a.id, a.name, r.checkInDate, r.checkOutDate) " +
+            "FROM Reservation r JOIN r.accommodation a " +
+            "WHERE r.bookingStatus != :cancelledStatus " +
+            "AND (r.user.id = :userId OR a.id = :accommodationId) " +
+            "AND r.checkInDate < :checkOutDate AND r.checkOutDate > :checkInDate " +
+            "ORDER BY r.id")
+    List<AdmissionCandidate> findAdmissionCandidates(@Param("userId") Long userId,
+                                                     @Param("accommodationId") Long accommodationId,
+                                                     @Param("checkInDate") LocalDate checkInDate,
+                                                     @Param("checkOutDate") LocalDate checkOutDate,
+                                                     @Param("cancelledStatus") BookingStatus cancelledStatus);
+
+    /**
+     * Batch variant of findAdmissionCandidates for several stays of one user
+     * The overlap window spans from the earliest check-in to the latest check-out of the batch
+     */
+    @Query("SELECT new com.SleepUp.SU.reservation.availability.AdmissionCandidate(" +
+            "r.user.id, a.id, a.name, r.checkInDate, r.checkOutDate) " +
+            "FROM Reservation r JOIN r.accommodation a " +
+            "WHERE r.bookingStatus != :cancelledStatus " +
+            "AND (r.user.id = :userId OR a.id IN :accommodationIds) " +
+            "AND r.checkInDate < :toDate AND r.checkOutDate > :fromDate " +
+            "ORDER BY r.id")
+    List<AdmissionCandidate> findBatchAdmissionCandidates(@Param("userId") Long userId,
+                                                          @Param("accommodationIds") Collection<Long> accommodationIds,
+                                                          @Param("fromDate") LocalDate fromDate,
+                                                          @Param("toDate") LocalDate toDate,
+                                                          @Param("cancelledStatus") BookingStatus cancelledStatus);
 
     /**
-     * Check if an accommodation has reservations that overlap with the dates provided
-     * Cancelled reservations are excluded
+     * Loads the stays of an accommodation that are still running or upcoming
+     * Used to rebuild its occupancy bitmap
      */
-    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.accommodation.id = :accommodationId " +
+    @Query("SELECT new com.SleepUp.SU.reservation.availability.ReservationInterval(" +
+            "r.id, r.accommodation.id, r.user.id, r.checkInDate, r.checkOutDate) " +
+            "FROM Reservation r WHERE r.accommodation.id = :accommodationId " +
             "AND r.bookingStatus != :cancelledStatus " +
-            "AND (r.checkInDate < :checkOutDate AND r.checkOutDate > :checkInDate)")
-    boolean existsOverlappingReservationForAccommodation(@Param("accommodationId") Long accommodationId,
-                                                         @Param("checkInDate") LocalDate checkInDate,
-                                                         @Param("checkOutDate") LocalDate checkOutDate,
-                                                         @Param("cancelledStatus") BookingStatus cancelledStatus);
+            "AND r.checkOutDate > :fromDate")
+    List<ReservationInterval> findActiveIntervalsForAccommodation(@Param("accommodationId") Long accommodationId,
+                                                                  @Param("fromDate") LocalDate fromDate,
+                                                                  @Param("cancelledStatus") BookingStatus cancelledStatus);
 
     /**
-     * Gets reservations that overlap with dates for a specific user
-     * Useful for displaying conflict details
+     * Loads the stays of a user that are still running or upcoming
+     * Used to rebuild the in-memory availability index
      */
-    @Query("SELECT r FROM Reservation r WHERE r.user.id = :userId " +
+    @Query("SELECT new com.SleepUp.SU.reservation.availability.ReservationInterval(" +
+            "r.id, r.accommodation.id, r.user.id, r.checkInDate, r.checkOutDate) " +
+            "FROM Reservation r WHERE r.user.id = :userId " +
             "AND r.bookingStatus != :cancelledStatus " +
-            "AND (r.checkInDate < :checkOutDate AND r.checkOutDate > :checkInDate)")
-    List<Reservation> findOverlappingReservationsForUser(@Param("userId") Long userId,
-                                                         @Param("checkInDate") LocalDate checkInDate,
-                                                         @Param("checkOutDate") LocalDate checkOutDate,
+            "AND r.checkOutDate > :fromDate")
+    List<ReservationInterval> findActiveIntervalsForUser(@Param("userId") Long userId,
+                                                         @Param("fromDate") LocalDate fromDate,
                                                          @Param("cancelledStatus") BookingStatus cancelledStatus);
 
     /**
-     * Gets reservations that overlap with dates for a specific accommodation
-     * Useful for displaying conflict details
+     * Counts the non-cancelled reservations of every accommodation that has any
+     * Used to rank accommodation suggestions by popularity
      */
-    @Query("SELECT r FROM Reservation r WHERE r.accommodation.id = :accommodationId " +
-            "AND r.bookingStatus != :cancelledStatus " +
-            "AND (r.checkInDate < :checkOutDate AND r.checkOutDate > :checkInDate)")
-    List<Reservation> findOverlappingReservationsForAccommodation(@Param("accommodationId") Long accommodationId,
-                                                                  @Param("checkInDate") LocalDate checkInDate,
-                                                                  @Param("checkOutDate") LocalDate checkOutDate,
-                                                                  @Param("cancelledStatus") BookingStatus cancelledStatus);
+    @Query("SELECT new com.SleepUp.SU.accommodation.search.AccommodationPopularity(r.accommodation.id, COUNT(r)) " +
+            "FROM Reservation r WHERE r.bookingStatus != :cancelledStatus GROUP BY r.accommodation.id")
+    List<AccommodationPopularity> countReservationsByAccommodation(@Param("cancelledStatus") BookingStatus cancelledStatus);
 
     /**
-     * Checks if a user has made a reservation for a specific accommodation
-     * in the last year (365 days) from the given date
-     * Cancelled reservations are excluded
+     * Loads every non-cancelled stay that is still running or upcoming
+     * Used to rebuild the accommodation occupancy bitmaps in one pass
      */
-    @Query("SELECT COUNT(r) > 0 FROM Reservation r WHERE r.user.id = :userId " +
-            "AND r.accommodation.id = :accommodationId " +
-            "AND r.bookingStatus != :cancelledStatus " +
-            "AND r.createdDate >= :oneYearAgo")
-    boolean existsReservationLessThanYear(@Param("userId") Long userId,
-                                          @Param("accommodationId") Long accommodationId,
-                                          @Param("oneYearAgo") LocalDateTime oneYearAgo,
-                                          @Param("cancelledStatus") BookingStatus cancelledStatus);
+    @Query("SELECT new com.SleepUp.SU.reservation.availability.ReservationInterval(" +
+            "r.id, r.accommodation.id, r.user.id, r.checkInDate, r.checkOutDate) " +
+            "FROM Reservation r WHERE r.bookingStatus != :cancelledStatus " +
+            "AND r.checkOutDate > :fromDate")
+    List<ReservationInterval> findAllActiveIntervals(@Param("fromDate") LocalDate fromDate,
+                                                     @Param("cancelledStatus") BookingStatus cancelledStatus);
 
-    List<Reservation> findByUser_Id(Long userId);
+    /**
+     * Gets one keyset page of a user's reservations ordered by (checkInDate, id), projected straight into summaries
+     * Returns rows strictly after (afterDate, afterId) whose check-in is before beforeDate
+     */
+    @Query("SELECT new com.SleepUp.SU.reservation.dto.ReservationResponseSummary(" +
+            "r.id, u.name, r.guestNumber, a.name, r.checkInDate, r.checkOutDate, r.bookingStatus, r.totalPrice) " +
+            "FROM Reservation r JOIN r.user u JOIN r.accommodation a " +
+            "WHERE u.id = :userId AND r.checkInDate < :beforeDate " +
+            "AND (r.checkInDate > :afterDate OR (r.checkInDate = :afterDate AND r.id > :afterId)) " +
+            "ORDER BY r.checkInDate, r.id")
+    List<ReservationResponseSummary> findSummaryPageByUser(@Param("userId") Long userId,
+                                                           @Param("afterDate") LocalDate afterDate,
+                                                           @Param("afterId") Long afterId,
+                                                           @Param("beforeDate") LocalDate beforeDate,
+                                                           Limit limit);
+
+    /**
+     * Gets the reservations of an accommodation projected straight into summaries
+     * No entity is loaded, so nothing is kept in the persistence context
+     */
+    @Query("SELECT new com.SleepUp.SU.reservation.dto.ReservationResponseSummary(" +
+            "r.id, u.name, r.guestNumber, a.name, r.checkInDate, r.checkOutDate, r.bookingStatus, r.totalPrice) " +
+            "FROM Reservation r JOIN r.user u JOIN r.accommodation a " +
+            "WHERE a.id = :accommodationId ORDER BY r.id")
+    List<ReservationResponseSummary> findSummariesByAccommodationId(@Param("accommodationId") Long accommodationId);
+
+    /**
+     * Gets every reservation projected straight into summaries
+     * Used by the admin listing
+     */
+    @Query("SELECT new com.SleepUp.SU.reservation.dto.ReservationResponseSummary(" +
+            "r.id, u.name, r.guestNumber, a.name, r.checkInDate, r.checkOutDate, r.bookingStatus, r.totalPrice) " +
+            "FROM Reservation r JOIN r.user u JOIN r.accommodation a ORDER BY r.id")
+    List<ReservationResponseSummary> findAllSummaries();
 
-    List<Reservation> findByUser_IdAndCheckInDateBefore(Long userId, LocalDate date);
+    /**
+     * Gets a reservation with its guest, accommodation and owner
+     * Everything the detail mapping and the reservation emails read is loaded up front
+     */
+    @EntityGraph(Reservation.NOTIFICATION_GRAPH)
+    Optional<Reservation> findWithPartiesById(Long id);
 
-    List<Reservation> findByUser_IdAndCheckInDateAfter(Long userId, LocalDate date);
+    @Query("SELECT r.accommodation.id FROM Reservation r WHERE r.id = :reservationId")
+    Optional<Long> findAccommodationIdById(@Param("reservationId") Long reservationId);
 
-    List<Reservation> findByAccommodationId(Long id);
+    List<Reservation> findByUser_Id(Long userId);
 
+    @EntityGraph(Reservation.NOTIFICATION_GRAPH)
     List<Reservation> findByCheckInDate(LocalDate date);
 
     boolean existsByIdAndUser_Id(Long reservationId, Long userId);
@@ -11,7 +11,6 @@ import com.SleepUp.SU.utils.dto.ApiMessageDto;
 import com.SleepUp.SU.utils.email.EmailService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 @Service
 @RequiredArgsConstructor
@@ -29,16 +28,17 @@ public class ReservationGuestServiceImpl implements ReservationGuestService {
         return reservationMapper.toDetail(isExisting);
     }
 
-    @Transactional
+    /**
+     * Not transactional on purpose: the cancellation and the new booking run in
+     * {@link ReservationService#replaceReservation}'s booking transaction, which has to be the outermost one.
+     */
     @Override
     public ApiMessageDto updateReservation(Long id, ReservationRequest reservationRequest, User user) {
         Reservation oldReservation = reservationServiceHelper.getReservationEntityById(id);
-        this.cancelReservation(id);
-        ReservationResponseDetail savedReservation = reservationService.createReservation(
-                reservationRequest,
-                user,
-                oldReservation.getAccommodation().getId()
-        );
+        ReservationResponseDetail savedReservation = reservationService.replaceReservation(id, reservationRequest, user);
+
+        emailService.sendCancellationConfirmationEmail(oldReservation);
+        emailService.sendCancellationNotificationToOwnerEmail(oldReservation);
 
         String message = String.format(
                 "Your reservation in %s from %s to %s has been updated.\nOld dates were from %s to %s.",
@@ -59,6 +59,7 @@ public class ReservationGuestServiceImpl implements ReservationGuestService {
         reservationServiceHelper.validateReservationCancellable(reservation);
         reservation.setBookingStatus(BookingStatus.CANCELLED);
         Reservation savedReservation = reservationRepository.save(reservation);
+        reservationServiceHelper.refreshLoyaltyStay(savedReservation);
 
         emailService.sendCancellationConfirmationEmail(reservation);
         emailService.sendCancellationNotificationToOwnerEmail(reservation);
@@ -5,12 +5,17 @@ import com.SleepUp.SU.reservation.dto.ReservationResponseDetail;
 import com.SleepUp.SU.reservation.dto.ReservationResponseSummary;
 import com.SleepUp.SU.reservation.reservationTime.ReservationTime;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.utils.dto.CursorPage;
 
-import java.util.List;
+import java.util.function.Consumer;
 
 public interface ReservationService {
 
-    List<ReservationResponseSummary> getMyReservations(Long userId, ReservationTime time);
+    CursorPage<ReservationResponseSummary> getMyReservations(Long userId, ReservationTime time, String cursor, int size);
+
+    void streamMyReservations(Long userId, ReservationTime time, Consumer<ReservationResponseSummary> consumer);
 
     ReservationResponseDetail createReservation(ReservationRequest reservationRequest, User user, Long accommodationId);
+
+    ReservationResponseDetail replaceReservation(Long reservationId, ReservationRequest reservationRequest, User user);
 }
\ No newline at end of file
@@ -2,6 +2,9 @@ package com.SleepUp.SU.reservation.service;
 
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.reservation.availability.AccommodationBookingLocks;
+import com.SleepUp.SU.reservation.availability.ReservationAdmission;
+import com.SleepUp.SU.exceptions.InvalidCursorException;
 import com.SleepUp.SU.reservation.dto.*;
 import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
@@ -10,47 +13,143 @@ import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
 import com.SleepUp.SU.user.entity.User;
 import com.SleepUp.SU.utils.email.EmailService;
-import com.SleepUp.SU.utils.EntityUtil;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.List;
+import java.util.function.Consumer;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationServiceImpl implements ReservationService{
 
+    private static final int MAX_PAGE_SIZE = 500;
+    private static final int STREAM_CHUNK_SIZE = 500;
+    private static final LocalDate MIN_DATE = LocalDate.of(1000, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
     private final ReservationRepository reservationRepository;
     private final ReservationMapper reservationMapper;
     private final ReservationServiceHelper reservationServiceHelper;
     private final EmailService emailService;
     private final AccommodationServiceHelper accommodationServiceHelper;
-    private final EntityUtil entityUtil;
+    private final AccommodationBookingLocks accommodationBookingLocks;
+    private final TransactionTemplate transactionTemplate;
+
+    /**
+     * Returns one keyset page of the user's reservations ordered by check-in date and id.
+     * Only {@code size + 1} rows are read, whatever the total number of reservations.
+     */
+    @Override
+    public CursorPage<ReservationResponseSummary> getMyReservations(Long userId, ReservationTime time, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        KeysetCursor position = cursor != null ? KeysetCursor.decode(cursor) : firstPosition(time);
+
+        List<ReservationResponseSummary> rows = findPage(userId, time, position, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<ReservationResponseSummary> page = hasMore ? rows.subList(0, pageSize) : rows;
 
+        String nextCursor = hasMore ? positionOf(page.getLast()).encode() : null;
+        return new CursorPage<>(List.copyOf(page), nextCursor);
+    }
+
+    /**
+     * Walks every reservation of the user page by page, handing each one to {@code consumer},
+     * so only one page is held in memory at a time.
+     */
     @Override
-    public List<ReservationResponseSummary> getMyReservations(Long userId, ReservationTime time) {
-        LocalDate today = LocalDate.now();
+    public void streamMyReservations(Long userId, ReservationTime time, Consumer<ReservationResponseSummary> consumer) {
+        KeysetCursor position = firstPosition(time);
+        List<ReservationResponseSummary> rows;
+        do {
+            rows = findPage(userId, time, position, STREAM_CHUNK_SIZE);
+            rows.forEach(consumer);
+            if (!rows.isEmpty()) {
+                position = positionOf(rows.getLast());
+            }
+        } while (rows.size() == STREAM_CHUNK_SIZE);
+    }
 
-        if (time == null) {
-            time = ReservationTime.ALL;
+    private List<ReservationResponseSummary> findPage(Long userId, ReservationTime time, KeysetCursor position, int limit) {
+        LocalDate beforeDate = time == ReservationTime.PAST ? LocalDate.now() : MAX_DATE;
+        return reservationRepository.findSummaryPageByUser(
+                userId,
+                parseCheckInDate(position),
+                position.id(),
+                beforeDate,
+                Limit.of(limit));
+    }
+
+    private static LocalDate parseCheckInDate(KeysetCursor position) {
+        try {
+            return LocalDate.parse(position.sortKey());
+        } catch (DateTimeParseException e) {
+            throw new InvalidCursorException();
         }
+    }
 
-        List<Reservation> reservations = switch (time) {
-            case ALL -> reservationRepository.findByUser_Id(userId);
-            case PAST -> reservationRepository.findByUser_IdAndCheckInDateBefore(userId, today);
-            case FUTURE -> reservationRepository.findByUser_IdAndCheckInDateAfter(userId, today);
-        };
+    private static KeysetCursor firstPosition(ReservationTime time) {
+        if (time == ReservationTime.FUTURE) {
+            return new KeysetCursor(LocalDate.now().toString(), Long.MAX_VALUE);
+        }
+        return new KeysetCursor(MIN_DATE.toString(), 0L);
+    }
 
-        return entityUtil.mapEntitiesToDTOs(reservations, reservationMapper::toSummary);
+    private static KeysetCursor positionOf(ReservationResponseSummary reservation) {
+        return new KeysetCursor(reservation.checkInDate().toString(), reservation.id());
     }
 
+    /**
+     * Books under the accommodation's lock stripe and, inside the transaction, its row lock.
+     * The row lock is the transaction's first read, so its snapshot already contains every earlier
+     * booking; callers therefore must not start a transaction of their own around this method.
+     * The stripe is held until the transaction completes. Bookings the availability index knows
+     * to conflict are rejected before taking either lock.
+     */
     @Override
     public ReservationResponseDetail createReservation(ReservationRequest reservationRequest, User user, Long accommodationId) {
         reservationServiceHelper.validateReservationDates(reservationRequest);
-        Accommodation accommodation = accommodationServiceHelper.getAccommodationEntityById(accommodationId);
+        reservationServiceHelper.rejectKnownConflicts(accommodationId, user, reservationRequest);
+
+        Reservation savedReservation = accommodationBookingLocks.inTransaction(accommodationId, transactionTemplate, status ->
+                book(reservationRequest, user, accommodationServiceHelper.lockAccommodationEntityById(accommodationId)));
+
+        emailService.sendOwnerReservedNotification(savedReservation);
+        return reservationMapper.toDetail(savedReservation);
+    }
+
+    /**
+     * Cancels the reservation and books the requested dates of the same accommodation in one
+     * booking transaction, so no other booking can take either the freed or the new dates in between.
+     */
+    @Override
+    public ReservationResponseDetail replaceReservation(Long reservationId, ReservationRequest reservationRequest, User user) {
+        reservationServiceHelper.validateReservationDates(reservationRequest);
+        Long accommodationId = reservationServiceHelper.getAccommodationIdFromReservationId(reservationId);
+
+        Reservation savedReservation = accommodationBookingLocks.inTransaction(accommodationId, transactionTemplate, status -> {
+            Accommodation accommodation = accommodationServiceHelper.lockAccommodationEntityById(accommodationId);
 
-        reservationServiceHelper.validateCreateReservation(accommodation, user, reservationRequest);
+            Reservation oldReservation = reservationServiceHelper.getReservationEntityById(reservationId);
+            reservationServiceHelper.validateReservationCancellable(oldReservation);
+            oldReservation.setBookingStatus(BookingStatus.CANCELLED);
+            reservationServiceHelper.refreshLoyaltyStay(reservationRepository.save(oldReservation));
+
+            return book(reservationRequest, user, accommodation);
+        });
+
+        emailService.sendOwnerReservedNotification(savedReservation);
+        return reservationMapper.toDetail(savedReservation);
+    }
+
+    private Reservation book(ReservationRequest reservationRequest, User user, Accommodation accommodation) {
+        ReservationAdmission admission = reservationServiceHelper.admitReservation(accommodation, user, reservationRequest);
 
         Reservation newReservation =  reservationMapper.toEntity(
                 reservationRequest,
@@ -58,12 +157,11 @@ public class ReservationServiceImpl implements ReservationService{
                 user, accommodation,
                 false);
 
-        reservationServiceHelper.updatePriceWithDiscountIfDeserved(newReservation, accommodation, user);
+        reservationServiceHelper.updatePriceWithDiscountIfDeserved(newReservation, accommodation, admission);
 
-        Reservation savedReservation = reservationRepository.save(newReservation);
-
-        emailService.sendOwnerReservedNotification(savedReservation);
-        return reservationMapper.toDetail(savedReservation);
+        Reservation saved = reservationRepository.save(newReservation);
+        reservationServiceHelper.recordLoyaltyStays(List.of(saved));
+        return saved;
     }
 
 }
\ No newline at end of file
@@ -1,7 +1,12 @@
 package com.SleepUp.SU.reservation.utils;
 
 import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.pricing.PricingEngine;
+import com.SleepUp.SU.reservation.availability.AdmissionCandidate;
+import com.SleepUp.SU.reservation.availability.ReservationAdmission;
+import com.SleepUp.SU.reservation.availability.ReservationAvailabilityIndex;
 import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.reservation.exceptions.AccommodationConstraintsException;
 import com.SleepUp.SU.reservation.exceptions.AccommodationUnavailableException;
@@ -14,21 +19,23 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.temporal.ChronoUnit;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ReservationServiceHelper {
 
     private final ReservationRepository reservationRepository;
+    private final ReservationAvailabilityIndex reservationAvailabilityIndex;
+    private final LoyaltyStayTracker loyaltyStayTracker;
+    private final PricingEngine pricingEngine;
 
     public Reservation getReservationEntityById(Long id){
-        return reservationRepository.findById(id).orElseThrow(() -> new ReservationNotFoundByIdException(id));
+        return reservationRepository.findWithPartiesById(id).orElseThrow(() -> new ReservationNotFoundByIdException(id));
     }
 
     public boolean isReservationGuestTheUser(Long reservationId, Long userId){
@@ -36,37 +43,123 @@ public class ReservationServiceHelper {
     }
 
     public Long getAccommodationIdFromReservationId(Long reservationId){
-        return getReservationEntityById(reservationId).getAccommodation().getId();
+        return reservationRepository.findAccommodationIdById(reservationId)
+                .orElseThrow(() -> new ReservationNotFoundByIdException(reservationId));
     }
 
-    public void updatePriceWithDiscountIfDeserved(Reservation reservation, Accommodation accommodation, User user){
-        boolean discount = validateReservationAccommodationLessThanOneYear(accommodation.getId(), user.getId());
-        BigDecimal amount = calculateReservationPrice(reservation, accommodation, discount);
+    public void updatePriceWithDiscountIfDeserved(Reservation reservation, Accommodation accommodation, ReservationAdmission admission){
+        BigDecimal amount = calculateReservationPrice(reservation, accommodation, admission.discountEligible());
 
         reservation.setTotalPrice(amount);
     }
 
+    /**
+     * Prices the stay night by night from the accommodation's rate calendar.
+     */
     public BigDecimal calculateReservationPrice(Reservation reservation, Accommodation accommodation, boolean discount) {
-        long days = ChronoUnit.DAYS.between(reservation.getCheckInDate(), reservation.getCheckOutDate());
-
-        BigDecimal pricePerDay = BigDecimal.valueOf(accommodation.getPrice());
-        BigDecimal totalAmount = pricePerDay.multiply(BigDecimal.valueOf(days));
+        return pricingEngine.price(accommodation, reservation.getCheckInDate(), reservation.getCheckOutDate(), discount);
+    }
 
-        if (discount) {
-            BigDecimal discountMultiplier = BigDecimal.valueOf(0.8);
-            totalAmount = totalAmount.multiply(discountMultiplier);
+    /**
+     * Rejects a booking the availability index already knows to conflict, before any lock or transaction
+     * is taken, so a burst of requests for booked nights never queues on the accommodation lock.
+     * An index hit is confirmed with one unlocked overlap query; a hit the database does not confirm
+     * drops the stale index entries and lets the booking proceed to {@link #admitReservation}.
+     */
+    public void rejectKnownConflicts(Long accommodationId, User user, ReservationRequest reservationRequest){
+        LocalDate checkInDate = reservationRequest.checkInDate();
+        LocalDate checkOutDate = reservationRequest.checkOutDate();
+        boolean accommodationHit = reservationAvailabilityIndex.hasAccommodationOverlap(accommodationId, checkInDate, checkOutDate);
+        boolean userHit = reservationAvailabilityIndex.hasUserOverlap(user.getId(), checkInDate, checkOutDate);
+        if (!accommodationHit && !userHit) {
+            return;
         }
 
-        totalAmount = totalAmount.setScale(2, RoundingMode.HALF_UP);
+        List<AdmissionCandidate> candidates = reservationRepository.findAdmissionCandidates(
+                user.getId(),
+                accommodationId,
+                checkInDate,
+                checkOutDate,
+                BookingStatus.CANCELLED);
+        throwIfConflicting(ReservationAdmission.of(candidates, user.getId(), accommodationId,
+                checkInDate, checkOutDate, false));
 
-        return totalAmount;
+        reservationAvailabilityIndex.evictAccommodation(accommodationId);
+        reservationAvailabilityIndex.evictUser(user.getId());
     }
 
-    public void validateCreateReservation(Accommodation accommodation, User user, ReservationRequest reservationRequest){
+    /**
+     * Validates a new booking with a single overlap query and resolves the loyalty discount with a
+     * primary key lookup. Callers hold the accommodation row lock, which serializes bookings of that
+     * accommodation across replicas, so this database check is the final word on availability.
+     */
+    public ReservationAdmission admitReservation(Accommodation accommodation, User user, ReservationRequest reservationRequest){
         validateGuestIsNotOwner(accommodation, user);
         validateAccommodationAvailability(accommodation, reservationRequest);
-        validateUserReservationOverlap(user.getId(), reservationRequest);
-        validateAccommodationReservationOverlap(accommodation.getId(), reservationRequest);
+
+        List<AdmissionCandidate> candidates = reservationRepository.findAdmissionCandidates(
+                user.getId(),
+                accommodation.getId(),
+                reservationRequest.checkInDate(),
+                reservationRequest.checkOutDate(),
+                BookingStatus.CANCELLED);
+
+        return resolveAdmission(accommodation, user, reservationRequest, candidates,
+                loyaltyStayTracker.isEligible(user.getId(), accommodation.getId()));
+    }
+
+    /**
+     * Loads the admission candidates of several stays of one user with a single query
+     * spanning from the earliest check-in to the latest check-out.
+     */
+    public List<AdmissionCandidate> findBatchAdmissionCandidates(Long userId, Collection<Long> accommodationIds,
+                                                                 LocalDate fromDate, LocalDate toDate){
+        return reservationRepository.findBatchAdmissionCandidates(
+                userId,
+                accommodationIds,
+                fromDate,
+                toDate,
+                BookingStatus.CANCELLED);
+    }
+
+    /**
+     * Returns the accommodations, among the given ones, where the user earned the loyalty discount.
+     */
+    public Set<Long> findDiscountEligibleAccommodationIds(Long userId, Collection<Long> accommodationIds){
+        return loyaltyStayTracker.findEligibleAccommodationIds(userId, accommodationIds);
+    }
+
+    /**
+     * Classifies already loaded candidates for one stay, throwing {@link ReservationOverlapException}
+     * on the first kind of conflict found.
+     */
+    public ReservationAdmission resolveAdmission(Accommodation accommodation, User user, ReservationRequest reservationRequest,
+                                                 List<AdmissionCandidate> candidates, boolean discountEligible){
+        ReservationAdmission admission = ReservationAdmission.of(
+                candidates,
+                user.getId(),
+                accommodation.getId(),
+                reservationRequest.checkInDate(),
+                reservationRequest.checkOutDate(),
+                discountEligible
+        );
+
+        throwIfConflicting(admission);
+        return admission;
+    }
+
+    private static void throwIfConflicting(ReservationAdmission admission) {
+        if (!admission.userConflicts().isEmpty()) {
+            throw userOverlapException(admission.userConflicts().stream()
+                    .map(c -> describeUserConflict(c.accommodationName(), c.checkInDate(), c.checkOutDate()))
+                    .toList());
+        }
+
+        if (!admission.accommodationConflicts().isEmpty()) {
+            throw accommodationOverlapException(admission.accommodationConflicts().stream()
+                    .map(c -> describeAccommodationConflict(c.checkInDate(), c.checkOutDate()))
+                    .toList());
+        }
     }
 
     public void validateGuestIsNotOwner(Accommodation accommodation, User user) {
@@ -94,63 +187,30 @@ public class ReservationServiceHelper {
                 .orElseThrow(() -> new AccommodationConstraintsException(accommodation, reservationRequest));
     }
 
-    public void validateUserReservationOverlap(Long userId, ReservationRequest reservationRequest) {
-        boolean hasOverlappingReservation = reservationRepository.existsOverlappingReservationForUser(
-                userId,
-                reservationRequest.checkInDate(),
-                reservationRequest.checkOutDate(),
-                BookingStatus.CANCELLED
-        );
+    private static String describeUserConflict(String accommodationName, LocalDate checkInDate, LocalDate checkOutDate) {
+        return String.format("Reservation at %s from %s to %s", accommodationName, checkInDate, checkOutDate);
+    }
 
-        if (hasOverlappingReservation) {
-            List<Reservation> overlappingReservations = reservationRepository.findOverlappingReservationsForUser(
-                    userId,
-                    reservationRequest.checkInDate(),
-                    reservationRequest.checkOutDate(),
-                    BookingStatus.CANCELLED
-            );
-
-            String conflictDetails = overlappingReservations.stream()
-                    .map(r -> String.format("Reservation at %s from %s to %s",
-                            r.getAccommodation().getName(),
-                            r.getCheckInDate(),
-                            r.getCheckOutDate()))
-                    .reduce((a, b) -> a + "; " + b)
-                    .orElse("Unknown conflict");
-
-            throw new ReservationOverlapException(
-                    "You already have a reservation that overlaps with these dates: " + conflictDetails
-            );
-        }
+    private static String describeAccommodationConflict(LocalDate checkInDate, LocalDate checkOutDate) {
+        return String.format("Reserved from %s to %s", checkInDate, checkOutDate);
     }
 
-    public void validateAccommodationReservationOverlap(Long accommodationId, ReservationRequest reservationRequest) {
-        boolean hasOverlappingReservation = reservationRepository.existsOverlappingReservationForAccommodation(
-                accommodationId,
-                reservationRequest.checkInDate(),
-                reservationRequest.checkOutDate(),
-                BookingStatus.CANCELLED
+    private static ReservationOverlapException userOverlapException(List<String> conflicts) {
+        return new ReservationOverlapException(
+                "You already have a reservation that overlaps with these dates: " + joinConflicts(conflicts)
         );
+    }
 
-        if (hasOverlappingReservation) {
-            List<Reservation> overlappingReservations = reservationRepository.findOverlappingReservationsForAccommodation(
-                    accommodationId,
-                    reservationRequest.checkInDate(),
-                    reservationRequest.checkOutDate(),
-                    BookingStatus.CANCELLED
-            );
-
-            String conflictDetails = overlappingReservations.stream()
-                    .map(r -> String.format("Reserved from %s to %s",
-                            r.getCheckInDate(),
-                            r.getCheckOutDate()))
-                    .reduce((a, b) -> a + "; " + b)
-                    .orElse("Unknown conflict");
-
-            throw new ReservationOverlapException(
-                    "The accommodation is already reserved during these dates: " + conflictDetails
-            );
-        }
+    private static ReservationOverlapException accommodationOverlapException(List<String> conflicts) {
+        return new ReservationOverlapException(
+                "The accommodation is already reserved during these dates: " + joinConflicts(conflicts)
+        );
+    }
+
+    private static String joinConflicts(List<String> conflicts) {
+        return conflicts.stream()
+                .reduce((a, b) -> a + "; " + b)
+                .orElse("Unknown conflict");
     }
 
     public void validateReservationCancellable(Reservation reservation) {
@@ -168,14 +228,19 @@ public class ReservationServiceHelper {
                 .orElseThrow(() -> new ReservationModificationException("Confirmed reservations cannot be cancelled"));
    }
 
-    public boolean validateReservationAccommodationLessThanOneYear(Long accommodationId, Long userId){
-
-        LocalDateTime oneYearAgo = LocalDate.now().minusYears(1).atStartOfDay();
+    /**
+     * Records new reservations as the latest stays of their guest at their accommodation.
+     * Must run in the transaction that saved them.
+     */
+    public void recordLoyaltyStays(Collection<Reservation> reservations){
+        loyaltyStayTracker.recordBookings(reservations);
+    }
 
-        return reservationRepository.existsReservationLessThanYear(
-                userId,
-                accommodationId,
-                oneYearAgo,
-                BookingStatus.CANCELLED);
+    /**
+     * Recomputes the loyalty discount of the reservation's guest at its accommodation
+     * after the reservation was cancelled or deleted.
+     */
+    public void refreshLoyaltyStay(Reservation reservation){
+        loyaltyStayTracker.refresh(reservation.getUser().getId(), reservation.getAccommodation().getId());
     }
 }
\ No newline at end of file
@@ -5,7 +5,7 @@ import com.SleepUp.SU.security.CustomAccessDeniedHandler;
 import com.SleepUp.SU.security.RestAuthenticationEntryPoint;
 import com.SleepUp.SU.security.jwt.JwtAuthFilter;
 import com.SleepUp.SU.security.jwt.JwtService;
-import com.SleepUp.SU.user.admin.UserAdminServiceImpl;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -39,8 +39,8 @@ public class SecurityConfig {
     }
 
     @Bean
-    public JwtAuthFilter jwtAuthFilter(JwtService jwtService, UserAdminServiceImpl userService, TokenBlacklistService tokenBlacklistService) {
-        return new JwtAuthFilter(restAuthenticationEntryPoint, jwtService, userService, tokenBlacklistService);
+    public JwtAuthFilter jwtAuthFilter(JwtService jwtService, AuthenticatedUserCache authenticatedUserCache, TokenBlacklistService tokenBlacklistService) {
+        return new JwtAuthFilter(restAuthenticationEntryPoint, jwtService, authenticatedUserCache, tokenBlacklistService);
     }
 
     @Bean
@@ -59,15 +59,18 @@ public class SecurityConfig {
                         .requestMatchers(ApiPrefixHelper.prefixPaths("/swagger-ui/**", "/v3/api-docs/**")).permitAll()
 
                         .requestMatchers(HttpMethod.GET, "/health").permitAll()
+                        .requestMatchers(HttpMethod.GET, "/actuator/metrics/**").hasRole("ADMIN")
 
                         .requestMatchers(HttpMethod.POST, "/auth/login").permitAll()
                         .requestMatchers(HttpMethod.POST, ("/auth/register")).permitAll()
                         .requestMatchers(HttpMethod.POST, ("/auth/logout")).authenticated()
+                        .requestMatchers(HttpMethod.POST, ("/auth/logout-all")).authenticated()
                         .requestMatchers(HttpMethod.POST, ("/auth/refresh")).authenticated()
 
                         .requestMatchers(HttpMethod.POST, ApiPrefixHelper.prefixPaths("/auth/login")).permitAll()
                         .requestMatchers(HttpMethod.POST, ApiPrefixHelper.prefixPaths("/auth/register")).permitAll()
                         .requestMatchers(HttpMethod.POST, ApiPrefixHelper.prefixPaths("/auth/logout")).authenticated()
+                        .requestMatchers(HttpMethod.POST, ApiPrefixHelper.prefixPaths("/auth/logout-all")).authenticated()
                         .requestMatchers(HttpMethod.POST, ApiPrefixHelper.prefixPaths("/auth/refresh")).authenticated()
 
                         .requestMatchers(HttpMethod.GET, ApiPrefixHelper.prefixPaths("/users/me")).authenticated()
@@ -86,6 +89,8 @@ public class SecurityConfig {
                         .requestMatchers(HttpMethod.GET, "/accommodations/**").permitAll()
                         .requestMatchers(HttpMethod.GET, ApiPrefixHelper.prefixPaths("/accommodations/filter**")).permitAll()
                         .requestMatchers(HttpMethod.GET, "/accommodations/filter**").permitAll()
+                        .requestMatchers(HttpMethod.GET, ApiPrefixHelper.prefixPaths("/accommodations/filter/**")).permitAll()
+                        .requestMatchers(HttpMethod.GET, ApiPrefixHelper.prefixPaths("/accommodations/suggest")).permitAll()
 
                         .requestMatchers(HttpMethod.GET, ApiPrefixHelper.prefixPaths("/accommodations/me")).hasRole("USER")
                         .requestMatchers(HttpMethod.POST, ApiPrefixHelper.prefixPaths("/accommodations")).hasRole("USER")
@@ -2,7 +2,10 @@ package com.SleepUp.SU.security.jwt;
 
 import com.SleepUp.SU.auth.TokenBlacklistService;
 import com.SleepUp.SU.security.RestAuthenticationEntryPoint;
-import com.SleepUp.SU.user.admin.UserAdminServiceImpl;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
+import com.SleepUp.SU.user.principal.AuthenticatedUser;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -13,12 +16,12 @@ import org.springframework.security.authentication.AuthenticationCredentialsNotF
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
+import java.util.List;
 import java.util.Set;
 
 @Component
@@ -35,7 +38,7 @@ public class JwtAuthFilter extends OncePerRequestFilter {
 
     private final RestAuthenticationEntryPoint restAuthenticationEntryPoint;
     private final JwtService jwtService;
-    private final UserAdminServiceImpl userService;
+    private final AuthenticatedUserCache authenticatedUserCache;
     private final TokenBlacklistService tokenBlacklistService;
 
     @Override
@@ -53,12 +56,16 @@ public class JwtAuthFilter extends OncePerRequestFilter {
         final String token = authHeader.substring(BEARER_PREFIX.length());
 
         try {
-            if (!jwtService.isValidToken(token) || tokenBlacklistService.isTokenInBlacklist(token)) {
-                throw new AuthenticationCredentialsNotFoundException("Invalid JWT token");
-            }
-
-            String username = jwtService.extractUsername(token);
-            UserDetails userDetails = userService.loadUserByUsername(username);
+            Claims claims = jwtService.verifiedClaims(token)
+                    .filter(verified -> !tokenBlacklistService.isRevoked(token, verified))
+                    .orElseThrow(() -> new AuthenticationCredentialsNotFoundException("Invalid JWT token"));
+
+            // Tokens from before a role change or an earlier token generation no longer match the user
+            AuthenticatedUser user = authenticatedUserCache.get(claims.getSubject())
+                    .filter(current -> JwtService.tokenGenerationOf(claims) == current.tokenGeneration())
+                    .filter(current -> JwtService.rolesOf(claims).equals(List.of(current.role().getRoleName())))
+                    .orElseThrow(() -> new AuthenticationCredentialsNotFoundException("Invalid JWT token"));
+            CustomUserDetails userDetails = new CustomUserDetails(user.toUser());
 
             UsernamePasswordAuthenticationToken authToken =
                     new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
@@ -1,10 +1,14 @@
 package com.SleepUp.SU.security.jwt;
 
 import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import lombok.AccessLevel;
 import lombok.Getter;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -14,7 +18,9 @@ import javax.crypto.SecretKey;
 import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
 import java.util.function.Function;
 
@@ -23,17 +29,26 @@ import java.util.function.Function;
 public class JwtService {
 
     private static final String ROLE_CLAIM = "roles";
+    private static final String GENERATION_CLAIM = "gen";
     private static final long DEFAULT_REFRESH_EXPIRATION_MS = 7 * 24 * 60 * 60 * 1000;
 
     private final SecretKey secretKey;
     private final long jwtExpirationMs;
     private final long jwtRefreshExpirationMs;
 
+    @Getter(AccessLevel.NONE)
+    private final JwtParser jwtParser;
+
+    @Getter(AccessLevel.NONE)
+    private final VerifiedClaimsCache verifiedClaimsCache;
+
     public JwtService(AppProperties appProperties) {
         AppProperties.JwtProperties jwt = appProperties.getJwt();
         this.secretKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwt.getSecret()));
         this.jwtExpirationMs = jwt.getExpirationMs();
         this.jwtRefreshExpirationMs = jwt.getRefreshExpirationMs();
+        this.jwtParser = Jwts.parser().verifyWith(secretKey).build();
+        this.verifiedClaimsCache = new VerifiedClaimsCache(jwt.getClaimsCacheMaxEntries());
     }
 
     public String generateRefreshToken(UserDetails userDetails) {
@@ -41,6 +56,7 @@ public class JwtService {
         claims.put(ROLE_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList());
+        claims.put(GENERATION_CLAIM, tokenGenerationOf(userDetails));
         claims.put("jti", UUID.randomUUID().toString());
         claims.put("iat", System.currentTimeMillis());
 
@@ -52,6 +68,7 @@ public class JwtService {
         claims.put(ROLE_CLAIM, userDetails.getAuthorities().stream()
                 .map(GrantedAuthority::getAuthority)
                 .toList());
+        claims.put(GENERATION_CLAIM, tokenGenerationOf(userDetails));
         claims.put("jti", UUID.randomUUID().toString());
         claims.put("iat", System.currentTimeMillis());
 
@@ -71,6 +88,31 @@ public class JwtService {
                 .compact();
     }
 
+    /**
+     * Authorities in the roles claim, as written by {@link #generateAccessToken}.
+     */
+    public static List<String> rolesOf(Claims claims) {
+        List<?> roles = claims.get(ROLE_CLAIM, List.class);
+        if (roles == null) {
+            return List.of();
+        }
+        return roles.stream().map(String::valueOf).toList();
+    }
+
+    /**
+     * User token generation in the gen claim; tokens issued without one count as generation 0.
+     */
+    public static int tokenGenerationOf(Claims claims) {
+        Integer generation = claims.get(GENERATION_CLAIM, Integer.class);
+        return generation != null ? generation : 0;
+    }
+
+    private static int tokenGenerationOf(UserDetails userDetails) {
+        return userDetails instanceof CustomUserDetails customUserDetails
+                ? customUserDetails.getUser().getTokenGeneration()
+                : 0;
+    }
+
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
         Claims claims = extractAllClaims(token);
         return claimsResolver.apply(claims);
@@ -84,12 +126,30 @@ public class JwtService {
         return extractClaim(token, Claims::getExpiration);
     }
 
+    /**
+     * Claims of {@code token} when its signature is valid and it has not expired, empty otherwise.
+     * A token seen before is answered from the verified-claims cache without checking the signature again.
+     */
+    public Optional<Claims> verifiedClaims(String token) {
+        VerifiedClaimsCache.TokenDigest digest = VerifiedClaimsCache.TokenDigest.of(token);
+        long now = System.currentTimeMillis();
+        Claims cached = verifiedClaimsCache.get(digest, now);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Claims claims;
+        try {
+            claims = extractAllClaims(token);
+        } catch (JwtException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+        verifiedClaimsCache.put(digest, claims, now);
+        return Optional.of(claims);
+    }
+
     private Claims extractAllClaims(String token) {
-        return Jwts.parser()
-                .verifyWith(secretKey)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+        return jwtParser.parseSignedClaims(token).getPayload();
     }
 
     public boolean isTokenExpired(String token) {
@@ -105,7 +165,8 @@ public class JwtService {
     }
 
     public String refreshAccessToken(String refreshToken, UserDetails userDetails) {
-        if (isValidToken(refreshToken) && extractUsername(refreshToken).equals(userDetails.getUsername())) {
+        if (isValidToken(refreshToken) && extractUsername(refreshToken).equals(userDetails.getUsername())
+                && extractClaim(refreshToken, JwtService::tokenGenerationOf) == tokenGenerationOf(userDetails)) {
             return generateAccessToken(userDetails);
         }
         throw new RuntimeException("Invalid or expired refresh token");
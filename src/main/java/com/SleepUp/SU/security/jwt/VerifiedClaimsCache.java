@@ -0,0 +1,107 @@
+package com.SleepUp.SU.security.jwt;
+
+import io.jsonwebtoken.Claims;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayDeque;
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounded cache from the SHA-256 digest of a token to the claims it carried when its signature
+ * was verified, so a token presented again skips the HMAC and the JSON parse. Only verified tokens
+ * are stored, the raw token is never kept, and an entry stops being returned once its token expires.
+ * Lookups read a concurrent map without locking. Each entry is also listed in a one-minute expiry
+ * bucket; on every insert, buckets that have ended are dropped and, while the cache is over its
+ * bound, the entries closest to expiring are evicted first.
+ */
+final class VerifiedClaimsCache {
+
+    static final long BUCKET_MILLIS = 60_000L;
+
+    private final int maxEntries;
+    private final ConcurrentHashMap<TokenDigest, CachedClaims> entries = new ConcurrentHashMap<>();
+    private final TreeMap<Long, ArrayDeque<TokenDigest>> expiring = new TreeMap<>();
+
+    VerifiedClaimsCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Claims cached for {@code digest}, or null when absent or expired at {@code nowMillis}.
+     */
+    Claims get(TokenDigest digest, long nowMillis) {
+        CachedClaims cached = entries.get(digest);
+        if (cached == null) {
+            return null;
+        }
+        if (nowMillis >= cached.expiresAt()) {
+            entries.remove(digest, cached);
+            return null;
+        }
+        return cached.claims();
+    }
+
+    /**
+     * Caches verified claims until their expiration; tokens without one are not cached.
+     */
+    void put(TokenDigest digest, Claims claims, long nowMillis) {
+        Date expiration = claims.getExpiration();
+        if (expiration == null) {
+            return;
+        }
+        long expiresAt = expiration.getTime();
+        if (entries.put(digest, new CachedClaims(claims, expiresAt)) != null) {
+            // Already listed in its bucket
+            return;
+        }
+        synchronized (expiring) {
+            expiring.computeIfAbsent(expiresAt / BUCKET_MILLIS, bucket -> new ArrayDeque<>()).add(digest);
+            evict(nowMillis / BUCKET_MILLIS);
+        }
+    }
+
+    int size() {
+        return entries.size();
+    }
+
+    private void evict(long currentBucket) {
+        Map.Entry<Long, ArrayDeque<TokenDigest>> head;
+        while ((head = expiring.firstEntry()) != null
+                && (head.getKey() < currentBucket || entries.size() > maxEntries)) {
+            TokenDigest digest = head.getValue().poll();
+            if (digest == null) {
+                expiring.pollFirstEntry();
+            } else {
+                entries.remove(digest);
+            }
+        }
+    }
+
+    /**
+     * SHA-256 digest of a token held as four longs, so keys stay small and compare without arrays.
+     */
+    record TokenDigest(long first, long second, long third, long fourth) {
+
+        static TokenDigest of(String token) {
+            ByteBuffer digest = ByteBuffer.wrap(sha256().digest(token.getBytes(StandardCharsets.US_ASCII)));
+            return new TokenDigest(digest.getLong(), digest.getLong(), digest.getLong(), digest.getLong());
+        }
+
+        private static MessageDigest sha256() {
+            try {
+                return MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException exception) {
+                throw new IllegalStateException("SHA-256 is not available", exception);
+            }
+        }
+    }
+
+    private record CachedClaims(Claims claims, long expiresAt) {
+    }
+}
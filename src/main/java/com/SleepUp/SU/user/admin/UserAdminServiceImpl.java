@@ -3,18 +3,19 @@ package com.SleepUp.SU.user.admin;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.user.dto.UserRequest;
 import com.SleepUp.SU.user.entity.CustomUserDetails;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.dto.UserRequestAdmin;
 import com.SleepUp.SU.user.role.Role;
 import com.SleepUp.SU.user.utils.UserServiceHelper;
 import com.SleepUp.SU.user.dto.UserMapper;
 import com.SleepUp.SU.user.dto.UserResponse;
-import com.SleepUp.SU.utils.EntityUtil;
 import com.SleepUp.SU.utils.email.EmailService;
 import com.SleepUp.SU.utils.exceptions.UserNotFoundByIdException;
 import com.SleepUp.SU.utils.exceptions.UserNotFoundByUsernameException;
@@ -33,15 +34,16 @@ public class UserAdminServiceImpl implements UserAdminService, UserDetailsServic
 
     private final UserRepository userRepository;
     private final UserMapper userMapper;
-    private final EntityUtil mapperUtil;
     private final UserServiceHelper userServiceHelper;
     private final AccommodationRepository accommodationRepository;
     private final ReservationRepository reservationRepository;
     private final EmailService emailService;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final LoyaltyStayTracker loyaltyStayTracker;
 
     @Override
     public List<UserResponse> getAllUsers() {
-        return mapperUtil.mapEntitiesToDTOs(userRepository.findAll(), userMapper::toResponse);
+        return userRepository.findAllResponses();
     }
 
     @Override
@@ -91,7 +93,9 @@ public class UserAdminServiceImpl implements UserAdminService, UserDetailsServic
             reservationRepository.saveAll(reservationList);
         }
 
+        loyaltyStayTracker.deleteForUser(id);
         userRepository.deleteById(id);
+        authenticatedUserCache.invalidate(id);
     }
 
     @Override
@@ -11,5 +11,6 @@ public interface UserMapper {
     UserResponse toResponse(User user);
 
     @Mapping(target = "password", source = "encodedPassword")
+    @Mapping(target = "tokenGeneration", ignore = true)
     User toEntity(UserRequest userRequest,  String encodedPassword, Role role);
 }
\ No newline at end of file
@@ -5,6 +5,7 @@ import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.user.role.Role;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -37,6 +38,13 @@ public class User {
     @Column(nullable = false)
     private Role role;
 
+    /**
+     * Generation embedded in the user's tokens; moving to the next one ends every session issued before
+     */
+    @ColumnDefault("0")
+    @Column(nullable = false, name = "token_generation")
+    private int tokenGeneration;
+
     @OneToMany(mappedBy = "managedBy", cascade = CascadeType.PERSIST, fetch = FetchType.LAZY)
     private Set<Accommodation> accommodations = new HashSet<>();
 
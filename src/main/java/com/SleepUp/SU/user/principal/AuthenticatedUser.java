@@ -0,0 +1,32 @@
+package com.SleepUp.SU.user.principal;
+
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.role.Role;
+
+/**
+ * The fields of a user that authenticated requests read, without the password or associations.
+ */
+public record AuthenticatedUser(
+        Long id,
+        String username,
+        String name,
+        String email,
+        Role role,
+        int tokenGeneration
+) {
+
+    /**
+     * Detached user holding these fields, used as the request principal and as a reference
+     * when new reservations or accommodations point at the user.
+     */
+    public User toUser() {
+        return User.builder()
+                .id(id)
+                .username(username)
+                .name(name)
+                .email(email)
+                .role(role)
+                .tokenGeneration(tokenGeneration)
+                .build();
+    }
+}
@@ -0,0 +1,107 @@
+package com.SleepUp.SU.user.principal;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.user.repository.UserRepository;
+import com.SleepUp.SU.utils.TransactionUtil;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded cache of {@link AuthenticatedUser} by username, so the JWT filter builds the principal
+ * without a query per request. Entries are dropped after commit when a user is updated, changes role
+ * or is deleted, and expire after a TTL so writes made on other replicas are picked up.
+ * Lookups read a concurrent map without locking. Every entry is also queued in insertion order, which
+ * with a fixed TTL is expiry order; on every insert, expired entries are dropped from the head and,
+ * while the cache is over its bound, the oldest entries are evicted first.
+ * Every invalidation bumps a version; a load that started under an older version is returned but
+ * not cached, since it may have read the user before the write.
+ */
+@Component
+public class AuthenticatedUserCache {
+
+    private final UserRepository userRepository;
+    private final int maxEntries;
+    private final long ttlNanos;
+
+    private final ConcurrentHashMap<String, CachedUser> entries = new ConcurrentHashMap<>();
+    private final ArrayDeque<CachedUser> expiring = new ArrayDeque<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public AuthenticatedUserCache(UserRepository userRepository, AppProperties appProperties) {
+        AppProperties.JwtProperties jwt = appProperties.getJwt();
+        this.userRepository = userRepository;
+        this.maxEntries = jwt.getPrincipalCacheMaxEntries();
+        this.ttlNanos = jwt.getPrincipalCacheTtlMs() * 1_000_000L;
+    }
+
+    /**
+     * The cached user, or the user loaded from the database; empty when no user has {@code username}.
+     */
+    public Optional<AuthenticatedUser> get(String username) {
+        CachedUser cached = entries.get(username);
+        if (cached != null) {
+            if (!cached.isExpired(System.nanoTime())) {
+                return Optional.of(cached.user());
+            }
+            entries.remove(username, cached);
+        }
+
+        long startedAt = version.get();
+        Optional<AuthenticatedUser> loaded = userRepository.findAuthenticatedUserByUsername(username);
+        loaded.ifPresent(user -> put(user, startedAt));
+        return loaded;
+    }
+
+    /**
+     * Drops the user once the surrounding transaction commits, whatever username it was cached under.
+     */
+    public void invalidate(Long userId) {
+        TransactionUtil.afterCommit(() -> evict(userId));
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    private void put(AuthenticatedUser user, long startedAt) {
+        if (version.get() != startedAt) {
+            return;
+        }
+        long now = System.nanoTime();
+        CachedUser cached = new CachedUser(user, now + ttlNanos);
+        entries.put(user.username(), cached);
+        if (version.get() != startedAt) {
+            // An invalidation ran concurrently and may have scanned before this entry was added
+            entries.remove(user.username(), cached);
+            return;
+        }
+        synchronized (expiring) {
+            expiring.add(cached);
+            evictOldest(now);
+        }
+    }
+
+    private void evictOldest(long now) {
+        CachedUser head;
+        while ((head = expiring.peek()) != null && (head.isExpired(now) || entries.size() > maxEntries)) {
+            expiring.poll();
+            entries.remove(head.user().username(), head);
+        }
+    }
+
+    private void evict(Long userId) {
+        version.incrementAndGet();
+        entries.values().removeIf(cached -> cached.user().id().equals(userId));
+    }
+
+    private record CachedUser(AuthenticatedUser user, long expiresAt) {
+
+        boolean isExpired(long now) {
+            return expiresAt - now <= 0;
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.SleepUp.SU.user.repository;
 
+import com.SleepUp.SU.user.dto.UserResponse;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUser;
 import com.SleepUp.SU.user.role.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -12,4 +19,28 @@ public interface UserRepository extends JpaRepository<User, Long> {
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
     boolean existsByIdAndRole(Long id, Role role);
-}
\ No newline at end of file
+
+    /**
+     * Gets every user projected straight into responses, without loading entities
+     */
+    @Query("SELECT new com.SleepUp.SU.user.dto.UserResponse(u.id, u.username, u.name, u.email, u.role) " +
+            "FROM User u ORDER BY u.id")
+    List<UserResponse> findAllResponses();
+
+    /**
+     * Gets the fields an authenticated request needs, without the password or the entity
+     */
+    @Query("SELECT new com.SleepUp.SU.user.principal.AuthenticatedUser(" +
+            "u.id, u.username, u.name, u.email, u.role, u.tokenGeneration) " +
+            "FROM User u WHERE u.username = :username")
+    Optional<AuthenticatedUser> findAuthenticatedUserByUsername(@Param("username") String username);
+
+    /**
+     * Moves a user to the next token generation in one statement
+     * Used to end every session of the user at once
+     */
+    @Transactional
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE User u SET u.tokenGeneration = u.tokenGeneration + 1 WHERE u.id = :id")
+    int incrementTokenGeneration(@Param("id") Long id);
+}
@@ -3,9 +3,11 @@ package com.SleepUp.SU.user.user;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.dto.UserMapper;
 import com.SleepUp.SU.user.dto.UserRequest;
@@ -28,6 +30,8 @@ public class UserUserServiceImpl implements UserUserService{
     private final UserServiceHelper userServiceHelper;
     private final AccommodationRepository accommodationRepository;
     private final ReservationRepository reservationRepository;
+    private final AuthenticatedUserCache authenticatedUserCache;
+    private final LoyaltyStayTracker loyaltyStayTracker;
 
     @Override
     public UserResponse getLoggedUser(Long id){
@@ -61,6 +65,8 @@ public class UserUserServiceImpl implements UserUserService{
             reservationRepository.saveAll(reservationList);
         }
 
+        loyaltyStayTracker.deleteForUser(id);
         userRepository.deleteById(userServiceHelper.getUserEntityById(id).getId());
+        authenticatedUserCache.invalidate(id);
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.SleepUp.SU.user.utils;
 
 import com.SleepUp.SU.user.dto.UserMapper;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.dto.UserRequest;
 import com.SleepUp.SU.user.dto.UserRequestAdmin;
@@ -23,6 +24,7 @@ public class UserServiceHelper {
     private final PasswordEncoder passwordEncoder;
     private final UserMapper userMapper;
     private final EntityUtil entityUtil;
+    private final AuthenticatedUserCache authenticatedUserCache;
 
     public User getUserEntityById(Long id) {
         return userRepository.findById(id)
@@ -78,11 +80,16 @@ public class UserServiceHelper {
         entityUtil.updateField(request.email(), existingUser::getEmail, existingUser::setEmail);
         entityUtil.updateField(request.name(), existingUser::getName, existingUser::setName);
 
-        String password = request.password() != null && !request.password().isEmpty()
+        boolean passwordChanged = request.password() != null && !request.password().isEmpty();
+        String password = passwordChanged
                 ? this.getEncodePassword(request.password()) :
                 existingUser.getPassword();
 
         existingUser.setPassword(password);
+        if (passwordChanged) {
+            startNewTokenGeneration(existingUser);
+        }
+        authenticatedUserCache.invalidate(existingUser.getId());
 
         return existingUser;
     }
@@ -107,8 +114,19 @@ public class UserServiceHelper {
                 ? userRequestAdmin.role() :
                 updatedUser.getRole();
 
+        if (role != updatedUser.getRole()) {
+            startNewTokenGeneration(updatedUser);
+        }
         updatedUser.setRole(role);
         return updatedUser;
     }
 
+    /**
+     * Ends every session of the user: tokens carry the generation they were issued in, and the
+     * filter refuses those from earlier ones once the cached principal is invalidated.
+     */
+    private void startNewTokenGeneration(User user) {
+        user.setTokenGeneration(user.getTokenGeneration() + 1);
+    }
+
 }
\ No newline at end of file
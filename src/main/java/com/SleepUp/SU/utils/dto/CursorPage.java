@@ -0,0 +1,11 @@
+package com.SleepUp.SU.utils.dto;
+
+import java.util.List;
+
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    /**
+     * Response header carrying {@code nextCursor}, so that list bodies stay plain arrays
+     */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+}
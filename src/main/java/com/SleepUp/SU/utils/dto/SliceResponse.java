@@ -0,0 +1,6 @@
+package com.SleepUp.SU.utils.dto;
+
+import java.util.List;
+
+public record SliceResponse<T>(List<T> content, int page, int size, boolean hasNext, Long approximateTotal) {
+}
@@ -4,6 +4,7 @@ import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.user.entity.User;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface EmailService {
 
@@ -11,6 +12,8 @@ public interface EmailService {
 
     void sendOwnerReservedNotification(Reservation reservation);
 
+    void sendOwnerBatchReservedNotification(List<Reservation> reservations);
+
     void sendGuestReservationConfirmationEmail(Reservation reservation, BigDecimal discountAmount);
 
     void sendGuestReservationReminderEmail(Reservation reservation);
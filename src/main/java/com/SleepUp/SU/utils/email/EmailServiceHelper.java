@@ -9,6 +9,8 @@ import org.springframework.stereotype.Component;
 import org.thymeleaf.context.Context;
 
 import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
 
 @Component
 public class EmailServiceHelper {
@@ -86,6 +88,16 @@ public class EmailServiceHelper {
         return context;
     }
 
+    public Context createBatchContext(List<Reservation> reservations, User owner) {
+        Context context = createFullContext(reservations.getFirst(), owner, null);
+        context.setVariable("reservations", reservations);
+        context.setVariable("totalAmount", reservations.stream()
+                .map(Reservation::getTotalPrice)
+                .filter(Objects::nonNull)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        return context;
+    }
+
     public String setReservationUrl(Reservation reservation) {
         return RESERVATIONS_URL + "/" + reservation.getId();
     }
@@ -14,6 +14,7 @@ import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
@@ -60,6 +61,23 @@ public class EmailServiceImpl implements EmailService {
         }
     }
 
+    @Override
+    @Async
+    public void sendOwnerBatchReservedNotification(List<Reservation> reservations) {
+        if (reservations.isEmpty() || !emailHelper.canSendReservationEmails(reservations.getFirst())) return;
+
+        try {
+            User owner = reservations.getFirst().getAccommodation().getManagedBy();
+            Context context = emailHelper.createBatchContext(reservations, owner);
+
+            sendEmail(owner.getEmail(), "Your property has just received several bookings!", "owner_batch_reservation_notification", context);
+        } catch (MessagingException e) {
+            log.error("MessagingException while sending batch reservation notification to owner: {}", e.getMessage(), e);
+        } catch (Exception e) {
+            log.error("Unexpected exception while sending batch reservation notification to owner: {}", e.getMessage(), e);
+        }
+    }
+
     @Override
     @Async
     public void sendGuestReservationConfirmationEmail(Reservation reservation, BigDecimal discountAmount) {
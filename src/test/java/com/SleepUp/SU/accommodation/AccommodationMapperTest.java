@@ -65,7 +65,9 @@ class AccommodationMapperTest {
                 LocalTime.of(11, 0),
                 LocalDate.of(2025, 5, 1),
                 LocalDate.of(2025, 10, 1),
-                null // MultipartFile will not be mapped directly here
+                null, // MultipartFile will not be mapped directly here
+                25.79,
+                -80.13
         );
 
         Accommodation accommodation = mapper.toEntity(request, user);
@@ -73,6 +75,8 @@ class AccommodationMapperTest {
         assertNotNull(accommodation);
         assertNull(accommodation.getId()); // because we ignored it in mapper
         assertEquals("Beach House", accommodation.getName());
+        assertEquals(25.79, accommodation.getLatitude());
+        assertEquals(-80.13, accommodation.getLongitude());
         assertEquals(250.0, accommodation.getPrice());
         assertEquals(6, accommodation.getGuestNumber());
         assertTrue(accommodation.getPetFriendly());
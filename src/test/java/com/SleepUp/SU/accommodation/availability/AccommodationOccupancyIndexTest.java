@@ -0,0 +1,116 @@
+package com.SleepUp.SU.accommodation.availability;
+
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.availability.ReservationInterval;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccommodationOccupancyIndexTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AccommodationOccupancyIndex accommodationOccupancyIndex;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        accommodationOccupancyIndex = new AccommodationOccupancyIndex(
+                accommodationRepository, reservationRepository, transactionManager, new AppProperties());
+    }
+
+    @Test
+    void findOccupied_beforeRebuild_shouldReturnEmpty() {
+        assertEquals(Optional.empty(), accommodationOccupancyIndex.findOccupied(today, today.plusDays(2)));
+    }
+
+    @Test
+    void findOccupied_afterRebuild_shouldUseInclusiveBounds() {
+        when(reservationRepository.findAllActiveIntervals(today.minusDays(1), BookingStatus.CANCELLED))
+                .thenReturn(List.of(stay(1L, 1L, 5, 8), stay(2L, 2L, 20, 22)));
+        accommodationOccupancyIndex.rebuildAll();
+
+        assertEquals(Optional.of(Set.of(1L)), accommodationOccupancyIndex.findOccupied(today.plusDays(6), today.plusDays(7)));
+        assertEquals(Optional.of(Set.of(1L)), accommodationOccupancyIndex.findOccupied(today.plusDays(8), today.plusDays(10)));
+        assertEquals(Optional.of(Set.of()), accommodationOccupancyIndex.findOccupied(today.plusDays(10), today.plusDays(15)));
+        assertEquals(Optional.of(Set.of(1L, 2L)), accommodationOccupancyIndex.findOccupied(today.plusDays(1), today.plusDays(30)));
+    }
+
+    @Test
+    void findOccupied_rangePastHorizon_shouldReturnEmpty() {
+        when(reservationRepository.findAllActiveIntervals(any(), any())).thenReturn(List.of());
+        accommodationOccupancyIndex.rebuildAll();
+
+        assertEquals(Optional.empty(), accommodationOccupancyIndex.findOccupied(today.plusDays(720), today.plusDays(740)));
+    }
+
+    @Test
+    void refresh_shouldRecomputeAndPersistBitmap() {
+        when(reservationRepository.findAllActiveIntervals(any(), any())).thenReturn(List.of());
+        accommodationOccupancyIndex.rebuildAll();
+        when(reservationRepository.findActiveIntervalsForAccommodation(3L, today.minusDays(1), BookingStatus.CANCELLED))
+                .thenReturn(List.of(stay(9L, 3L, 2, 4)));
+
+        accommodationOccupancyIndex.refresh(3L);
+
+        assertEquals(Optional.of(Set.of(3L)), accommodationOccupancyIndex.findOccupied(today.plusDays(2), today.plusDays(3)));
+        verify(accommodationRepository).updateOccupancy(eq(3L), any(byte[].class), eq(today.minusDays(1)), any(LocalDateTime.class));
+    }
+
+    @Test
+    void syncFromDatabase_sameOrigin_shouldAdoptBitmap() {
+        when(reservationRepository.findAllActiveIntervals(any(), any())).thenReturn(List.of());
+        accommodationOccupancyIndex.rebuildAll();
+        byte[] bitmap = OccupancyBitmap.of(today.minusDays(1), 730, List.of(stay(9L, 4L, 2, 4))).toBytes();
+        when(accommodationRepository.findOccupancyUpdatedSince(any()))
+                .thenReturn(List.of(new OccupancySnapshot(4L, bitmap, today.minusDays(1), LocalDateTime.now())));
+
+        accommodationOccupancyIndex.syncFromDatabase();
+
+        assertEquals(Optional.of(Set.of(4L)), accommodationOccupancyIndex.findOccupied(today.plusDays(2), today.plusDays(3)));
+    }
+
+    @Test
+    void syncFromDatabase_bitmapFromEarlierOrigin_shouldIgnoreIt() {
+        when(reservationRepository.findAllActiveIntervals(any(), any())).thenReturn(List.of());
+        accommodationOccupancyIndex.rebuildAll();
+        // Written today by a replica that had not rebuilt past midnight yet
+        byte[] bitmap = OccupancyBitmap.of(today.minusDays(2), 730, List.of(stay(9L, 4L, 2, 4))).toBytes();
+        when(accommodationRepository.findOccupancyUpdatedSince(any()))
+                .thenReturn(List.of(new OccupancySnapshot(4L, bitmap, today.minusDays(2), LocalDateTime.now())));
+
+        accommodationOccupancyIndex.syncFromDatabase();
+
+        assertEquals(Optional.of(Set.of()), accommodationOccupancyIndex.findOccupied(today.plusDays(2), today.plusDays(3)));
+    }
+
+    private ReservationInterval stay(Long id, Long accommodationId, int fromOffset, int toOffset) {
+        return new ReservationInterval(id, accommodationId, 1L, today.plusDays(fromOffset), today.plusDays(toOffset));
+    }
+}
@@ -0,0 +1,82 @@
+package com.SleepUp.SU.accommodation.availability;
+
+import com.SleepUp.SU.reservation.availability.ReservationInterval;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class OccupancyBitmapTest {
+
+    private final LocalDate origin = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void isFree_nightsAroundStay_shouldRespectHalfOpenBounds() {
+        OccupancyBitmap bitmap = OccupancyBitmap.of(origin, 730, List.of(stay(1L, 10, 15)));
+
+        assertFalse(bitmap.isFree(day(10), day(11)));
+        assertFalse(bitmap.isFree(day(14), day(20)));
+        assertTrue(bitmap.isFree(day(15), day(20)));
+        assertTrue(bitmap.isFree(day(0), day(10)));
+    }
+
+    @Test
+    void isFree_rangeSpanningSeveralWords_shouldFindBitInMiddleWord() {
+        OccupancyBitmap bitmap = OccupancyBitmap.of(origin, 730, List.of(stay(1L, 130, 131)));
+
+        assertFalse(bitmap.isFree(day(5), day(300)));
+        assertTrue(bitmap.isFree(day(131), day(729)));
+    }
+
+    @Test
+    void isFree_randomStays_shouldMatchLinearScan() {
+        Random random = new Random(7);
+        List<ReservationInterval> stays = new ArrayList<>();
+        for (long id = 0; id < 40; id++) {
+            int start = random.nextInt(700);
+            stays.add(stay(id, start, start + 1 + random.nextInt(10)));
+        }
+        OccupancyBitmap bitmap = OccupancyBitmap.of(origin, 730, stays);
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(720);
+            int end = start + 1 + random.nextInt(9);
+            boolean expected = stays.stream().noneMatch(s -> s.startDay() < day(end) && s.endDay() > day(start));
+
+            assertEquals(expected, bitmap.isFree(day(start), day(end)));
+        }
+    }
+
+    @Test
+    void covers_rangeBeyondHorizon_shouldReturnFalse() {
+        OccupancyBitmap bitmap = OccupancyBitmap.of(origin, 730, List.of());
+
+        assertTrue(bitmap.covers(day(0), day(730)));
+        assertFalse(bitmap.covers(day(700), day(731)));
+        assertFalse(bitmap.covers(day(-1), day(3)));
+    }
+
+    @Test
+    void toBytes_roundTrip_shouldKeepOccupiedNights() {
+        OccupancyBitmap bitmap = OccupancyBitmap.of(origin, 730, List.of(stay(1L, 63, 65), stay(2L, 700, 729)));
+
+        OccupancyBitmap restored = OccupancyBitmap.fromBytes(origin, 730, bitmap.toBytes());
+
+        assertEquals(96, bitmap.toBytes().length);
+        assertFalse(restored.isFree(day(64), day(65)));
+        assertFalse(restored.isFree(day(728), day(729)));
+        assertTrue(restored.isFree(day(65), day(700)));
+    }
+
+    private long day(int offset) {
+        return origin.plusDays(offset).toEpochDay();
+    }
+
+    private ReservationInterval stay(Long id, int fromOffset, int toOffset) {
+        return new ReservationInterval(id, 1L, 1L, origin.plusDays(fromOffset), origin.plusDays(toOffset));
+    }
+}
@@ -0,0 +1,213 @@
+package com.SleepUp.SU.accommodation.catalog;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CatalogSnapshotTest {
+
+    private final LocalDate origin = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void select_priceAndGuestBounds_shouldBeInclusive() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                entry(1L, 50.0, 2, true, 0, 100),
+                entry(2L, 100.0, 4, false, 0, 100),
+                entry(3L, 150.0, 4, true, 0, 100)));
+
+        FilterAccommodationDTO filter = FilterAccommodationDTO.builder().minPrice(50.0).maxPrice(100.0).build();
+        assertEquals(List.of(1L, 2L), ids(snapshot.select(filter, null, null).page(PageRequest.of(0, 10))));
+
+        FilterAccommodationDTO guests = FilterAccommodationDTO.builder().guestNumber(4).petFriendly(true).build();
+        assertEquals(List.of(3L), ids(snapshot.select(guests, null, null).page(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void select_textMatchesAndOccupied_shouldRestrictRows() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                entry(1L, 50.0, 2, true, 0, 100),
+                entry(2L, 100.0, 4, false, 0, 100),
+                entry(3L, 150.0, 4, true, 0, 100)));
+        FilterAccommodationDTO filter = FilterAccommodationDTO.builder().build();
+
+        CatalogSelection selection = snapshot.select(filter, Set.of(1L, 3L, 99L), Set.of(3L));
+
+        assertEquals(1, selection.count());
+        assertEquals(List.of(1L), ids(selection.page(PageRequest.of(0, 10))));
+    }
+
+    @Test
+    void withAndWithout_replacedEntry_shouldKeepOneRowPerId() {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(entry(1L, 50.0, 2, true, 0, 100)))
+                .with(entry(1L, 75.0, 2, true, 0, 100))
+                .with(entry(2L, 60.0, 2, true, 0, 100));
+
+        assertEquals(2, snapshot.size());
+        assertEquals(75.0, snapshot.all().page(PageRequest.of(0, 10)).getContent().get(0).price());
+        assertEquals(1, snapshot.without(1L).size());
+        assertSame(snapshot, snapshot.without(42L));
+    }
+
+    @Test
+    void slice_lastRowsOfSelection_shouldReportNoNext() {
+        List<CatalogEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= 5; id++) {
+            entries.add(entry(id, 10.0 * id, 2, false, 0, 100));
+        }
+        CatalogSelection selection = CatalogSnapshot.of(entries).all();
+
+        Slice<AccommodationResponseSummary> first = selection.slice(PageRequest.of(0, 2));
+        Slice<AccommodationResponseSummary> last = selection.slice(PageRequest.of(2, 2));
+
+        assertTrue(first.hasNext());
+        assertEquals(List.of(1L, 2L), first.getContent().stream().map(AccommodationResponseSummary::id).toList());
+        assertFalse(last.hasNext());
+        assertEquals(List.of(5L), last.getContent().stream().map(AccommodationResponseSummary::id).toList());
+    }
+
+    @Test
+    void select_randomEditsAndFilters_shouldMatchLinearScan() {
+        Random random = new Random(11);
+        TreeMap<Long, CatalogEntry> reference = new TreeMap<>();
+        CatalogSnapshot snapshot = CatalogSnapshot.empty();
+        for (int i = 0; i < 400; i++) {
+            long id = 1 + random.nextInt(150);
+            if (random.nextInt(4) == 0) {
+                reference.remove(id);
+                snapshot = snapshot.without(id);
+            } else {
+                int start = random.nextInt(300);
+                CatalogEntry entry = entry(id, 10.0 * random.nextInt(30), 1 + random.nextInt(4),
+                        random.nextBoolean(), start, start + random.nextInt(200));
+                reference.put(id, entry);
+                snapshot = snapshot.with(entry);
+            }
+        }
+        assertEquals(reference.size(), snapshot.size());
+
+        for (int i = 0; i < 300; i++) {
+            FilterAccommodationDTO filter = randomFilter(random);
+            List<Long> expected = reference.values().stream()
+                    .filter(matches(filter))
+                    .map(CatalogEntry::id)
+                    .toList();
+
+            CatalogSelection selection = snapshot.select(filter, null, null);
+
+            assertEquals(expected.size(), selection.count());
+            assertEquals(expected, ids(selection.page(PageRequest.of(0, reference.size() + 1))));
+        }
+    }
+
+    @Test
+    void cursorPage_everySortKey_shouldWalkRowsInSortOrder() {
+        Random random = new Random(3);
+        CatalogSnapshot snapshot = CatalogSnapshot.empty();
+        List<CatalogEntry> entries = new ArrayList<>();
+        for (long id = 1; id <= 60; id++) {
+            CatalogEntry entry = entry(id, 10.0 * random.nextInt(8), 2, false, random.nextInt(10), 400);
+            entries.add(entry);
+            snapshot = snapshot.with(entry);
+        }
+
+        for (AccommodationSortKey sortKey : AccommodationSortKey.values()) {
+            List<Long> expected = entries.stream()
+                    .sorted(comparator(sortKey))
+                    .map(CatalogEntry::id)
+                    .toList();
+
+            List<Long> walked = new ArrayList<>();
+            String cursor = null;
+            do {
+                CursorPage<AccommodationResponseSummary> page =
+                        snapshot.all().cursorPage(sortKey, cursor != null ? sortKey.decode(cursor) : null, 7);
+                page.items().forEach(item -> walked.add(item.id()));
+                cursor = page.nextCursor();
+            } while (cursor != null);
+
+            assertEquals(expected, walked, sortKey.name());
+        }
+    }
+
+    private FilterAccommodationDTO randomFilter(Random random) {
+        FilterAccommodationDTO.FilterAccommodationDTOBuilder builder = FilterAccommodationDTO.builder();
+        if (random.nextBoolean()) {
+            builder.minPrice(10.0 * random.nextInt(30));
+        }
+        if (random.nextBoolean()) {
+            builder.maxPrice(10.0 * random.nextInt(30));
+        }
+        if (random.nextInt(3) == 0) {
+            builder.guestNumber(1 + random.nextInt(4));
+        }
+        if (random.nextInt(3) == 0) {
+            builder.petFriendly(random.nextBoolean());
+        }
+        if (random.nextBoolean()) {
+            builder.fromDate(day(random.nextInt(500)));
+        }
+        if (random.nextBoolean()) {
+            builder.toDate(day(random.nextInt(500)));
+        }
+        return builder.build();
+    }
+
+    private static Predicate<CatalogEntry> matches(FilterAccommodationDTO filter) {
+        return entry -> (filter.minPrice() == null || entry.price() >= filter.minPrice())
+                && (filter.maxPrice() == null || entry.price() <= filter.maxPrice())
+                && (filter.guestNumber() == null || entry.guestNumber() == filter.guestNumber())
+                && (filter.petFriendly() == null || entry.petFriendly().equals(filter.petFriendly()))
+                && availableBetween(entry, filter.fromDate(), filter.toDate());
+    }
+
+    private static boolean availableBetween(CatalogEntry entry, LocalDate from, LocalDate to) {
+        if (from != null && to != null) {
+            return !entry.availableFrom().isAfter(to) && !entry.availableTo().isBefore(from);
+        }
+        if (from != null) {
+            return !entry.availableFrom().isBefore(from);
+        }
+        if (to != null) {
+            return !entry.availableTo().isAfter(to);
+        }
+        return true;
+    }
+
+    private static Comparator<CatalogEntry> comparator(AccommodationSortKey sortKey) {
+        Comparator<CatalogEntry> byId = Comparator.comparing(CatalogEntry::id);
+        return switch (sortKey) {
+            case ID -> byId;
+            case PRICE -> Comparator.comparing(CatalogEntry::price).thenComparing(byId);
+            case AVAILABLE_FROM -> Comparator.comparing(CatalogEntry::availableFrom).thenComparing(byId);
+        };
+    }
+
+    private static List<Long> ids(Page<AccommodationResponseSummary> page) {
+        return page.getContent().stream().map(AccommodationResponseSummary::id).toList();
+    }
+
+    private CatalogEntry entry(Long id, double price, int guestNumber, boolean petFriendly, int fromDay, int toDay) {
+        return new CatalogEntry(id, "Hotel " + id, price, guestNumber, petFriendly, "City " + id,
+                "http://example.com/" + id + ".jpg", day(fromDay), day(toDay));
+    }
+
+    private LocalDate day(int offset) {
+        return origin.plusDays(offset);
+    }
+}
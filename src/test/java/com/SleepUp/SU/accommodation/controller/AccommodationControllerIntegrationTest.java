@@ -6,24 +6,29 @@ import com.SleepUp.SU.user.entity.CustomUserDetails;
 import com.SleepUp.SU.user.entity.User;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.accommodation.testUtil.AccommodationTestData;
+import com.SleepUp.SU.utils.dto.CursorPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
 import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Map;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
@@ -101,6 +106,32 @@ class AccommodationControllerIntegrationTest {
                     .andExpect(jsonPath("$[0].petFriendly").value(true))
                     .andExpect(jsonPath("$[0].location").value("New York"));
         }
+
+        @Test
+        void getAccommodations_sizeBelowCatalog_shouldReturnFirstPageWithNextCursor() throws Exception {
+            mockMvc.perform(get(BASE_API_PATH)
+                            .param("size", "2")
+                            .accept("application/json"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].name").value("Hotel ABC"))
+                    .andExpect(header().exists(CursorPage.NEXT_CURSOR_HEADER));
+        }
+
+        @Test
+        void getAccommodations_stream_shouldReturnOneJsonLinePerAccommodation() throws Exception {
+            MvcResult asyncResult = mockMvc.perform(get(BASE_API_PATH)
+                            .param("stream", "true"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+            String body = asyncResult.getResponse().getContentAsString();
+            assertEquals(accommodationRepository.count(), body.lines().count());
+        }
     }
 
     @Nested
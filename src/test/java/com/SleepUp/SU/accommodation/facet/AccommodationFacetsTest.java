@@ -0,0 +1,55 @@
+package com.SleepUp.SU.accommodation.facet;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccommodationFacetsTest {
+
+    @Test
+    void of_groups_shouldFoldEveryFacetInOnePass() {
+        List<FacetGroup> groups = List.of(
+                new FacetGroup(1, true, 2, "Madrid", 3),
+                new FacetGroup(1, false, 4, "Madrid", 2),
+                new FacetGroup(3, true, 8, "Berlin", 1),
+                new FacetGroup(0, false, 1, "Lisbon", 2));
+
+        AccommodationFacets facets = AccommodationFacets.of(groups, 50, 10);
+
+        assertEquals(8, facets.total());
+        assertEquals(List.of(
+                new AccommodationFacets.PriceBucket(0, 50, 2),
+                new AccommodationFacets.PriceBucket(50, 100, 5),
+                new AccommodationFacets.PriceBucket(150, 200, 1)), facets.priceHistogram());
+        assertEquals(new AccommodationFacets.PetFriendlyCounts(4, 4), facets.petFriendly());
+        assertEquals(List.of(
+                new AccommodationFacets.CapacityBucket(1, 2, 5),
+                new AccommodationFacets.CapacityBucket(3, 4, 2),
+                new AccommodationFacets.CapacityBucket(7, null, 1)), facets.guestCapacity());
+        assertEquals(List.of(
+                new AccommodationFacets.LocationCount("Madrid", 5),
+                new AccommodationFacets.LocationCount("Lisbon", 2),
+                new AccommodationFacets.LocationCount("Berlin", 1)), facets.topLocations());
+    }
+
+    @Test
+    void of_moreLocationsThanLimit_shouldKeepMostCommonAndBreakTiesByName() {
+        List<FacetGroup> groups = List.of(
+                new FacetGroup(1, true, 2, "Porto", 2),
+                new FacetGroup(1, true, 2, "Lisbon", 2),
+                new FacetGroup(1, true, 2, "Faro", 1));
+
+        AccommodationFacets facets = AccommodationFacets.of(groups, 50, 2);
+
+        assertEquals(List.of(
+                new AccommodationFacets.LocationCount("Lisbon", 2),
+                new AccommodationFacets.LocationCount("Porto", 2)), facets.topLocations());
+    }
+
+    @Test
+    void of_noGroups_shouldEqualEmpty() {
+        assertEquals(AccommodationFacets.empty(), AccommodationFacets.of(List.of(), 50, 10));
+    }
+}
@@ -1,5 +1,6 @@
 package com.SleepUp.SU.accommodation.filter;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -9,6 +10,9 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -21,6 +25,18 @@ public class AccommodationFilterControllerIntegrationTest {
     @Autowired
     private MockMvc mockMvc;
 
+    @Autowired
+    private FilterResultCache filterResultCache;
+
+    /**
+     * Writes made by other integration tests are rolled back and never invalidate the cache,
+     * so every test starts from an empty one.
+     */
+    @BeforeEach
+    void clearFilterCache() {
+        filterResultCache.invalidateAll();
+    }
+
     @Test
     public void testGetAllFilteredAccommodationsWithPagination() throws Exception {
 
@@ -40,4 +56,41 @@ public class AccommodationFilterControllerIntegrationTest {
                 .andExpect(jsonPath("$.content[0].location").value("New York"))
                 .andExpect(jsonPath("$.content[0].imageUrl").value("http://example.com/images/hotel_abc.jpg"));
     }
+
+    @Test
+    public void testGetFilteredAccommodationsSlice() throws Exception {
+
+        mockMvc.perform(get("/accommodations/filter")
+                        .param("slice", "true")
+                        .param("withTotal", "true")
+                        .param("page", "0")
+                        .param("size", "2")
+                        .accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content.length()").value(2))
+                .andExpect(jsonPath("$.hasNext").value(true))
+                .andExpect(jsonPath("$.approximateTotal").value(5))
+                .andExpect(jsonPath("$.totalElements").doesNotExist());
+    }
+
+    @Test
+    public void testFilteredPageIsCachedUntilAnOverlappingStayChanges() throws Exception {
+        LocalDate fromDate = LocalDate.now().plusYears(5);
+        LocalDate toDate = fromDate.plusDays(3);
+
+        for (int i = 0; i < 2; i++) {
+            mockMvc.perform(get("/accommodations/filter")
+                            .param("fromDate", fromDate.toString())
+                            .param("toDate", toDate.toString())
+                            .accept(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk());
+        }
+        assertEquals(1, filterResultCache.size());
+
+        filterResultCache.onStayChanged(toDate.plusDays(1), toDate.plusDays(2));
+        assertEquals(1, filterResultCache.size());
+
+        filterResultCache.onStayChanged(fromDate.plusDays(1), fromDate.plusDays(2));
+        assertEquals(0, filterResultCache.size());
+    }
 }
\ No newline at end of file
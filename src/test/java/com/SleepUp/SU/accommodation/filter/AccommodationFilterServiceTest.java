@@ -3,12 +3,28 @@ package com.SleepUp.SU.accommodation.filter;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
+import com.SleepUp.SU.accommodation.availability.AccommodationOccupancyIndex;
+import com.SleepUp.SU.accommodation.catalog.AccommodationCatalog;
+import com.SleepUp.SU.accommodation.catalog.CatalogEntry;
+import com.SleepUp.SU.accommodation.catalog.CatalogSnapshot;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.accommodation.dto.AccommodationMapper;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
 import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.dto.FilterFacetsResponse;
+import com.SleepUp.SU.accommodation.dto.GeoFilterDTO;
+import com.SleepUp.SU.accommodation.dto.NearbyAccommodationResponse;
+import com.SleepUp.SU.accommodation.facet.FacetGroup;
+import com.SleepUp.SU.accommodation.search.AccommodationTextIndex;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.exceptions.InvalidCursorException;
+import com.SleepUp.SU.exceptions.InvalidGeoQueryException;
 import com.SleepUp.SU.exceptions.InvalidDateRangeException;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.SleepUp.SU.utils.dto.SliceResponse;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +35,8 @@ import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 @ExtendWith(MockitoExtension.class)
 class AccommodationFilterServiceTest {
@@ -32,6 +50,21 @@ class AccommodationFilterServiceTest {
     @Mock
     private AccommodationMapper accommodationMapper;
 
+    @Mock
+    private AccommodationTextIndex accommodationTextIndex;
+
+    @Mock
+    private AccommodationOccupancyIndex accommodationOccupancyIndex;
+
+    @Mock
+    private AccommodationCatalog accommodationCatalog;
+
+    @Spy
+    private FilterResultCache filterResultCache = new FilterResultCache(new AppProperties(), new SimpleMeterRegistry());
+
+    @Spy
+    private AppProperties appProperties = new AppProperties();
+
     @InjectMocks
     private AccommodationFilterService accommodationFilterService;
 
@@ -184,4 +217,294 @@ class AccommodationFilterServiceTest {
 
         assertEquals("Check-in date cannot be in the past", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void getAllFilteredAccommodationsWithPagination_textIndexAnswers_shouldFilterByMatchedIds() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        Specification<Accommodation> spec = mock(Specification.class);
+        when(accommodationTextIndex.search(filter.name(), filter.description(), filter.location()))
+                .thenReturn(Optional.of(Set.of(1L, 3L)));
+        when(accommodationSpecification.buildSpecification(filter, Set.of(1L, 3L))).thenReturn(spec);
+        when(accommodationRepository.findAll(spec, pageable)).thenReturn(Page.empty(pageable));
+
+        Page<AccommodationResponseSummary> result = accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable);
+
+        verify(accommodationSpecification, never()).buildSpecification(filter);
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    void getAllFilteredAccommodationsWithPagination_noTextMatches_shouldSkipQuery() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        when(accommodationTextIndex.search(filter.name(), filter.description(), filter.location()))
+                .thenReturn(Optional.of(Set.of()));
+
+        Page<AccommodationResponseSummary> result = accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable);
+
+        verifyNoInteractions(accommodationSpecification, accommodationRepository);
+        assertTrue(result.isEmpty());
+        assertEquals(pageable, result.getPageable());
+    }
+
+    @Test
+    void getAllFilteredAccommodationsWithPagination_repeatedFilter_shouldServeSecondCallFromCache() {
+        FilterAccommodationDTO filter = createFilter(LocalDate.now(), LocalDate.now().plusDays(5));
+        mockSpecificationAndRepository(filter, List.of());
+
+        Page<AccommodationResponseSummary> first = accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable);
+        Page<AccommodationResponseSummary> second = accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable);
+
+        assertSame(first, second);
+        verify(accommodationRepository, times(1)).findAll(
+                (Specification<Accommodation>) any(), eq(pageable));
+    }
+
+    @Test
+    void getAllFilteredAccommodationsWithPagination_invalidDates_shouldValidateBeforeCacheLookup() {
+        FilterAccommodationDTO filter = createFilter(LocalDate.now().minusDays(1), LocalDate.now().plusDays(5));
+
+        assertThrows(InvalidDateRangeException.class,
+                () -> accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable));
+
+        verifyNoInteractions(filterResultCache);
+    }
+
+    private void mockSlice(FilterAccommodationDTO filter, Pageable pageable, List<Accommodation> accommodations, boolean hasNext) {
+        Specification<Accommodation> spec = mock(Specification.class);
+        when(accommodationSpecification.buildSpecification(filter)).thenReturn(spec);
+        when(accommodationRepository.findBy(eq(spec), any())).thenReturn(new SliceImpl<>(accommodations, pageable, hasNext));
+    }
+
+    @Test
+    void getFilteredAccommodationsSlice_morePages_shouldSkipCountUnlessTotalRequested() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        Accommodation accommodation = Accommodation.builder().id(1L).name("Hotel ABC").build();
+        AccommodationResponseSummary summary = AccommodationResponseSummary.builder().id(1L).name("Hotel ABC").build();
+        mockSlice(filter, pageable, List.of(accommodation), true);
+        when(accommodationMapper.toSummary(accommodation)).thenReturn(summary);
+
+        SliceResponse<AccommodationResponseSummary> result = accommodationFilterService.getFilteredAccommodationsSlice(filter, pageable, false);
+
+        assertEquals(List.of(summary), result.content());
+        assertTrue(result.hasNext());
+        assertNull(result.approximateTotal());
+        verify(accommodationRepository, never()).count((Specification<Accommodation>) any());
+        verify(accommodationRepository, never()).findAll((Specification<Accommodation>) any(), any(Pageable.class));
+    }
+
+    @Test
+    void getFilteredAccommodationsSlice_totalRequested_shouldCountOncePerFilter() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        mockSlice(filter, pageable, List.of(Accommodation.builder().id(1L).build()), true);
+        when(accommodationRepository.count((Specification<Accommodation>) any())).thenReturn(42L);
+
+        SliceResponse<AccommodationResponseSummary> first = accommodationFilterService.getFilteredAccommodationsSlice(filter, pageable, true);
+        SliceResponse<AccommodationResponseSummary> nextPage = accommodationFilterService.getFilteredAccommodationsSlice(
+                filter, PageRequest.of(1, 10), true);
+
+        assertEquals(42L, first.approximateTotal());
+        assertEquals(42L, nextPage.approximateTotal());
+        verify(accommodationRepository, times(1)).count((Specification<Accommodation>) any());
+    }
+
+    @Test
+    void getFilteredAccommodationsSlice_lastPage_shouldDeriveTotalWithoutCount() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        Pageable secondPage = PageRequest.of(1, 2);
+        mockSlice(filter, secondPage, List.of(Accommodation.builder().id(3L).build()), false);
+
+        SliceResponse<AccommodationResponseSummary> result = accommodationFilterService.getFilteredAccommodationsSlice(filter, secondPage, true);
+
+        assertFalse(result.hasNext());
+        assertEquals(3L, result.approximateTotal());
+        verify(accommodationRepository, never()).count((Specification<Accommodation>) any());
+    }
+
+    @Test
+    void getFilteredAccommodationsSlice_noTextMatches_shouldReturnEmptySliceWithoutQuery() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        when(accommodationTextIndex.search(filter.name(), filter.description(), filter.location()))
+                .thenReturn(Optional.of(Set.of()));
+
+        SliceResponse<AccommodationResponseSummary> result = accommodationFilterService.getFilteredAccommodationsSlice(filter, pageable, true);
+
+        assertTrue(result.content().isEmpty());
+        assertFalse(result.hasNext());
+        assertEquals(0L, result.approximateTotal());
+        verifyNoInteractions(accommodationRepository);
+    }
+
+    @Test
+    void getFilteredAccommodationsByCursor_morePages_shouldTrimAndReturnCursorOfLastRow() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        when(accommodationSpecification.buildSpecification(filter)).thenReturn((root, query, cb) -> null);
+        List<Accommodation> rows = List.of(
+                Accommodation.builder().id(4L).price(80.0).build(),
+                Accommodation.builder().id(2L).price(90.0).build(),
+                Accommodation.builder().id(7L).price(90.0).build());
+        when(accommodationRepository.findBy(any(Specification.class), any())).thenReturn(rows);
+
+        CursorPage<AccommodationResponseSummary> page = accommodationFilterService.getFilteredAccommodationsByCursor(
+                filter, AccommodationSortKey.PRICE, null, 2);
+
+        assertEquals(2, page.items().size());
+        assertEquals(2L, AccommodationSortKey.PRICE.decode(page.nextCursor()).id());
+        assertEquals(90.0, AccommodationSortKey.priceOf(AccommodationSortKey.PRICE.decode(page.nextCursor())));
+        verify(accommodationRepository, never()).count((Specification<Accommodation>) any());
+    }
+
+    @Test
+    void getFilteredAccommodationsByCursor_lastPage_shouldReturnNoCursor() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        when(accommodationSpecification.buildSpecification(filter)).thenReturn((root, query, cb) -> null);
+        when(accommodationRepository.findBy(any(Specification.class), any()))
+                .thenReturn(List.of(Accommodation.builder().id(4L).build()));
+
+        CursorPage<AccommodationResponseSummary> page = accommodationFilterService.getFilteredAccommodationsByCursor(
+                filter, AccommodationSortKey.ID, AccommodationSortKey.ID.positionOf(3L, null).encode(), 2);
+
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    private CatalogSnapshot catalogOf(CatalogEntry... entries) {
+        CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(entries));
+        when(accommodationCatalog.snapshot()).thenReturn(Optional.of(snapshot));
+        return snapshot;
+    }
+
+    private CatalogEntry catalogEntry(long id, double price) {
+        return new CatalogEntry(id, "Hotel " + id, price, 2, true, "New York", null,
+                LocalDate.now().minusDays(10), LocalDate.now().plusYears(1));
+    }
+
+    @Test
+    void getAllFilteredAccommodationsWithPagination_catalogBuilt_shouldAnswerWithoutQuery() {
+        FilterAccommodationDTO filter = createFilter(LocalDate.now(), LocalDate.now().plusDays(5));
+        catalogOf(catalogEntry(1L, 100.0), catalogEntry(2L, 300.0), catalogEntry(3L, 120.0), catalogEntry(4L, 150.0));
+        when(accommodationTextIndex.search("Hotel", "Nice place", "New York")).thenReturn(Optional.of(Set.of(1L, 2L, 3L)));
+        when(accommodationOccupancyIndex.findOccupied(filter.fromDate(), filter.toDate())).thenReturn(Optional.of(Set.of(3L)));
+
+        Page<AccommodationResponseSummary> result = accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable);
+
+        assertEquals(List.of(1L), result.getContent().stream().map(AccommodationResponseSummary::id).toList());
+        assertEquals(1, result.getTotalElements());
+        verifyNoInteractions(accommodationRepository, accommodationSpecification, accommodationMapper);
+    }
+
+    @Test
+    void getAllFilteredAccommodationsWithPagination_occupancyIndexCannotAnswer_shouldQueryDatabase() {
+        FilterAccommodationDTO filter = createFilter(LocalDate.now(), LocalDate.now().plusDays(5));
+        catalogOf(catalogEntry(1L, 100.0));
+        when(accommodationTextIndex.search("Hotel", "Nice place", "New York")).thenReturn(Optional.of(Set.of(1L)));
+        when(accommodationOccupancyIndex.findOccupied(filter.fromDate(), filter.toDate())).thenReturn(Optional.empty());
+
+        Specification<Accommodation> spec = (root, query, cb) -> null;
+        when(accommodationSpecification.buildSpecification(filter, Set.of(1L))).thenReturn(spec);
+        when(accommodationRepository.findAll(spec, pageable)).thenReturn(Page.empty(pageable));
+
+        accommodationFilterService.getAllFilteredAccommodationsWithPagination(filter, pageable);
+
+        verify(accommodationRepository).findAll(spec, pageable);
+    }
+
+    @Test
+    void getFilteredAccommodationsSlice_catalogBuilt_shouldCountFromCatalog() {
+        FilterAccommodationDTO filter = FilterAccommodationDTO.builder().maxPrice(200.0).build();
+        catalogOf(catalogEntry(1L, 100.0), catalogEntry(2L, 300.0), catalogEntry(3L, 120.0), catalogEntry(4L, 150.0));
+
+        SliceResponse<AccommodationResponseSummary> result = accommodationFilterService.getFilteredAccommodationsSlice(
+                filter, PageRequest.of(0, 2), true);
+
+        assertEquals(List.of(1L, 3L), result.content().stream().map(AccommodationResponseSummary::id).toList());
+        assertTrue(result.hasNext());
+        assertEquals(3L, result.approximateTotal());
+        verifyNoInteractions(accommodationRepository, accommodationTextIndex, accommodationOccupancyIndex);
+    }
+
+    @Test
+    void getFilteredAccommodationsByCursor_catalogBuilt_shouldSeekPastCursorInCatalog() {
+        FilterAccommodationDTO filter = FilterAccommodationDTO.builder().minPrice(110.0).build();
+        catalogOf(catalogEntry(1L, 100.0), catalogEntry(2L, 300.0), catalogEntry(3L, 120.0), catalogEntry(4L, 150.0));
+        String cursor = AccommodationSortKey.PRICE.positionOf(3L, 120.0).encode();
+
+        CursorPage<AccommodationResponseSummary> page = accommodationFilterService.getFilteredAccommodationsByCursor(
+                filter, AccommodationSortKey.PRICE, cursor, 1);
+
+        assertEquals(List.of(4L), page.items().stream().map(AccommodationResponseSummary::id).toList());
+        assertEquals(4L, AccommodationSortKey.PRICE.decode(page.nextCursor()).id());
+        verifyNoInteractions(accommodationRepository);
+    }
+
+    @Test
+    void getFilteredAccommodationsByCursor_cursorOfOtherSortKey_shouldThrowBeforeQuerying() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        String cursor = AccommodationSortKey.ID.positionOf(3L, null).encode();
+
+        assertThrows(InvalidCursorException.class, () -> accommodationFilterService.getFilteredAccommodationsByCursor(
+                filter, AccommodationSortKey.AVAILABLE_FROM, cursor, 2));
+        verifyNoInteractions(accommodationRepository);
+    }
+
+    @Test
+    void getFilteredAccommodationsWithFacets_twoPages_shouldRunGroupedQueryOnce() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        Specification<Accommodation> spec = mock(Specification.class);
+        when(accommodationSpecification.buildSpecification(filter)).thenReturn(spec);
+        when(accommodationRepository.findAll(eq(spec), any(Pageable.class))).thenReturn(Page.empty());
+        when(accommodationRepository.findFacetGroups(spec, 50.0))
+                .thenReturn(List.of(new FacetGroup(2, true, 2, "New York", 4)));
+
+        FilterFacetsResponse first = accommodationFilterService.getFilteredAccommodationsWithFacets(filter, pageable);
+        FilterFacetsResponse second = accommodationFilterService.getFilteredAccommodationsWithFacets(filter, PageRequest.of(1, 10));
+
+        assertEquals(4, first.facets().total());
+        assertEquals(4, first.facets().petFriendly().yes());
+        assertEquals(100.0, first.facets().priceHistogram().getFirst().from());
+        assertSame(first.facets(), second.facets());
+        verify(accommodationRepository, times(1)).findFacetGroups(any(), anyDouble());
+        verify(accommodationRepository, never()).count((Specification<Accommodation>) any());
+    }
+
+    @Test
+    void getFilteredAccommodationsWithFacets_noTextMatches_shouldReturnEmptyFacetsWithoutQuery() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        when(accommodationTextIndex.search(filter.name(), filter.description(), filter.location()))
+                .thenReturn(Optional.of(Set.of()));
+
+        FilterFacetsResponse result = accommodationFilterService.getFilteredAccommodationsWithFacets(filter, pageable);
+
+        assertTrue(result.results().isEmpty());
+        assertEquals(0, result.facets().total());
+        verifyNoInteractions(accommodationRepository);
+    }
+
+    @Test
+    void getNearbyAccommodations_radius_shouldDropCornerMatchesAndSortByDistance() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        GeoFilterDTO geo = GeoFilterDTO.builder().latitude(40.4168).longitude(-3.7038).radiusKm(20.0).build();
+        when(accommodationSpecification.buildSpecification(filter)).thenReturn((root, query, cb) -> null);
+        Accommodation far = Accommodation.builder().id(1L).latitude(40.52).longitude(-3.70).build();
+        Accommodation near = Accommodation.builder().id(2L).latitude(40.42).longitude(-3.70).build();
+        Accommodation corner = Accommodation.builder().id(3L).latitude(40.57).longitude(-3.52).build();
+        when(accommodationRepository.findAll(any(Specification.class))).thenReturn(List.of(far, near, corner));
+        when(accommodationMapper.toSummary(any(Accommodation.class))).thenAnswer(invocation ->
+                AccommodationResponseSummary.builder().id(invocation.<Accommodation>getArgument(0).getId()).build());
+
+        Page<NearbyAccommodationResponse> result = accommodationFilterService.getNearbyAccommodations(filter, geo, pageable);
+
+        assertEquals(List.of(2L, 1L), result.getContent().stream().map(match -> match.accommodation().id()).toList());
+        assertTrue(result.getContent().get(0).distanceKm() < result.getContent().get(1).distanceKm());
+        assertEquals(2, result.getTotalElements());
+    }
+
+    @Test
+    void getNearbyAccommodations_invalidGeoQuery_shouldThrowBeforeQuerying() {
+        FilterAccommodationDTO filter = createFilter(null, null);
+        GeoFilterDTO geo = GeoFilterDTO.builder().latitude(40.4168).build();
+
+        assertThrows(InvalidGeoQueryException.class,
+                () -> accommodationFilterService.getNearbyAccommodations(filter, geo, pageable));
+        verifyNoInteractions(accommodationRepository);
+    }
+}
@@ -1,9 +1,12 @@
 package com.SleepUp.SU.accommodation.filter;
 
+import com.SleepUp.SU.accommodation.availability.AccommodationOccupancyIndex;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
 import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
 import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
 import jakarta.persistence.criteria.*;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,6 +18,10 @@ import org.mockito.quality.Strictness;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -29,6 +36,7 @@ public class AccommodationSpecificationTest {
     @Mock private CriteriaQuery<?> query;
     @Mock private CriteriaBuilder criteriaBuilder;
     @Mock private Predicate predicate;
+    @Mock private AccommodationOccupancyIndex accommodationOccupancyIndex;
 
     @Mock private Path<String> stringPath;
     @Mock private Path<Boolean> booleanPath;
@@ -79,13 +87,14 @@ public class AccommodationSpecificationTest {
         when(root.get(propertyName)).thenReturn((Path) doublePath);
     }
 
-    private void stubReservationPaths(Subquery<Long> subquery,
+    private void stubReservationPaths(Subquery<Integer> subquery,
                                       Root<Reservation> reservationRoot,
                                       LocalDate newStartDate,
                                       LocalDate newEndDate) {
-        when(query.subquery(Long.class)).thenReturn(subquery);
+        when(query.subquery(Integer.class)).thenReturn(subquery);
         when(subquery.from(Reservation.class)).thenReturn(reservationRoot);
         when(subquery.select(any())).thenReturn(subquery);
+        when(criteriaBuilder.literal(1)).thenReturn(mock(Expression.class));
 
         when(reservationRoot.get("accommodation")).thenReturn(accommodationPath);
         when(accommodationPath.get("id")).thenReturn(accommodationIdPath);
@@ -94,15 +103,15 @@ public class AccommodationSpecificationTest {
         when(reservationRoot.<LocalDate>get("checkOutDate")).thenReturn(checkOutDatePath);
 
         when(criteriaBuilder.equal(eq(accommodationIdPath), any())).thenReturn(predicate);
-        when(criteriaBuilder.notEqual(bookingStatusPath, BookingStatus.CANCELLED)).thenReturn(predicate);
-        when(criteriaBuilder.greaterThan(checkInDatePath, newEndDate)).thenReturn(predicate);
-        when(criteriaBuilder.lessThan(checkOutDatePath, newStartDate)).thenReturn(predicate);
+        when(bookingStatusPath.in(anyCollection())).thenReturn(predicate);
+        when(criteriaBuilder.lessThanOrEqualTo(checkInDatePath, newEndDate)).thenReturn(predicate);
+        when(criteriaBuilder.greaterThanOrEqualTo(checkOutDatePath, newStartDate)).thenReturn(predicate);
 
-        when(criteriaBuilder.or(predicate, predicate)).thenReturn(predicate);
-        when(criteriaBuilder.not(predicate)).thenReturn(predicate);
         when(criteriaBuilder.and(predicate, predicate)).thenReturn(predicate);
+        when(criteriaBuilder.and(predicate, predicate, predicate)).thenReturn(predicate);
         when(subquery.where(predicate)).thenReturn(subquery);
-        when(criteriaBuilder.equal(subquery, 0L)).thenReturn(predicate);
+        when(criteriaBuilder.exists(subquery)).thenReturn(predicate);
+        when(criteriaBuilder.not(predicate)).thenReturn(predicate);
     }
 
     @Test
@@ -247,14 +256,18 @@ public class AccommodationSpecificationTest {
         LocalDate newStartDate = filter.fromDate();
         LocalDate newEndDate = filter.toDate();
 
-        Subquery<Long> subquery = mock(Subquery.class);
+        Subquery<Integer> subquery = mock(Subquery.class);
         Root<Reservation> reservationRoot = mock(Root.class);
         stubReservationPaths(subquery, reservationRoot, newStartDate, newEndDate);
         Specification<Accommodation> spec = AccommodationSpecification.noBookingOverlap(newStartDate, newEndDate);
         Predicate result = spec.toPredicate(root, query, criteriaBuilder);
 
         assertNotNull(result, "Expected non-null predicate for valid date range");
-        assertNotNull(query, "Query should not be null during predicate creation");
+        verify(criteriaBuilder).lessThanOrEqualTo(checkInDatePath, newEndDate);
+        verify(criteriaBuilder).greaterThanOrEqualTo(checkOutDatePath, newStartDate);
+        verify(bookingStatusPath).in(Set.of(BookingStatus.PENDING, BookingStatus.CONFIRMED));
+        verify(criteriaBuilder).not(predicate);
+        verify(criteriaBuilder).exists(subquery);
     }
 
     @Test
@@ -278,6 +291,119 @@ public class AccommodationSpecificationTest {
         assertNull(result, "Expected null predicate when newEndDate is null");
     }
 
+    @Test
+    void idIn_textMatches_shouldReturnInPredicate() {
+        Path<Object> idPath = mock(Path.class);
+        Predicate inPredicate = mock(Predicate.class);
+        when(root.get("id")).thenReturn(idPath);
+        when(idPath.in(Set.of(1L, 2L))).thenReturn(inPredicate);
+
+        Predicate result = AccommodationSpecification.idIn(Set.of(1L, 2L)).toPredicate(root, query, criteriaBuilder);
+
+        assertSame(inPredicate, result, "Expected IN predicate built from the text matches");
+    }
+
+    @Test
+    void idIn_nullInput_shouldReturnNull() {
+        assertNull(AccommodationSpecification.idIn(null).toPredicate(root, query, criteriaBuilder));
+    }
+
+    @Test
+    void notBookedBetween_indexAnswers_shouldExcludeOccupiedIdsWithoutSubquery() {
+        Path<Object> idPath = mock(Path.class);
+        Predicate inPredicate = mock(Predicate.class);
+        when(accommodationOccupancyIndex.findOccupied(filter.fromDate(), filter.toDate()))
+                .thenReturn(Optional.of(Set.of(3L, 4L)));
+        when(root.get("id")).thenReturn(idPath);
+        when(idPath.in(Set.of(3L, 4L))).thenReturn(inPredicate);
+        when(criteriaBuilder.not(inPredicate)).thenReturn(predicate);
+
+        Specification<Accommodation> spec = new AccommodationSpecification(accommodationOccupancyIndex)
+                .notBookedBetween(filter.fromDate(), filter.toDate());
+        Predicate result = spec.toPredicate(root, query, criteriaBuilder);
+
+        assertSame(predicate, result, "Expected NOT IN predicate built from the occupancy index");
+        verify(query, never()).subquery(any());
+    }
+
+    @Test
+    void notBookedBetween_nothingOccupied_shouldReturnNull() {
+        when(accommodationOccupancyIndex.findOccupied(filter.fromDate(), filter.toDate()))
+                .thenReturn(Optional.of(Set.of()));
+
+        Specification<Accommodation> spec = new AccommodationSpecification(accommodationOccupancyIndex)
+                .notBookedBetween(filter.fromDate(), filter.toDate());
+
+        assertNull(spec.toPredicate(root, query, criteriaBuilder), "Expected no predicate when no accommodation is occupied");
+    }
+
+    @Test
+    void notBookedBetween_indexCannotAnswer_shouldFallBackToSubquery() {
+        Subquery<Integer> subquery = mock(Subquery.class);
+        Root<Reservation> reservationRoot = mock(Root.class);
+        stubReservationPaths(subquery, reservationRoot, filter.fromDate(), filter.toDate());
+        when(accommodationOccupancyIndex.findOccupied(filter.fromDate(), filter.toDate())).thenReturn(Optional.empty());
+
+        Specification<Accommodation> spec = new AccommodationSpecification(accommodationOccupancyIndex)
+                .notBookedBetween(filter.fromDate(), filter.toDate());
+
+        assertSame(predicate, spec.toPredicate(root, query, criteriaBuilder));
+        verify(query).subquery(Integer.class);
+    }
+
+    @Test
+    void notBookedBetween_tooManyOccupied_shouldFallBackToSubquery() {
+        Subquery<Integer> subquery = mock(Subquery.class);
+        Root<Reservation> reservationRoot = mock(Root.class);
+        stubReservationPaths(subquery, reservationRoot, filter.fromDate(), filter.toDate());
+        Set<Long> occupied = LongStream.rangeClosed(1, AccommodationSpecification.MAX_EXCLUDED_IDS + 1)
+                .boxed()
+                .collect(Collectors.toSet());
+        when(accommodationOccupancyIndex.findOccupied(filter.fromDate(), filter.toDate())).thenReturn(Optional.of(occupied));
+
+        Specification<Accommodation> spec = new AccommodationSpecification(accommodationOccupancyIndex)
+                .notBookedBetween(filter.fromDate(), filter.toDate());
+
+        assertSame(predicate, spec.toPredicate(root, query, criteriaBuilder));
+        verify(query).subquery(Integer.class);
+    }
+
+    @Test
+    void buildSpecification_textMatchesAtLimit_shouldBindThemAsInList() {
+        FilterAccommodationDTO nameOnly = FilterAccommodationDTO.builder().name("Hotel").build();
+        Set<Long> matches = LongStream.rangeClosed(1, AccommodationSpecification.MAX_MATCHED_IDS)
+                .boxed()
+                .collect(Collectors.toSet());
+        Path<Object> idPath = mock(Path.class);
+        when(root.get("id")).thenReturn(idPath);
+        when(idPath.in(matches)).thenReturn(predicate);
+
+        Predicate result = new AccommodationSpecification(accommodationOccupancyIndex)
+                .buildSpecification(nameOnly, matches)
+                .toPredicate(root, query, criteriaBuilder);
+
+        assertNotNull(result);
+        verify(idPath).in(matches);
+        verify(criteriaBuilder, never()).like(any(Expression.class), anyString());
+    }
+
+    @Test
+    void buildSpecification_textMatchesOverLimit_shouldFallBackToLikePredicates() {
+        FilterAccommodationDTO nameOnly = FilterAccommodationDTO.builder().name("Hotel").build();
+        Set<Long> matches = LongStream.rangeClosed(1, AccommodationSpecification.MAX_MATCHED_IDS + 1)
+                .boxed()
+                .collect(Collectors.toSet());
+        stubStringProperty("name");
+
+        Predicate result = new AccommodationSpecification(accommodationOccupancyIndex)
+                .buildSpecification(nameOnly, matches)
+                .toPredicate(root, query, criteriaBuilder);
+
+        assertNotNull(result);
+        verify(criteriaBuilder).like(stringPath, "%hotel%");
+        verify(root, never()).get("id");
+    }
+
     @Test
     void petFriendly_trueInput_shouldReturnIsTruePredicate() {
         stubBooleanProperty("petFriendly");
@@ -302,6 +428,31 @@ public class AccommodationSpecificationTest {
         assertNull(spec.toPredicate(root, query, criteriaBuilder), "Expected null predicate for petFriendly(null)");
     }
 
+    @Test
+    void after_nullPosition_shouldReturnNull() {
+        Specification<Accommodation> spec = AccommodationSpecification.after(AccommodationSortKey.PRICE, null);
+        assertNull(spec.toPredicate(root, query, criteriaBuilder), "Expected null predicate for the first page");
+    }
+
+    @Test
+    void after_pricePosition_shouldSeekPastPriceThenId() {
+        stubDoubleProperty("price");
+        when(root.get("id")).thenReturn((Path) accommodationIdPath);
+        when(criteriaBuilder.greaterThan(any(Expression.class), any(Comparable.class))).thenReturn(predicate);
+        when(criteriaBuilder.equal(any(Expression.class), any(Object.class))).thenReturn(predicate);
+        when(criteriaBuilder.and(any(Predicate.class), any(Predicate.class))).thenReturn(predicate);
+        when(criteriaBuilder.or(any(Predicate.class), any(Predicate.class))).thenReturn(predicate);
+        KeysetCursor position = AccommodationSortKey.PRICE.decode(AccommodationSortKey.PRICE.positionOf(9L, 80.0).encode());
+
+        Predicate result = AccommodationSpecification.after(AccommodationSortKey.PRICE, position)
+                .toPredicate(root, query, criteriaBuilder);
+
+        assertSame(predicate, result, "Expected the OR of both keyset branches");
+        verify(criteriaBuilder).greaterThan(doublePath, 80.0);
+        verify(criteriaBuilder).equal(doublePath, 80.0);
+        verify(criteriaBuilder).greaterThan(any(Expression.class), eq(9L));
+    }
+
     @Test
     void buildSpecification_validFilter_shouldReturnCombinedPredicate() {
         LocalDate newStartDate = filter.fromDate();
@@ -316,7 +467,7 @@ public class AccommodationSpecificationTest {
         stubDateProperty("availableTo");
         stubBooleanProperty("petFriendly");
 
-        Subquery<Long> subquery = mock(Subquery.class);
+        Subquery<Integer> subquery = mock(Subquery.class);
         Root<Reservation> reservationRoot = mock(Root.class);
         stubReservationPaths(subquery, reservationRoot, newStartDate, newEndDate);
 
@@ -325,7 +476,7 @@ public class AccommodationSpecificationTest {
         when(criteriaBuilder.between(any(Expression.class), any(Double.class), any(Double.class))).thenReturn(predicate);
         when(criteriaBuilder.equal(any(Expression.class), any(Integer.class))).thenReturn(predicate);
 
-        Specification<Accommodation> spec = new AccommodationSpecification().buildSpecification(filter);
+        Specification<Accommodation> spec = new AccommodationSpecification(accommodationOccupancyIndex).buildSpecification(filter);
 
         assertNotNull(spec, "Expected specification not null from buildSpecification");
 
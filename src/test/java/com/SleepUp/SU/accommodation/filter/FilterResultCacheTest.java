@@ -0,0 +1,249 @@
+package com.SleepUp.SU.accommodation.filter;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.config.properties.AppProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FilterResultCacheTest {
+
+    private final LocalDate today = LocalDate.now();
+    private final Pageable pageable = PageRequest.of(0, 10);
+
+    private AppProperties appProperties;
+    private SimpleMeterRegistry meterRegistry;
+    private FilterResultCache filterResultCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        appProperties = new AppProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        filterResultCache = new FilterResultCache(appProperties, meterRegistry);
+        loads = new AtomicInteger();
+    }
+
+    private Supplier<Page<AccommodationResponseSummary>> loader(int elements) {
+        return () -> {
+            loads.incrementAndGet();
+            List<AccommodationResponseSummary> content = new ArrayList<>();
+            for (long id = 1; id <= elements; id++) {
+                content.add(AccommodationResponseSummary.builder().id(id).name("Hotel " + id).build());
+            }
+            return new PageImpl<>(content, pageable, elements);
+        };
+    }
+
+    private static FilterCacheKey key(FilterAccommodationDTO filter, Pageable pageable) {
+        return FilterCacheKey.of(filter, pageable);
+    }
+
+    private static AccommodationFilterFields fields(String location, double price, LocalDate from, LocalDate to) {
+        return new AccommodationFilterFields("Hotel", "Nice place", location, price, 2, true, from, to);
+    }
+
+    private double counter(String name, String result) {
+        return result == null
+                ? meterRegistry.get(name).counter().count()
+                : meterRegistry.get(name).tag("result", result).counter().count();
+    }
+
+    @Nested
+    class Lookup {
+
+        @Test
+        void getOrLoad_sameCanonicalFilter_shouldLoadOnceAndCountHit() {
+            FilterAccommodationDTO first = FilterAccommodationDTO.builder().location("Madrid").name("").build();
+            FilterAccommodationDTO second = FilterAccommodationDTO.builder().location("MADRID").build();
+
+            Page<AccommodationResponseSummary> loaded = filterResultCache.getOrLoad(key(first, pageable), loader(2));
+            Page<AccommodationResponseSummary> cached = filterResultCache.getOrLoad(key(second, pageable), loader(2));
+
+            assertSame(loaded, cached);
+            assertEquals(1, loads.get());
+            assertEquals(1, counter("accommodation.filter.cache.requests", "hit"));
+            assertEquals(1, counter("accommodation.filter.cache.requests", "miss"));
+        }
+
+        @Test
+        void getOrLoad_otherPage_shouldLoadAgain() {
+            FilterAccommodationDTO filter = FilterAccommodationDTO.builder().location("Madrid").build();
+
+            filterResultCache.getOrLoad(key(filter, pageable), loader(2));
+            filterResultCache.getOrLoad(key(filter, PageRequest.of(1, 10)), loader(2));
+
+            assertEquals(2, loads.get());
+        }
+
+        @Test
+        void getOrLoad_expiredEntry_shouldLoadAgain() throws InterruptedException {
+            appProperties.getSearch().setFilterCacheTtlMs(1);
+            filterResultCache = new FilterResultCache(appProperties, new SimpleMeterRegistry());
+            FilterAccommodationDTO filter = FilterAccommodationDTO.builder().location("Madrid").build();
+
+            filterResultCache.getOrLoad(key(filter, pageable), loader(2));
+            Thread.sleep(5);
+            filterResultCache.getOrLoad(key(filter, pageable), loader(2));
+
+            assertEquals(2, loads.get());
+            assertEquals(1, filterResultCache.size());
+        }
+
+        @Test
+        void getOrLoad_invalidatedWhileLoading_shouldNotCacheStalePage() {
+            FilterAccommodationDTO filter = FilterAccommodationDTO.builder().location("Madrid").build();
+
+            filterResultCache.getOrLoad(key(filter, pageable), () -> {
+                filterResultCache.onStayChanged(today, today.plusDays(1));
+                return loader(2).get();
+            });
+
+            assertEquals(0, filterResultCache.size());
+        }
+    }
+
+    @Nested
+    class Bounds {
+
+        @Test
+        void getOrLoad_overWeightBudget_shouldEvictLeastRecentlyUsed() {
+            appProperties.getSearch().setFilterCacheMaxWeight(25);
+            filterResultCache = new FilterResultCache(appProperties, meterRegistry);
+            FilterCacheKey madrid = key(FilterAccommodationDTO.builder().location("Madrid").build(), pageable);
+            FilterCacheKey sevilla = key(FilterAccommodationDTO.builder().location("Sevilla").build(), pageable);
+            FilterCacheKey bilbao = key(FilterAccommodationDTO.builder().location("Bilbao").build(), pageable);
+
+            filterResultCache.getOrLoad(madrid, loader(10));
+            filterResultCache.getOrLoad(sevilla, loader(10));
+            filterResultCache.getOrLoad(madrid, loader(10));
+            filterResultCache.getOrLoad(bilbao, loader(10));
+
+            assertEquals(2, filterResultCache.size());
+            assertEquals(22, filterResultCache.weight());
+            filterResultCache.getOrLoad(madrid, loader(10));
+            assertEquals(3, loads.get());
+            assertEquals(1, counter("accommodation.filter.cache.evictions", null));
+        }
+
+        @Test
+        void getOrLoad_overEntryBudget_shouldEvictEldest() {
+            appProperties.getSearch().setFilterCacheMaxEntries(1);
+            filterResultCache = new FilterResultCache(appProperties, meterRegistry);
+
+            filterResultCache.getOrLoad(key(FilterAccommodationDTO.builder().location("Madrid").build(), pageable), loader(1));
+            filterResultCache.getOrLoad(key(FilterAccommodationDTO.builder().location("Sevilla").build(), pageable), loader(1));
+
+            assertEquals(1, filterResultCache.size());
+            assertEquals(2, filterResultCache.weight());
+        }
+    }
+
+    @Nested
+    class Invalidation {
+
+        @Test
+        void onStayChanged_shouldDropOnlyOverlappingDateRanges() {
+            FilterCacheKey overlapping = key(FilterAccommodationDTO.builder().fromDate(today.plusDays(5)).toDate(today.plusDays(8)).build(), pageable);
+            FilterCacheKey later = key(FilterAccommodationDTO.builder().fromDate(today.plusDays(20)).toDate(today.plusDays(22)).build(), pageable);
+            FilterCacheKey undated = key(FilterAccommodationDTO.builder().location("Madrid").build(), pageable);
+            filterResultCache.getOrLoad(overlapping, loader(1));
+            filterResultCache.getOrLoad(later, loader(1));
+            filterResultCache.getOrLoad(undated, loader(1));
+
+            filterResultCache.onStayChanged(today.plusDays(8), today.plusDays(10));
+
+            assertEquals(2, filterResultCache.size());
+            filterResultCache.getOrLoad(later, loader(1));
+            filterResultCache.getOrLoad(undated, loader(1));
+            assertEquals(3, loads.get());
+            assertEquals(1, counter("accommodation.filter.cache.invalidations", null));
+        }
+
+        @Test
+        void invalidateAll_shouldDropEveryEntryAndSkipInFlightLoads() {
+            FilterCacheKey dated = key(FilterAccommodationDTO.builder().fromDate(today.plusDays(5)).toDate(today.plusDays(8)).build(), pageable);
+            FilterCacheKey undated = key(FilterAccommodationDTO.builder().location("Madrid").build(), pageable);
+            filterResultCache.getOrLoad(dated, loader(1));
+            filterResultCache.getOrLoad(undated, () -> {
+                filterResultCache.invalidateAll();
+                return loader(1).get();
+            });
+
+            assertEquals(0, filterResultCache.size());
+            assertEquals(1, counter("accommodation.filter.cache.invalidations", null));
+        }
+
+        @Test
+        void onAccommodationChanged_shouldDropFiltersMatchingOldOrNewState() {
+            FilterCacheKey madrid = key(FilterAccommodationDTO.builder().location("madrid").build(), pageable);
+            FilterCacheKey sevilla = key(FilterAccommodationDTO.builder().location("sevilla").build(), pageable);
+            FilterCacheKey bilbao = key(FilterAccommodationDTO.builder().location("bilbao").build(), pageable);
+            filterResultCache.getOrLoad(madrid, loader(1));
+            filterResultCache.getOrLoad(sevilla, loader(1));
+            filterResultCache.getOrLoad(bilbao, loader(1));
+
+            filterResultCache.onAccommodationChanged(
+                    fields("Madrid Centro", 100.0, today, today.plusYears(1)),
+                    fields("Sevilla", 100.0, today, today.plusYears(1)));
+
+            assertEquals(1, filterResultCache.size());
+            filterResultCache.getOrLoad(bilbao, loader(1));
+            assertEquals(3, loads.get());
+        }
+
+        @Test
+        void onAccommodationChanged_outsidePriceRange_shouldKeepEntry() {
+            FilterCacheKey cheap = key(FilterAccommodationDTO.builder().maxPrice(50.0).build(), pageable);
+            filterResultCache.getOrLoad(cheap, loader(1));
+
+            filterResultCache.onAccommodationChanged(null, fields("Madrid", 120.0, today, today.plusYears(1)));
+
+            assertEquals(1, filterResultCache.size());
+        }
+    }
+
+    @Nested
+    class CouldMatch {
+
+        @Test
+        void couldMatch_availabilityWindow_shouldMirrorSpecification() {
+            AccommodationFilterFields accommodation = fields("Madrid", 100.0, today.plusDays(10), today.plusDays(20));
+
+            assertTrue(FilterCacheKey.of(FilterAccommodationDTO.builder().fromDate(today.plusDays(15)).toDate(today.plusDays(25)).build(), pageable)
+                    .couldMatch(accommodation));
+            assertFalse(FilterCacheKey.of(FilterAccommodationDTO.builder().fromDate(today.plusDays(21)).toDate(today.plusDays(25)).build(), pageable)
+                    .couldMatch(accommodation));
+            assertTrue(FilterCacheKey.of(FilterAccommodationDTO.builder().fromDate(today.plusDays(5)).build(), pageable)
+                    .couldMatch(accommodation));
+            assertFalse(FilterCacheKey.of(FilterAccommodationDTO.builder().toDate(today.plusDays(15)).build(), pageable)
+                    .couldMatch(accommodation));
+        }
+
+        @Test
+        void couldMatch_textGuestsAndPets_shouldMirrorSpecification() {
+            AccommodationFilterFields accommodation = fields("Madrid", 100.0, today, today.plusYears(1));
+
+            assertTrue(FilterCacheKey.of(FilterAccommodationDTO.builder().name("HOT").description("nice").guestNumber(2).petFriendly(true).build(), pageable)
+                    .couldMatch(accommodation));
+            assertFalse(FilterCacheKey.of(FilterAccommodationDTO.builder().guestNumber(3).build(), pageable)
+                    .couldMatch(accommodation));
+            assertFalse(FilterCacheKey.of(FilterAccommodationDTO.builder().petFriendly(false).build(), pageable)
+                    .couldMatch(accommodation));
+        }
+    }
+}
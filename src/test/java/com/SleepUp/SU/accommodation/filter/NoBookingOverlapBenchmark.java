@@ -0,0 +1,147 @@
+package com.SleepUp.SU.accommodation.filter;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.role.Role;
+import com.SleepUp.SU.utils.benchmark.LatencyRecorder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.time.LocalDate;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the availability filter written as {@code COUNT(...) = 0} over a negated overlap, with only the
+ * foreign key index, against {@code NOT EXISTS} with range bounds over {@code idx_reservations_availability},
+ * for two week windows over 2k accommodations carrying 300k reservations in an in-memory H2 database.
+ * The index is dropped and recreated, which commits in H2, so the context is discarded afterwards.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+@DirtiesContext
+public class NoBookingOverlapBenchmark {
+
+    private static final int ACCOMMODATIONS = 2_000;
+    private static final int STAYS_PER_ACCOMMODATION = 150;
+    private static final LocalDate FROM = LocalDate.of(2025, 12, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 14);
+    private static final String AVAILABILITY_INDEX_COLUMNS = "accommodation_id, check_out_date, check_in_date, booking_status";
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 15;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @BeforeEach
+    void setUp() {
+        User owner = User.builder()
+                .username("bench")
+                .name("Bench User")
+                .email("bench@example.com")
+                .password("password")
+                .role(Role.USER)
+                .build();
+        entityManager.persist(owner);
+        entityManager.flush();
+
+        entityManager.createNativeQuery("""
+                INSERT INTO accommodations (id, name, price, guest_number, pet_friendly, location, description, image_url,
+                                            available_from, available_to, managed_by_user_id)
+                SELECT x, 'Bench Stay ' || x, 100, 2, FALSE, 'City ' || MOD(x, 50), 'Benchmark accommodation',
+                       'http://example.com/' || x || '.jpg', DATE '2024-01-01', DATE '2030-01-01', ?1
+                FROM SYSTEM_RANGE(1, ?2)
+                """)
+                .setParameter(1, owner.getId())
+                .setParameter(2, ACCOMMODATIONS)
+                .executeUpdate();
+
+        // Back-to-back three night stays with a two night gap, staggered per accommodation; one in ten is cancelled
+        entityManager.createNativeQuery("""
+                INSERT INTO reservations (booking_status, check_in_date, check_out_date, created_date, email_sent,
+                                          guest_number, accommodation_id, user_id, total_price)
+                SELECT CASE WHEN MOD(x, 10) = 0 THEN 'CANCELLED' ELSE 'CONFIRMED' END,
+                       DATEADD('DAY', 5 * ((x - 1) / ?1) + MOD(x, 5), DATE '2024-01-01'),
+                       DATEADD('DAY', 5 * ((x - 1) / ?1) + MOD(x, 5) + 3, DATE '2024-01-01'),
+                       TIMESTAMP '2024-01-01 00:00:00', FALSE, 2, 1 + MOD(x - 1, ?1), ?2, 300
+                FROM SYSTEM_RANGE(1, ?3)
+                """)
+                .setParameter(1, ACCOMMODATIONS)
+                .setParameter(2, owner.getId())
+                .setParameter(3, ACCOMMODATIONS * STAYS_PER_ACCOMMODATION)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void noBookingOverlap_300kReservations_notExistsWithIndexShouldBeatCountSubquery() {
+        long available = accommodationRepository.count(AccommodationSpecification.noBookingOverlap(FROM, TO));
+        assertEquals(accommodationRepository.count(countSubquery(FROM, TO)), available);
+        assertTrue(available > 0 && available < ACCOMMODATIONS);
+
+        entityManager.createNativeQuery("DROP INDEX idx_reservations_availability").executeUpdate();
+        LatencyRecorder before = measure("availability, COUNT(...) = 0 without composite index", NoBookingOverlapBenchmark::countSubquery);
+
+        entityManager.createNativeQuery("CREATE INDEX idx_reservations_availability ON reservations (" + AVAILABILITY_INDEX_COLUMNS + ")")
+                .executeUpdate();
+        LatencyRecorder after = measure("availability, NOT EXISTS with composite index", AccommodationSpecification::noBookingOverlap);
+
+        System.out.println(before.summary());
+        System.out.println(after.summary());
+        assertTrue(after.percentileNanos(50) < before.percentileNanos(50));
+    }
+
+    private LatencyRecorder measure(String name, BiFunction<LocalDate, LocalDate, Specification<Accommodation>> availability) {
+        for (int i = 0; i < WARMUP; i++) {
+            accommodationRepository.count(availability.apply(FROM.minusDays(i + 1), TO.minusDays(i + 1)));
+        }
+        LatencyRecorder recorder = new LatencyRecorder(name, ITERATIONS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            // A different window each round, so H2 cannot answer from its query result cache
+            Specification<Accommodation> spec = availability.apply(FROM.plusDays(i), TO.plusDays(i));
+            recorder.record(() -> accommodationRepository.count(spec));
+        }
+        return recorder;
+    }
+
+    private static Specification<Accommodation> countSubquery(LocalDate from, LocalDate to) {
+        return (root, query, cb) -> {
+            Subquery<Long> subquery = query.subquery(Long.class);
+            Root<Reservation> reservationRoot = subquery.from(Reservation.class);
+            subquery.select(cb.count(reservationRoot));
+
+            Predicate overlap = cb.not(cb.or(
+                    cb.greaterThan(reservationRoot.get("checkInDate"), to),
+                    cb.lessThan(reservationRoot.get("checkOutDate"), from)
+            ));
+            subquery.where(cb.and(
+                    cb.equal(reservationRoot.get("accommodation").get("id"), root.get("id")),
+                    cb.notEqual(reservationRoot.get("bookingStatus"), BookingStatus.CANCELLED),
+                    overlap));
+
+            return cb.equal(subquery, 0L);
+        };
+    }
+}
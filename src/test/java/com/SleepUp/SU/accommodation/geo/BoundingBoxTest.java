@@ -0,0 +1,44 @@
+package com.SleepUp.SU.accommodation.geo;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoundingBoxTest {
+
+    private static final GeoPoint MADRID = new GeoPoint(40.4168, -3.7038);
+
+    @Test
+    void around_radius_shouldHoldPointsAtThatDistance() {
+        BoundingBox box = BoundingBox.around(MADRID, 50);
+
+        assertEquals(50, MADRID.distanceKm(box.maxLatitude(), MADRID.longitude()), 0.01);
+        assertEquals(50, MADRID.distanceKm(box.minLatitude(), MADRID.longitude()), 0.01);
+        assertTrue(MADRID.distanceKm(MADRID.latitude(), box.maxLongitude()) >= 50);
+        assertFalse(box.crossesAntimeridian());
+    }
+
+    @Test
+    void around_nearAntimeridian_shouldWrapLongitude() {
+        BoundingBox box = BoundingBox.around(new GeoPoint(-17.7, 179.9), 30);
+
+        assertTrue(box.crossesAntimeridian());
+        assertTrue(box.minLongitude() > 179);
+        assertTrue(box.maxLongitude() < -179);
+        assertEquals(179.9, box.center().longitude(), 1e-9);
+    }
+
+    @Test
+    void around_nearPole_shouldSpanEveryLongitude() {
+        BoundingBox box = BoundingBox.around(new GeoPoint(89.9, 10), 100);
+
+        assertEquals(90, box.maxLatitude());
+        assertEquals(-180, box.minLongitude());
+        assertEquals(180, box.maxLongitude());
+    }
+
+    @Test
+    void distanceKm_madridToBarcelona_shouldMatchKnownDistance() {
+        assertEquals(505, MADRID.distanceKm(41.3874, 2.1686), 5);
+    }
+}
@@ -0,0 +1,58 @@
+package com.SleepUp.SU.accommodation.geo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoGridTest {
+
+    @Test
+    void cellOf_missingCoordinate_shouldReturnNull() {
+        assertNull(GeoGrid.cellOf(40.4, null));
+        assertNull(GeoGrid.cellOf(null, -3.7));
+    }
+
+    @Test
+    void cellOf_corners_shouldStayInsideGrid() {
+        assertEquals(0, GeoGrid.cellOf(-90.0, -180.0));
+        assertEquals(GeoGrid.ROWS * GeoGrid.COLUMNS - 1, GeoGrid.cellOf(90.0, 180.0));
+    }
+
+    @Test
+    void covering_box_shouldReturnOneRangePerRowHoldingEveryInnerPoint() {
+        BoundingBox box = new BoundingBox(40.1, 40.6, -3.9, -3.4);
+
+        List<GeoGrid.CellRange> ranges = GeoGrid.covering(box);
+
+        assertEquals(3, ranges.size());
+        for (double lat = 40.1; lat <= 40.6; lat += 0.05) {
+            for (double lon = -3.9; lon <= -3.4; lon += 0.05) {
+                int cell = GeoGrid.cellOf(lat, lon);
+                assertTrue(ranges.stream().anyMatch(range -> cell >= range.first() && cell <= range.last()));
+            }
+        }
+    }
+
+    @Test
+    void covering_boxAcrossAntimeridian_shouldCoverBothSidesAndMergeAdjacentRows() {
+        BoundingBox box = new BoundingBox(-17.0, -16.6, 179.6, -179.6);
+
+        List<GeoGrid.CellRange> ranges = GeoGrid.covering(box);
+
+        int east = GeoGrid.cellOf(-16.8, 179.9);
+        int west = GeoGrid.cellOf(-16.8, -179.9);
+        assertTrue(ranges.stream().anyMatch(range -> east >= range.first() && east <= range.last()));
+        assertTrue(ranges.stream().anyMatch(range -> west >= range.first() && west <= range.last()));
+        assertEquals(3, ranges.size());
+    }
+
+    @Test
+    void covering_fullLongitudeSpan_shouldMergeIntoSingleRange() {
+        List<GeoGrid.CellRange> ranges = GeoGrid.covering(new BoundingBox(89.0, 90.0, -180, 180));
+
+        assertEquals(1, ranges.size());
+        assertEquals(GeoGrid.ROWS * GeoGrid.COLUMNS - 1, ranges.getFirst().last());
+    }
+}
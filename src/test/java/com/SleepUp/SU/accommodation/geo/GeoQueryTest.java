@@ -0,0 +1,55 @@
+package com.SleepUp.SU.accommodation.geo;
+
+import com.SleepUp.SU.accommodation.dto.GeoFilterDTO;
+import com.SleepUp.SU.exceptions.InvalidGeoQueryException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GeoQueryTest {
+
+    private static final double MAX_RADIUS_KM = 300;
+
+    @Test
+    void of_pointAndRadius_shouldBuildRadiusQuery() {
+        GeoQuery query = GeoQuery.of(GeoFilterDTO.builder().latitude(40.4).longitude(-3.7).radiusKm(25.0).build(), MAX_RADIUS_KM);
+
+        assertEquals(new GeoPoint(40.4, -3.7), query.origin());
+        assertEquals(25.0, query.radiusKm());
+        assertTrue(query.box().minLatitude() < 40.4 && query.box().maxLatitude() > 40.4);
+    }
+
+    @Test
+    void of_boundingBoxWithoutPoint_shouldSortFromBoxCentre() {
+        GeoQuery query = GeoQuery.of(GeoFilterDTO.builder()
+                .minLatitude(40.0).maxLatitude(41.0).minLongitude(-4.0).maxLongitude(-3.0).build(), MAX_RADIUS_KM);
+
+        assertEquals(new GeoPoint(40.5, -3.5), query.origin());
+        assertNull(query.radiusKm());
+    }
+
+    @Test
+    void of_radiusAboveLimit_shouldThrow() {
+        GeoFilterDTO geo = GeoFilterDTO.builder().latitude(40.4).longitude(-3.7).radiusKm(301.0).build();
+
+        assertThrows(InvalidGeoQueryException.class, () -> GeoQuery.of(geo, MAX_RADIUS_KM));
+    }
+
+    @Test
+    void of_boxLargerThanLimit_shouldThrow() {
+        GeoFilterDTO geo = GeoFilterDTO.builder()
+                .minLatitude(30.0).maxLatitude(50.0).minLongitude(-10.0).maxLongitude(10.0).build();
+
+        assertThrows(InvalidGeoQueryException.class, () -> GeoQuery.of(geo, MAX_RADIUS_KM));
+    }
+
+    @Test
+    void of_incompleteQuery_shouldThrow() {
+        assertThrows(InvalidGeoQueryException.class,
+                () -> GeoQuery.of(GeoFilterDTO.builder().latitude(40.4).build(), MAX_RADIUS_KM));
+        assertThrows(InvalidGeoQueryException.class,
+                () -> GeoQuery.of(GeoFilterDTO.builder().radiusKm(10.0).build(), MAX_RADIUS_KM));
+        assertThrows(InvalidGeoQueryException.class,
+                () -> GeoQuery.of(GeoFilterDTO.builder().minLatitude(40.0).maxLatitude(41.0).build(), MAX_RADIUS_KM));
+    }
+}
@@ -116,34 +116,28 @@ public class AccommodationOwnerServiceImplTest {
     @Nested
     class getAllAccommodationsByOwnerId {
 
-        @SuppressWarnings("unchecked")
         @Test
         void getAllAccommodationsByOwnerId_ownerHasAccommodations_shouldReturnSummariesList() {
-            when(accommodationRepository.findByManagedBy_Id(userId)).thenReturn(accommodations);
-            when(mapperUtil.mapEntitiesToDTOs(eq(accommodations), (Function<Accommodation, AccommodationResponseSummary>) any(Function.class))).thenReturn(expectedSummaries);
+            when(accommodationRepository.findSummariesByManagedById(userId)).thenReturn(expectedSummaries);
 
             List<AccommodationResponseSummary> actualSummaries = accommodationOwnerServiceImpl.getAllAccommodationsByOwnerId(userId);
 
             assertEquals(expectedSummaries, actualSummaries);
 
-            verify(accommodationRepository).findByManagedBy_Id(userId);
-            verify(mapperUtil).mapEntitiesToDTOs(eq(accommodations), (Function<Accommodation, AccommodationResponseSummary>) any(Function.class));
-            verifyNoMoreInteractions(accommodationRepository, mapperUtil, accommodationMapper);
+            verify(accommodationRepository).findSummariesByManagedById(userId);
+            verifyNoMoreInteractions(accommodationRepository);
         }
 
-        @SuppressWarnings("unchecked")
         @Test
         void getAllAccommodationsByOwnerId_ownerHasNoAccommodations_shouldReturnEmptyList() {
-            when(accommodationRepository.findByManagedBy_Id(userId)).thenReturn(List.of());
-            when(mapperUtil.mapEntitiesToDTOs(eq(List.of()), (Function<Accommodation, AccommodationResponseSummary>) any(Function.class))).thenReturn(List.of());
+            when(accommodationRepository.findSummariesByManagedById(userId)).thenReturn(List.of());
 
             List<AccommodationResponseSummary> summaries = accommodationOwnerServiceImpl.getAllAccommodationsByOwnerId(userId);
 
             assertTrue(summaries.isEmpty());
 
-            verify(accommodationRepository).findByManagedBy_Id(userId);
-            verify(mapperUtil).mapEntitiesToDTOs(eq(List.of()), (Function<Accommodation, AccommodationResponseSummary>) any(Function.class));
-            verifyNoMoreInteractions(accommodationRepository, mapperUtil, accommodationMapper);
+            verify(accommodationRepository).findSummariesByManagedById(userId);
+            verifyNoMoreInteractions(accommodationRepository);
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,161 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import com.SleepUp.SU.accommodation.dto.PriceQuoteResponse;
+import com.SleepUp.SU.accommodation.dto.RateOverrideMapper;
+import com.SleepUp.SU.accommodation.dto.RateOverrideRequest;
+import com.SleepUp.SU.accommodation.dto.RateOverrideResponse;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.exceptions.RateOverrideNotFoundByIdException;
+import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.exceptions.InvalidDateRangeException;
+import com.SleepUp.SU.reservation.exceptions.AccommodationUnavailableException;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccommodationPricingServiceImplTest {
+
+    @Mock
+    private RateOverrideRepository rateOverrideRepository;
+
+    @Mock
+    private RateOverrideMapper rateOverrideMapper;
+
+    @Mock
+    private AccommodationServiceHelper accommodationServiceHelper;
+
+    @Mock
+    private PricingEngine pricingEngine;
+
+    @Mock
+    private LoyaltyStayTracker loyaltyStayTracker;
+
+    @InjectMocks
+    private AccommodationPricingServiceImpl accommodationPricingService;
+
+    private Accommodation accommodation;
+    private final LocalDate checkIn = LocalDate.now().plusDays(3);
+    private final LocalDate checkOut = LocalDate.now().plusDays(5);
+
+    @BeforeEach
+    void setUp() {
+        accommodation = new Accommodation();
+        accommodation.setId(1L);
+        accommodation.setPrice(100.0);
+        accommodation.setAvailableFrom(LocalDate.now());
+        accommodation.setAvailableTo(LocalDate.now().plusMonths(6));
+    }
+
+    @Nested
+    class GetQuote {
+
+        @Test
+        void getQuote_loyalGuest_shouldApplyDiscount() {
+            when(accommodationServiceHelper.getAccommodationEntityById(1L)).thenReturn(accommodation);
+            when(loyaltyStayTracker.isEligible(7L, 1L)).thenReturn(true);
+            when(pricingEngine.quote(accommodation, checkIn, checkOut, true)).thenReturn(new PriceQuote(2, 20_000, 16_000, true));
+
+            PriceQuoteResponse quote = accommodationPricingService.getQuote(1L, checkIn, checkOut, 7L);
+
+            assertEquals(2, quote.nights());
+            assertEquals(new BigDecimal("200.00"), quote.subtotal());
+            assertEquals(new BigDecimal("160.00"), quote.totalPrice());
+            assertTrue(quote.discountApplied());
+        }
+
+        @Test
+        void getQuote_anonymous_shouldNotLookUpLoyalty() {
+            when(accommodationServiceHelper.getAccommodationEntityById(1L)).thenReturn(accommodation);
+            when(pricingEngine.quote(accommodation, checkIn, checkOut, false)).thenReturn(new PriceQuote(2, 20_000, 20_000, false));
+
+            PriceQuoteResponse quote = accommodationPricingService.getQuote(1L, checkIn, checkOut, null);
+
+            assertFalse(quote.discountApplied());
+            verifyNoInteractions(loyaltyStayTracker);
+        }
+
+        @Test
+        void getQuote_checkOutBeforeCheckIn_shouldThrow() {
+            assertThrows(InvalidDateRangeException.class,
+                    () -> accommodationPricingService.getQuote(1L, checkOut, checkIn, null));
+
+            verifyNoInteractions(accommodationServiceHelper, pricingEngine);
+        }
+
+        @Test
+        void getQuote_outsideAvailability_shouldThrow() {
+            when(accommodationServiceHelper.getAccommodationEntityById(1L)).thenReturn(accommodation);
+
+            assertThrows(AccommodationUnavailableException.class,
+                    () -> accommodationPricingService.getQuote(1L, checkIn, LocalDate.now().plusYears(1), null));
+
+            verifyNoInteractions(pricingEngine);
+        }
+    }
+
+    @Nested
+    class RateOverrides {
+
+        @Test
+        void createRateOverride_validRange_shouldSaveAndEvictCalendar() {
+            RateOverrideRequest request = new RateOverrideRequest(checkIn, checkOut, new BigDecimal("150.00"), true);
+            RateOverride entity = RateOverride.builder().accommodation(accommodation).build();
+            RateOverrideResponse response = mock(RateOverrideResponse.class);
+
+            when(accommodationServiceHelper.getAccommodationEntityById(1L)).thenReturn(accommodation);
+            when(rateOverrideMapper.toEntity(request, accommodation)).thenReturn(entity);
+            when(rateOverrideRepository.save(entity)).thenReturn(entity);
+            when(rateOverrideMapper.toResponse(entity)).thenReturn(response);
+
+            assertSame(response, accommodationPricingService.createRateOverride(1L, request));
+            verify(pricingEngine).evict(1L);
+        }
+
+        @Test
+        void createRateOverride_endNotAfterStart_shouldThrow() {
+            RateOverrideRequest request = new RateOverrideRequest(checkIn, checkIn, new BigDecimal("150.00"), false);
+
+            InvalidDateRangeException exception = assertThrows(InvalidDateRangeException.class,
+                    () -> accommodationPricingService.createRateOverride(1L, request));
+
+            assertEquals("Start date must be before end date", exception.getMessage());
+            verifyNoInteractions(rateOverrideRepository, pricingEngine);
+        }
+
+        @Test
+        void deleteRateOverride_existing_shouldDeleteAndEvictCalendar() {
+            RateOverride entity = RateOverride.builder().id(3L).accommodation(accommodation).build();
+            when(rateOverrideRepository.findByIdAndAccommodationId(3L, 1L)).thenReturn(Optional.of(entity));
+
+            accommodationPricingService.deleteRateOverride(1L, 3L);
+
+            verify(rateOverrideRepository).delete(entity);
+            verify(pricingEngine).evict(1L);
+        }
+
+        @Test
+        void deleteRateOverride_otherAccommodation_shouldThrowNotFound() {
+            when(rateOverrideRepository.findByIdAndAccommodationId(3L, 2L)).thenReturn(Optional.empty());
+
+            RateOverrideNotFoundByIdException exception = assertThrows(RateOverrideNotFoundByIdException.class,
+                    () -> accommodationPricingService.deleteRateOverride(2L, 3L));
+
+            assertEquals("Rate override with id '3' not found", exception.getMessage());
+            verify(rateOverrideRepository, never()).delete(any());
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.config.properties.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PricingEngineTest {
+
+    @Mock
+    private RateOverrideRepository rateOverrideRepository;
+
+    private PricingEngine pricingEngine;
+    private Accommodation accommodation;
+
+    private final LocalDate checkIn = LocalDate.now().plusDays(10);
+
+    @BeforeEach
+    void setUp() {
+        pricingEngine = new PricingEngine(rateOverrideRepository, new AppProperties());
+        accommodation = new Accommodation();
+        accommodation.setId(1L);
+        accommodation.setPrice(100.0);
+    }
+
+    @Test
+    void price_noOverrides_shouldMatchBasePriceTimesNights() {
+        when(rateOverrideRepository.findActiveByAccommodationId(1L, LocalDate.now())).thenReturn(List.of());
+
+        assertEquals(new BigDecimal("300.00"), pricingEngine.price(accommodation, checkIn, checkIn.plusDays(3), false));
+    }
+
+    @Test
+    void price_withDiscount_shouldTakeTwentyPercentOffRoundingHalfUp() {
+        accommodation.setPrice(33.33);
+        when(rateOverrideRepository.findActiveByAccommodationId(eq(1L), any())).thenReturn(List.of());
+
+        PriceQuote quote = pricingEngine.quote(accommodation, checkIn, checkIn.plusDays(1), true);
+
+        assertEquals(new BigDecimal("33.33"), quote.subtotalAmount());
+        assertEquals(new BigDecimal("26.66"), quote.totalAmount());
+        assertEquals(1, quote.nights());
+        assertTrue(quote.discountApplied());
+    }
+
+    @Test
+    void price_withOverride_shouldUseNightlyRates() {
+        when(rateOverrideRepository.findActiveByAccommodationId(eq(1L), any())).thenReturn(List.of(RateOverride.builder()
+                .startDate(checkIn.plusDays(1))
+                .endDate(checkIn.plusDays(2))
+                .nightlyPrice(new BigDecimal("250.00"))
+                .build()));
+
+        assertEquals(new BigDecimal("450.00"), pricingEngine.price(accommodation, checkIn, checkIn.plusDays(3), false));
+    }
+
+    @Test
+    void calendarFor_repeatedQuotes_shouldLoadOverridesOnce() {
+        when(rateOverrideRepository.findActiveByAccommodationId(eq(1L), any())).thenReturn(List.of());
+
+        pricingEngine.price(accommodation, checkIn, checkIn.plusDays(3), false);
+        pricingEngine.price(accommodation, checkIn.plusDays(5), checkIn.plusDays(9), false);
+
+        verify(rateOverrideRepository, times(1)).findActiveByAccommodationId(any(), any());
+    }
+
+    @Test
+    void calendarFor_basePriceChanged_shouldRebuildCalendar() {
+        when(rateOverrideRepository.findActiveByAccommodationId(eq(1L), any())).thenReturn(List.of());
+        pricingEngine.price(accommodation, checkIn, checkIn.plusDays(1), false);
+
+        accommodation.setPrice(120.0);
+
+        assertEquals(new BigDecimal("120.00"), pricingEngine.price(accommodation, checkIn, checkIn.plusDays(1), false));
+        verify(rateOverrideRepository, times(2)).findActiveByAccommodationId(any(), any());
+    }
+
+    @Test
+    void evict_shouldReloadOverridesOnNextQuote() {
+        when(rateOverrideRepository.findActiveByAccommodationId(eq(1L), any())).thenReturn(List.of());
+        pricingEngine.price(accommodation, checkIn, checkIn.plusDays(1), false);
+
+        pricingEngine.evict(1L);
+        pricingEngine.price(accommodation, checkIn, checkIn.plusDays(1), false);
+
+        verify(rateOverrideRepository, times(2)).findActiveByAccommodationId(any(), any());
+    }
+
+    @Test
+    void calendarFor_unsavedAccommodation_shouldPriceWithoutQuerying() {
+        accommodation.setId(null);
+
+        assertEquals(new BigDecimal("200.00"), pricingEngine.price(accommodation, checkIn, checkIn.plusDays(2), false));
+        verifyNoInteractions(rateOverrideRepository);
+    }
+}
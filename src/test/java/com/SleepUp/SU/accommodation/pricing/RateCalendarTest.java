@@ -0,0 +1,109 @@
+package com.SleepUp.SU.accommodation.pricing;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateCalendarTest {
+
+    // 2026-01-02 is a Friday
+    private final LocalDate origin = LocalDate.of(2026, 1, 1);
+
+    @Test
+    void total_noOverrides_shouldChargeBaseRatePerNight() {
+        RateCalendar calendar = RateCalendar.of(origin, 730, 10_000, List.of());
+
+        assertEquals(30_000, calendar.total(day(5), day(8)));
+        assertEquals(0, calendar.total(day(5), day(5)));
+    }
+
+    @Test
+    void total_seasonOverride_shouldApplyToNightsBeforeEndDateOnly() {
+        RateCalendar calendar = RateCalendar.of(origin, 730, 10_000, List.of(override(10, 12, "150.00", false)));
+
+        assertEquals(10_000, calendar.rate(day(9)));
+        assertEquals(15_000, calendar.rate(day(10)));
+        assertEquals(15_000, calendar.rate(day(11)));
+        assertEquals(10_000, calendar.rate(day(12)));
+        assertEquals(50_000, calendar.total(day(9), day(13)));
+    }
+
+    @Test
+    void total_weekendsOnlyOverride_shouldApplyToFridayAndSaturdayNights() {
+        RateCalendar calendar = RateCalendar.of(origin, 730, 10_000, List.of(override(0, 7, "130.00", true)));
+
+        assertEquals(10_000, calendar.rate(day(0)));
+        assertEquals(13_000, calendar.rate(day(1)));
+        assertEquals(13_000, calendar.rate(day(2)));
+        assertEquals(10_000, calendar.rate(day(3)));
+        assertEquals(76_000, calendar.total(day(0), day(7)));
+    }
+
+    @Test
+    void total_overlappingOverrides_shouldLetLaterOverrideWin() {
+        RateCalendar calendar = RateCalendar.of(origin, 730, 10_000, List.of(
+                override(0, 30, "120.00", false),
+                override(5, 6, "99.99", false)));
+
+        assertEquals(12_000, calendar.rate(day(4)));
+        assertEquals(9_999, calendar.rate(day(5)));
+    }
+
+    @Test
+    void total_stayCrossingHorizonEdges_shouldChargeBaseRateOutside() {
+        RateCalendar calendar = RateCalendar.of(origin, 10, 10_000, List.of(override(0, 10, "200.00", false)));
+
+        assertEquals(2 * 10_000 + 2 * 20_000, calendar.total(day(-2), day(2)));
+        assertEquals(2 * 20_000 + 3 * 10_000, calendar.total(day(8), day(13)));
+        assertEquals(3 * 10_000, calendar.total(day(20), day(23)));
+    }
+
+    @Test
+    void total_randomStays_shouldMatchNightByNightSum() {
+        Random random = new Random(11);
+        List<RateOverride> overrides = new ArrayList<>();
+        for (int i = 0; i < 30; i++) {
+            int start = random.nextInt(700);
+            overrides.add(override(start, start + 1 + random.nextInt(40),
+                    BigDecimal.valueOf(5_000 + random.nextInt(20_000), 2).toPlainString(), random.nextBoolean()));
+        }
+        RateCalendar calendar = RateCalendar.of(origin, 730, 8_550, overrides);
+
+        for (int i = 0; i < 1000; i++) {
+            int start = random.nextInt(740) - 5;
+            int end = start + 1 + random.nextInt(30);
+            long expected = 0;
+            for (int night = start; night < end; night++) {
+                expected += calendar.rate(day(night));
+            }
+
+            assertEquals(expected, calendar.total(day(start), day(end)));
+        }
+    }
+
+    @Test
+    void minorUnits_shouldRoundToCentsAndBack() {
+        assertEquals(10_050, RateCalendar.toMinorUnits(100.5));
+        assertEquals(10_001, RateCalendar.toMinorUnits(new BigDecimal("100.005")));
+        assertEquals(new BigDecimal("123.45"), RateCalendar.fromMinorUnits(12_345));
+    }
+
+    private LocalDate day(int offset) {
+        return origin.plusDays(offset);
+    }
+
+    private RateOverride override(int startOffset, int endOffset, String price, boolean weekendsOnly) {
+        return RateOverride.builder()
+                .startDate(day(startOffset))
+                .endDate(day(endOffset))
+                .nightlyPrice(new BigDecimal(price))
+                .weekendsOnly(weekendsOnly)
+                .build();
+    }
+}
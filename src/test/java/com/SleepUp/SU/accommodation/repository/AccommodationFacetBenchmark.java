@@ -0,0 +1,148 @@
+package com.SleepUp.SU.accommodation.repository;
+
+import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.facet.AccommodationFacets;
+import com.SleepUp.SU.accommodation.filter.AccommodationSpecification;
+import com.SleepUp.SU.utils.benchmark.LatencyRecorder;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the latency of computing every facet of a filter with one grouped query folded in
+ * memory against one COUNT query per facet value plus a grouped query for the top locations,
+ * over 100k accommodations in an in-memory H2 database. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+public class AccommodationFacetBenchmark {
+
+    private static final int ROWS = 100_000;
+    private static final int LOCATIONS = 200;
+    private static final double PRICE_BUCKET_WIDTH = 50;
+    private static final int TOP_LOCATIONS = 10;
+    private static final int[][] CAPACITY_BUCKETS = {{1, 2}, {3, 4}, {5, 6}, {7, Integer.MAX_VALUE}};
+    private static final int WARMUP = 3;
+    private static final int ITERATIONS = 15;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    private final AccommodationSpecification accommodationSpecification = new AccommodationSpecification(null);
+
+    @BeforeEach
+    void setUp() {
+        entityManager.createNativeQuery("""
+                INSERT INTO accommodations (name, price, guest_number, pet_friendly, location, description, image_url,
+                                            available_from, available_to)
+                SELECT 'Bench Stay ' || x, 20 + MOD(x * 7919, 500), 1 + MOD(x, 8), MOD(x, 3) = 0,
+                       'City ' || MOD(x * 31, ?1), 'Benchmark accommodation', 'http://example.com/' || x || '.jpg',
+                       DATE '2025-01-01', DATE '2030-01-01'
+                FROM SYSTEM_RANGE(1, ?2)
+                """)
+                .setParameter(1, LOCATIONS)
+                .setParameter(2, ROWS)
+                .executeUpdate();
+        entityManager.clear();
+    }
+
+    @Test
+    void facets_100kAccommodations_onePassShouldBeatCountPerFacet() {
+        FilterAccommodationDTO filter = FilterAccommodationDTO.builder().minPrice(40.0).maxPrice(450.0).build();
+        Specification<Accommodation> spec = accommodationSpecification.buildSpecification(filter);
+
+        AccommodationFacets onePass = onePass(spec);
+        assertEquals(onePass, countPerFacet(spec));
+        assertTrue(onePass.total() > 0);
+
+        LatencyRecorder before = new LatencyRecorder("facets, count per facet value", ITERATIONS);
+        LatencyRecorder after = new LatencyRecorder("facets, one grouped pass", ITERATIONS);
+        for (int i = 0; i < WARMUP; i++) {
+            countPerFacet(spec);
+            onePass(spec);
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            before.record(() -> countPerFacet(spec));
+            after.record(() -> onePass(spec));
+        }
+
+        System.out.println(before.summary());
+        System.out.println(after.summary());
+        assertTrue(after.percentileNanos(50) < before.percentileNanos(50));
+    }
+
+    private AccommodationFacets onePass(Specification<Accommodation> spec) {
+        return AccommodationFacets.of(
+                accommodationRepository.findFacetGroups(spec, PRICE_BUCKET_WIDTH), PRICE_BUCKET_WIDTH, TOP_LOCATIONS);
+    }
+
+    private AccommodationFacets countPerFacet(Specification<Accommodation> spec) {
+        long total = accommodationRepository.count(spec);
+
+        List<AccommodationFacets.PriceBucket> priceHistogram = new ArrayList<>();
+        for (int bucket = 0; bucket * PRICE_BUCKET_WIDTH < 600; bucket++) {
+            double from = bucket * PRICE_BUCKET_WIDTH;
+            double to = from + PRICE_BUCKET_WIDTH;
+            long count = accommodationRepository.count(spec.and((root, query, cb) -> cb.and(
+                    cb.greaterThanOrEqualTo(root.get("price"), from), cb.lessThan(root.get("price"), to))));
+            if (count > 0) {
+                priceHistogram.add(new AccommodationFacets.PriceBucket(from, to, count));
+            }
+        }
+
+        long petFriendly = accommodationRepository.count(spec.and((root, query, cb) -> cb.isTrue(root.get("petFriendly"))));
+        long notPetFriendly = accommodationRepository.count(spec.and((root, query, cb) -> cb.isFalse(root.get("petFriendly"))));
+
+        List<AccommodationFacets.CapacityBucket> guestCapacity = new ArrayList<>();
+        for (int[] bucket : CAPACITY_BUCKETS) {
+            long count = accommodationRepository.count(spec.and((root, query, cb) ->
+                    cb.between(root.get("guestNumber"), bucket[0], bucket[1])));
+            if (count > 0) {
+                guestCapacity.add(new AccommodationFacets.CapacityBucket(
+                        bucket[0], bucket[1] == Integer.MAX_VALUE ? null : bucket[1], count));
+            }
+        }
+
+        return new AccommodationFacets(total, priceHistogram,
+                new AccommodationFacets.PetFriendlyCounts(petFriendly, notPetFriendly), guestCapacity, topLocations(spec));
+    }
+
+    private List<AccommodationFacets.LocationCount> topLocations(Specification<Accommodation> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Accommodation> root = query.from(Accommodation.class);
+        Expression<Long> count = cb.count(root);
+        query.multiselect(root.get("location"), count)
+                .where(spec.toPredicate(root, query, cb))
+                .groupBy(root.get("location"))
+                .orderBy(cb.desc(count), cb.asc(root.get("location")));
+        return entityManager.createQuery(query)
+                .setMaxResults(TOP_LOCATIONS)
+                .getResultStream()
+                .map(row -> new AccommodationFacets.LocationCount(row.get(0, String.class), row.get(1, Long.class)))
+                .toList();
+    }
+}
@@ -0,0 +1,88 @@
+package com.SleepUp.SU.accommodation.search;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.utils.benchmark.LatencyRecorder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures suggestion lookups for one to four typed characters over 50k accommodations,
+ * and the cost of applying one accommodation write to the index.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class AccommodationSuggestIndexBenchmark {
+
+    private static final int ACCOMMODATIONS = 50_000;
+    private static final int WARMUP = 20_000;
+    private static final int ITERATIONS = 100_000;
+    private static final int WRITES = 2_000;
+    private static final String[] WORDS = {"casa", "hotel", "hostal", "villa", "apartamento", "loft", "cabana", "suite",
+            "playa", "montana", "sol", "mar", "rio", "lago", "bosque", "centro", "plaza", "jardin", "torre", "puerto"};
+
+    private final Random random = new Random(23);
+    private AccommodationSuggestIndex accommodationSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        AccommodationRepository accommodationRepository = mock(AccommodationRepository.class, withSettings().stubOnly());
+        ReservationRepository reservationRepository = mock(ReservationRepository.class, withSettings().stubOnly());
+
+        List<AccommodationText> texts = new ArrayList<>(ACCOMMODATIONS);
+        List<AccommodationPopularity> popularity = new ArrayList<>(ACCOMMODATIONS);
+        for (long id = 1; id <= ACCOMMODATIONS; id++) {
+            texts.add(new AccommodationText(id, name(id), "Benchmark accommodation", "City " + random.nextInt(2_000)));
+            popularity.add(new AccommodationPopularity(id, (long) random.nextInt(200)));
+        }
+        when(accommodationRepository.findAllTexts()).thenReturn(texts);
+        when(reservationRepository.countReservationsByAccommodation(BookingStatus.CANCELLED)).thenReturn(popularity);
+
+        accommodationSuggestIndex = new AccommodationSuggestIndex(accommodationRepository, reservationRepository, new AppProperties());
+        accommodationSuggestIndex.rebuildAll();
+    }
+
+    @Test
+    void suggest_50kAccommodations_shouldAnswerInUnderAMillisecond() {
+        for (int i = 0; i < WARMUP; i++) {
+            accommodationSuggestIndex.suggest(prefix(), 10);
+        }
+
+        LatencyRecorder lookups = new LatencyRecorder("suggest lookup", ITERATIONS);
+        for (int i = 0; i < ITERATIONS; i++) {
+            String prefix = prefix();
+            lookups.record(() -> accommodationSuggestIndex.suggest(prefix, 10));
+        }
+
+        LatencyRecorder writes = new LatencyRecorder("suggest write", WRITES);
+        for (int i = 0; i < WRITES; i++) {
+            long id = 1 + random.nextInt(ACCOMMODATIONS);
+            Accommodation accommodation = Accommodation.builder().id(id).name(name(id)).location("City " + random.nextInt(2_000)).build();
+            writes.record(() -> accommodationSuggestIndex.onSaved(accommodation));
+        }
+
+        System.out.println(lookups.summary());
+        System.out.println(writes.summary());
+        assertTrue(lookups.percentileNanos(99) < 1_000_000);
+    }
+
+    private String name(long id) {
+        return WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+    }
+
+    private String prefix() {
+        String word = WORDS[random.nextInt(WORDS.length)];
+        return word.substring(0, 1 + random.nextInt(Math.min(4, word.length())));
+    }
+}
@@ -0,0 +1,223 @@
+package com.SleepUp.SU.accommodation.search;
+
+import com.SleepUp.SU.accommodation.dto.AccommodationSuggestion;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static com.SleepUp.SU.accommodation.dto.AccommodationSuggestion.Type.LOCATION;
+import static com.SleepUp.SU.accommodation.dto.AccommodationSuggestion.Type.NAME;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccommodationSuggestIndexTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private AccommodationSuggestIndex accommodationSuggestIndex;
+
+    @BeforeEach
+    void setUp() {
+        accommodationSuggestIndex = new AccommodationSuggestIndex(accommodationRepository, reservationRepository, new AppProperties());
+    }
+
+    private void rebuildWith(List<AccommodationPopularity> popularity, AccommodationText... texts) {
+        when(reservationRepository.countReservationsByAccommodation(BookingStatus.CANCELLED)).thenReturn(popularity);
+        when(accommodationRepository.findAllTexts()).thenReturn(List.of(texts));
+        accommodationSuggestIndex.rebuildAll();
+    }
+
+    private static AccommodationText text(Long id, String name, String location) {
+        return new AccommodationText(id, name, "Description", location);
+    }
+
+    private static Accommodation accommodation(Long id, String name, String location) {
+        return Accommodation.builder().id(id).name(name).location(location).build();
+    }
+
+    private List<String> suggest(String query) {
+        return accommodationSuggestIndex.suggest(query, 10).stream().map(AccommodationSuggestion::text).toList();
+    }
+
+    @Nested
+    class Suggest {
+
+        @Test
+        void suggest_beforeRebuildOrBlank_shouldReturnEmpty() {
+            assertEquals(List.of(), accommodationSuggestIndex.suggest("ho", 10));
+
+            rebuildWith(List.of(), text(1L, "Hotel ABC", "Madrid"));
+
+            assertEquals(List.of(), accommodationSuggestIndex.suggest("  ", 10));
+        }
+
+        @Test
+        void suggest_prefixOfAnyWord_shouldMatchIgnoringCase() {
+            rebuildWith(List.of(),
+                    text(1L, "Sunny Beach House", "Valencia"),
+                    text(2L, "Hotel ABC", "Madrid"));
+
+            assertEquals(List.of("Sunny Beach House"), suggest("BEA"));
+            assertEquals(List.of("Sunny Beach House"), suggest("sunny  be"));
+            assertEquals(List.of("Madrid"), suggest("mad"));
+            assertEquals(List.of(), suggest("each"));
+        }
+
+        @Test
+        void suggest_shouldRankByReservationsThenText() {
+            rebuildWith(List.of(new AccommodationPopularity(2L, 5L), new AccommodationPopularity(3L, 1L)),
+                    text(1L, "Hotel Alfa", "Madrid"),
+                    text(2L, "Hotel Beta", "Madrid"),
+                    text(3L, "Hostal Gamma", "Huelva"));
+
+            assertEquals(List.of("Hotel Beta", "Hostal Gamma", "Huelva", "Hotel Alfa"), suggest("h"));
+        }
+
+        @Test
+        void suggest_location_shouldAppearOnceAndSumPopularity() {
+            rebuildWith(List.of(new AccommodationPopularity(1L, 2L), new AccommodationPopularity(2L, 2L), new AccommodationPopularity(3L, 3L)),
+                    text(1L, "Casa Uno", "Sevilla"),
+                    text(2L, "Casa Dos", "sevilla"),
+                    text(3L, "Casa Tres", "Segovia"));
+
+            List<AccommodationSuggestion> suggestions = accommodationSuggestIndex.suggest("se", 10);
+
+            assertEquals(List.of("Sevilla", "Segovia"), suggestions.stream().map(AccommodationSuggestion::text).toList());
+            assertTrue(suggestions.stream().allMatch(suggestion -> suggestion.type() == LOCATION && suggestion.accommodationId() == null));
+        }
+
+        @Test
+        void suggest_limit_shouldBeCappedByConfiguredMaximum() {
+            AccommodationText[] texts = new AccommodationText[15];
+            for (int i = 0; i < texts.length; i++) {
+                texts[i] = text((long) i, "Hotel " + i, "City " + i);
+            }
+            rebuildWith(List.of(), texts);
+
+            assertEquals(3, accommodationSuggestIndex.suggest("hotel", 3).size());
+            assertEquals(10, accommodationSuggestIndex.suggest("hotel", 50).size());
+        }
+    }
+
+    @Nested
+    class IncrementalUpdates {
+
+        @Test
+        void onSaved_newAccommodation_shouldBeSuggested() {
+            rebuildWith(List.of());
+
+            accommodationSuggestIndex.onSaved(accommodation(5L, "Lake Lodge", "Oviedo"));
+
+            assertEquals(List.of(new AccommodationSuggestion("Lake Lodge", NAME, 5L)), accommodationSuggestIndex.suggest("lod", 10));
+            assertEquals(List.of("Oviedo"), suggest("ov"));
+        }
+
+        @Test
+        void onSaved_renamed_shouldDropOldNameAndKeepPopularity() {
+            rebuildWith(List.of(new AccommodationPopularity(1L, 4L)),
+                    text(1L, "Hotel ABC", "Madrid"),
+                    text(2L, "Beach Bar", "Valencia"));
+
+            accommodationSuggestIndex.onSaved(accommodation(1L, "Beach House", "Madrid"));
+
+            assertEquals(List.of(), suggest("hotel"));
+            assertEquals(List.of("Beach House", "Beach Bar"), suggest("beach"));
+        }
+
+        @Test
+        void onDeleted_lastAtLocation_shouldDropLocation() {
+            rebuildWith(List.of(),
+                    text(1L, "Hotel ABC", "Madrid"),
+                    text(2L, "Hostal Sol", "Madrid"));
+
+            accommodationSuggestIndex.onDeleted(1L);
+            assertEquals(List.of("Madrid"), suggest("mad"));
+
+            accommodationSuggestIndex.onDeleted(2L);
+            assertEquals(List.of(), suggest("mad"));
+            assertEquals(List.of(), suggest("h"));
+        }
+
+        @Test
+        void rebuildAll_writeWhileLoading_shouldBeKept() {
+            when(reservationRepository.countReservationsByAccommodation(BookingStatus.CANCELLED)).thenReturn(List.of());
+            when(accommodationRepository.findAllTexts()).thenAnswer(invocation -> {
+                accommodationSuggestIndex.onSaved(accommodation(2L, "Beach House", "Valencia"));
+                return List.of(text(1L, "Hotel ABC", "Madrid"));
+            });
+
+            accommodationSuggestIndex.rebuildAll();
+
+            assertEquals(List.of("Beach House"), suggest("beach"));
+            assertEquals(List.of("Hotel ABC"), suggest("hotel"));
+        }
+
+        @Test
+        void randomWrites_shouldMatchBruteForceRanking() {
+            Random random = new Random(17);
+            String[] words = {"sol", "sal", "mar", "casa", "cabo", "monte", "mira", "playa"};
+            rebuildWith(List.of());
+            Map<Long, String[]> expected = new HashMap<>();
+
+            for (int step = 0; step < 400; step++) {
+                long id = random.nextInt(40);
+                if (random.nextInt(4) == 0) {
+                    accommodationSuggestIndex.onDeleted(id);
+                    expected.remove(id);
+                } else {
+                    String name = words[random.nextInt(words.length)] + " " + words[random.nextInt(words.length)] + " " + id;
+                    String location = "Villa " + words[random.nextInt(words.length)];
+                    accommodationSuggestIndex.onSaved(accommodation(id, name, location));
+                    expected.put(id, new String[]{name, location});
+                }
+
+                String prefix = words[random.nextInt(words.length)].substring(0, 1 + random.nextInt(2));
+                assertEquals(bruteForce(expected, prefix), suggest(prefix), "prefix " + prefix + " at step " + step);
+            }
+        }
+    }
+
+    private static List<String> bruteForce(Map<Long, String[]> accommodations, String prefix) {
+        List<String> matches = new ArrayList<>();
+        Map<String, String> locations = new HashMap<>();
+        accommodations.values().forEach(values -> {
+            if (hasWordStartingWith(values[0], prefix)) {
+                matches.add(values[0]);
+            }
+            if (hasWordStartingWith(values[1], prefix)) {
+                locations.putIfAbsent(values[1].toLowerCase(), values[1]);
+            }
+        });
+        matches.addAll(locations.values());
+        return matches.stream().sorted(Comparator.naturalOrder()).limit(10).toList();
+    }
+
+    private static boolean hasWordStartingWith(String value, String prefix) {
+        for (String word : value.toLowerCase().split(" ")) {
+            if (word.startsWith(prefix)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
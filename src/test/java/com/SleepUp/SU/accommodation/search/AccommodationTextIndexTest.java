@@ -0,0 +1,174 @@
+package com.SleepUp.SU.accommodation.search;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class AccommodationTextIndexTest {
+
+    @Mock
+    private AccommodationRepository accommodationRepository;
+
+    private AccommodationTextIndex accommodationTextIndex;
+
+    @BeforeEach
+    void setUp() {
+        accommodationTextIndex = new AccommodationTextIndex(accommodationRepository);
+    }
+
+    private void rebuildWith(AccommodationText... texts) {
+        when(accommodationRepository.findAllTexts()).thenReturn(List.of(texts));
+        accommodationTextIndex.rebuildAll();
+    }
+
+    private static Accommodation accommodation(Long id, String name, String description, String location) {
+        return Accommodation.builder().id(id).name(name).description(description).location(location).build();
+    }
+
+    @Nested
+    class Search {
+
+        @Test
+        void search_beforeRebuild_shouldReturnEmpty() {
+            assertEquals(Optional.empty(), accommodationTextIndex.search("hotel", null, null));
+        }
+
+        @Test
+        void search_noTerms_shouldReturnEmpty() {
+            rebuildWith(new AccommodationText(1L, "Hotel ABC", "Nice place", "Madrid"));
+
+            assertEquals(Optional.empty(), accommodationTextIndex.search(null, null, null));
+        }
+
+        @Test
+        void search_substringIgnoringCase_shouldMatch() {
+            rebuildWith(
+                    new AccommodationText(1L, "Hotel ABC", "Nice place", "Madrid"),
+                    new AccommodationText(2L, "Beach House", "Sea view", "Valencia"),
+                    new AccommodationText(3L, "Mountain Hotel", "Quiet", "Madrid Norte"));
+
+            assertEquals(Optional.of(Set.of(1L, 3L)), accommodationTextIndex.search("OTEL", null, null));
+            assertEquals(Optional.of(Set.of(3L)), accommodationTextIndex.search("hotel", null, "norte"));
+            assertEquals(Optional.of(Set.of(2L)), accommodationTextIndex.search(null, "a vie", null));
+        }
+
+        @Test
+        void search_termsShorterThanGram_shouldMatchAgainstValues() {
+            rebuildWith(
+                    new AccommodationText(1L, "Hotel ABC", "Nice place", "Madrid"),
+                    new AccommodationText(2L, "Beach House", "Sea view", "Valencia"));
+
+            assertEquals(Optional.of(Set.of(1L)), accommodationTextIndex.search("ab", null, null));
+            assertEquals(Optional.of(Set.of(1L, 2L)), accommodationTextIndex.search(null, "e", null));
+        }
+
+        @Test
+        void search_gramsPresentButNotContiguous_shouldNotMatch() {
+            rebuildWith(new AccommodationText(1L, "abcxbcd", "Nice place", "Madrid"));
+
+            assertEquals(Optional.of(Set.of()), accommodationTextIndex.search("abcd", null, null));
+        }
+
+        @Test
+        void search_randomTerms_shouldMatchContains() {
+            Random random = new Random(11);
+            String alphabet = "abc ";
+            List<AccommodationText> texts = new ArrayList<>();
+            for (long id = 1; id <= 200; id++) {
+                texts.add(new AccommodationText(id, randomString(random, alphabet, 12), "d", "l"));
+            }
+            rebuildWith(texts.toArray(AccommodationText[]::new));
+
+            for (int i = 0; i < 300; i++) {
+                String term = randomString(random, alphabet, 1 + random.nextInt(5));
+                Set<Long> expected = texts.stream()
+                        .filter(text -> text.name().toLowerCase(Locale.ROOT).contains(term))
+                        .map(AccommodationText::accommodationId)
+                        .collect(Collectors.toSet());
+                assertEquals(Optional.of(expected), accommodationTextIndex.search(term, null, null), term);
+            }
+        }
+    }
+
+    @Nested
+    class IncrementalUpdates {
+
+        @Test
+        void onSaved_newAccommodation_shouldBeSearchable() {
+            rebuildWith();
+
+            accommodationTextIndex.onSaved(accommodation(5L, "Lake Lodge", "Cozy", "Oviedo"));
+
+            assertEquals(Optional.of(Set.of(5L)), accommodationTextIndex.search("lodge", "cozy", "ovi"));
+        }
+
+        @Test
+        void onSaved_renamed_shouldDropStaleGrams() {
+            rebuildWith(new AccommodationText(1L, "Hotel ABC", "Nice place", "Madrid"));
+
+            accommodationTextIndex.onSaved(accommodation(1L, "Beach House", "Nice place", "Madrid"));
+
+            assertEquals(Optional.of(Set.of()), accommodationTextIndex.search("hotel", null, null));
+            assertEquals(Optional.of(Set.of(1L)), accommodationTextIndex.search("beach", null, null));
+        }
+
+        @Test
+        void onDeleted_shouldNoLongerMatch() {
+            rebuildWith(new AccommodationText(1L, "Hotel ABC", "Nice place", "Madrid"));
+
+            accommodationTextIndex.onDeleted(1L);
+
+            assertEquals(Optional.of(Set.of()), accommodationTextIndex.search("hotel", null, null));
+        }
+
+        @Test
+        void rebuildAll_writeWhileLoading_shouldBeKept() {
+            when(accommodationRepository.findAllTexts()).thenAnswer(invocation -> {
+                accommodationTextIndex.onSaved(accommodation(2L, "Beach House", "Sea view", "Valencia"));
+                return List.of(new AccommodationText(1L, "Hotel ABC", "Nice place", "Madrid"));
+            });
+
+            accommodationTextIndex.rebuildAll();
+
+            assertEquals(Optional.of(Set.of(2L)), accommodationTextIndex.search("beach", null, null));
+            assertEquals(Optional.of(Set.of(1L)), accommodationTextIndex.search("hotel", null, null));
+        }
+
+        @Test
+        void rebuildAll_readFails_shouldKeepPreviousIndex() {
+            rebuildWith(new AccommodationText(1L, "Hotel ABC", "Nice place", "Madrid"));
+            when(accommodationRepository.findAllTexts()).thenThrow(new IllegalStateException("connection lost"));
+
+            assertThrows(IllegalStateException.class, () -> accommodationTextIndex.rebuildAll());
+            accommodationTextIndex.onSaved(accommodation(2L, "Beach House", "Sea view", "Valencia"));
+
+            assertEquals(Optional.of(Set.of(1L)), accommodationTextIndex.search("hotel", null, null));
+            assertEquals(Optional.of(Set.of(2L)), accommodationTextIndex.search("beach", null, null));
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
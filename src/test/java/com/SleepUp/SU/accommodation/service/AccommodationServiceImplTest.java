@@ -3,14 +3,25 @@ package com.SleepUp.SU.accommodation.service;
 import com.SleepUp.SU.accommodation.dto.AccommodationRequest;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseDetail;
 import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.catalog.AccommodationCatalog;
+import com.SleepUp.SU.accommodation.catalog.CatalogEntry;
+import com.SleepUp.SU.accommodation.catalog.CatalogSnapshot;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.exceptions.AccommodationAlreadyExistsByNameException;
 import com.SleepUp.SU.accommodation.exceptions.AccommodationNotFoundByIdException;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.accommodation.filter.AccommodationFilterFields;
+import com.SleepUp.SU.accommodation.filter.FilterResultCache;
+import com.SleepUp.SU.accommodation.search.AccommodationSuggestIndex;
+import com.SleepUp.SU.accommodation.search.AccommodationTextIndex;
+import com.SleepUp.SU.accommodation.sort.AccommodationSortKey;
 import com.SleepUp.SU.accommodation.dto.AccommodationMapper;
 import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.exceptions.InvalidCursorException;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.user.entity.User;
 import com.SleepUp.SU.utils.EntityUtil;
+import com.SleepUp.SU.utils.dto.CursorPage;
 import com.SleepUp.SU.accommodation.testUtil.AccommodationTestData;
 
 import org.junit.jupiter.api.BeforeEach;
@@ -19,8 +30,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static com.SleepUp.SU.accommodation.testUtil.AccommodationTestData.defaultAccommodationRequestBuilder;
 import static com.SleepUp.SU.accommodation.testUtil.AccommodationTestData.defaultUpdateRequestBuilder;
@@ -43,6 +60,21 @@ class AccommodationServiceImplTest {
     @Mock
     private EntityUtil entityUtil;
 
+    @Mock
+    private AccommodationTextIndex accommodationTextIndex;
+
+    @Mock
+    private AccommodationSuggestIndex accommodationSuggestIndex;
+
+    @Mock
+    private AccommodationCatalog accommodationCatalog;
+
+    @Mock
+    private FilterResultCache filterResultCache;
+
+    @Mock
+    private LoyaltyStayTracker loyaltyStayTracker;
+
     @InjectMocks
     private AccommodationServiceImpl accommodationService;
 
@@ -60,31 +92,108 @@ class AccommodationServiceImplTest {
     }
 
     @Nested
-    class GetAllAccommodationsTests {
+    class StreamAllAccommodationsTests {
         @Test
-        void getAllAccommodations_noEntities_shouldReturnEmptyList() {
-            when(accommodationRepository.findAll()).thenReturn(List.of());
+        void streamAllAccommodations_noEntities_shouldEmitNothing() {
+            when(accommodationRepository.streamAllSummaries()).thenReturn(Stream.empty());
 
-            List<AccommodationResponseSummary> result = accommodationService.getAllAccommodations();
+            List<AccommodationResponseSummary> emitted = new ArrayList<>();
+            accommodationService.streamAllAccommodations(emitted::add);
 
-            assertThat(result).isEmpty();
-            verify(accommodationRepository).findAll();
+            assertThat(emitted).isEmpty();
             verifyNoInteractions(accommodationMapper);
         }
 
         @Test
-        void getAllAccommodations_someEntities_shouldReturnMappedList() {
-            when(accommodationRepository.findAll()).thenReturn(List.of(accommodation));
-            when(accommodationMapper.toSummary(accommodation)).thenReturn(
+        void streamAllAccommodations_someAccommodations_shouldEmitEachSummaryAndCloseStream() {
+            AtomicBoolean closed = new AtomicBoolean();
+            when(accommodationRepository.streamAllSummaries()).thenReturn(Stream.of(
                     AccommodationTestData.defaultAccommodationResponseSummaryBuilder()
-            );
+            ).onClose(() -> closed.set(true)));
+
+            List<AccommodationResponseSummary> emitted = new ArrayList<>();
+            accommodationService.streamAllAccommodations(emitted::add);
 
-            List<AccommodationResponseSummary> result = accommodationService.getAllAccommodations();
+            assertThat(emitted).hasSize(1);
+            assertThat(emitted.getFirst().name()).isEqualTo(accommodation.getName());
+            assertThat(closed).isTrue();
+            verifyNoInteractions(accommodationMapper);
+        }
+    }
+
+    @Nested
+    class GetAccommodationsPageTests {
+
+        private AccommodationResponseSummary summary(long id, double price) {
+            return AccommodationResponseSummary.builder().id(id).name("Stay " + id).price(price).build();
+        }
+
+        @Test
+        void getAccommodationsPage_catalogBuilt_shouldAnswerWithoutQuery() {
+            CatalogSnapshot snapshot = CatalogSnapshot.of(List.of(
+                    new CatalogEntry(2L, "Stay 2", 90.0, 2, true, "City", null, LocalDate.of(2025, 1, 1), LocalDate.of(2030, 1, 1)),
+                    new CatalogEntry(1L, "Stay 1", 120.0, 2, false, "City", null, LocalDate.of(2025, 1, 1), LocalDate.of(2030, 1, 1))));
+            when(accommodationCatalog.snapshot()).thenReturn(Optional.of(snapshot));
+
+            CursorPage<AccommodationResponseSummary> page = accommodationService.getAccommodationsPage(AccommodationSortKey.PRICE, null, 1);
+
+            assertThat(page.items()).extracting(AccommodationResponseSummary::id).containsExactly(2L);
+            assertThat(AccommodationSortKey.PRICE.decode(page.nextCursor()).id()).isEqualTo(2L);
+            verifyNoInteractions(accommodationRepository);
+        }
+
+        @Test
+        void getAccommodationsPage_firstPageWithMoreRows_shouldTrimAndReturnCursor() {
+            when(accommodationRepository.findSummaryPageById(0L, Limit.of(3)))
+                    .thenReturn(List.of(summary(1L, 50.0), summary(2L, 60.0), summary(3L, 70.0)));
+
+            CursorPage<AccommodationResponseSummary> page = accommodationService.getAccommodationsPage(AccommodationSortKey.ID, null, 2);
+
+            assertThat(page.items()).extracting(AccommodationResponseSummary::id).containsExactly(1L, 2L);
+            assertThat(AccommodationSortKey.ID.decode(page.nextCursor()).id()).isEqualTo(2L);
+        }
+
+        @Test
+        void getAccommodationsPage_lastPage_shouldReturnNoCursor() {
+            when(accommodationRepository.findSummaryPageById(0L, Limit.of(3))).thenReturn(List.of(summary(1L, 50.0)));
+
+            CursorPage<AccommodationResponseSummary> page = accommodationService.getAccommodationsPage(AccommodationSortKey.ID, null, 2);
+
+            assertThat(page.items()).hasSize(1);
+            assertThat(page.nextCursor()).isNull();
+        }
+
+        @Test
+        void getAccommodationsPage_priceCursor_shouldSeekPastPriceAndId() {
+            String cursor = AccommodationSortKey.PRICE.positionOf(4L, 80.0).encode();
+            when(accommodationRepository.findSummaryPageByPrice(80.0, 4L, Limit.of(2)))
+                    .thenReturn(List.of(summary(9L, 80.0), summary(5L, 95.0)));
+
+            CursorPage<AccommodationResponseSummary> page = accommodationService.getAccommodationsPage(AccommodationSortKey.PRICE, cursor, 1);
+
+            assertThat(page.items()).extracting(AccommodationResponseSummary::id).containsExactly(9L);
+            assertThat(AccommodationSortKey.priceOf(AccommodationSortKey.PRICE.decode(page.nextCursor()))).isEqualTo(80.0);
+        }
+
+        @Test
+        void getAccommodationsPage_availableFromWithMoreRows_shouldLookUpCursorValue() {
+            when(accommodationRepository.findSummaryPageByAvailableFrom(LocalDate.of(1000, 1, 1), 0L, Limit.of(2)))
+                    .thenReturn(List.of(summary(3L, 50.0), summary(1L, 60.0)));
+            when(accommodationRepository.findAvailableFromById(3L)).thenReturn(Optional.of(LocalDate.of(2026, 5, 1)));
+
+            CursorPage<AccommodationResponseSummary> page = accommodationService.getAccommodationsPage(AccommodationSortKey.AVAILABLE_FROM, null, 1);
+
+            assertThat(AccommodationSortKey.availableFromOf(AccommodationSortKey.AVAILABLE_FROM.decode(page.nextCursor())))
+                    .isEqualTo(LocalDate.of(2026, 5, 1));
+        }
+
+        @Test
+        void getAccommodationsPage_cursorOfOtherSortKey_shouldThrowInvalidCursor() {
+            String cursor = AccommodationSortKey.ID.positionOf(4L, null).encode();
 
-            assertThat(result).hasSize(1);
-            assertThat(result.getFirst().name()).isEqualTo(accommodation.getName());
-            verify(accommodationRepository).findAll();
-            verify(accommodationMapper).toSummary(accommodation);
+            assertThatThrownBy(() -> accommodationService.getAccommodationsPage(AccommodationSortKey.PRICE, cursor, 10))
+                    .isInstanceOf(InvalidCursorException.class);
+            verifyNoInteractions(accommodationRepository);
         }
     }
 
@@ -132,6 +241,10 @@ class AccommodationServiceImplTest {
             verify(accommodationMapper).toEntity(accommodationRequest, user);
             verify(accommodationServiceHelper).postImageCloudinary(accommodationRequest, accommodation);
             verify(accommodationRepository).save(accommodation);
+            verify(accommodationTextIndex).onSaved(accommodation);
+            verify(accommodationSuggestIndex).onSaved(accommodation);
+            verify(accommodationCatalog).onSaved(accommodation);
+            verify(filterResultCache).onAccommodationChanged(null, AccommodationFilterFields.of(accommodation));
             verify(accommodationMapper).toDetail(accommodation);
 
             assertThat(result).isEqualTo(accommodationResponseDetail);
@@ -148,6 +261,7 @@ class AccommodationServiceImplTest {
             verify(accommodationServiceHelper).validateAccommodationNameDoesNotExist(accommodationRequest.name());
             verify(accommodationMapper, never()).toEntity(any(), any());
             verify(accommodationRepository, never()).save(any());
+            verifyNoInteractions(accommodationTextIndex, accommodationSuggestIndex, accommodationCatalog, filterResultCache);
         }
     }
 
@@ -156,6 +270,7 @@ class AccommodationServiceImplTest {
         @Test
         void updateAccommodation_nameChanged_shouldValidateAndUpdate() {
             AccommodationRequest updatedRequest = defaultUpdateRequestBuilder();
+            AccommodationFilterFields before = AccommodationFilterFields.of(accommodation);
 
             when(accommodationServiceHelper.getAccommodationEntityById(1L)).thenReturn(accommodation);
             doNothing().when(accommodationServiceHelper).validateAccommodationNameDoesNotExist(updatedRequest.name());
@@ -177,6 +292,10 @@ class AccommodationServiceImplTest {
             verify(entityUtil).updateField(eq(updatedRequest.availableFrom()), any(), any());
             verify(entityUtil).updateField(eq(updatedRequest.availableTo()), any(), any());
             verify(accommodationServiceHelper).cloudinaryManagement(updatedRequest, accommodation);
+            verify(accommodationTextIndex).onSaved(accommodation);
+            verify(accommodationSuggestIndex).onSaved(accommodation);
+            verify(accommodationCatalog).onSaved(accommodation);
+            verify(filterResultCache).onAccommodationChanged(eq(before), any(AccommodationFilterFields.class));
             verify(accommodationMapper).toDetail(accommodation);
 
             assertThat(result).isEqualTo(accommodationResponseDetail);
@@ -205,6 +324,9 @@ class AccommodationServiceImplTest {
             verify(entityUtil).updateField(eq(updatedRequest.availableFrom()), any(), any());
             verify(entityUtil).updateField(eq(updatedRequest.availableTo()), any(), any());
             verify(accommodationServiceHelper).cloudinaryManagement(updatedRequest, accommodation);
+            verify(accommodationTextIndex).onSaved(accommodation);
+            verify(accommodationSuggestIndex).onSaved(accommodation);
+            verify(accommodationCatalog).onSaved(accommodation);
             verify(accommodationMapper).toDetail(accommodation);
 
             assertThat(result).isEqualTo(accommodationResponseDetail);
@@ -241,6 +363,11 @@ class AccommodationServiceImplTest {
             verify(accommodationServiceHelper).getAccommodationEntityById(1L);
             verify(accommodationServiceHelper).deleteImageCloudinary(accommodation.getImageUrl());
             verify(accommodationRepository).delete(accommodation);
+            verify(loyaltyStayTracker).deleteForAccommodation(1L);
+            verify(accommodationTextIndex).onDeleted(1L);
+            verify(accommodationSuggestIndex).onDeleted(1L);
+            verify(accommodationCatalog).onDeleted(1L);
+            verify(filterResultCache).onAccommodationChanged(AccommodationFilterFields.of(accommodation), null);
         }
 
         @Test
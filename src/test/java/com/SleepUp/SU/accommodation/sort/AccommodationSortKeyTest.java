@@ -0,0 +1,56 @@
+package com.SleepUp.SU.accommodation.sort;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.exceptions.InvalidCursorException;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AccommodationSortKeyTest {
+
+    private final Accommodation accommodation = Accommodation.builder()
+            .id(7L)
+            .price(120.5)
+            .availableFrom(LocalDate.of(2026, 3, 1))
+            .build();
+
+    @Test
+    void decode_cursorOfSameSortKey_shouldRoundTripValueAndId() {
+        KeysetCursor price = AccommodationSortKey.PRICE.decode(AccommodationSortKey.PRICE.positionOf(accommodation).encode());
+        KeysetCursor availableFrom = AccommodationSortKey.AVAILABLE_FROM.decode(
+                AccommodationSortKey.AVAILABLE_FROM.positionOf(accommodation).encode());
+        KeysetCursor id = AccommodationSortKey.ID.decode(AccommodationSortKey.ID.positionOf(accommodation).encode());
+
+        assertEquals(120.5, AccommodationSortKey.priceOf(price));
+        assertEquals(7L, price.id());
+        assertEquals(LocalDate.of(2026, 3, 1), AccommodationSortKey.availableFromOf(availableFrom));
+        assertEquals(7L, id.id());
+    }
+
+    @Test
+    void decode_cursorOfOtherSortKey_shouldThrow() {
+        String priceCursor = AccommodationSortKey.PRICE.positionOf(accommodation).encode();
+
+        assertThrows(InvalidCursorException.class, () -> AccommodationSortKey.AVAILABLE_FROM.decode(priceCursor));
+        assertThrows(InvalidCursorException.class, () -> AccommodationSortKey.ID.decode(priceCursor));
+    }
+
+    @Test
+    void decode_malformedValue_shouldThrow() {
+        String cursor = new KeysetCursor("PRICE:cheap", 3L).encode();
+
+        assertThrows(InvalidCursorException.class, () -> AccommodationSortKey.PRICE.decode(cursor));
+        assertThrows(InvalidCursorException.class, () -> AccommodationSortKey.PRICE.decode("not a cursor"));
+    }
+
+    @Test
+    void sort_shouldBreakTiesById() {
+        assertEquals(Sort.by("price").and(Sort.by("id")), AccommodationSortKey.PRICE.sort());
+        assertEquals(Sort.by("availableFrom").and(Sort.by("id")), AccommodationSortKey.AVAILABLE_FROM.sort());
+        assertEquals(Sort.by("id"), AccommodationSortKey.ID.sort());
+    }
+}
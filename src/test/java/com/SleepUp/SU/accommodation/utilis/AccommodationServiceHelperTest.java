@@ -7,6 +7,7 @@ import com.SleepUp.SU.accommodation.exceptions.AccommodationNotFoundByIdExceptio
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
 import com.SleepUp.SU.cloudinary.CloudinaryService;
+import com.SleepUp.SU.user.entity.User;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
@@ -57,7 +58,7 @@ class AccommodationServiceHelperTest {
     void getAccommodationEntityById_found_shouldReturnAccommodation() {
         Accommodation accommodation = new Accommodation();
         accommodation.setId(1L);
-        when(accommodationRepository.findById(1L)).thenReturn(Optional.of(accommodation));
+        when(accommodationRepository.findWithOwnerById(1L)).thenReturn(Optional.of(accommodation));
 
         Accommodation result = helper.getAccommodationEntityById(1L);
         assertEquals(accommodation, result);
@@ -65,11 +66,30 @@ class AccommodationServiceHelperTest {
 
     @Test
     void getAccommodationEntityById_notFound_shouldThrowException() {
-        when(accommodationRepository.findById(99L)).thenReturn(Optional.empty());
+        when(accommodationRepository.findWithOwnerById(99L)).thenReturn(Optional.empty());
 
         assertThrows(AccommodationNotFoundByIdException.class, () -> helper.getAccommodationEntityById(99L));
     }
 
+    @Test
+    void lockAccommodationEntityById_found_shouldReturnLockedAccommodationWithOwner() {
+        User owner = User.builder().id(2L).name("Owner").build();
+        Accommodation accommodation = Accommodation.builder().id(1L).managedBy(owner).build();
+        when(accommodationRepository.findByIdForUpdate(1L)).thenReturn(Optional.of(accommodation));
+
+        Accommodation result = helper.lockAccommodationEntityById(1L);
+
+        assertEquals(accommodation, result);
+        assertEquals("Owner", result.getManagedBy().getName());
+    }
+
+    @Test
+    void lockAccommodationEntityById_notFound_shouldThrowException() {
+        when(accommodationRepository.findByIdForUpdate(99L)).thenReturn(Optional.empty());
+
+        assertThrows(AccommodationNotFoundByIdException.class, () -> helper.lockAccommodationEntityById(99L));
+    }
+
     @Test
     void cloudinaryManagement_withImage_shouldDeleteAndPostImage() throws IOException {
         AccommodationRequest request = mock(AccommodationRequest.class);
@@ -23,10 +23,13 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import static org.hamcrest.Matchers.hasLength;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.Mockito.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -42,6 +45,7 @@ public class AuthControllerTest {
     private static final String LOGIN_PATH = "/auth/login";
     private static final String REFRESH_PATH = "/auth/refresh";
     private static final String LOGOUT_PATH = "/auth/logout";
+    private static final String LOGOUT_ALL_PATH = "/auth/logout-all";
 
     @Autowired
     private MockMvc mockMvc;
@@ -130,8 +134,8 @@ public class AuthControllerTest {
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(request)))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.token", hasLength(220)))
-                    .andExpect(jsonPath("$.refreshToken", hasLength(220)));
+                    .andExpect(jsonPath("$.token", hasLength(231)))
+                    .andExpect(jsonPath("$.refreshToken", hasLength(231)));
         }
     }
 
@@ -158,8 +162,8 @@ public class AuthControllerTest {
                             .contentType(MediaType.APPLICATION_JSON)
                             .content(objectMapper.writeValueAsString(refreshRequest)))
                     .andExpect(status().isOk())
-                    .andExpect(jsonPath("$.token", hasLength(220)))
-                    .andExpect(jsonPath("$.refreshToken", hasLength(220)))
+                    .andExpect(jsonPath("$.token", hasLength(231)))
+                    .andExpect(jsonPath("$.refreshToken", hasLength(231)))
                     .andExpect(jsonPath("$.token", org.hamcrest.Matchers.not(oldToken)))
                     .andExpect(jsonPath("$.refreshToken", org.hamcrest.Matchers.not(oldRefreshToken)));
 
@@ -201,5 +205,59 @@ public class AuthControllerTest {
                     .andExpect(jsonPath("$.message").value("Logout successful"));
         }
 
+        @Test
+        void logoutAll_withAuthentication_shouldStartNewTokenGeneration() throws Exception {
+            LoginRequest loginRequest = new LoginRequest(principal.getUsername(), "password123");
+
+            String loginResponse = mockMvc.perform(post(LOGIN_PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString();
+
+            String token = JsonPath.read(loginResponse, "$.token");
+            String refreshToken = JsonPath.read(loginResponse, "$.refreshToken");
+
+            mockMvc.perform(post(LOGOUT_ALL_PATH)
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.message").value("Logged out from all sessions"));
+            runAfterCommitCallbacks();
+
+            assertEquals(principal.getUser().getTokenGeneration() + 1,
+                    userRepository.findById(principal.getId()).orElseThrow().getTokenGeneration());
+
+            mockMvc.perform(post(LOGOUT_PATH)
+                            .header("Authorization", "Bearer " + token)
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isUnauthorized());
+
+            String newToken = JsonPath.read(mockMvc.perform(post(LOGIN_PATH)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(loginRequest)))
+                    .andExpect(status().isOk())
+                    .andReturn()
+                    .getResponse()
+                    .getContentAsString(), "$.token");
+
+            mockMvc.perform(post(REFRESH_PATH)
+                            .header("Authorization", "Bearer " + newToken)
+                            .contentType(MediaType.APPLICATION_JSON)
+                            .content(objectMapper.writeValueAsString(new RefreshRequest(refreshToken))))
+                    .andExpect(status().isInternalServerError())
+                    .andExpect(jsonPath("$.message.error").value("Invalid or expired refresh token"))
+                    .andExpect(jsonPath("$.token").doesNotExist());
+        }
+    }
+
+    /**
+     * The test transaction is rolled back, never committed, so the principal cache is only dropped
+     * once the after-commit work registered by the request is run here.
+     */
+    private static void runAfterCommitCallbacks() {
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
     }
-}
\ No newline at end of file
+}
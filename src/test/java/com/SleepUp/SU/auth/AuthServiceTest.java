@@ -6,6 +6,7 @@ import com.SleepUp.SU.auth.dto.RefreshRequest;
 import com.SleepUp.SU.security.jwt.JwtService;
 import com.SleepUp.SU.user.entity.CustomUserDetails;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.utils.UserServiceHelper;
 import com.SleepUp.SU.user.dto.UserMapper;
@@ -64,6 +65,9 @@ public class AuthServiceTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
     @Nested
     class RegisterNewUserTest {
 
@@ -286,4 +290,20 @@ public class AuthServiceTest {
             verify(tokenBlacklistService, never()).addToBlacklist("invalid-refresh-token");
         }
     }
-}
\ No newline at end of file
+
+    @Nested
+    class LogoutAllTest {
+
+        @Test
+        void logoutAll_authenticatedUser_shouldStartNewTokenGenerationWithoutBlacklisting() {
+            CustomUserDetails customUserDetails = new CustomUserDetails(User.builder().id(7L).username("userTest").build());
+
+            ApiMessageDto response = authService.logoutAll(customUserDetails);
+
+            assertEquals("Logged out from all sessions", response.message());
+            verify(userRepository).incrementTokenGeneration(7L);
+            verify(authenticatedUserCache).invalidate(7L);
+            verifyNoInteractions(tokenBlacklistService);
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.SleepUp.SU.auth;
+
+import com.SleepUp.SU.auth.revocation.InMemoryRevocationStore;
+import com.SleepUp.SU.auth.revocation.LocalRevocationFilter;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.security.jwt.JwtService;
+import com.SleepUp.SU.utils.benchmark.AllocationMeter;
+import com.SleepUp.SU.utils.benchmark.LatencyRecorder;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * Compares the heap held per revoked token by the previous blacklist, a map from full token strings
+ * to expiry, against the in-memory jti digest store and its local Bloom filter at a few million revoked
+ * tokens. The previous layout is measured on fewer real tokens, since millions of them do not fit a
+ * default test heap.
+ * Also compares purging one minute of expiries against scanning the whole previous map.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class TokenBlacklistMemoryBenchmark {
+
+    private static final int PREVIOUS_TOKENS = 250_000;
+    private static final int REVOKED_TOKENS = 3_000_000;
+    private static final int WEEK_MINUTES = 7 * 24 * 60;
+
+    private final Random random = new Random(41);
+
+    @Test
+    void revokedTokens_millionsOfJtis_shouldHoldFarLessPerTokenThanTokenStrings() {
+        JwtService jwtService = new JwtService(appProperties());
+        UserDetails user = User.withUsername("benchmark-user").password("password").roles("USER").build();
+        long now = System.currentTimeMillis();
+
+        ConcurrentHashMap<String, Long> previous = new ConcurrentHashMap<>();
+        long previousBytes = AllocationMeter.retainedBytes(() -> {
+            for (int i = 0; i < PREVIOUS_TOKENS; i++) {
+                previous.put(jwtService.generateRefreshToken(user), now + random.nextInt(WEEK_MINUTES) * 60_000L);
+            }
+            return previous;
+        });
+
+        JwtService stubJwtService = mock(JwtService.class, withSettings().stubOnly());
+        TokenBlacklistService[] service = new TokenBlacklistService[1];
+        long digestBytes = AllocationMeter.retainedBytes(() -> {
+            InMemoryRevocationStore revocationStore = new InMemoryRevocationStore();
+            LocalRevocationFilter localRevocationFilter = new LocalRevocationFilter(revocationStore, appProperties());
+            localRevocationFilter.rebuild();
+            service[0] = new TokenBlacklistService(stubJwtService, revocationStore, localRevocationFilter);
+            for (int i = 0; i < REVOKED_TOKENS; i++) {
+                service[0].revokeJti(UUID.randomUUID().toString(), now + (1 + random.nextInt(WEEK_MINUTES)) * 60_000L);
+            }
+            return service[0];
+        });
+        TokenBlacklistService tokenBlacklistService = service[0];
+        assertEquals(REVOKED_TOKENS, tokenBlacklistService.getBlacklistedTokensCount());
+
+        double previousPerToken = (double) previousBytes / PREVIOUS_TOKENS;
+        double digestPerToken = (double) digestBytes / REVOKED_TOKENS;
+        System.out.printf("full token keys: %s for %d tokens, %.0f B/token%n",
+                AllocationMeter.format(previousBytes), PREVIOUS_TOKENS, previousPerToken);
+        System.out.printf("jti digest table: %s for %d tokens, %.0f B/token%n",
+                AllocationMeter.format(digestBytes), REVOKED_TOKENS, digestPerToken);
+        assertTrue(digestPerToken * 5 < previousPerToken, "the digest table should hold at least 5x less per token");
+
+        LatencyRecorder scans = new LatencyRecorder("previous removeIf scan of " + PREVIOUS_TOKENS, 20);
+        for (int i = 0; i < 20; i++) {
+            long cutoff = now + i * 60_000L;
+            scans.record(() -> previous.entrySet().removeIf(entry -> entry.getValue() < cutoff));
+        }
+        System.out.println(scans.summary());
+
+        InMemoryRevocationStore revocationStore = new InMemoryRevocationStore();
+        for (int i = 0; i < REVOKED_TOKENS; i++) {
+            revocationStore.revoke(random.nextLong(), now + (1 + random.nextInt(WEEK_MINUTES)) * 60_000L);
+        }
+        LatencyRecorder purges = new LatencyRecorder("purge one minute of " + REVOKED_TOKENS, 200);
+        for (int minute = 2; minute <= 201; minute++) {
+            long purgeAt = now + minute * 60_000L;
+            purges.record(() -> revocationStore.purgeExpired(purgeAt));
+        }
+        System.out.println(purges.summary());
+        assertTrue(purges.percentileNanos(50) < scans.percentileNanos(50),
+                "purging one bucket should beat scanning the whole map");
+    }
+
+    private static AppProperties appProperties() {
+        AppProperties.JwtProperties jwtProperties = new AppProperties.JwtProperties();
+        jwtProperties.setSecret("IPMaQEBhefMwnNhzvK9taBqokCl0KGNu+qTRiKsvmGU=");
+        jwtProperties.setExpirationMs(1_800_000L);
+        jwtProperties.setRefreshExpirationMs(604_800_000L);
+        AppProperties appProperties = new AppProperties();
+        appProperties.setJwt(jwtProperties);
+        appProperties.getRevocation().setBloomExpectedTokens(REVOKED_TOKENS);
+        return appProperties;
+    }
+}
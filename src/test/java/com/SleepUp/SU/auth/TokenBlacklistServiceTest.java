@@ -1,6 +1,12 @@
 package com.SleepUp.SU.auth;
 
+import com.SleepUp.SU.auth.revocation.InMemoryRevocationStore;
+import com.SleepUp.SU.auth.revocation.LocalRevocationFilter;
+import com.SleepUp.SU.auth.revocation.RevocationStore;
+import com.SleepUp.SU.config.properties.AppProperties;
 import com.SleepUp.SU.security.jwt.JwtService;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -8,6 +14,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 
 import java.util.Date;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -22,14 +29,16 @@ class TokenBlacklistServiceTest {
 
     @BeforeEach
     void setUp() {
-        tokenBlacklistService = new TokenBlacklistService(jwtService);
+        RevocationStore revocationStore = new InMemoryRevocationStore();
+        LocalRevocationFilter localRevocationFilter = new LocalRevocationFilter(revocationStore, new AppProperties());
+        localRevocationFilter.rebuild();
+        tokenBlacklistService = new TokenBlacklistService(jwtService, revocationStore, localRevocationFilter);
     }
 
     @Test
     void addToBlacklist_validToken_shouldBeInBlacklist() {
         String token = "valid-token";
-        Date expiration = new Date(System.currentTimeMillis() + 10000); 
-        when(jwtService.extractExpiration(token)).thenReturn(expiration);
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims("jti-1", 10000)));
 
         tokenBlacklistService.addToBlacklist(token);
 
@@ -39,34 +48,72 @@ class TokenBlacklistServiceTest {
     @Test
     void addToBlacklist_invalidToken_shouldStillBeInBlacklist() {
         String token = "invalid-token";
-        when(jwtService.extractExpiration(token)).thenThrow(new RuntimeException("Invalid token"));
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.empty());
 
         tokenBlacklistService.addToBlacklist(token);
 
         assertTrue(tokenBlacklistService.isTokenInBlacklist(token));
     }
 
+    @Test
+    void isRevoked_sameJtiInDifferentTokenString_shouldMatchOnJti() {
+        Claims claims = claims("jti-1", 10000);
+        when(jwtService.verifiedClaims("valid-token")).thenReturn(Optional.of(claims));
+
+        tokenBlacklistService.addToBlacklist("valid-token");
+
+        assertTrue(tokenBlacklistService.isRevoked("same-token-reencoded", claims));
+        assertFalse(tokenBlacklistService.isRevoked("valid-token", claims("jti-2", 10000)));
+    }
+
     @Test
     void isTokenInBlacklist_tokenNotInBlacklist_shouldReturnFalse() {
         assertFalse(tokenBlacklistService.isTokenInBlacklist("not-exists-token"));
     }
 
+    @Test
+    void isRevoked_keyNotInLocalFilter_shouldNotQueryStore() {
+        RevocationStore revocationStore = mock(RevocationStore.class);
+        LocalRevocationFilter localRevocationFilter = new LocalRevocationFilter(revocationStore, new AppProperties());
+        localRevocationFilter.rebuild();
+        TokenBlacklistService service = new TokenBlacklistService(jwtService, revocationStore, localRevocationFilter);
+
+        assertFalse(service.isRevoked("valid-token", claims("jti-1", 10000)));
+
+        verify(revocationStore, never()).isRevoked(anyLong(), anyLong());
+    }
+
+    @Test
+    void isRevoked_revokedThroughThisNode_shouldConfirmWithStore() {
+        RevocationStore revocationStore = mock(RevocationStore.class);
+        LocalRevocationFilter localRevocationFilter = new LocalRevocationFilter(revocationStore, new AppProperties());
+        localRevocationFilter.rebuild();
+        TokenBlacklistService service = new TokenBlacklistService(jwtService, revocationStore, localRevocationFilter);
+        Claims claims = claims("jti-1", 10000);
+        when(jwtService.verifiedClaims("valid-token")).thenReturn(Optional.of(claims));
+        when(revocationStore.isRevoked(anyLong(), anyLong())).thenReturn(true);
+
+        service.addToBlacklist("valid-token");
+
+        assertTrue(service.isRevoked("valid-token", claims));
+        verify(revocationStore).revoke(anyLong(), eq(claims.getExpiration().getTime()));
+    }
+
     @Test
     void isTokenInBlacklist_expiredToken_shouldReturnFalseAndRemoveToken() {
         String token = "expired-token";
-        Date expiration = new Date(System.currentTimeMillis() - 1000); 
-        when(jwtService.extractExpiration(token)).thenReturn(expiration);
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims("jti-1", -1000)));
 
         tokenBlacklistService.addToBlacklist(token);
 
         assertFalse(tokenBlacklistService.isTokenInBlacklist(token));
+        assertEquals(0, tokenBlacklistService.getBlacklistedTokensCount());
     }
 
     @Test
     void removeFromBlacklist_existingToken_shouldRemoveToken() {
         String token = "remove-token";
-        Date expiration = new Date(System.currentTimeMillis() + 10000);
-        when(jwtService.extractExpiration(token)).thenReturn(expiration);
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims("jti-1", 10000)));
 
         tokenBlacklistService.addToBlacklist(token);
         assertTrue(tokenBlacklistService.isTokenInBlacklist(token));
@@ -77,36 +124,32 @@ class TokenBlacklistServiceTest {
     }
 
     @Test
-    void removeExpiredTokens_taskExecuted_shouldRemoveExpiredAndKeepActiveTokens() {
-        String expiredToken = "expired-token";
+    void removeExpiredTokens_taskExecuted_shouldKeepActiveTokens() {
         String activeToken = "active-token";
-
-        Date expiredDate = new Date(System.currentTimeMillis() - 1000);
-        Date activeDate = new Date(System.currentTimeMillis() + 10000);
-
-        when(jwtService.extractExpiration(expiredToken)).thenReturn(expiredDate);
-        when(jwtService.extractExpiration(activeToken)).thenReturn(activeDate);
-
-        tokenBlacklistService.addToBlacklist(expiredToken);
+        when(jwtService.verifiedClaims(activeToken)).thenReturn(Optional.of(claims("jti-active", 10 * 60_000)));
         tokenBlacklistService.addToBlacklist(activeToken);
 
         tokenBlacklistService.removeExpiredTokens();
 
-        assertFalse(tokenBlacklistService.isTokenInBlacklist(expiredToken));
+        assertEquals(1, tokenBlacklistService.getBlacklistedTokensCount());
         assertTrue(tokenBlacklistService.isTokenInBlacklist(activeToken));
     }
 
     @Test
     void getBlacklistedTokensCount_multipleActiveTokens_shouldReturnCorrectCount() {
-        String token1 = "token1";
-        String token2 = "token2";
-        Date expiration = new Date(System.currentTimeMillis() + 10000);
-
-        when(jwtService.extractExpiration(anyString())).thenReturn(expiration);
+        when(jwtService.verifiedClaims("token1")).thenReturn(Optional.of(claims("jti-1", 10000)));
+        when(jwtService.verifiedClaims("token2")).thenReturn(Optional.of(claims("jti-2", 10000)));
 
-        tokenBlacklistService.addToBlacklist(token1);
-        tokenBlacklistService.addToBlacklist(token2);
+        tokenBlacklistService.addToBlacklist("token1");
+        tokenBlacklistService.addToBlacklist("token2");
+        tokenBlacklistService.addToBlacklist("token1");
 
         assertEquals(2, tokenBlacklistService.getBlacklistedTokensCount());
     }
-}
\ No newline at end of file
+
+    private static Claims claims(String jti, long expiresInMs) {
+        return Jwts.claims().id(jti).subject("user")
+                .expiration(new Date(System.currentTimeMillis() + expiresInMs))
+                .build();
+    }
+}
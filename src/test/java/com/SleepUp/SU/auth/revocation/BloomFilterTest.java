@@ -0,0 +1,53 @@
+package com.SleepUp.SU.auth.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BloomFilterTest {
+
+    @Test
+    void mightContain_addedKeys_shouldNeverMiss() {
+        BloomFilter filter = new BloomFilter(10_000, 0.01);
+        Random random = new Random(5);
+        long[] keys = new long[10_000];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = random.nextLong();
+            filter.add(keys[i]);
+        }
+
+        for (long key : keys) {
+            assertTrue(filter.mightContain(key));
+        }
+    }
+
+    @Test
+    void mightContain_absentKeysAtExpectedLoad_shouldStayNearTargetRate() {
+        BloomFilter filter = new BloomFilter(50_000, 0.01);
+        Random random = new Random(9);
+        for (int i = 0; i < 50_000; i++) {
+            filter.add(random.nextLong());
+        }
+
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (int i = 0; i < probes; i++) {
+            if (filter.mightContain(random.nextLong())) {
+                falsePositives++;
+            }
+        }
+
+        assertEquals(7, filter.hashCount());
+        assertTrue(falsePositives < probes * 0.02, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void mightContain_emptyFilter_shouldReturnFalse() {
+        BloomFilter filter = new BloomFilter(100, 0.01);
+
+        assertFalse(filter.mightContain(42L));
+        assertFalse(filter.mightContain(0L));
+    }
+}
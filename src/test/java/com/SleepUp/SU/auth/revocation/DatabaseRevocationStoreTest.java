@@ -0,0 +1,79 @@
+package com.SleepUp.SU.auth.revocation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DatabaseRevocationStoreTest {
+
+    @Mock
+    private RevokedTokenRepository revokedTokenRepository;
+
+    @InjectMocks
+    private DatabaseRevocationStore databaseRevocationStore;
+
+    @Test
+    void revoke_newKey_shouldInsertRow() {
+        when(revokedTokenRepository.extendExpiry(1L, 5000L)).thenReturn(0);
+        when(revokedTokenRepository.existsByTokenKey(1L)).thenReturn(false);
+
+        databaseRevocationStore.revoke(1L, 5000L);
+
+        verify(revokedTokenRepository).saveAndFlush(argThat(row -> row.getTokenKey() == 1L && row.getExpiresAt() == 5000L));
+    }
+
+    @Test
+    void revoke_existingKey_shouldNotInsertRow() {
+        when(revokedTokenRepository.extendExpiry(1L, 5000L)).thenReturn(1);
+
+        databaseRevocationStore.revoke(1L, 5000L);
+
+        verify(revokedTokenRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    void revoke_insertedConcurrentlyElsewhere_shouldExtendExistingRow() {
+        when(revokedTokenRepository.extendExpiry(1L, 5000L)).thenReturn(0);
+        when(revokedTokenRepository.existsByTokenKey(1L)).thenReturn(false);
+        when(revokedTokenRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        assertDoesNotThrow(() -> databaseRevocationStore.revoke(1L, 5000L));
+
+        verify(revokedTokenRepository, times(2)).extendExpiry(1L, 5000L);
+    }
+
+    @Test
+    void changesSince_rowsAfterCursor_shouldReadOverlapAndAdvanceToLatestId() {
+        when(revokedTokenRepository.findChangesAfter(eq(5000L - DatabaseRevocationStore.SYNC_OVERLAP), any(Pageable.class)))
+                .thenReturn(List.of(new RevokedTokenChange(4990L, 11L), new RevokedTokenChange(5003L, 12L)));
+
+        RevocationChanges changes = databaseRevocationStore.changesSince(5000L);
+
+        assertArrayEquals(new long[]{11L, 12L}, changes.keys());
+        assertEquals(5003L, changes.cursor());
+    }
+
+    @Test
+    void changesSince_noNewRows_shouldKeepCursor() {
+        when(revokedTokenRepository.findChangesAfter(anyLong(), any(Pageable.class))).thenReturn(List.of());
+
+        RevocationChanges changes = databaseRevocationStore.changesSince(10L);
+
+        assertEquals(0, changes.keys().length);
+        assertEquals(10L, changes.cursor());
+        verify(revokedTokenRepository).findChangesAfter(eq(0L), any(Pageable.class));
+    }
+}
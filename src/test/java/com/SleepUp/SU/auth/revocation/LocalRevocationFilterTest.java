@@ -0,0 +1,88 @@
+package com.SleepUp.SU.auth.revocation;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.function.LongConsumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalRevocationFilterTest {
+
+    @Mock
+    private RevocationStore revocationStore;
+
+    private LocalRevocationFilter localRevocationFilter;
+
+    @BeforeEach
+    void setUp() {
+        localRevocationFilter = new LocalRevocationFilter(revocationStore, new AppProperties());
+    }
+
+    @Test
+    void mightBeRevoked_beforeFirstBuild_shouldReportProbableHit() {
+        assertTrue(localRevocationFilter.mightBeRevoked(42L));
+    }
+
+    @Test
+    void sync_beforeFirstBuild_shouldNotReadChanges() {
+        localRevocationFilter.sync();
+
+        verify(revocationStore, never()).changesSince(anyLong());
+    }
+
+    @Test
+    void rebuild_activeKeysInStore_shouldContainThemAndStartSyncFromCursor() {
+        when(revocationStore.currentCursor()).thenReturn(7L);
+        doAnswer(invocation -> {
+            LongConsumer action = invocation.getArgument(1);
+            action.accept(1L);
+            action.accept(2L);
+            return null;
+        }).when(revocationStore).forEachActiveKey(anyLong(), any());
+        when(revocationStore.changesSince(7L)).thenReturn(new RevocationChanges(new long[]{3L}, 8L));
+
+        localRevocationFilter.rebuild();
+        localRevocationFilter.sync();
+
+        assertTrue(localRevocationFilter.mightBeRevoked(1L));
+        assertTrue(localRevocationFilter.mightBeRevoked(2L));
+        assertTrue(localRevocationFilter.mightBeRevoked(3L));
+        assertFalse(localRevocationFilter.mightBeRevoked(4L));
+    }
+
+    @Test
+    void sync_afterSync_shouldAskFromReturnedCursor() {
+        when(revocationStore.currentCursor()).thenReturn(0L);
+        when(revocationStore.changesSince(0L)).thenReturn(new RevocationChanges(new long[]{5L}, 12L));
+        when(revocationStore.changesSince(12L)).thenReturn(RevocationChanges.none(12L));
+        localRevocationFilter.rebuild();
+
+        localRevocationFilter.sync();
+        localRevocationFilter.sync();
+
+        verify(revocationStore).changesSince(12L);
+        assertTrue(localRevocationFilter.mightBeRevoked(5L));
+    }
+
+    @Test
+    void rebuild_keyAddedWhileStoreIsRead_shouldKeepKey() {
+        doAnswer(invocation -> {
+            // Revoked through this node after the store had been read past it
+            localRevocationFilter.add(99L);
+            return null;
+        }).when(revocationStore).forEachActiveKey(anyLong(), any());
+
+        localRevocationFilter.rebuild();
+
+        assertTrue(localRevocationFilter.mightBeRevoked(99L));
+    }
+}
@@ -0,0 +1,72 @@
+package com.SleepUp.SU.auth.revocation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RevokedTokenTableTest {
+
+    @Test
+    void purgeBefore_mixedBuckets_shouldDropOnlyEndedBuckets() {
+        RevokedTokenTable table = new RevokedTokenTable();
+        table.revoke(1L, 10);
+        table.revoke(2L, 11);
+        table.revoke(3L, 12);
+
+        assertEquals(2, table.purgeBefore(12));
+
+        assertFalse(table.isRevoked(1L, 1));
+        assertFalse(table.isRevoked(2L, 1));
+        assertTrue(table.isRevoked(3L, 12));
+        assertEquals(1, table.size());
+    }
+
+    @Test
+    void revoke_sameKeyLaterBucket_shouldSurvivePurgeOfEarlierBucket() {
+        RevokedTokenTable table = new RevokedTokenTable();
+        table.revoke(1L, 10);
+        table.revoke(1L, 20);
+
+        assertEquals(0, table.purgeBefore(15));
+
+        assertTrue(table.isRevoked(1L, 15));
+        assertFalse(table.isRevoked(1L, 21));
+    }
+
+    @Test
+    void revokeAndRemove_randomKeys_shouldMatchHashMap() {
+        Random random = new Random(5);
+        RevokedTokenTable table = new RevokedTokenTable();
+        Map<Long, Integer> reference = new HashMap<>();
+
+        for (int i = 0; i < 50_000; i++) {
+            // Few distinct low bits so probe runs collide and backward shifts are exercised
+            long key = ((long) random.nextInt(4_000) << 32) | random.nextInt(8);
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key) != null, table.remove(key));
+            } else {
+                int bucket = 1 + random.nextInt(100);
+                table.revoke(key, bucket);
+                reference.merge(key, bucket, Math::max);
+            }
+        }
+
+        assertEquals(reference.size(), table.size());
+        for (long high = 0; high < 4_000; high++) {
+            for (long low = 0; low < 8; low++) {
+                long key = (high << 32) | low;
+                Integer bucket = reference.get(key);
+                assertEquals(bucket != null, table.isRevoked(key, 1));
+            }
+        }
+
+        table.purgeBefore(51);
+        reference.values().removeIf(bucket -> bucket < 51);
+        assertEquals(reference.size(), table.size());
+        reference.keySet().forEach(key -> assertTrue(table.isRevoked(key, 51)));
+    }
+}
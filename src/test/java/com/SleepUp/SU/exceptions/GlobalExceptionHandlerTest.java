@@ -21,6 +21,7 @@ import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.validation.BindingResult;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
+import org.springframework.web.method.annotation.MethodArgumentTypeMismatchException;
 
 import java.util.Collections;
 import java.util.HashSet;
@@ -134,6 +135,18 @@ public class GlobalExceptionHandlerTest {
         assertEquals("Request body is required and cannot be empty or malformed.", response.getBody().message());
     }
 
+    @Test
+    public void testHandleMethodArgumentTypeMismatchException() {
+        MethodArgumentTypeMismatchException ex = mock(MethodArgumentTypeMismatchException.class);
+        when(ex.getValue()).thenReturn("RATING");
+        when(ex.getName()).thenReturn("sort");
+
+        ResponseEntity<ErrorResponse> response = handler.handleMethodArgumentTypeMismatch(ex, request);
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+        assertEquals("Invalid value 'RATING' for parameter 'sort'", response.getBody().message());
+    }
+
     @Test
     public void testHandleAccessDeniedException() {
         AccessDeniedException ex = new AccessDeniedException("Access denied");
@@ -57,7 +57,7 @@ public class ReservationTest {
     public void service_getMyReservationsAllTime_shouldReturnNonEmptySummaryList() {
         Long userId = 2L;
 
-        List<ReservationResponseSummary> reservations = reservationServiceImpl.getMyReservations(userId, ReservationTime.ALL);
+        List<ReservationResponseSummary> reservations = reservationServiceImpl.getMyReservations(userId, ReservationTime.ALL, null, 50).items();
 
         assertNotNull(reservations);
         assertFalse(reservations.isEmpty());
@@ -76,7 +76,7 @@ public class ReservationTest {
         SecurityContext securityContext = SecurityContextHolder.createEmptyContext();
         securityContext.setAuthentication(authenticationToken);
         SecurityContextHolder.setContext(securityContext);
-        List<ReservationResponseSummary> results = reservationController.getMyReservations(principal, ReservationTime.ALL);
+        List<ReservationResponseSummary> results = reservationController.getMyReservations(principal, ReservationTime.ALL, null, 50).getBody();
         System.out.println(results.size());
         System.out.println(results);
     }
@@ -88,7 +88,7 @@ class ReservationOwnerServiceImplTest {
     class getAllReservationsOnMyAccommodationTest{
         @Test
         void getAllReservationsOnMyAccommodation_emptyList_shouldReturnEmptyList() {
-            when(reservationRepository.findByAccommodationId(accommodationId))
+            when(reservationRepository.findSummariesByAccommodationId(accommodationId))
                     .thenReturn(Collections.emptyList());
 
             List<ReservationResponseSummary> result = reservationOwnerServiceImpl.getReservationsForMyAccommodation(accommodationId);
@@ -96,24 +96,15 @@ class ReservationOwnerServiceImplTest {
             assertNotNull(result);
             assertTrue(result.isEmpty());
 
-            verify(reservationRepository).findByAccommodationId(accommodationId);
+            verify(reservationRepository).findSummariesByAccommodationId(accommodationId);
         }
 
         @Test
         void getAllReservationsOnMyAccommodation_nonEmptyList_shouldReturnDTOs() {
-            Reservation reservation1 = new Reservation();
-            Reservation reservation2 = new Reservation();
-            List<Reservation> entities = List.of(reservation1, reservation2);
-
             List<ReservationResponseSummary> responseList = List.of(response1, response2);
 
-            when(reservationRepository.findByAccommodationId(accommodationId))
-                    .thenReturn(entities);
-
-            when(entityUtil.mapEntitiesToDTOs(
-                    anyList(),
-                    any(Function.class)
-            )).thenReturn(responseList);
+            when(reservationRepository.findSummariesByAccommodationId(accommodationId))
+                    .thenReturn(responseList);
 
             List<ReservationResponseSummary> result =
                     reservationOwnerServiceImpl.getReservationsForMyAccommodation(accommodationId);
@@ -235,7 +226,25 @@ class ReservationOwnerServiceImplTest {
 
             verify(emailService).sendGuestReservationConfirmationEmail(existing, existing.getTotalPrice());
             verify(emailService, never()).sendCancellationByOwnerNotificationEmail(any());
+            verify(reservationServiceHelper, never()).refreshLoyaltyStay(any());
             verify(reservationMapper).toDetail(existing);
         }
+
+        @Test
+        void updateStatus_updateToCancelled_shouldRefreshLoyaltyStayAndNotifyGuest() {
+            Long id = 103L;
+            ReservationAuthRequest authRequest = new ReservationAuthRequest(BookingStatus.CANCELLED);
+
+            Reservation existing = new Reservation();
+            existing.setBookingStatus(BookingStatus.PENDING);
+
+            when(reservationServiceHelper.getReservationEntityById(id)).thenReturn(existing);
+
+            reservationOwnerServiceImpl.updateStatus(id, authRequest);
+
+            assertThat(existing.getBookingStatus()).isEqualTo(BookingStatus.CANCELLED);
+            verify(reservationServiceHelper).refreshLoyaltyStay(existing);
+            verify(emailService).sendCancellationByOwnerNotificationEmail(existing);
+        }
     }
 }
\ No newline at end of file
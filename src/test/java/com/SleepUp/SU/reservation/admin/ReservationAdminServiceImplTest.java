@@ -21,6 +21,7 @@ import org.springframework.test.context.ActiveProfiles;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
@@ -89,19 +90,16 @@ public class ReservationAdminServiceImplTest {
     @Nested
     class getAllReservationsToAdminReservationTest{
         @Test
-        void getAllReservations_reservationsExist_shouldReturnSummaryList() {
-           Reservation reservation1 = new Reservation();
-           Reservation reservation2 = new Reservation();
-
-            List<Reservation> reservations = List.of(reservation1, reservation2);
-            when(reservationRepository.findAll()).thenReturn(reservations);
-            when(reservationMapper.toSummary(any(Reservation.class)))
-                    .thenReturn(mock(ReservationResponseSummary.class));
+        void getAllReservations_reservationsExist_shouldReturnProjectedSummaries() {
+            List<ReservationResponseSummary> summaries = List.of(
+                    mock(ReservationResponseSummary.class),
+                    mock(ReservationResponseSummary.class));
+            when(reservationRepository.findAllSummaries()).thenReturn(summaries);
 
             List<ReservationResponseSummary> result = reservationAdminServiceImpl.getAllReservations();
-            assertThat(result).hasSize(2);
-            verify(reservationRepository).findAll();
-            verify(reservationMapper, times(2)).toSummary(any(Reservation.class));
+            assertThat(result).isEqualTo(summaries);
+            verify(reservationRepository).findAllSummaries();
+            verifyNoInteractions(reservationMapper);
         }
     }
 
@@ -114,25 +112,24 @@ public class ReservationAdminServiceImplTest {
             Reservation testReservation = createTestReservation();
             testReservation.setId(reservationId);
 
-            when(reservationRepository.existsById(reservationId)).thenReturn(true);
-            doNothing().when(reservationRepository).deleteById(reservationId);
+            when(reservationRepository.findById(reservationId)).thenReturn(Optional.of(testReservation));
 
             assertDoesNotThrow(() -> reservationAdminServiceImpl.deleteReservationByAdmin(reservationId));
-            verify(reservationRepository).deleteById(reservationId);
-            verify(reservationRepository).existsById(reservationId);
+            verify(reservationRepository).delete(testReservation);
+            verify(reservationServiceHelper).refreshLoyaltyStay(testReservation);
         }
 
         @Test
         void deleteReservationByAdmin_reservationNotFound_shouldThrowException() {
             Long reservationId = 999L;
 
-            when(reservationRepository.existsById(reservationId)).thenReturn(false);
+            when(reservationRepository.findById(reservationId)).thenReturn(Optional.empty());
 
             ReservationNotFoundByIdException exception = assertThrows(ReservationNotFoundByIdException.class,
                     () -> reservationAdminServiceImpl.deleteReservationByAdmin(reservationId));
 
             assertEquals("Reservation with id '" +reservationId + "' not found", exception.getMessage());
-            verify(reservationRepository).existsById(reservationId);
+            verify(reservationRepository, never()).delete(any(Reservation.class));
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,56 @@
+package com.SleepUp.SU.reservation.availability;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+class AccommodationBookingLocksTest {
+
+    private final AccommodationBookingLocks accommodationBookingLocks = new AccommodationBookingLocks(new AppProperties());
+    private final TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void inTransaction_synchronizationActive_shouldHoldStripeUntilCompletion() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        String result = accommodationBookingLocks.inTransaction(1L, transactionTemplate, status -> "booked");
+
+        assertEquals("booked", result);
+        assertTrue(accommodationBookingLocks.stripeFor(1L).isHeldByCurrentThread());
+
+        TransactionSynchronizationManager.getSynchronizations()
+                .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+
+        assertFalse(accommodationBookingLocks.stripeFor(1L).isLocked());
+    }
+
+    @Test
+    void inTransaction_noSynchronization_shouldReleaseStripeOnReturn() {
+        accommodationBookingLocks.inTransaction(1L, transactionTemplate, status -> "booked");
+
+        assertFalse(accommodationBookingLocks.stripeFor(1L).isLocked());
+    }
+
+    @Test
+    void inTransaction_actionThrows_shouldReleaseStripe() {
+        assertThrows(IllegalStateException.class, () -> accommodationBookingLocks.inTransaction(1L, transactionTemplate, status -> {
+            throw new IllegalStateException("rejected");
+        }));
+
+        assertFalse(accommodationBookingLocks.stripeFor(1L).isLocked());
+    }
+}
@@ -0,0 +1,106 @@
+package com.SleepUp.SU.reservation.availability;
+
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IntervalTreeTest {
+
+    @Nested
+    class Overlaps {
+
+        @Test
+        void overlaps_emptyTree_shouldReturnFalse() {
+            IntervalTree tree = new IntervalTree();
+
+            assertFalse(tree.overlaps(10, 20));
+        }
+
+        @Test
+        void overlaps_intersectingInterval_shouldReturnTrue() {
+            IntervalTree tree = new IntervalTree();
+            tree.add(1L, 10, 15);
+
+            assertTrue(tree.overlaps(14, 20));
+            assertTrue(tree.overlaps(5, 11));
+            assertTrue(tree.overlaps(11, 12));
+        }
+
+        @Test
+        void overlaps_adjacentInterval_shouldReturnFalse() {
+            IntervalTree tree = new IntervalTree();
+            tree.add(1L, 10, 15);
+
+            assertFalse(tree.overlaps(15, 20));
+            assertFalse(tree.overlaps(5, 10));
+        }
+
+        @Test
+        void overlaps_randomIntervals_shouldMatchLinearScan() {
+            Random random = new Random(42);
+            IntervalTree tree = new IntervalTree();
+            List<long[]> intervals = new ArrayList<>();
+
+            for (long id = 0; id < 500; id++) {
+                long start = random.nextInt(2000);
+                long end = start + 1 + random.nextInt(30);
+                tree.add(id, start, end);
+                intervals.add(new long[]{start, end});
+            }
+
+            for (int i = 0; i < 2000; i++) {
+                long start = random.nextInt(2100);
+                long end = start + 1 + random.nextInt(10);
+                boolean expected = intervals.stream().anyMatch(iv -> iv[0] < end && iv[1] > start);
+
+                assertEquals(expected, tree.overlaps(start, end));
+            }
+        }
+    }
+
+    @Nested
+    class Remove {
+
+        @Test
+        void remove_existingInterval_shouldNoLongerOverlap() {
+            IntervalTree tree = new IntervalTree();
+            tree.add(1L, 10, 15);
+            tree.add(2L, 20, 25);
+
+            assertTrue(tree.remove(1L, 10));
+            assertFalse(tree.overlaps(10, 15));
+            assertTrue(tree.overlaps(20, 21));
+            assertEquals(1, tree.size());
+        }
+
+        @Test
+        void remove_unknownInterval_shouldReturnFalse() {
+            IntervalTree tree = new IntervalTree();
+            tree.add(1L, 10, 15);
+
+            assertFalse(tree.remove(2L, 10));
+            assertEquals(1, tree.size());
+        }
+
+        @Test
+        void remove_sameStartDifferentIds_shouldOnlyRemoveMatchingId() {
+            IntervalTree tree = new IntervalTree();
+            for (long id = 0; id < 100; id++) {
+                tree.add(id, 10, 11 + id);
+            }
+
+            for (long id = 99; id >= 50; id--) {
+                assertTrue(tree.remove(id, 10));
+            }
+
+            assertEquals(50, tree.size());
+            assertTrue(tree.overlaps(59, 60));
+            assertFalse(tree.overlaps(60, 70));
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.SleepUp.SU.reservation.availability;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationAvailabilityIndexTest {
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    private ReservationAvailabilityIndex reservationAvailabilityIndex;
+
+    private final LocalDate today = LocalDate.now();
+
+    @BeforeEach
+    void setUp() {
+        reservationAvailabilityIndex = new ReservationAvailabilityIndex(reservationRepository, new AppProperties());
+    }
+
+    @Test
+    void hasAccommodationOverlap_shouldLoadOnceAndAnswerFromMemory() {
+        when(reservationRepository.findActiveIntervalsForAccommodation(eq(1L), any(), eq(BookingStatus.CANCELLED)))
+                .thenReturn(List.of(interval(10L, 1L, 2L, 5, 8)));
+
+        assertTrue(reservationAvailabilityIndex.hasAccommodationOverlap(1L, today.plusDays(6), today.plusDays(7)));
+        assertFalse(reservationAvailabilityIndex.hasAccommodationOverlap(1L, today.plusDays(8), today.plusDays(10)));
+
+        verify(reservationRepository, times(1))
+                .findActiveIntervalsForAccommodation(eq(1L), any(), eq(BookingStatus.CANCELLED));
+    }
+
+    @Test
+    void onReservationSaved_newStay_shouldBeVisibleToLoadedEntries() {
+        when(reservationRepository.findActiveIntervalsForAccommodation(eq(1L), any(), any())).thenReturn(List.of());
+        when(reservationRepository.findActiveIntervalsForUser(eq(2L), any(), any())).thenReturn(List.of());
+        reservationAvailabilityIndex.hasAccommodationOverlap(1L, today.plusDays(1), today.plusDays(2));
+        reservationAvailabilityIndex.hasUserOverlap(2L, today.plusDays(1), today.plusDays(2));
+
+        reservationAvailabilityIndex.onReservationSaved(interval(10L, 1L, 2L, 3, 6), BookingStatus.PENDING);
+
+        assertTrue(reservationAvailabilityIndex.hasAccommodationOverlap(1L, today.plusDays(4), today.plusDays(5)));
+        assertTrue(reservationAvailabilityIndex.hasUserOverlap(2L, today.plusDays(5), today.plusDays(9)));
+    }
+
+    @Test
+    void onReservationSaved_cancelledStay_shouldFreeTheDates() {
+        when(reservationRepository.findActiveIntervalsForAccommodation(eq(1L), any(), any()))
+                .thenReturn(List.of(interval(10L, 1L, 2L, 3, 6)));
+
+        reservationAvailabilityIndex.onReservationSaved(interval(10L, 1L, 2L, 3, 6), BookingStatus.CANCELLED);
+        assertTrue(reservationAvailabilityIndex.hasAccommodationOverlap(1L, today.plusDays(4), today.plusDays(5)));
+
+        reservationAvailabilityIndex.onReservationSaved(interval(10L, 1L, 2L, 3, 6), BookingStatus.CANCELLED);
+        assertFalse(reservationAvailabilityIndex.hasAccommodationOverlap(1L, today.plusDays(4), today.plusDays(5)));
+    }
+
+    @Test
+    void onReservationRemoved_shouldFreeTheDates() {
+        when(reservationRepository.findActiveIntervalsForUser(eq(2L), any(), any()))
+                .thenReturn(List.of(interval(10L, 1L, 2L, 3, 6)));
+        assertTrue(reservationAvailabilityIndex.hasUserOverlap(2L, today.plusDays(3), today.plusDays(4)));
+
+        reservationAvailabilityIndex.onReservationRemoved(interval(10L, 1L, 2L, 3, 6));
+
+        assertFalse(reservationAvailabilityIndex.hasUserOverlap(2L, today.plusDays(3), today.plusDays(4)));
+    }
+
+    @Test
+    void evictUser_shouldReloadFromRepository() {
+        when(reservationRepository.findActiveIntervalsForUser(eq(2L), any(), any())).thenReturn(List.of());
+
+        reservationAvailabilityIndex.hasUserOverlap(2L, today.plusDays(1), today.plusDays(2));
+        reservationAvailabilityIndex.evictUser(2L);
+        reservationAvailabilityIndex.hasUserOverlap(2L, today.plusDays(1), today.plusDays(2));
+
+        verify(reservationRepository, times(2)).findActiveIntervalsForUser(eq(2L), any(), any());
+    }
+
+    private ReservationInterval interval(Long id, Long accommodationId, Long userId, int fromOffset, int toOffset) {
+        return new ReservationInterval(id, accommodationId, userId, today.plusDays(fromOffset), today.plusDays(toOffset));
+    }
+}
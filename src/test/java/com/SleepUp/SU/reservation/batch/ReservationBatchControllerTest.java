@@ -0,0 +1,95 @@
+package com.SleepUp.SU.reservation.batch;
+
+import com.SleepUp.SU.reservation.dto.BatchReservationRequest;
+import com.SleepUp.SU.reservation.dto.BatchStayRequest;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.repository.UserRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+public class ReservationBatchControllerTest {
+
+    private static final String BATCH_PATH = "/reservations/batch";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private CustomUserDetails principal;
+
+    @BeforeEach
+    void setUp() {
+        User testUser = userRepository.findByUsername("User1")
+                .orElseThrow(() -> new RuntimeException("User1 not found"));
+        principal = new CustomUserDetails(testUser);
+    }
+
+    @Test
+    void createReservations_emptyStays_shouldReturnBadRequest() throws Exception {
+        BatchReservationRequest request = new BatchReservationRequest(BatchMode.ALL_OR_NOTHING, List.of());
+
+        mockMvc.perform(post(BATCH_PATH)
+                        .with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void createReservations_bestEffortUnknownAccommodation_shouldReportRejectedStay() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        BatchReservationRequest request = new BatchReservationRequest(BatchMode.BEST_EFFORT,
+                List.of(new BatchStayRequest(999L, 1, checkIn, checkIn.plusDays(2))));
+
+        mockMvc.perform(post(BATCH_PATH)
+                        .with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.created").isEmpty())
+                .andExpect(jsonPath("$.rejected[0].index").value(0))
+                .andExpect(jsonPath("$.rejected[0].message").value("Accommodation with id '999' not found"));
+    }
+
+    @Test
+    void createReservations_allOrNothingUnknownAccommodation_shouldReturnNotFound() throws Exception {
+        LocalDate checkIn = LocalDate.now().plusDays(30);
+        BatchReservationRequest request = new BatchReservationRequest(BatchMode.ALL_OR_NOTHING,
+                List.of(new BatchStayRequest(999L, 1, checkIn, checkIn.plusDays(2))));
+
+        mockMvc.perform(post(BATCH_PATH)
+                        .with(user(principal))
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andDo(print())
+                .andExpect(status().isNotFound());
+    }
+}
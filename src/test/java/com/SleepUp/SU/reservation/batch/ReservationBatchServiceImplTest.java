@@ -0,0 +1,279 @@
+package com.SleepUp.SU.reservation.batch;
+
+import com.SleepUp.SU.accommodation.availability.AccommodationOccupancyIndex;
+import com.SleepUp.SU.accommodation.dto.AccommodationResponseSummary;
+import com.SleepUp.SU.accommodation.dto.FilterAccommodationDTO;
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.filter.FilterCacheKey;
+import com.SleepUp.SU.accommodation.filter.FilterResultCache;
+import com.SleepUp.SU.accommodation.pricing.PricingEngine;
+import com.SleepUp.SU.accommodation.pricing.RateOverrideRepository;
+import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.availability.AccommodationBookingLocks;
+import com.SleepUp.SU.reservation.availability.AdmissionCandidate;
+import com.SleepUp.SU.reservation.availability.ReservationAvailabilityIndex;
+import com.SleepUp.SU.reservation.dto.*;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.exceptions.ReservationOverlapException;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
+import com.SleepUp.SU.reservation.repository.ReservationBatchRepository;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.utils.EntityUtil;
+import com.SleepUp.SU.utils.email.EmailService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReservationBatchServiceImplTest {
+
+    @Mock
+    private ReservationBatchRepository reservationBatchRepository;
+
+    @Mock
+    private ReservationRepository reservationRepository;
+
+    @Mock
+    private ReservationMapper reservationMapper;
+
+    @Mock
+    private AccommodationServiceHelper accommodationServiceHelper;
+
+    @Mock
+    private ReservationAvailabilityIndex reservationAvailabilityIndex;
+
+    @Mock
+    private AccommodationOccupancyIndex accommodationOccupancyIndex;
+
+    @Mock
+    private LoyaltyStayTracker loyaltyStayTracker;
+
+    @Mock
+    private RateOverrideRepository rateOverrideRepository;
+
+    @Mock
+    private EmailService emailService;
+
+    private FilterResultCache filterResultCache;
+
+    private ReservationBatchServiceImpl reservationBatchService;
+
+    private final LocalDate day = LocalDate.now().plusDays(10);
+    private User guest;
+    private Accommodation house;
+    private Accommodation flat;
+
+    @BeforeEach
+    void setUp() {
+        filterResultCache = new FilterResultCache(new AppProperties(), new SimpleMeterRegistry());
+        reservationBatchService = new ReservationBatchServiceImpl(
+                reservationBatchRepository,
+                reservationMapper,
+                new ReservationServiceHelper(reservationRepository, reservationAvailabilityIndex, loyaltyStayTracker,
+                        new PricingEngine(rateOverrideRepository, new AppProperties())),
+                accommodationServiceHelper,
+                new AccommodationBookingLocks(new AppProperties()),
+                reservationAvailabilityIndex,
+                accommodationOccupancyIndex,
+                filterResultCache,
+                new TransactionTemplate(mock(PlatformTransactionManager.class)),
+                emailService,
+                new EntityUtil());
+
+        User owner = new User();
+        owner.setId(99L);
+        guest = new User();
+        guest.setId(1L);
+        house = accommodation(10L, "House", owner);
+        flat = accommodation(20L, "Flat", owner);
+
+        lenient().when(accommodationServiceHelper.lockAccommodationEntitiesByIds(any()))
+                .thenReturn(Map.of(10L, house, 20L, flat));
+        lenient().when(reservationMapper.toEntity(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            ReservationRequest request = invocation.getArgument(0);
+            return Reservation.builder()
+                    .checkInDate(request.checkInDate())
+                    .checkOutDate(request.checkOutDate())
+                    .guestNumber(request.guestNumber())
+                    .bookingStatus(invocation.getArgument(1))
+                    .user(invocation.getArgument(2))
+                    .accommodation(invocation.getArgument(3))
+                    .emailSent(false)
+                    .build();
+        });
+    }
+
+    @Nested
+    class AllOrNothing {
+
+        @Test
+        void createReservations_noConflicts_shouldInsertAllInOneBatchAndNotifyOncePerAccommodation() {
+            when(reservationRepository.findBatchAdmissionCandidates(eq(1L), any(), any(), any(), any()))
+                    .thenReturn(List.of());
+
+            BatchReservationResponse response = reservationBatchService.createReservations(new BatchReservationRequest(
+                    BatchMode.ALL_OR_NOTHING,
+                    List.of(stay(10L, 0, 2), stay(10L, 5, 7), stay(20L, 10, 12))), guest);
+
+            assertEquals(3, response.created().size());
+            assertTrue(response.rejected().isEmpty());
+
+            ArgumentCaptor<List<Reservation>> inserted = ArgumentCaptor.forClass(List.class);
+            verify(reservationBatchRepository).insertAll(inserted.capture());
+            assertEquals(3, inserted.getValue().size());
+            assertEquals(new BigDecimal("200.00"), inserted.getValue().getFirst().getTotalPrice());
+
+            verify(reservationRepository, times(1)).findBatchAdmissionCandidates(any(), any(), any(), any(), any());
+            verify(emailService, times(2)).sendOwnerBatchReservedNotification(any());
+            verify(accommodationOccupancyIndex).refresh(10L);
+            verify(accommodationOccupancyIndex).refresh(20L);
+            verify(loyaltyStayTracker).recordBookings(inserted.getValue());
+        }
+
+        @Test
+        void createReservations_loyalGuest_shouldDiscountFromOneLookupAndLaterStaysOfTheBatch() {
+            when(reservationRepository.findBatchAdmissionCandidates(eq(1L), any(), any(), any(), any()))
+                    .thenReturn(List.of());
+            when(loyaltyStayTracker.findEligibleAccommodationIds(eq(1L), any())).thenReturn(new HashSet<>(Set.of(20L)));
+
+            BatchReservationResponse response = reservationBatchService.createReservations(new BatchReservationRequest(
+                    BatchMode.ALL_OR_NOTHING,
+                    List.of(stay(10L, 0, 2), stay(10L, 5, 7), stay(20L, 10, 12))), guest);
+
+            assertEquals(3, response.created().size());
+            ArgumentCaptor<List<Reservation>> inserted = ArgumentCaptor.forClass(List.class);
+            verify(reservationBatchRepository).insertAll(inserted.capture());
+            assertEquals(new BigDecimal("200.00"), inserted.getValue().get(0).getTotalPrice());
+            assertEquals(new BigDecimal("160.00"), inserted.getValue().get(1).getTotalPrice());
+            assertEquals(new BigDecimal("160.00"), inserted.getValue().get(2).getTotalPrice());
+            verify(loyaltyStayTracker, times(1)).findEligibleAccommodationIds(any(), any());
+        }
+
+        @Test
+        void createReservations_existingConflict_shouldThrowAndInsertNothing() {
+            when(reservationRepository.findBatchAdmissionCandidates(eq(1L), any(), any(), any(), any()))
+                    .thenReturn(List.of(new AdmissionCandidate(2L, 20L, "Flat", day.plusDays(11), day.plusDays(13))));
+
+            ReservationOverlapException exception = assertThrows(ReservationOverlapException.class,
+                    () -> reservationBatchService.createReservations(new BatchReservationRequest(
+                            BatchMode.ALL_OR_NOTHING,
+                            List.of(stay(10L, 0, 2), stay(20L, 10, 12))), guest));
+
+            assertTrue(exception.getMessage().startsWith("The accommodation is already reserved during these dates"));
+            verifyNoInteractions(reservationBatchRepository, emailService, accommodationOccupancyIndex);
+        }
+
+        @Test
+        void createReservations_committed_shouldEvictOnlyCachedPagesOverlappingTheStays() {
+            when(reservationRepository.findBatchAdmissionCandidates(eq(1L), any(), any(), any(), any()))
+                    .thenReturn(List.of());
+            AtomicInteger loads = new AtomicInteger();
+            Supplier<Page<AccommodationResponseSummary>> loader = () -> {
+                loads.incrementAndGet();
+                return new PageImpl<>(List.of(AccommodationResponseSummary.builder().id(10L).build()));
+            };
+            FilterCacheKey overlapping = FilterCacheKey.of(FilterAccommodationDTO.builder()
+                    .fromDate(day.plusDays(1)).toDate(day.plusDays(3)).build(), PageRequest.of(0, 10));
+            FilterCacheKey later = FilterCacheKey.of(FilterAccommodationDTO.builder()
+                    .fromDate(day.plusDays(30)).toDate(day.plusDays(32)).build(), PageRequest.of(0, 10));
+            filterResultCache.getOrLoad(overlapping, loader);
+            filterResultCache.getOrLoad(later, loader);
+
+            reservationBatchService.createReservations(new BatchReservationRequest(
+                    BatchMode.ALL_OR_NOTHING,
+                    List.of(stay(10L, 0, 2))), guest);
+
+            filterResultCache.getOrLoad(overlapping, loader);
+            filterResultCache.getOrLoad(later, loader);
+            assertEquals(3, loads.get());
+        }
+    }
+
+    @Nested
+    class BestEffort {
+
+        @Test
+        void createReservations_overlapInsideBatch_shouldRejectOnlyLaterStay() {
+            when(reservationRepository.findBatchAdmissionCandidates(eq(1L), any(), any(), any(), any()))
+                    .thenReturn(List.of());
+
+            BatchReservationResponse response = reservationBatchService.createReservations(new BatchReservationRequest(
+                    BatchMode.BEST_EFFORT,
+                    List.of(stay(10L, 0, 3), stay(20L, 2, 4), stay(20L, 5, 6))), guest);
+
+            assertEquals(2, response.created().size());
+            assertEquals(1, response.rejected().size());
+            assertEquals(1, response.rejected().getFirst().index());
+            assertTrue(response.rejected().getFirst().message()
+                    .startsWith("You already have a reservation that overlaps with these dates: Reservation at House"));
+        }
+
+        @Test
+        void createReservations_unknownAccommodation_shouldRejectStay() {
+            when(reservationRepository.findBatchAdmissionCandidates(eq(1L), any(), any(), any(), any()))
+                    .thenReturn(List.of());
+
+            BatchReservationResponse response = reservationBatchService.createReservations(new BatchReservationRequest(
+                    BatchMode.BEST_EFFORT,
+                    List.of(stay(10L, 0, 2), stay(30L, 4, 5))), guest);
+
+            assertEquals(1, response.created().size());
+            assertEquals("Accommodation with id '30' not found", response.rejected().getFirst().message());
+        }
+
+        @Test
+        void createReservations_allRejected_shouldNotNotifyOwners() {
+            when(reservationRepository.findBatchAdmissionCandidates(eq(1L), any(), any(), any(), any()))
+                    .thenReturn(List.of(new AdmissionCandidate(2L, 10L, "House", day, day.plusDays(5))));
+
+            BatchReservationResponse response = reservationBatchService.createReservations(new BatchReservationRequest(
+                    BatchMode.BEST_EFFORT,
+                    List.of(stay(10L, 1, 2))), guest);
+
+            assertTrue(response.created().isEmpty());
+            assertEquals(1, response.rejected().size());
+            verifyNoInteractions(emailService);
+        }
+    }
+
+    private BatchStayRequest stay(Long accommodationId, int fromOffset, int toOffset) {
+        return new BatchStayRequest(accommodationId, 2, day.plusDays(fromOffset), day.plusDays(toOffset));
+    }
+
+    private static Accommodation accommodation(Long id, String name, User owner) {
+        Accommodation accommodation = new Accommodation();
+        accommodation.setId(id);
+        accommodation.setName(name);
+        accommodation.setPrice(100.0);
+        accommodation.setGuestNumber(4);
+        accommodation.setManagedBy(owner);
+        accommodation.setAvailableFrom(LocalDate.now());
+        accommodation.setAvailableTo(LocalDate.now().plusYears(1));
+        return accommodation;
+    }
+}
@@ -20,12 +20,14 @@ import org.springframework.http.MediaType;
 import org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.context.WebApplicationContext;
 
 import java.time.LocalDate;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.anonymous;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
@@ -100,6 +102,57 @@ public class ReservationControllerTest {
                     .andExpect(jsonPath("$.length()").value(2));
         }
 
+        @Test
+        void getMyReservations_pageSizeOne_shouldReturnNextCursorHeader() throws Exception {
+            String nextCursor = mockMvc.perform(get(RESERVATIONS_PATH)
+                            .param("time", "ALL")
+                            .param("size", "1")
+                            .with(user(principal))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(header().exists("X-Next-Cursor"))
+                    .andReturn().getResponse().getHeader("X-Next-Cursor");
+
+            mockMvc.perform(get(RESERVATIONS_PATH)
+                            .param("time", "ALL")
+                            .param("size", "1")
+                            .param("cursor", nextCursor)
+                            .with(user(principal))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(1))
+                    .andExpect(header().doesNotExist("X-Next-Cursor"));
+        }
+
+        @Test
+        void getMyReservations_invalidCursor_shouldReturnBadRequest() throws Exception {
+            mockMvc.perform(get(RESERVATIONS_PATH)
+                            .param("time", "ALL")
+                            .param("cursor", "***")
+                            .with(user(principal))
+                            .contentType(MediaType.APPLICATION_JSON))
+                    .andExpect(status().isBadRequest())
+                    .andExpect(jsonPath("$.message").value("Invalid pagination cursor"));
+        }
+
+        @Test
+        void getMyReservations_stream_shouldReturnOneJsonLinePerReservation() throws Exception {
+            MvcResult asyncResult = mockMvc.perform(get(RESERVATIONS_PATH)
+                            .param("time", "ALL")
+                            .param("stream", "true")
+                            .with(user(principal)))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk())
+                    .andExpect(content().contentType(MediaType.APPLICATION_NDJSON));
+
+            String body = asyncResult.getResponse().getContentAsString();
+            assertEquals(2, body.lines().count());
+        }
+
         @Test
         void getMyReservations_unauthenticated_shouldReturnUnauthorized() throws Exception {
             mockMvc.perform(get(RESERVATIONS_PATH)
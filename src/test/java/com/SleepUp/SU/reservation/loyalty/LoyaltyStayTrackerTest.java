@@ -0,0 +1,196 @@
+package com.SleepUp.SU.reservation.loyalty;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.user.entity.User;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LoyaltyStayTrackerTest {
+
+    @Mock
+    private LoyaltyStayRepository loyaltyStayRepository;
+
+    @InjectMocks
+    private LoyaltyStayTracker loyaltyStayTracker;
+
+    private final LoyaltyStayId pair = new LoyaltyStayId(1L, 5L);
+
+    @Nested
+    class IsEligible {
+
+        @Test
+        void isEligible_bookedWithinLastYear_shouldReturnTrue() {
+            when(loyaltyStayRepository.findById(pair))
+                    .thenReturn(Optional.of(new LoyaltyStay(pair, LocalDateTime.now().minusMonths(11))));
+
+            assertTrue(loyaltyStayTracker.isEligible(1L, 5L));
+        }
+
+        @Test
+        void isEligible_bookedMoreThanAYearAgo_shouldReturnFalse() {
+            when(loyaltyStayRepository.findById(pair))
+                    .thenReturn(Optional.of(new LoyaltyStay(pair, LocalDate.now().minusYears(1).minusDays(1).atStartOfDay())));
+
+            assertFalse(loyaltyStayTracker.isEligible(1L, 5L));
+        }
+
+        @Test
+        void isEligible_allStaysCancelled_shouldReturnFalse() {
+            when(loyaltyStayRepository.findById(pair)).thenReturn(Optional.of(new LoyaltyStay(pair, null)));
+
+            assertFalse(loyaltyStayTracker.isEligible(1L, 5L));
+        }
+
+        @Test
+        void isEligible_neverBooked_shouldReturnFalse() {
+            when(loyaltyStayRepository.findById(pair)).thenReturn(Optional.empty());
+
+            assertFalse(loyaltyStayTracker.isEligible(1L, 5L));
+        }
+
+        @Test
+        void findEligibleAccommodationIds_noAccommodations_shouldNotQuery() {
+            assertTrue(loyaltyStayTracker.findEligibleAccommodationIds(1L, List.of()).isEmpty());
+
+            verifyNoInteractions(loyaltyStayRepository);
+        }
+
+        @Test
+        void findEligibleAccommodationIds_shouldReturnIdsBookedSinceOneYearAgo() {
+            when(loyaltyStayRepository.findAccommodationIdsBookedSince(1L, Set.of(5L, 7L), LocalDate.now().minusYears(1).atStartOfDay()))
+                    .thenReturn(List.of(7L));
+
+            assertEquals(Set.of(7L), loyaltyStayTracker.findEligibleAccommodationIds(1L, Set.of(5L, 7L)));
+        }
+    }
+
+    @Nested
+    class RecordBooking {
+
+        @Test
+        void recordBooking_firstStayOfPair_shouldInsertIt() {
+            LocalDateTime createdDate = LocalDateTime.now();
+            when(loyaltyStayRepository.findById(pair)).thenReturn(Optional.empty());
+
+            loyaltyStayTracker.recordBooking(reservation(createdDate));
+
+            ArgumentCaptor<LoyaltyStay> saved = ArgumentCaptor.forClass(LoyaltyStay.class);
+            verify(loyaltyStayRepository).save(saved.capture());
+            assertEquals(pair, saved.getValue().getId());
+            assertEquals(createdDate, saved.getValue().getLastBookedAt());
+            assertTrue(saved.getValue().isNew());
+        }
+
+        @Test
+        void recordBooking_knownPair_shouldMoveLastBookingForward() {
+            LocalDateTime createdDate = LocalDateTime.now();
+            LoyaltyStay stay = new LoyaltyStay(pair, createdDate.minusMonths(3));
+            when(loyaltyStayRepository.findById(pair)).thenReturn(Optional.of(stay));
+
+            loyaltyStayTracker.recordBooking(reservation(createdDate));
+
+            assertEquals(createdDate, stay.getLastBookedAt());
+            verify(loyaltyStayRepository, never()).save(any());
+        }
+
+        @Test
+        void recordBooking_olderThanLastBooking_shouldKeepLastBooking() {
+            LocalDateTime lastBookedAt = LocalDateTime.now();
+            LoyaltyStay stay = new LoyaltyStay(pair, lastBookedAt);
+            when(loyaltyStayRepository.findById(pair)).thenReturn(Optional.of(stay));
+
+            loyaltyStayTracker.recordBooking(reservation(lastBookedAt.minusDays(1)));
+
+            assertEquals(lastBookedAt, stay.getLastBookedAt());
+        }
+    }
+
+    @Nested
+    class Refresh {
+
+        @Test
+        void refresh_shouldRecomputeFromNonCancelledReservations() {
+            loyaltyStayTracker.refresh(1L, 5L);
+
+            verify(loyaltyStayRepository).recompute(1L, 5L, BookingStatus.CANCELLED);
+        }
+
+        @Test
+        void reconcile_shouldRecomputeExistingPairsThenInsertMissingOnes() {
+            loyaltyStayTracker.reconcile();
+
+            InOrder inOrder = inOrder(loyaltyStayRepository);
+            inOrder.verify(loyaltyStayRepository).recomputeAll(BookingStatus.CANCELLED);
+            inOrder.verify(loyaltyStayRepository).insertMissingFromReservations(BookingStatus.CANCELLED);
+        }
+
+        @Test
+        void reconcile_tableAlreadyFilled_shouldStillRun() {
+            loyaltyStayTracker.reconcile();
+            loyaltyStayTracker.reconcile();
+
+            verify(loyaltyStayRepository, times(2)).insertMissingFromReservations(BookingStatus.CANCELLED);
+            verify(loyaltyStayRepository, never()).count();
+        }
+
+        @Test
+        void reconcile_insertedConcurrently_shouldNotThrow() {
+            when(loyaltyStayRepository.insertMissingFromReservations(eq(BookingStatus.CANCELLED)))
+                    .thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+            assertDoesNotThrow(() -> loyaltyStayTracker.reconcile());
+        }
+    }
+
+    @Nested
+    class Delete {
+
+        @Test
+        void deleteForUser_shouldDeleteEveryPairOfTheUser() {
+            loyaltyStayTracker.deleteForUser(1L);
+
+            verify(loyaltyStayRepository).deleteByUserId(1L);
+        }
+
+        @Test
+        void deleteForAccommodation_shouldDeleteEveryPairOfTheAccommodation() {
+            loyaltyStayTracker.deleteForAccommodation(5L);
+
+            verify(loyaltyStayRepository).deleteByAccommodationId(5L);
+        }
+    }
+
+    private static Reservation reservation(LocalDateTime createdDate) {
+        User guest = new User();
+        guest.setId(1L);
+        Accommodation accommodation = new Accommodation();
+        accommodation.setId(5L);
+        return Reservation.builder()
+                .user(guest)
+                .accommodation(accommodation)
+                .bookingStatus(BookingStatus.PENDING)
+                .createdDate(createdDate)
+                .build();
+    }
+}
@@ -0,0 +1,150 @@
+package com.SleepUp.SU.reservation.repository;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.reservation.dto.ReservationMapper;
+import com.SleepUp.SU.reservation.dto.ReservationMapperImpl;
+import com.SleepUp.SU.reservation.dto.ReservationResponseSummary;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.role.Role;
+import com.SleepUp.SU.utils.benchmark.AllocationMeter;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the heap allocated to list 10k reservations by loading managed entities and mapping them
+ * with MapStruct against projecting the rows straight into {@link ReservationResponseSummary}.
+ * Runs against an in-memory H2 database. Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "spring.sql.init.mode=never"
+})
+public class ReservationListProjectionBenchmark {
+
+    private static final int ROWS = 10_000;
+    private static final int USERS = 50;
+    private static final int ACCOMMODATIONS = 50;
+    private static final int ROUNDS = 7;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    private final ReservationMapper reservationMapper = new ReservationMapperImpl();
+
+    @BeforeEach
+    void setUp() {
+        User[] users = new User[USERS];
+        for (int i = 0; i < USERS; i++) {
+            users[i] = User.builder()
+                    .username("bench" + i)
+                    .name("Bench User " + i)
+                    .email("bench" + i + "@example.com")
+                    .password("password")
+                    .role(Role.USER)
+                    .build();
+            entityManager.persist(users[i]);
+        }
+
+        Accommodation[] accommodations = new Accommodation[ACCOMMODATIONS];
+        for (int i = 0; i < ACCOMMODATIONS; i++) {
+            accommodations[i] = Accommodation.builder()
+                    .name("Bench Hotel " + i)
+                    .price(100.0 + i)
+                    .guestNumber(2)
+                    .petFriendly(i % 2 == 0)
+                    .location("City " + i)
+                    .description("Benchmark accommodation")
+                    .imageUrl("http://example.com/" + i + ".jpg")
+                    .checkInTime(LocalTime.of(15, 0))
+                    .checkOutTime(LocalTime.of(11, 0))
+                    .availableFrom(LocalDate.of(2025, 1, 1))
+                    .availableTo(LocalDate.of(2030, 1, 1))
+                    .managedBy(users[i % USERS])
+                    .build();
+            entityManager.persist(accommodations[i]);
+        }
+
+        LocalDate start = LocalDate.of(2026, 1, 1);
+        for (int i = 0; i < ROWS; i++) {
+            entityManager.persist(Reservation.builder()
+                    .user(users[i % USERS])
+                    .accommodation(accommodations[(i / USERS) % ACCOMMODATIONS])
+                    .guestNumber(2)
+                    .checkInDate(start.plusDays(i % 365))
+                    .checkOutDate(start.plusDays(i % 365 + 3))
+                    .bookingStatus(BookingStatus.CONFIRMED)
+                    .emailSent(false)
+                    .totalPrice(BigDecimal.valueOf(300))
+                    .build());
+            if (i % 500 == 0) {
+                entityManager.flush();
+                entityManager.clear();
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void listAllReservations_projectionAllocatesLessThanEntities() {
+        assertEquals(ROWS, listThroughEntities().size());
+        assertEquals(ROWS, listThroughProjection().size());
+
+        long[] entityBytes = new long[ROUNDS];
+        long[] projectionBytes = new long[ROUNDS];
+        for (int round = 0; round < ROUNDS; round++) {
+            entityBytes[round] = AllocationMeter.allocatedBytes(this::listThroughEntities);
+            projectionBytes[round] = AllocationMeter.allocatedBytes(this::listThroughProjection);
+        }
+
+        long entityMedian = median(entityBytes);
+        long projectionMedian = median(projectionBytes);
+        System.out.printf("list %d reservations: entities + mapper %s, projection %s%n",
+                ROWS, AllocationMeter.format(entityMedian), AllocationMeter.format(projectionMedian));
+
+        assertTrue(projectionMedian < entityMedian,
+                "projection should allocate less than loading entities");
+    }
+
+    private List<ReservationResponseSummary> listThroughEntities() {
+        entityManager.clear();
+        List<Reservation> reservations = entityManager.createQuery(
+                        "SELECT r FROM Reservation r JOIN FETCH r.user JOIN FETCH r.accommodation ORDER BY r.id",
+                        Reservation.class)
+                .getResultList();
+        List<ReservationResponseSummary> summaries = reservations.stream().map(reservationMapper::toSummary).toList();
+        entityManager.clear();
+        return summaries;
+    }
+
+    private List<ReservationResponseSummary> listThroughProjection() {
+        entityManager.clear();
+        return reservationRepository.findAllSummaries();
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
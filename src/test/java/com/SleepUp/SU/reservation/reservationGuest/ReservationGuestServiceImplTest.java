@@ -6,7 +6,10 @@ import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.reservation.dto.ReservationResponseDetail;
 import com.SleepUp.SU.reservation.dto.ReservationResponseSummary;
 import com.SleepUp.SU.reservation.dto.ReservationMapper;
+import com.SleepUp.SU.reservation.dto.ReservationRequest;
+import com.SleepUp.SU.reservation.exceptions.ReservationModificationException;
 import com.SleepUp.SU.reservation.exceptions.ReservationNotFoundByIdException;
+import com.SleepUp.SU.reservation.service.ReservationService;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
 import com.SleepUp.SU.utils.EntityUtil;
@@ -49,6 +52,9 @@ class ReservationGuestServiceImplTest {
     @Mock
     private EntityUtil entityUtil;
 
+    @Mock
+    private ReservationService reservationService;
+
     @InjectMocks
     private ReservationGuestServiceImpl reservationGuestServiceImpl;
 
@@ -141,6 +147,8 @@ class ReservationGuestServiceImplTest {
             ApiMessageDto result = reservationGuestServiceImpl.cancelReservation(reservationId);
 
             assertNotNull(result);
+            assertEquals(BookingStatus.CANCELLED, testReservation.getBookingStatus());
+            verify(reservationServiceHelper).refreshLoyaltyStay(testReservation);
         }
 
         @Test
@@ -174,6 +182,50 @@ class ReservationGuestServiceImplTest {
         }
     }
 
+    @Nested
+    class UpdateReservation {
+
+        @Test
+        void updateReservation_validRequest_shouldReplaceAndNotifyBothParties() {
+            Long reservationId = 1L;
+            Reservation oldReservation = createTestReservation();
+            ReservationRequest reservationRequest = new ReservationRequest(2, LocalDate.now().plusDays(5), LocalDate.now().plusDays(8));
+            ReservationResponseDetail savedReservation = new ReservationResponseDetail(
+                    2L, "Test User", 2, "Test Hotel",
+                    reservationRequest.checkInDate(), reservationRequest.checkOutDate(),
+                    BookingStatus.PENDING, false, LocalDateTime.now(), BigDecimal.valueOf(100)
+            );
+
+            when(reservationServiceHelper.getReservationEntityById(reservationId)).thenReturn(oldReservation);
+            when(reservationService.replaceReservation(reservationId, reservationRequest, dummyUser)).thenReturn(savedReservation);
+
+            ApiMessageDto result = reservationGuestServiceImpl.updateReservation(reservationId, reservationRequest, dummyUser);
+
+            assertEquals(String.format(
+                    "Your reservation in Test Hotel from %s to %s has been updated.\nOld dates were from %s to %s.",
+                    reservationRequest.checkInDate(), reservationRequest.checkOutDate(),
+                    oldReservation.getCheckInDate(), oldReservation.getCheckOutDate()), result.message());
+            verify(emailService).sendCancellationConfirmationEmail(oldReservation);
+            verify(emailService).sendCancellationNotificationToOwnerEmail(oldReservation);
+            verify(reservationRepository, never()).save(any());
+        }
+
+        @Test
+        void updateReservation_replacementRejected_shouldNotSendEmails() {
+            Long reservationId = 1L;
+            ReservationRequest reservationRequest = new ReservationRequest(2, LocalDate.now().plusDays(5), LocalDate.now().plusDays(8));
+
+            when(reservationServiceHelper.getReservationEntityById(reservationId)).thenReturn(createTestReservation());
+            when(reservationService.replaceReservation(reservationId, reservationRequest, dummyUser))
+                    .thenThrow(new ReservationModificationException("Cannot modify a cancelled reservation"));
+
+            assertThrows(ReservationModificationException.class,
+                    () -> reservationGuestServiceImpl.updateReservation(reservationId, reservationRequest, dummyUser));
+
+            verifyNoInteractions(emailService);
+        }
+    }
+
     private Reservation createTestReservation() {
         Reservation reservation = new Reservation();
         reservation.setCheckInDate(LocalDate.now().plusDays(1));
@@ -0,0 +1,149 @@
+package com.SleepUp.SU.reservation.service;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.pricing.PricingEngine;
+import com.SleepUp.SU.accommodation.pricing.RateOverrideRepository;
+import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.reservation.availability.AccommodationBookingLocks;
+import com.SleepUp.SU.reservation.availability.ReservationAvailabilityIndex;
+import com.SleepUp.SU.reservation.dto.ReservationMapper;
+import com.SleepUp.SU.reservation.dto.ReservationRequest;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.utils.benchmark.LatencyRecorder;
+import com.SleepUp.SU.utils.email.EmailService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * Compares the latency of {@code createReservation} with the previous five round trip admission
+ * (find accommodation, user overlap, accommodation overlap, loyalty lookup, insert) against the
+ * current path. Every repository call is charged one simulated database round trip, and so is the
+ * loyalty lookup; recording the loyalty stay is flushed with the commit, which neither path is charged for.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class CreateReservationLatencyBenchmark {
+
+    private static final long ROUND_TRIP_MICROS = 400;
+    private static final int WARMUP = 200;
+    private static final int ITERATIONS = 2000;
+    private static final int USERS = 50;
+
+    private ReservationRepository reservationRepository;
+    private AccommodationServiceHelper accommodationServiceHelper;
+    private ReservationServiceImpl reservationService;
+    private Accommodation accommodation;
+
+    @BeforeEach
+    void setUp() {
+        reservationRepository = mock(ReservationRepository.class, withSettings().stubOnly());
+        accommodationServiceHelper = mock(AccommodationServiceHelper.class, withSettings().stubOnly());
+        ReservationMapper reservationMapper = mock(ReservationMapper.class, withSettings().stubOnly());
+
+        User owner = new User();
+        owner.setId(999L);
+        accommodation = new Accommodation();
+        accommodation.setId(1L);
+        accommodation.setName("Benchmark Hotel");
+        accommodation.setPrice(80.0);
+        accommodation.setGuestNumber(4);
+        accommodation.setManagedBy(owner);
+        accommodation.setAvailableFrom(LocalDate.now());
+        accommodation.setAvailableTo(LocalDate.now().plusYears(1));
+
+        when(accommodationServiceHelper.getAccommodationEntityById(1L)).thenAnswer(invocation -> roundTrip(accommodation));
+        when(accommodationServiceHelper.lockAccommodationEntityById(1L)).thenAnswer(invocation -> roundTrip(accommodation));
+        when(reservationRepository.findAdmissionCandidates(any(), any(), any(), any(), any())).thenAnswer(invocation -> roundTrip(List.of()));
+        when(reservationRepository.save(any())).thenAnswer(invocation -> roundTrip(invocation.getArgument(0)));
+        LoyaltyStayTracker loyaltyStayTracker = mock(LoyaltyStayTracker.class, withSettings().stubOnly());
+        when(loyaltyStayTracker.isEligible(any(), any())).thenAnswer(invocation -> roundTrip(false));
+        when(reservationMapper.toEntity(any(), any(), any(), any(), any())).thenAnswer(invocation -> {
+            ReservationRequest request = invocation.getArgument(0);
+            return Reservation.builder()
+                    .checkInDate(request.checkInDate())
+                    .checkOutDate(request.checkOutDate())
+                    .guestNumber(request.guestNumber())
+                    .bookingStatus(BookingStatus.PENDING)
+                    .user(invocation.getArgument(2))
+                    .accommodation(invocation.getArgument(3))
+                    .build();
+        });
+
+        ReservationServiceHelper reservationServiceHelper = new ReservationServiceHelper(
+                reservationRepository,
+                new ReservationAvailabilityIndex(reservationRepository, new AppProperties()),
+                loyaltyStayTracker,
+                new PricingEngine(mock(RateOverrideRepository.class, withSettings().stubOnly()), new AppProperties()));
+
+        reservationService = new ReservationServiceImpl(
+                reservationRepository,
+                reservationMapper,
+                reservationServiceHelper,
+                mock(EmailService.class, withSettings().stubOnly()),
+                accommodationServiceHelper,
+                new AccommodationBookingLocks(new AppProperties()),
+                new TransactionTemplate(mock(PlatformTransactionManager.class, withSettings().stubOnly())));
+    }
+
+    @Test
+    void createReservation_admissionQuery_shouldLowerLatencyPercentiles() {
+        LatencyRecorder before = new LatencyRecorder("createReservation before", ITERATIONS);
+        LatencyRecorder after = new LatencyRecorder("createReservation after", ITERATIONS);
+
+        for (int i = 0; i < WARMUP; i++) {
+            legacyCreateReservation(request(i), user(i));
+            reservationService.createReservation(request(i), user(i), 1L);
+        }
+        for (int i = 0; i < ITERATIONS; i++) {
+            ReservationRequest request = request(i);
+            User user = user(i);
+            before.record(() -> legacyCreateReservation(request, user));
+            after.record(() -> reservationService.createReservation(request, user, 1L));
+        }
+
+        System.out.println(before.summary());
+        System.out.println(after.summary());
+        assertTrue(after.percentileNanos(50) < before.percentileNanos(50));
+    }
+
+    private void legacyCreateReservation(ReservationRequest request, User user) {
+        accommodationServiceHelper.getAccommodationEntityById(1L);
+        // User overlap, accommodation overlap and last-year lookup were one query each
+        roundTrip(false);
+        roundTrip(false);
+        roundTrip(false);
+        reservationRepository.save(Reservation.builder().checkInDate(request.checkInDate()).checkOutDate(request.checkOutDate()).build());
+    }
+
+    private static ReservationRequest request(int i) {
+        LocalDate checkIn = LocalDate.now().plusDays(1 + i % 300);
+        return new ReservationRequest(2, checkIn, checkIn.plusDays(2));
+    }
+
+    private static User user(int i) {
+        User user = new User();
+        user.setId(1L + i % USERS);
+        return user;
+    }
+
+    private static <T> T roundTrip(T result) {
+        LatencyRecorder.simulateRoundTrip(ROUND_TRIP_MICROS);
+        return result;
+    }
+}
@@ -0,0 +1,186 @@
+package com.SleepUp.SU.reservation.service;
+
+import com.SleepUp.SU.accommodation.entity.Accommodation;
+import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
+import com.SleepUp.SU.reservation.dto.ReservationRequest;
+import com.SleepUp.SU.reservation.dto.ReservationResponseDetail;
+import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.exceptions.ReservationOverlapException;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayRepository;
+import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.reservationGuest.ReservationGuestService;
+import com.SleepUp.SU.reservation.status.BookingStatus;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.repository.UserRepository;
+import com.SleepUp.SU.utils.email.EmailService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Races real booking transactions for one accommodation against the database, so the stripe,
+ * the row lock and the admission query are exercised together. Not transactional: every
+ * booking commits on its own, and the rows are removed after each test.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+public class ReservationConcurrencyStressTest {
+
+    private static final int ROUNDS = 10;
+
+    @Autowired
+    private ReservationService reservationService;
+
+    @Autowired
+    private ReservationGuestService reservationGuestService;
+
+    @Autowired
+    private AccommodationRepository accommodationRepository;
+
+    @Autowired
+    private ReservationRepository reservationRepository;
+
+    @Autowired
+    private LoyaltyStayRepository loyaltyStayRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @MockitoBean
+    private EmailService emailService;
+
+    private ExecutorService executor;
+    private Accommodation accommodation;
+    private User firstGuest;
+    private User secondGuest;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(2);
+        firstGuest = userRepository.findByUsername("User1").orElseThrow();
+        secondGuest = userRepository.findByUsername("User3").orElseThrow();
+
+        accommodation = accommodationRepository.save(Accommodation.builder()
+                .name("Race House")
+                .price(50.0)
+                .guestNumber(4)
+                .petFriendly(false)
+                .location("Madrid")
+                .description("Booked from two threads at once")
+                .imageUrl("http://example.com/race.jpg")
+                .checkInTime(LocalTime.of(14, 0))
+                .checkOutTime(LocalTime.of(11, 0))
+                .availableFrom(LocalDate.now())
+                .availableTo(LocalDate.now().plusYears(1))
+                .managedBy(userRepository.findByUsername("User2").orElseThrow())
+                .build());
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+        Long accommodationId = accommodation.getId();
+        reservationRepository.deleteAll(reservationRepository.findAll(ofAccommodation(accommodationId)));
+        loyaltyStayRepository.deleteAll(loyaltyStayRepository.findAll().stream()
+                .filter(stay -> stay.getId().getAccommodationId().equals(accommodationId))
+                .toList());
+        accommodationRepository.deleteById(accommodationId);
+    }
+
+    @Test
+    void createReservation_sameDatesFromTwoGuests_shouldBookOnlyOne() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            ReservationRequest request = stay(round);
+
+            int booked = race(
+                    () -> reservationService.createReservation(request, firstGuest, accommodation.getId()),
+                    () -> reservationService.createReservation(request, secondGuest, accommodation.getId()));
+
+            assertEquals(1, booked, "Round " + round);
+        }
+
+        assertNoOverlappingStays();
+    }
+
+    @Test
+    void updateReservation_racingCreateForTargetDates_shouldBookOnlyOne() throws Exception {
+        for (int round = 0; round < ROUNDS; round++) {
+            ReservationResponseDetail original = reservationService.createReservation(
+                    stay(ROUNDS + round), firstGuest, accommodation.getId());
+            ReservationRequest target = stay(round);
+
+            int booked = race(
+                    () -> reservationGuestService.updateReservation(original.id(), target, firstGuest),
+                    () -> reservationService.createReservation(target, secondGuest, accommodation.getId()));
+
+            assertEquals(1, booked, "Round " + round);
+        }
+
+        assertNoOverlappingStays();
+    }
+
+    private int race(Callable<?> first, Callable<?> second) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> outcomes = new ArrayList<>();
+        for (Callable<?> attempt : List.of(first, second)) {
+            outcomes.add(executor.submit(() -> {
+                start.await();
+                try {
+                    attempt.call();
+                    return true;
+                } catch (ReservationOverlapException e) {
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        int booked = 0;
+        for (Future<Boolean> outcome : outcomes) {
+            if (outcome.get(30, TimeUnit.SECONDS)) {
+                booked++;
+            }
+        }
+        return booked;
+    }
+
+    private void assertNoOverlappingStays() {
+        List<Reservation> active = reservationRepository.findAll(ofAccommodation(accommodation.getId())).stream()
+                .filter(reservation -> reservation.getBookingStatus() != BookingStatus.CANCELLED)
+                .sorted(Comparator.comparing(Reservation::getCheckInDate))
+                .toList();
+
+        for (int i = 1; i < active.size(); i++) {
+            assertFalse(active.get(i).getCheckInDate().isBefore(active.get(i - 1).getCheckOutDate()),
+                    "Overlapping stays booked: " + active.get(i - 1).getId() + " and " + active.get(i).getId());
+        }
+    }
+
+    private static ReservationRequest stay(int slot) {
+        LocalDate checkIn = LocalDate.now().plusDays(1 + slot * 5L);
+        return new ReservationRequest(2, checkIn, checkIn.plusDays(3));
+    }
+
+    private static Specification<Reservation> ofAccommodation(Long accommodationId) {
+        return (root, query, cb) -> cb.equal(root.get("accommodation").get("id"), accommodationId);
+    }
+}
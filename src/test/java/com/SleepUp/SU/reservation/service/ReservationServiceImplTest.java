@@ -3,17 +3,25 @@ package com.SleepUp.SU.reservation.service;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.utils.AccommodationServiceHelper;
 import com.SleepUp.SU.accommodation.exceptions.AccommodationNotFoundByIdException;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.exceptions.InvalidCursorException;
 import com.SleepUp.SU.exceptions.InvalidDateRangeError;
 import com.SleepUp.SU.exceptions.InvalidDateRangeException;
+import com.SleepUp.SU.reservation.availability.AccommodationBookingLocks;
+import com.SleepUp.SU.reservation.availability.ReservationAdmission;
 import com.SleepUp.SU.reservation.dto.*;
 import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.exceptions.ReservationModificationException;
+import com.SleepUp.SU.reservation.exceptions.ReservationOverlapException;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
+import com.SleepUp.SU.reservation.reservationTime.ReservationTime;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.reservation.utils.ReservationServiceHelper;
 import com.SleepUp.SU.user.entity.User;
 import com.SleepUp.SU.user.role.Role;
 import com.SleepUp.SU.utils.email.EmailService;
-import com.SleepUp.SU.utils.EntityUtil;
+import com.SleepUp.SU.utils.dto.CursorPage;
+import com.SleepUp.SU.utils.pagination.KeysetCursor;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
@@ -21,11 +29,16 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,9 +50,6 @@ public class ReservationServiceImplTest {
     @InjectMocks
     private ReservationServiceImpl reservationServiceImpl;
 
-    @Mock
-    private EntityUtil entityUtil;
-
     @Mock
     private ReservationRepository reservationRepository;
 
@@ -55,9 +65,14 @@ public class ReservationServiceImplTest {
     @Mock
     private EmailService emailService;
 
+    @Spy
+    private AccommodationBookingLocks accommodationBookingLocks = new AccommodationBookingLocks(new AppProperties());
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class));
+
     private ReservationResponseSummary mappedDtos;
     private Long userId;
-    private List<Reservation> mockReservations;
     private User user;
     private Accommodation accommodation;
     private Reservation reservation;
@@ -68,7 +83,6 @@ public class ReservationServiceImplTest {
     void setUp() {
         mappedDtos = new ReservationResponseSummary(1L, "Maria", 1, "María House", null, null, null, null);
         userId = 1L;
-        mockReservations = List.of(new Reservation());
 
         user = User.builder()
                 .id(1L)
@@ -133,52 +147,98 @@ public class ReservationServiceImplTest {
     @Nested
     class GetMyReservations {
 
+        private final LocalDate minDate = LocalDate.of(1000, 1, 1);
+        private final LocalDate maxDate = LocalDate.of(9999, 12, 31);
+
+        private ReservationResponseSummary summary(long id, LocalDate checkInDate) {
+            return new ReservationResponseSummary(id, "Maria", 1, "María House", checkInDate, checkInDate.plusDays(2), null, null);
+        }
+
         @Test
-        void getMyReservations_allReservations_shouldReturnList() {
-            when(reservationRepository.findByUser_Id(userId)).thenReturn(mockReservations);
-            when(entityUtil.mapEntitiesToDTOs(eq(mockReservations), any())).thenReturn(List.of(mappedDtos));
+        void getMyReservations_allReservationsFirstPage_shouldStartFromBeginning() {
+            when(reservationRepository.findSummaryPageByUser(userId, minDate, 0L, maxDate, Limit.of(11))).thenReturn(List.of(mappedDtos));
 
-            List<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, com.SleepUp.SU.reservation.reservationTime.ReservationTime.ALL);
+            CursorPage<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, ReservationTime.ALL, null, 10);
 
-            assertEquals(List.of(mappedDtos), result);
-            verify(reservationRepository).findByUser_Id(userId);
+            assertEquals(List.of(mappedDtos), result.items());
+            assertNull(result.nextCursor());
+            verifyNoInteractions(reservationMapper);
         }
 
         @Test
-        void getMyReservations_pastReservations_shouldReturnList() {
+        void getMyReservations_pastReservations_shouldStopBeforeToday() {
             LocalDate today = LocalDate.now();
 
-            when(reservationRepository.findByUser_IdAndCheckInDateBefore(userId, today)).thenReturn(mockReservations);
-            when(entityUtil.mapEntitiesToDTOs(eq(mockReservations), any())).thenReturn(List.of(mappedDtos));
+            when(reservationRepository.findSummaryPageByUser(userId, minDate, 0L, today, Limit.of(11))).thenReturn(List.of(mappedDtos));
 
-            List<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, com.SleepUp.SU.reservation.reservationTime.ReservationTime.PAST);
+            CursorPage<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, ReservationTime.PAST, null, 10);
 
-            assertEquals(List.of(mappedDtos), result);
-            verify(reservationRepository).findByUser_IdAndCheckInDateBefore(userId, today);
+            assertEquals(List.of(mappedDtos), result.items());
         }
 
         @Test
-        void getMyReservations_futureReservations_shouldReturnList() {
+        void getMyReservations_futureReservations_shouldStartAfterToday() {
             LocalDate today = LocalDate.now();
 
-            when(reservationRepository.findByUser_IdAndCheckInDateAfter(userId, today)).thenReturn(mockReservations);
-            when(entityUtil.mapEntitiesToDTOs(eq(mockReservations), any())).thenReturn(List.of(mappedDtos));
+            when(reservationRepository.findSummaryPageByUser(userId, today, Long.MAX_VALUE, maxDate, Limit.of(11))).thenReturn(List.of(mappedDtos));
+
+            CursorPage<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, ReservationTime.FUTURE, null, 10);
 
-            List<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, com.SleepUp.SU.reservation.reservationTime.ReservationTime.FUTURE);
+            assertEquals(List.of(mappedDtos), result.items());
+        }
+
+        @Test
+        void getMyReservations_moreRowsThanPageSize_shouldReturnCursorOfLastRow() {
+            ReservationResponseSummary first = summary(3L, LocalDate.of(2025, 1, 1));
+            ReservationResponseSummary second = summary(7L, LocalDate.of(2025, 2, 1));
+            ReservationResponseSummary extra = summary(9L, LocalDate.of(2025, 3, 1));
+
+            when(reservationRepository.findSummaryPageByUser(userId, minDate, 0L, maxDate, Limit.of(3)))
+                    .thenReturn(List.of(first, second, extra));
 
-            assertEquals(List.of(mappedDtos), result);
-            verify(reservationRepository).findByUser_IdAndCheckInDateAfter(userId, today);
+            CursorPage<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, ReservationTime.ALL, null, 2);
+
+            assertEquals(List.of(first, second), result.items());
+            assertEquals(new KeysetCursor("2025-02-01", 7L), KeysetCursor.decode(result.nextCursor()));
         }
 
         @Test
-        void getMyReservations_nullReservationTime_shouldReturnAll() {
-            when(reservationRepository.findByUser_Id(userId)).thenReturn(mockReservations);
-            when(entityUtil.mapEntitiesToDTOs(eq(mockReservations), any())).thenReturn(List.of(mappedDtos));
+        void getMyReservations_withCursor_shouldResumeAfterCursorPosition() {
+            String cursor = new KeysetCursor("2025-02-01", 7L).encode();
+
+            when(reservationRepository.findSummaryPageByUser(userId, LocalDate.of(2025, 2, 1), 7L, maxDate, Limit.of(11))).thenReturn(List.of());
 
-            List<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, null);
+            CursorPage<ReservationResponseSummary> result = reservationServiceImpl.getMyReservations(userId, ReservationTime.ALL, cursor, 10);
 
-            assertEquals(List.of(mappedDtos), result);
-            verify(reservationRepository).findByUser_Id(userId);
+            assertTrue(result.items().isEmpty());
+            assertNull(result.nextCursor());
+        }
+
+        @Test
+        void getMyReservations_malformedCursor_shouldThrow() {
+            String cursor = new KeysetCursor("not-a-date", 7L).encode();
+
+            assertThrows(InvalidCursorException.class,
+                    () -> reservationServiceImpl.getMyReservations(userId, ReservationTime.ALL, cursor, 10));
+        }
+
+        @Test
+        void streamMyReservations_shouldEmitEveryRowAcrossChunks() {
+            List<ReservationResponseSummary> fullChunk = new ArrayList<>();
+            for (long id = 1; id <= 500; id++) {
+                fullChunk.add(summary(id, LocalDate.of(2025, 1, 1)));
+            }
+            ReservationResponseSummary last = summary(501L, LocalDate.of(2025, 1, 2));
+
+            when(reservationRepository.findSummaryPageByUser(userId, minDate, 0L, maxDate, Limit.of(500))).thenReturn(fullChunk);
+            when(reservationRepository.findSummaryPageByUser(userId, LocalDate.of(2025, 1, 1), 500L, maxDate, Limit.of(500))).thenReturn(List.of(last));
+
+            List<ReservationResponseSummary> emitted = new ArrayList<>();
+            reservationServiceImpl.streamMyReservations(userId, ReservationTime.ALL, emitted::add);
+
+            assertEquals(501, emitted.size());
+            assertEquals(last, emitted.getLast());
+            verify(reservationRepository, times(2)).findSummaryPageByUser(any(), any(), any(), any(), any());
         }
     }
 
@@ -203,11 +263,12 @@ public class ReservationServiceImplTest {
                     BigDecimal.valueOf(100)
             );
 
-            when(accommodationServiceHelper.getAccommodationEntityById(accommodationId)).thenReturn(accommodation);
+            when(accommodationServiceHelper.lockAccommodationEntityById(accommodationId)).thenReturn(accommodation);
             doNothing().when(reservationServiceHelper).validateReservationDates(reservationRequest);
-            doNothing().when(reservationServiceHelper).validateCreateReservation(accommodation, user, reservationRequest);
+            ReservationAdmission admission = ReservationAdmission.clear(false);
+            when(reservationServiceHelper.admitReservation(accommodation, user, reservationRequest)).thenReturn(admission);
             when(reservationMapper.toEntity(reservationRequest, BookingStatus.PENDING, user, accommodation, false)).thenReturn(mappedReservation);
-            doNothing().when(reservationServiceHelper).updatePriceWithDiscountIfDeserved(mappedReservation, accommodation, user);
+            doNothing().when(reservationServiceHelper).updatePriceWithDiscountIfDeserved(mappedReservation, accommodation, admission);
             when(reservationRepository.save(mappedReservation)).thenReturn(savedReservation);
             when(reservationMapper.toDetail(savedReservation)).thenReturn(expectedResponse);
             doNothing().when(emailService).sendOwnerReservedNotification(savedReservation);
@@ -220,9 +281,11 @@ public class ReservationServiceImplTest {
             assertEquals(expectedResponse.bookingStatus(), result.bookingStatus());
 
             verify(reservationServiceHelper).validateReservationDates(reservationRequest);
-            verify(reservationServiceHelper).validateCreateReservation(accommodation, user, reservationRequest);
-            verify(reservationServiceHelper).updatePriceWithDiscountIfDeserved(mappedReservation, accommodation, user);
+            verify(reservationServiceHelper).admitReservation(accommodation, user, reservationRequest);
+            verify(reservationServiceHelper).updatePriceWithDiscountIfDeserved(mappedReservation, accommodation, admission);
             verify(reservationRepository).save(mappedReservation);
+            verify(accommodationBookingLocks).inTransaction(eq(accommodationId), eq(transactionTemplate), any());
+            verify(transactionTemplate).execute(any());
             verify(emailService).sendOwnerReservedNotification(savedReservation);
         }
 
@@ -232,7 +295,7 @@ public class ReservationServiceImplTest {
             Long accommodationId = 999L;
 
             doNothing().when(reservationServiceHelper).validateReservationDates(reservationRequest);
-            when(accommodationServiceHelper.getAccommodationEntityById(accommodationId))
+            when(accommodationServiceHelper.lockAccommodationEntityById(accommodationId))
                     .thenThrow(new AccommodationNotFoundByIdException(accommodationId));
 
             AccommodationNotFoundByIdException exception = assertThrows(AccommodationNotFoundByIdException.class,
@@ -241,7 +304,7 @@ public class ReservationServiceImplTest {
             assertEquals("Accommodation with id '999' not found", exception.getMessage());
 
             verify(reservationServiceHelper).validateReservationDates(reservationRequest);
-            verify(accommodationServiceHelper).getAccommodationEntityById(accommodationId);
+            verify(accommodationServiceHelper).lockAccommodationEntityById(accommodationId);
         }
 
         @Test
@@ -260,5 +323,101 @@ public class ReservationServiceImplTest {
             verify(reservationServiceHelper).validateReservationDates(reservationRequest);
             verifyNoInteractions(accommodationServiceHelper);
         }
+
+        @Test
+        void createReservation_knownConflict_shouldThrowBeforeLocking() {
+            ReservationRequest reservationRequest = new ReservationRequest(2, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+            Long accommodationId = 1L;
+
+            doThrow(new ReservationOverlapException("The accommodation is already reserved during these dates"))
+                    .when(reservationServiceHelper).rejectKnownConflicts(accommodationId, user, reservationRequest);
+
+            assertThrows(ReservationOverlapException.class,
+                    () -> reservationServiceImpl.createReservation(reservationRequest, user, accommodationId));
+
+            verifyNoInteractions(accommodationBookingLocks, accommodationServiceHelper);
+            verify(reservationServiceHelper, never()).admitReservation(any(), any(), any());
+        }
+    }
+
+    @Nested
+    class ReplaceReservation {
+
+        private Reservation oldReservation;
+        private ReservationRequest reservationRequest;
+
+        @BeforeEach
+        void setUp() {
+            oldReservation = Reservation.builder()
+                    .id(5L)
+                    .checkInDate(LocalDate.now().plusDays(10))
+                    .checkOutDate(LocalDate.now().plusDays(12))
+                    .guestNumber(2)
+                    .bookingStatus(BookingStatus.PENDING)
+                    .accommodation(accommodation)
+                    .user(user)
+                    .build();
+            reservationRequest = new ReservationRequest(2, LocalDate.now().plusDays(1), LocalDate.now().plusDays(3));
+        }
+
+        @Test
+        void replaceReservation_validRequest_shouldCancelOldAndBookInOneTransaction() {
+            ReservationAdmission admission = ReservationAdmission.clear(false);
+            ReservationResponseDetail expectedResponse = new ReservationResponseDetail(
+                    1L,
+                    "Test User",
+                    2,
+                    "Test Hotel",
+                    reservationRequest.checkInDate(),
+                    reservationRequest.checkOutDate(),
+                    BookingStatus.PENDING,
+                    false,
+                    savedReservation.getCreatedDate(),
+                    BigDecimal.valueOf(100)
+            );
+
+            when(reservationServiceHelper.getAccommodationIdFromReservationId(5L)).thenReturn(1L);
+            when(accommodationServiceHelper.lockAccommodationEntityById(1L)).thenReturn(accommodation);
+            when(reservationServiceHelper.getReservationEntityById(5L)).thenReturn(oldReservation);
+            when(reservationRepository.save(oldReservation)).thenReturn(oldReservation);
+            when(reservationServiceHelper.admitReservation(accommodation, user, reservationRequest)).thenReturn(admission);
+            when(reservationMapper.toEntity(reservationRequest, BookingStatus.PENDING, user, accommodation, false)).thenReturn(mappedReservation);
+            when(reservationRepository.save(mappedReservation)).thenReturn(savedReservation);
+            when(reservationMapper.toDetail(savedReservation)).thenReturn(expectedResponse);
+
+            ReservationResponseDetail result = reservationServiceImpl.replaceReservation(5L, reservationRequest, user);
+
+            assertSame(expectedResponse, result);
+            assertEquals(BookingStatus.CANCELLED, oldReservation.getBookingStatus());
+
+            var inOrder = inOrder(accommodationServiceHelper, reservationServiceHelper, reservationRepository);
+            inOrder.verify(accommodationServiceHelper).lockAccommodationEntityById(1L);
+            inOrder.verify(reservationServiceHelper).validateReservationCancellable(oldReservation);
+            inOrder.verify(reservationRepository).save(oldReservation);
+            inOrder.verify(reservationServiceHelper).refreshLoyaltyStay(oldReservation);
+            inOrder.verify(reservationServiceHelper).admitReservation(accommodation, user, reservationRequest);
+            inOrder.verify(reservationRepository).save(mappedReservation);
+
+            verify(accommodationBookingLocks).inTransaction(eq(1L), eq(transactionTemplate), any());
+            verify(transactionTemplate).execute(any());
+            verify(emailService).sendOwnerReservedNotification(savedReservation);
+        }
+
+        @Test
+        void replaceReservation_notCancellable_shouldNotBook() {
+            when(reservationServiceHelper.getAccommodationIdFromReservationId(5L)).thenReturn(1L);
+            when(accommodationServiceHelper.lockAccommodationEntityById(1L)).thenReturn(accommodation);
+            when(reservationServiceHelper.getReservationEntityById(5L)).thenReturn(oldReservation);
+            doThrow(new ReservationModificationException("Confirmed reservations cannot be cancelled"))
+                    .when(reservationServiceHelper).validateReservationCancellable(oldReservation);
+
+            assertThrows(ReservationModificationException.class,
+                    () -> reservationServiceImpl.replaceReservation(5L, reservationRequest, user));
+
+            assertEquals(BookingStatus.PENDING, oldReservation.getBookingStatus());
+            verify(reservationRepository, never()).save(any());
+            verify(reservationServiceHelper, never()).admitReservation(any(), any(), any());
+            verifyNoInteractions(emailService);
+        }
     }
-}
\ No newline at end of file
+}
@@ -2,12 +2,17 @@ package com.SleepUp.SU.reservation.utils;
 
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.exceptions.InvalidDateRangeException;
+import com.SleepUp.SU.reservation.availability.AdmissionCandidate;
+import com.SleepUp.SU.reservation.availability.ReservationAdmission;
+import com.SleepUp.SU.reservation.availability.ReservationAvailabilityIndex;
 import com.SleepUp.SU.reservation.dto.ReservationRequest;
 import com.SleepUp.SU.reservation.entity.Reservation;
 import com.SleepUp.SU.reservation.exceptions.*;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.user.entity.User;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,8 +21,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -31,6 +36,49 @@ public class ReservationServiceHelperTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private ReservationAvailabilityIndex reservationAvailabilityIndex;
+
+    @Mock
+    private LoyaltyStayTracker loyaltyStayTracker;
+
+    @Nested
+    class GetReservationEntityById {
+
+        @Test
+        void getReservationEntityById_found_shouldLoadWithParties() {
+            Reservation reservation = Reservation.builder().id(1L).build();
+            when(reservationRepository.findWithPartiesById(1L)).thenReturn(Optional.of(reservation));
+
+            assertSame(reservation, reservationServiceHelper.getReservationEntityById(1L));
+            verify(reservationRepository, never()).findById(anyLong());
+        }
+
+        @Test
+        void getReservationEntityById_notFound_shouldThrowException() {
+            when(reservationRepository.findWithPartiesById(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ReservationNotFoundByIdException.class,
+                    () -> reservationServiceHelper.getReservationEntityById(99L));
+        }
+
+        @Test
+        void getAccommodationIdFromReservationId_found_shouldReadOnlyTheId() {
+            when(reservationRepository.findAccommodationIdById(1L)).thenReturn(Optional.of(7L));
+
+            assertEquals(7L, reservationServiceHelper.getAccommodationIdFromReservationId(1L));
+            verify(reservationRepository, never()).findWithPartiesById(anyLong());
+        }
+
+        @Test
+        void getAccommodationIdFromReservationId_notFound_shouldThrowException() {
+            when(reservationRepository.findAccommodationIdById(99L)).thenReturn(Optional.empty());
+
+            assertThrows(ReservationNotFoundByIdException.class,
+                    () -> reservationServiceHelper.getAccommodationIdFromReservationId(99L));
+        }
+    }
+
     @Nested
     class ValidateReservationDates {
 
@@ -157,108 +205,168 @@ public class ReservationServiceHelperTest {
     }
 
     @Nested
-    class ValidateUserReservationOverlap {
+    class AdmitReservation {
+
+        private final LocalDate checkIn = LocalDate.now().plusDays(1);
+        private final LocalDate checkOut = LocalDate.now().plusDays(3);
+        private final ReservationRequest request = new ReservationRequest(2, checkIn, checkOut);
+
+        private Accommodation accommodation;
+        private User guest;
+
+        @BeforeEach
+        void setUp() {
+            User owner = new User();
+            owner.setId(10L);
+
+            accommodation = new Accommodation();
+            accommodation.setId(5L);
+            accommodation.setName("Test Hotel");
+            accommodation.setManagedBy(owner);
+            accommodation.setGuestNumber(4);
+            accommodation.setAvailableFrom(LocalDate.now());
+            accommodation.setAvailableTo(LocalDate.now().plusMonths(6));
+
+            guest = new User();
+            guest.setId(1L);
+        }
 
         @Test
-        void validateUserReservationOverlap_noOverlap_shouldReturnSuccessfully() {
-            Long userId = 1L;
-            ReservationRequest request = new ReservationRequest(
-                    2,
-                    LocalDate.now().plusDays(1),
-                    LocalDate.now().plusDays(3)
-            );
+        void admitReservation_noConflicts_shouldResolveDiscountFromLoyaltyLookup() {
+            when(reservationRepository.findAdmissionCandidates(1L, 5L, checkIn, checkOut, BookingStatus.CANCELLED))
+                    .thenReturn(List.of());
+            when(loyaltyStayTracker.isEligible(1L, 5L)).thenReturn(true);
 
-            when(reservationRepository.existsOverlappingReservationForUser(
-                    userId, request.checkInDate(), request.checkOutDate(), BookingStatus.CANCELLED))
-                    .thenReturn(false);
+            ReservationAdmission admission = reservationServiceHelper.admitReservation(accommodation, guest, request);
 
-            assertDoesNotThrow(() -> reservationServiceHelper.validateUserReservationOverlap(userId, request));
+            assertTrue(admission.discountEligible());
+            assertFalse(admission.hasConflicts());
         }
 
         @Test
-        void validateUserReservationOverlap_overlapExists_shouldThrowException() {
-            Long userId = 1L;
-            ReservationRequest request = new ReservationRequest(
-                    2,
-                    LocalDate.now().plusDays(1),
-                    LocalDate.now().plusDays(3)
-            );
+        void admitReservation_noPreviousStays_shouldNotGrantDiscount() {
+            when(reservationRepository.findAdmissionCandidates(1L, 5L, checkIn, checkOut, BookingStatus.CANCELLED))
+                    .thenReturn(List.of());
+            when(loyaltyStayTracker.isEligible(1L, 5L)).thenReturn(false);
 
-            Reservation overlappingReservation = createOverlappingReservation();
-            List<Reservation> overlappingReservations = Collections.singletonList(overlappingReservation);
+            ReservationAdmission admission = reservationServiceHelper.admitReservation(accommodation, guest, request);
 
-            when(reservationRepository.existsOverlappingReservationForUser(
-                    userId, request.checkInDate(), request.checkOutDate(), BookingStatus.CANCELLED))
-                    .thenReturn(true);
-            when(reservationRepository.findOverlappingReservationsForUser(
-                    userId, request.checkInDate(), request.checkOutDate(), BookingStatus.CANCELLED))
-                    .thenReturn(overlappingReservations);
+            assertFalse(admission.discountEligible());
+            assertFalse(admission.hasConflicts());
+        }
+
+        @Test
+        void admitReservation_userConflict_shouldThrowWithConflictDetails() {
+            AdmissionCandidate otherStay = new AdmissionCandidate(1L, 7L, "Other Hotel",
+                    checkIn, checkOut);
+
+            when(reservationRepository.findAdmissionCandidates(1L, 5L, checkIn, checkOut, BookingStatus.CANCELLED))
+                    .thenReturn(List.of(otherStay));
 
             ReservationOverlapException exception = assertThrows(ReservationOverlapException.class,
-                    () -> reservationServiceHelper.validateUserReservationOverlap(userId, request));
+                    () -> reservationServiceHelper.admitReservation(accommodation, guest, request));
 
-            assertTrue(exception.getMessage().contains("You already have a reservation that overlaps with these dates"));
-            assertTrue(exception.getMessage().contains("Test Hotel"));
+            assertEquals("You already have a reservation that overlaps with these dates: Reservation at Other Hotel from "
+                    + checkIn + " to " + checkOut, exception.getMessage());
         }
 
-        private Reservation createOverlappingReservation() {
-            Reservation reservation = new Reservation();
-            reservation.setCheckInDate(LocalDate.now().plusDays(2));
-            reservation.setCheckOutDate(LocalDate.now().plusDays(4));
+        @Test
+        void admitReservation_accommodationConflict_shouldThrowWithConflictDetails() {
+            AdmissionCandidate firstStay = new AdmissionCandidate(2L, 5L, "Test Hotel",
+                    checkIn.minusDays(1), checkIn.plusDays(1));
+            AdmissionCandidate secondStay = new AdmissionCandidate(3L, 5L, "Test Hotel",
+                    checkOut.minusDays(1), checkOut.plusDays(2));
 
-            Accommodation accommodation = new Accommodation();
-            accommodation.setName("Test Hotel");
-            reservation.setAccommodation(accommodation);
+            when(reservationRepository.findAdmissionCandidates(1L, 5L, checkIn, checkOut, BookingStatus.CANCELLED))
+                    .thenReturn(List.of(firstStay, secondStay));
+
+            ReservationOverlapException exception = assertThrows(ReservationOverlapException.class,
+                    () -> reservationServiceHelper.admitReservation(accommodation, guest, request));
+
+            assertEquals("The accommodation is already reserved during these dates: Reserved from "
+                    + firstStay.checkInDate() + " to " + firstStay.checkOutDate() + "; Reserved from "
+                    + secondStay.checkInDate() + " to " + secondStay.checkOutDate(), exception.getMessage());
+        }
+
+        @Test
+        void admitReservation_guestIsOwner_shouldThrowBeforeQuerying() {
+            guest.setId(10L);
 
-            return reservation;
+            assertThrows(ReservationAccommodationOwnerException.class,
+                    () -> reservationServiceHelper.admitReservation(accommodation, guest, request));
+
+            verifyNoInteractions(reservationRepository, loyaltyStayTracker);
         }
     }
 
     @Nested
-    class ValidateAccommodationReservationOverlap {
+    class RejectKnownConflicts {
 
-        @Test
-        void validateAccommodationReservationOverlap_noOverlap_shouldReturnSuccessfully() {
-            Long accommodationId = 1L;
-            ReservationRequest request = new ReservationRequest(
-                    2,
-                    LocalDate.now().plusDays(1),
-                    LocalDate.now().plusDays(3)
-            );
+        private final LocalDate checkIn = LocalDate.now().plusDays(1);
+        private final LocalDate checkOut = LocalDate.now().plusDays(3);
+        private final ReservationRequest request = new ReservationRequest(2, checkIn, checkOut);
 
-            when(reservationRepository.existsOverlappingReservationForAccommodation(
-                    accommodationId, request.checkInDate(), request.checkOutDate(), BookingStatus.CANCELLED))
-                    .thenReturn(false);
+        private User guest;
 
-            assertDoesNotThrow(() -> reservationServiceHelper.validateAccommodationReservationOverlap(accommodationId, request));
+        @BeforeEach
+        void setUp() {
+            guest = new User();
+            guest.setId(1L);
         }
 
         @Test
-        void validateAccommodationReservationOverlap_overlapExists_shouldThrowException() {
-            Long accommodationId = 1L;
-            ReservationRequest request = new ReservationRequest(
-                    2,
-                    LocalDate.now().plusDays(1),
-                    LocalDate.now().plusDays(3)
-            );
+        void rejectKnownConflicts_indexMiss_shouldNotQueryTheDatabase() {
+            when(reservationAvailabilityIndex.hasAccommodationOverlap(5L, checkIn, checkOut)).thenReturn(false);
+            when(reservationAvailabilityIndex.hasUserOverlap(1L, checkIn, checkOut)).thenReturn(false);
 
-            Reservation overlappingReservation = new Reservation();
-            overlappingReservation.setCheckInDate(LocalDate.now().plusDays(2));
-            overlappingReservation.setCheckOutDate(LocalDate.now().plusDays(4));
+            assertDoesNotThrow(() -> reservationServiceHelper.rejectKnownConflicts(5L, guest, request));
 
-            List<Reservation> overlappingReservations = Collections.singletonList(overlappingReservation);
+            verifyNoInteractions(reservationRepository);
+        }
 
-            when(reservationRepository.existsOverlappingReservationForAccommodation(
-                    accommodationId, request.checkInDate(), request.checkOutDate(), BookingStatus.CANCELLED))
-                    .thenReturn(true);
-            when(reservationRepository.findOverlappingReservationsForAccommodation(
-                    accommodationId, request.checkInDate(), request.checkOutDate(), BookingStatus.CANCELLED))
-                    .thenReturn(overlappingReservations);
+        @Test
+        void rejectKnownConflicts_confirmedAccommodationHit_shouldThrowWithConflictDetails() {
+            AdmissionCandidate booked = new AdmissionCandidate(2L, 5L, "Test Hotel", checkIn, checkOut);
+            when(reservationAvailabilityIndex.hasAccommodationOverlap(5L, checkIn, checkOut)).thenReturn(true);
+            when(reservationRepository.findAdmissionCandidates(1L, 5L, checkIn, checkOut, BookingStatus.CANCELLED))
+                    .thenReturn(List.of(booked));
 
             ReservationOverlapException exception = assertThrows(ReservationOverlapException.class,
-                    () -> reservationServiceHelper.validateAccommodationReservationOverlap(accommodationId, request));
+                    () -> reservationServiceHelper.rejectKnownConflicts(5L, guest, request));
+
+            assertEquals("The accommodation is already reserved during these dates: Reserved from "
+                    + checkIn + " to " + checkOut, exception.getMessage());
+            verify(reservationAvailabilityIndex, never()).evictAccommodation(any());
+        }
+
+        @Test
+        void rejectKnownConflicts_staleHit_shouldEvictTheIndexEntriesAndLetTheBookingProceed() {
+            when(reservationAvailabilityIndex.hasAccommodationOverlap(5L, checkIn, checkOut)).thenReturn(false);
+            when(reservationAvailabilityIndex.hasUserOverlap(1L, checkIn, checkOut)).thenReturn(true);
+            when(reservationRepository.findAdmissionCandidates(1L, 5L, checkIn, checkOut, BookingStatus.CANCELLED))
+                    .thenReturn(List.of());
+
+            assertDoesNotThrow(() -> reservationServiceHelper.rejectKnownConflicts(5L, guest, request));
+
+            verify(reservationAvailabilityIndex).evictAccommodation(5L);
+            verify(reservationAvailabilityIndex).evictUser(1L);
+        }
+    }
+
+    @Nested
+    class LoyaltyStays {
+
+        @Test
+        void refreshLoyaltyStay_cancelledReservation_shouldRecomputeItsPair() {
+            User guest = new User();
+            guest.setId(1L);
+            Accommodation accommodation = new Accommodation();
+            accommodation.setId(5L);
+            Reservation reservation = Reservation.builder().user(guest).accommodation(accommodation).build();
+
+            reservationServiceHelper.refreshLoyaltyStay(reservation);
 
-            assertTrue(exception.getMessage().contains("The accommodation is already reserved during these dates"));
+            verify(loyaltyStayTracker).refresh(1L, 5L);
         }
     }
 
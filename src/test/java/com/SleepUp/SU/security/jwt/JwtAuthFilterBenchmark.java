@@ -0,0 +1,133 @@
+package com.SleepUp.SU.security.jwt;
+
+import com.SleepUp.SU.auth.TokenBlacklistService;
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.security.RestAuthenticationEntryPoint;
+import com.SleepUp.SU.user.principal.AuthenticatedUser;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
+import com.SleepUp.SU.user.role.Role;
+import com.SleepUp.SU.utils.benchmark.LatencyRecorder;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+/**
+ * Measures token verification per request: the previous double parse ({@code isValidToken} then
+ * {@code extractUsername}), a single parse on a token's first request, and a repeated token answered
+ * from the verified-claims cache; also reports the whole filter for a repeated token, with user
+ * loading and the blacklist stubbed out.
+ * Run with {@code mvn test -Pbenchmark}.
+ */
+@Tag("benchmark")
+public class JwtAuthFilterBenchmark {
+
+    private static final int TOKENS = 20_000;
+    private static final int USERS = 50;
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    private JwtService jwtService;
+    private JwtAuthFilter jwtAuthFilter;
+    private String[] tokens;
+
+    @BeforeEach
+    void setUp() {
+        jwtService = new JwtService(appProperties());
+
+        UserDetails[] users = new UserDetails[USERS];
+        AuthenticatedUserCache authenticatedUserCache = mock(AuthenticatedUserCache.class, withSettings().stubOnly());
+        for (int i = 0; i < USERS; i++) {
+            users[i] = User.withUsername("user" + i).password("password").roles("USER").build();
+            when(authenticatedUserCache.get("user" + i)).thenReturn(Optional.of(
+                    new AuthenticatedUser((long) i, "user" + i, "User " + i, "user" + i + "@example.com", Role.USER, 0)));
+        }
+        TokenBlacklistService tokenBlacklistService = mock(TokenBlacklistService.class, withSettings().stubOnly());
+
+        jwtAuthFilter = new JwtAuthFilter(mock(RestAuthenticationEntryPoint.class), jwtService, authenticatedUserCache, tokenBlacklistService);
+
+        tokens = new String[TOKENS];
+        for (int i = 0; i < TOKENS; i++) {
+            tokens[i] = jwtService.generateAccessToken(users[i % USERS]);
+        }
+    }
+
+    @Test
+    void doFilterInternal_repeatedToken_shouldSkipVerification() throws Exception {
+        // Warm up every path on a throwaway service so the measured cache starts empty
+        JwtService warmup = new JwtService(appProperties());
+        for (int round = 0; round < 3; round++) {
+            for (String token : tokens) {
+                if (warmup.isValidToken(token)) {
+                    warmup.extractUsername(token);
+                }
+                warmup.verifiedClaims(token);
+            }
+        }
+
+        LatencyRecorder doubleParse = new LatencyRecorder("previous double parse", TOKENS);
+        for (String token : tokens) {
+            doubleParse.record(() -> {
+                if (jwtService.isValidToken(token)) {
+                    jwtService.extractUsername(token);
+                }
+            });
+        }
+
+        LatencyRecorder singleParse = new LatencyRecorder("single parse, cache miss", TOKENS);
+        LatencyRecorder cacheHit = new LatencyRecorder("verified-claims cache hit", TOKENS);
+        for (String token : tokens) {
+            singleParse.record(() -> jwtService.verifiedClaims(token));
+        }
+        for (String token : tokens) {
+            cacheHit.record(() -> jwtService.verifiedClaims(token));
+        }
+
+        LatencyRecorder filterRepeated = new LatencyRecorder("whole filter, repeated token", TOKENS);
+        for (String token : tokens) {
+            filterRepeated.add(filter(token));
+        }
+
+        System.out.println(doubleParse.summary());
+        System.out.println(singleParse.summary());
+        System.out.println(cacheHit.summary());
+        System.out.println(filterRepeated.summary());
+        assertTrue(singleParse.percentileNanos(50) < doubleParse.percentileNanos(50),
+                "one parse should be cheaper than the previous two");
+        assertTrue(cacheHit.percentileNanos(50) < singleParse.percentileNanos(50),
+                "a cached token should be cheaper than verifying it");
+    }
+
+    private long filter(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/accommodations");
+        request.addHeader("Authorization", "Bearer " + token);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        long start = System.nanoTime();
+        jwtAuthFilter.doFilterInternal(request, response, NO_OP_CHAIN);
+        long elapsed = System.nanoTime() - start;
+
+        SecurityContextHolder.clearContext();
+        return elapsed;
+    }
+
+    private static AppProperties appProperties() {
+        AppProperties.JwtProperties jwtProperties = new AppProperties.JwtProperties();
+        jwtProperties.setSecret("IPMaQEBhefMwnNhzvK9taBqokCl0KGNu+qTRiKsvmGU=");
+        jwtProperties.setExpirationMs(1_800_000L);
+        jwtProperties.setRefreshExpirationMs(604_800_000L);
+        jwtProperties.setClaimsCacheMaxEntries(TOKENS);
+        AppProperties appProperties = new AppProperties();
+        appProperties.setJwt(jwtProperties);
+        return appProperties;
+    }
+}
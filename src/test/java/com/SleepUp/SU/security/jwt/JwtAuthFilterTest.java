@@ -2,7 +2,12 @@ package com.SleepUp.SU.security.jwt;
 
 import com.SleepUp.SU.auth.TokenBlacklistService;
 import com.SleepUp.SU.security.RestAuthenticationEntryPoint;
-import com.SleepUp.SU.user.admin.UserAdminServiceImpl;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
+import com.SleepUp.SU.user.principal.AuthenticatedUser;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
+import com.SleepUp.SU.user.role.Role;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
@@ -13,6 +18,11 @@ import org.springframework.security.authentication.AuthenticationCredentialsNotF
 import org.springframework.security.core.AuthenticationException;
 import org.springframework.security.core.context.SecurityContextHolder;
 
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
 import static org.mockito.Mockito.*;
 
 class JwtAuthFilterTest {
@@ -22,7 +32,7 @@ class JwtAuthFilterTest {
     @Mock FilterChain filterChain;
     @Mock JwtService jwtService;
     @Mock TokenBlacklistService tokenBlacklistService;
-    @Mock UserAdminServiceImpl userService;
+    @Mock AuthenticatedUserCache authenticatedUserCache;
     @Mock RestAuthenticationEntryPoint restAuthenticationEntryPoint;
 
     @InjectMocks
@@ -39,7 +49,7 @@ class JwtAuthFilterTest {
         when(request.getHeader("Authorization")).thenReturn(null);
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
         verify(filterChain).doFilter(request, response);
-        verifyNoInteractions(jwtService, userService, restAuthenticationEntryPoint);
+        verifyNoInteractions(jwtService, authenticatedUserCache, restAuthenticationEntryPoint);
     }
 
     @Test
@@ -47,14 +57,14 @@ class JwtAuthFilterTest {
         when(request.getHeader("Authorization")).thenReturn("InvalidHeader");
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
         verify(filterChain).doFilter(request, response);
-        verifyNoInteractions(jwtService, userService, restAuthenticationEntryPoint);
+        verifyNoInteractions(jwtService, authenticatedUserCache, restAuthenticationEntryPoint);
     }
 
     @Test
     void testDoFilterInternal_invalidToken_throwsException_callsCommence() throws Exception {
         String token = "token123";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.isValidToken(token)).thenReturn(false);
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.empty());
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -66,8 +76,9 @@ class JwtAuthFilterTest {
     void testDoFilterInternal_tokenInBlacklist_throwsException_callsCommence() throws Exception {
         String token = "token123";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.isValidToken(token)).thenReturn(true);
-        when(tokenBlacklistService.isTokenInBlacklist(token)).thenReturn(true);
+        Claims claims = claims("user");
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims));
+        when(tokenBlacklistService.isRevoked(token, claims)).thenReturn(true);
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -76,13 +87,11 @@ class JwtAuthFilterTest {
     }
 
     @Test
-    void testDoFilterInternal_authenticationException_callsCommenceAndClearsContext() throws Exception {
+    void testDoFilterInternal_userNoLongerExists_callsCommenceAndClearsContext() throws Exception {
         String token = "token123";
         when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
-        when(jwtService.isValidToken(token)).thenReturn(true);
-        when(tokenBlacklistService.isTokenInBlacklist(token)).thenReturn(false);
-        when(jwtService.extractUsername(token)).thenReturn("user");
-        when(userService.loadUserByUsername("user")).thenThrow(new AuthenticationCredentialsNotFoundException("fail"));
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims("user")));
+        when(authenticatedUserCache.get("user")).thenReturn(Optional.empty());
 
         jwtAuthFilter.doFilterInternal(request, response, filterChain);
 
@@ -90,4 +99,55 @@ class JwtAuthFilterTest {
         assert SecurityContextHolder.getContext().getAuthentication() == null;
         verify(filterChain, never()).doFilter(any(), any());
     }
+
+    @Test
+    void testDoFilterInternal_validToken_parsesOnceAndBuildsPrincipalFromCache() throws Exception {
+        String token = "token123";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims("user")));
+        when(authenticatedUserCache.get("user")).thenReturn(Optional.of(
+                new AuthenticatedUser(7L, "user", "Name", "user@example.com", Role.USER, 0)));
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(jwtService).verifiedClaims(token);
+        verifyNoMoreInteractions(jwtService);
+        verify(filterChain).doFilter(request, response);
+        CustomUserDetails principal = (CustomUserDetails) SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+        assertEquals(7L, principal.getId());
+        assertEquals("user@example.com", principal.getUser().getEmail());
+        assertEquals("ROLE_USER", principal.getAuthorities().iterator().next().getAuthority());
+    }
+
+    @Test
+    void testDoFilterInternal_roleChangedSinceIssued_callsCommence() throws Exception {
+        String token = "token123";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims("user")));
+        when(authenticatedUserCache.get("user")).thenReturn(Optional.of(
+                new AuthenticatedUser(7L, "user", "Name", "user@example.com", Role.ADMIN, 0)));
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(restAuthenticationEntryPoint).commence(eq(request), eq(response), any(AuthenticationCredentialsNotFoundException.class));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void testDoFilterInternal_earlierTokenGeneration_callsCommence() throws Exception {
+        String token = "token123";
+        when(request.getHeader("Authorization")).thenReturn("Bearer " + token);
+        when(jwtService.verifiedClaims(token)).thenReturn(Optional.of(claims("user")));
+        when(authenticatedUserCache.get("user")).thenReturn(Optional.of(
+                new AuthenticatedUser(7L, "user", "Name", "user@example.com", Role.USER, 1)));
+
+        jwtAuthFilter.doFilterInternal(request, response, filterChain);
+
+        verify(restAuthenticationEntryPoint).commence(eq(request), eq(response), any(AuthenticationCredentialsNotFoundException.class));
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    private static Claims claims(String subject) {
+        return Jwts.claims().subject(subject).add("roles", List.of("ROLE_USER")).build();
+    }
 }
\ No newline at end of file
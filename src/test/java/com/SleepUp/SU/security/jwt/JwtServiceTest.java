@@ -1,11 +1,15 @@
 package com.SleepUp.SU.security.jwt;
 
 import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.user.entity.CustomUserDetails;
+import com.SleepUp.SU.user.role.Role;
+import io.jsonwebtoken.Claims;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -71,4 +75,78 @@ class JwtServiceTest {
 
         assertEquals("Invalid or expired refresh token", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void generateAccessToken_customUserDetails_shouldEmbedTokenGeneration() {
+        String token = jwtService.generateAccessToken(userInGeneration(3));
+
+        assertEquals(3, JwtService.tokenGenerationOf(jwtService.verifiedClaims(token).orElseThrow()));
+    }
+
+    @Test
+    void refreshAccessToken_earlierTokenGeneration_shouldThrowRuntimeException() {
+        String refreshToken = jwtService.generateRefreshToken(userInGeneration(1));
+
+        Exception exception = assertThrows(RuntimeException.class,
+                () -> jwtService.refreshAccessToken(refreshToken, userInGeneration(2)));
+
+        assertEquals("Invalid or expired refresh token", exception.getMessage());
+    }
+
+    @Test
+    void verifiedClaims_validToken_shouldReturnClaims() {
+        String token = jwtService.generateAccessToken(user("user1"));
+
+        assertEquals("user1", jwtService.verifiedClaims(token).orElseThrow().getSubject());
+    }
+
+    @Test
+    void verifiedClaims_sameTokenTwice_shouldAnswerSecondFromCache() {
+        String token = jwtService.generateAccessToken(user("user1"));
+
+        Claims first = jwtService.verifiedClaims(token).orElseThrow();
+        Claims second = jwtService.verifiedClaims(token).orElseThrow();
+
+        assertSame(first, second);
+    }
+
+    @Test
+    void verifiedClaims_tamperedSignature_shouldReturnEmpty() {
+        String token = jwtService.generateAccessToken(user("user1"));
+        // Change the first signature character; the last one partly encodes padding bits
+        int signatureStart = token.lastIndexOf('.') + 1;
+        char first = token.charAt(signatureStart);
+        String tampered = token.substring(0, signatureStart) + (first == 'A' ? 'B' : 'A') + token.substring(signatureStart + 1);
+
+        assertTrue(jwtService.verifiedClaims(tampered).isEmpty());
+        assertTrue(jwtService.verifiedClaims("not-a-token").isEmpty());
+    }
+
+    @Test
+    void verifiedClaims_expiredToken_shouldReturnEmpty() {
+        AppProperties.JwtProperties jwtProperties = new AppProperties.JwtProperties();
+        jwtProperties.setSecret("YourBase64EncodedSecretHereYourBase64EncodedSecretHere");
+        jwtProperties.setExpirationMs(-1000L);
+        jwtProperties.setRefreshExpirationMs(120000L);
+        AppProperties appProperties = new AppProperties();
+        appProperties.setJwt(jwtProperties);
+        JwtService expiringJwtService = new JwtService(appProperties);
+
+        String token = expiringJwtService.generateAccessToken(user("user1"));
+
+        assertTrue(expiringJwtService.verifiedClaims(token).isEmpty());
+    }
+
+    private static UserDetails user(String username) {
+        return User.withUsername(username).password("password").roles("USER").build();
+    }
+
+    private static CustomUserDetails userInGeneration(int tokenGeneration) {
+        return new CustomUserDetails(com.SleepUp.SU.user.entity.User.builder()
+                .id(7L)
+                .username("user")
+                .role(Role.USER)
+                .tokenGeneration(tokenGeneration)
+                .build());
+    }
+}
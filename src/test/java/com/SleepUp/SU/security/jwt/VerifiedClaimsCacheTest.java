@@ -0,0 +1,109 @@
+package com.SleepUp.SU.security.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VerifiedClaimsCacheTest {
+
+    private static final long NOW = 1_000_000L;
+    private static final long BUCKET = VerifiedClaimsCache.BUCKET_MILLIS;
+
+    @Test
+    void get_afterExpiration_shouldMissAndDropEntry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        VerifiedClaimsCache.TokenDigest digest = VerifiedClaimsCache.TokenDigest.of("token");
+        Claims claims = claims("user", NOW + 1000);
+        cache.put(digest, claims, NOW);
+
+        assertSame(claims, cache.get(digest, NOW));
+        assertNull(cache.get(digest, NOW + 1000));
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void put_overCapacity_shouldEvictEntriesClosestToExpiry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(2);
+        VerifiedClaimsCache.TokenDigest first = VerifiedClaimsCache.TokenDigest.of("first");
+        VerifiedClaimsCache.TokenDigest second = VerifiedClaimsCache.TokenDigest.of("second");
+        VerifiedClaimsCache.TokenDigest third = VerifiedClaimsCache.TokenDigest.of("third");
+        cache.put(first, claims("a", NOW + 3 * BUCKET), NOW);
+        cache.put(second, claims("b", NOW + BUCKET), NOW);
+
+        cache.put(third, claims("c", NOW + 2 * BUCKET), NOW);
+
+        assertEquals(2, cache.size());
+        assertNotNull(cache.get(first, NOW));
+        assertNull(cache.get(second, NOW));
+        assertNotNull(cache.get(third, NOW));
+    }
+
+    @Test
+    void put_afterBucketEnded_shouldDropExpiredEntries() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        cache.put(VerifiedClaimsCache.TokenDigest.of("first"), claims("a", NOW + 1000), NOW);
+        cache.put(VerifiedClaimsCache.TokenDigest.of("second"), claims("b", NOW + 1000), NOW);
+
+        cache.put(VerifiedClaimsCache.TokenDigest.of("third"), claims("c", NOW + 3 * BUCKET), NOW + 2 * BUCKET);
+
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void put_sameTokenTwice_shouldKeepOneEntry() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(1);
+        VerifiedClaimsCache.TokenDigest digest = VerifiedClaimsCache.TokenDigest.of("token");
+
+        cache.put(digest, claims("user", NOW + BUCKET), NOW);
+        cache.put(digest, claims("user", NOW + BUCKET), NOW);
+
+        assertEquals(1, cache.size());
+        assertNotNull(cache.get(digest, NOW));
+    }
+
+    @Test
+    void put_concurrentWriters_shouldStayWithinBound() throws InterruptedException {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(100);
+        Thread[] writers = new Thread[4];
+        for (int w = 0; w < writers.length; w++) {
+            int writer = w;
+            writers[w] = new Thread(() -> {
+                for (int i = 0; i < 5000; i++) {
+                    VerifiedClaimsCache.TokenDigest digest = VerifiedClaimsCache.TokenDigest.of(writer + "-" + i);
+                    cache.put(digest, claims("user", NOW + (i % 30) * BUCKET + BUCKET), NOW);
+                    cache.get(digest, NOW);
+                }
+            });
+            writers[w].start();
+        }
+        for (Thread writer : writers) {
+            writer.join();
+        }
+
+        assertTrue(cache.size() <= 100, "size: " + cache.size());
+    }
+
+    @Test
+    void put_claimsWithoutExpiration_shouldNotCache() {
+        VerifiedClaimsCache cache = new VerifiedClaimsCache(10);
+        VerifiedClaimsCache.TokenDigest digest = VerifiedClaimsCache.TokenDigest.of("token");
+
+        cache.put(digest, Jwts.claims().subject("user").build(), NOW);
+
+        assertNull(cache.get(digest, NOW));
+    }
+
+    @Test
+    void tokenDigest_differentTokens_shouldDiffer() {
+        assertEquals(VerifiedClaimsCache.TokenDigest.of("token"), VerifiedClaimsCache.TokenDigest.of("token"));
+        assertNotEquals(VerifiedClaimsCache.TokenDigest.of("token"), VerifiedClaimsCache.TokenDigest.of("token2"));
+    }
+
+    private static Claims claims(String subject, long expiresAt) {
+        return Jwts.claims().subject(subject).expiration(new Date(expiresAt)).build();
+    }
+}
@@ -3,6 +3,7 @@ package com.SleepUp.SU.user.admin;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.reservation.status.BookingStatus;
 import com.SleepUp.SU.user.dto.UserMapper;
@@ -11,6 +12,7 @@ import com.SleepUp.SU.user.dto.UserRequestAdmin;
 import com.SleepUp.SU.user.dto.UserResponse;
 import com.SleepUp.SU.user.entity.CustomUserDetails;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.role.Role;
 import com.SleepUp.SU.user.utils.UserServiceHelper;
@@ -61,29 +63,29 @@ public class UserAdminServiceImplTest {
     @Mock
     private EmailService emailService;
 
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Mock
+    private LoyaltyStayTracker loyaltyStayTracker;
+
     @Nested
     class GetAllUsersTests {
         @Test
-        void getAllUsers_shouldReturnMappedUserResponses() {
-            List<User> users = List.of(
-                    new User(),
-                    new User()
-            );
-
+        void getAllUsers_shouldReturnProjectedUserResponses() {
             List<UserResponse> responses = List.of(
                     new UserResponse(1L, "user1", "Name1", "email1@test.com", Role.USER),
                     new UserResponse(2L, "user2", "Name2", "email2@test.com", Role.ADMIN)
             );
 
-            when(userRepository.findAll()).thenReturn(users);
-            when(mapperUtil.mapEntitiesToDTOs(anyList(), any())).thenReturn((List) responses);
+            when(userRepository.findAllResponses()).thenReturn(responses);
 
             List<UserResponse> result = userAdminService.getAllUsers();
 
             assertEquals(2, result.size());
             assertEquals("user1", result.getFirst().username());
-            verify(userRepository).findAll();
-            verify(mapperUtil).mapEntitiesToDTOs(anyList(), any());
+            verify(userRepository).findAllResponses();
+            verifyNoInteractions(userMapper);
         }
     }
 
@@ -248,6 +250,8 @@ public class UserAdminServiceImplTest {
             verify(accommodationRepository).saveAll(accommodations);
             verify(reservationRepository).saveAll(reservations);
             verify(userRepository).deleteById(userId);
+            verify(authenticatedUserCache).invalidate(userId);
+            verify(loyaltyStayTracker).deleteForUser(userId);
         }
 
         @Test
@@ -0,0 +1,114 @@
+package com.SleepUp.SU.user.principal;
+
+import com.SleepUp.SU.config.properties.AppProperties;
+import com.SleepUp.SU.user.repository.UserRepository;
+import com.SleepUp.SU.user.role.Role;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuthenticatedUserCacheTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    private final AuthenticatedUser user = new AuthenticatedUser(7L, "user", "Name", "user@example.com", Role.USER, 0);
+
+    @BeforeEach
+    void setUp() {
+        AppProperties appProperties = new AppProperties();
+        appProperties.getJwt().setPrincipalCacheMaxEntries(2);
+        authenticatedUserCache = new AuthenticatedUserCache(userRepository, appProperties);
+    }
+
+    @Test
+    void get_repeatedUsername_shouldQueryOnce() {
+        when(userRepository.findAuthenticatedUserByUsername("user")).thenReturn(Optional.of(user));
+
+        assertEquals(Optional.of(user), authenticatedUserCache.get("user"));
+        assertEquals(Optional.of(user), authenticatedUserCache.get("user"));
+
+        verify(userRepository, times(1)).findAuthenticatedUserByUsername("user");
+    }
+
+    @Test
+    void get_unknownUsername_shouldNotCacheMiss() {
+        when(userRepository.findAuthenticatedUserByUsername("ghost")).thenReturn(Optional.empty());
+
+        assertTrue(authenticatedUserCache.get("ghost").isEmpty());
+        assertTrue(authenticatedUserCache.get("ghost").isEmpty());
+
+        verify(userRepository, times(2)).findAuthenticatedUserByUsername("ghost");
+        assertEquals(0, authenticatedUserCache.size());
+    }
+
+    @Test
+    void invalidate_cachedUser_shouldReloadOnNextGet() {
+        AuthenticatedUser promoted = new AuthenticatedUser(7L, "user", "Name", "user@example.com", Role.ADMIN, 0);
+        when(userRepository.findAuthenticatedUserByUsername("user")).thenReturn(Optional.of(user), Optional.of(promoted));
+        authenticatedUserCache.get("user");
+
+        authenticatedUserCache.invalidate(7L);
+
+        assertEquals(Role.ADMIN, authenticatedUserCache.get("user").orElseThrow().role());
+    }
+
+    @Test
+    void get_loadOverlappingInvalidation_shouldReturnButNotCache() {
+        when(userRepository.findAuthenticatedUserByUsername("user")).thenAnswer(invocation -> {
+            authenticatedUserCache.invalidate(7L);
+            return Optional.of(user);
+        });
+
+        assertEquals(Optional.of(user), authenticatedUserCache.get("user"));
+
+        assertEquals(0, authenticatedUserCache.size());
+    }
+
+    @Test
+    void get_overCapacity_shouldEvictOldestEntry() {
+        for (long id = 1; id <= 3; id++) {
+            stubUser(id);
+            authenticatedUserCache.get("user" + id);
+        }
+
+        assertEquals(2, authenticatedUserCache.size());
+        authenticatedUserCache.get("user1");
+        verify(userRepository, times(2)).findAuthenticatedUserByUsername("user1");
+    }
+
+    @Test
+    void get_overCapacityAfterReload_shouldSkipTheInvalidatedEntry() {
+        for (long id = 1; id <= 3; id++) {
+            stubUser(id);
+        }
+        authenticatedUserCache.get("user1");
+        authenticatedUserCache.invalidate(1L);
+        authenticatedUserCache.get("user1");
+        authenticatedUserCache.get("user2");
+
+        authenticatedUserCache.get("user3");
+
+        assertEquals(2, authenticatedUserCache.size());
+        authenticatedUserCache.get("user2");
+        authenticatedUserCache.get("user3");
+        verify(userRepository, times(1)).findAuthenticatedUserByUsername("user2");
+        verify(userRepository, times(1)).findAuthenticatedUserByUsername("user3");
+    }
+
+    private void stubUser(long id) {
+        String username = "user" + id;
+        when(userRepository.findAuthenticatedUserByUsername(username)).thenReturn(
+                Optional.of(new AuthenticatedUser(id, username, "Name", username + "@example.com", Role.USER, 0)));
+    }
+}
@@ -3,8 +3,10 @@ package com.SleepUp.SU.user.user;
 import com.SleepUp.SU.accommodation.entity.Accommodation;
 import com.SleepUp.SU.accommodation.repository.AccommodationRepository;
 import com.SleepUp.SU.reservation.entity.Reservation;
+import com.SleepUp.SU.reservation.loyalty.LoyaltyStayTracker;
 import com.SleepUp.SU.reservation.repository.ReservationRepository;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.dto.UserMapper;
 import com.SleepUp.SU.user.dto.UserRequest;
@@ -48,12 +50,18 @@ public class UserUserServiceImplTest {
     @Mock
     private ReservationRepository reservationRepository;
 
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
+    @Mock
+    private LoyaltyStayTracker loyaltyStayTracker;
+
     @Nested
     class getLoggedUser{
 
         @Test
         void getLoggedUser_whenUserExists_shouldReturnLoggedUser(){
-            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, null, null);
+            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, 0, null, null);
             UserResponse userResponse = new UserResponse(99L,"usernameTest", "nameTest", "email@test.com", Role.USER);
 
             when(userServiceHelper.getUserEntityById(99L)).thenReturn(user);
@@ -84,10 +92,10 @@ public class UserUserServiceImplTest {
 
         @Test
         void updateLoggedUser_whenValidRequest_shouldReturnUpdatedUser() {
-            User user = new User(99L, "oldUsername", "oldName", "old@email.com", "oldPassword", Role.USER, null, null);
+            User user = new User(99L, "oldUsername", "oldName", "old@email.com", "oldPassword", Role.USER, 0, null, null);
             UserRequest request = new UserRequest("newUsername", "","new@email.com", "newPassword");
 
-            User updatedUser = new User(99L, "newUsername", "oldName", "new@email.com", "encodedPassword", Role.USER, null, null);
+            User updatedUser = new User(99L, "newUsername", "oldName", "new@email.com", "encodedPassword", Role.USER, 0, null, null);
             UserResponse expectedResponse = new UserResponse(99L, "newUsername", "oldName", "new@email.com", Role.USER);
 
             when(userServiceHelper.getUserEntityById(99L)).thenReturn(user);
@@ -108,7 +116,7 @@ public class UserUserServiceImplTest {
 
         @Test
         void updateLoggedUser_whenEmptyRequest_shouldReturnSameUser() {
-            User user = new User(99L, "sameUsername", "sameName", "same@email.com", "samePassword", Role.USER, null, null);
+            User user = new User(99L, "sameUsername", "sameName", "same@email.com", "samePassword", Role.USER, 0, null, null);
             UserRequest request = new UserRequest("", "", "", "");
 
             UserResponse expectedResponse = new UserResponse(99L, "sameUsername", "sameName", "same@email.com", Role.USER);
@@ -144,8 +152,8 @@ public class UserUserServiceImplTest {
 
         @Test
         void deleteLoggedUser_whenUserExists_shouldDeleteSuccessfully() {
-            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, null, null);
-            User user1 = new User(1L,"usernameTest1", "nameTest1", "email1@test.com", "testPassword", Role.USER, null, null);
+            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, 0, null, null);
+            User user1 = new User(1L,"usernameTest1", "nameTest1", "email1@test.com", "testPassword", Role.USER, 0, null, null);
 
             when(userServiceHelper.getUserEntityById(99L)).thenReturn(user);
             when(userRepository.findById(1L)).thenReturn(Optional.of(user1));
@@ -158,6 +166,7 @@ public class UserUserServiceImplTest {
             verify(userRepository).deleteById(99L);
             verify(accommodationRepository, never()).saveAll(anyList());
             verify(reservationRepository, never()).saveAll(anyList());
+            verify(authenticatedUserCache).invalidate(99L);
         }
 
         @Test
@@ -172,8 +181,8 @@ public class UserUserServiceImplTest {
 
         @Test
         void deleteLoggedUser_whenAccommodationsExist_shouldReassignAndSave() {
-            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, null, null);
-            User replacement = new User(1L,"replacement", "replacement", "replacement@test.com", "pass", Role.USER, null, null);
+            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, 0, null, null);
+            User replacement = new User(1L,"replacement", "replacement", "replacement@test.com", "pass", Role.USER, 0, null, null);
             Accommodation acc = new Accommodation();
             acc.setManagedBy(user);
 
@@ -190,8 +199,8 @@ public class UserUserServiceImplTest {
 
         @Test
         void deleteLoggedUser_whenReservationsExist_shouldReassignSetCancelledAndSave() {
-            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, null, null);
-            User replacement = new User(1L,"replacement", "replacement", "replacement@test.com", "pass", Role.USER, null, null);
+            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, 0, null, null);
+            User replacement = new User(1L,"replacement", "replacement", "replacement@test.com", "pass", Role.USER, 0, null, null);
             Reservation reservation = new Reservation();
             reservation.setUser(user);
 
@@ -208,8 +217,8 @@ public class UserUserServiceImplTest {
 
         @Test
         void deleteLoggedUser_whenBothAccommodationsAndReservationsExist_shouldProcessBoth() {
-            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, null, null);
-            User replacement = new User(1L,"replacement", "replacement", "replacement@test.com", "pass", Role.USER, null, null);
+            User user = new User(99L,"usernameTest", "nameTest", "email@test.com", "testPassword", Role.USER, 0, null, null);
+            User replacement = new User(1L,"replacement", "replacement", "replacement@test.com", "pass", Role.USER, 0, null, null);
 
             Accommodation acc = new Accommodation();
             acc.setManagedBy(user);
@@ -224,6 +233,7 @@ public class UserUserServiceImplTest {
             userUserServiceImpl.deleteMyUser(99L);
 
             verify(userRepository).deleteById(99L);
+            verify(loyaltyStayTracker).deleteForUser(99L);
         }
     }
 }
\ No newline at end of file
@@ -4,6 +4,7 @@ import com.SleepUp.SU.user.dto.UserMapper;
 import com.SleepUp.SU.user.dto.UserRequest;
 import com.SleepUp.SU.user.dto.UserRequestAdmin;
 import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.principal.AuthenticatedUserCache;
 import com.SleepUp.SU.user.repository.UserRepository;
 import com.SleepUp.SU.user.role.Role;
 import com.SleepUp.SU.utils.EntityUtil;
@@ -45,6 +46,9 @@ public class UserServiceHelperTest {
     @Mock
     private EntityUtil entityUtil;
 
+    @Mock
+    private AuthenticatedUserCache authenticatedUserCache;
+
     @InjectMocks
     private UserServiceHelper userServiceHelper;
 
@@ -139,6 +143,7 @@ public class UserServiceHelperTest {
         void updateUser_shouldValidateUsernameIfChanged() {
             UserRequest request = new UserRequest("newUsername", "name", "email@example.com", "password");
             User existingUser = spy(new User());
+            existingUser.setId(7L);
             existingUser.setUsername("oldUsername");
             existingUser.setEmail("email@example.com");
             existingUser.setPassword("oldPass");
@@ -159,6 +164,7 @@ public class UserServiceHelperTest {
             verify(spyUserServiceHelper, never()).validateUsernameDoesNotExist("email@example.com");
             assertEquals("encodedPassword", updatedUser.getPassword());
             assertEquals("newUsername", updatedUser.getUsername());
+            verify(authenticatedUserCache).invalidate(7L);
         }
 
         @Test
@@ -190,6 +196,51 @@ public class UserServiceHelperTest {
             assertEquals("oldPass", updated2.getPassword());
         }
 
+        @Test
+        void updateUser_newPassword_shouldStartNewTokenGeneration() {
+            UserRequest request = new UserRequest("username", "name", "email@example.com", "newPassword");
+            User existingUser = new User();
+            existingUser.setId(7L);
+            existingUser.setPassword("oldPass");
+            existingUser.setTokenGeneration(2);
+            when(passwordEncoder.encode("newPassword")).thenReturn("encodedPassword");
+
+            User updatedUser = userServiceHelper.updateUser(request, existingUser);
+
+            assertEquals(3, updatedUser.getTokenGeneration());
+            verify(authenticatedUserCache).invalidate(7L);
+        }
+
+        @Test
+        void updateUser_noNewPassword_shouldKeepTokenGeneration() {
+            UserRequest request = new UserRequest("username", "name", "email@example.com", null);
+            User existingUser = new User();
+            existingUser.setPassword("oldPass");
+            existingUser.setTokenGeneration(2);
+
+            User updatedUser = userServiceHelper.updateUser(request, existingUser);
+
+            assertEquals(2, updatedUser.getTokenGeneration());
+        }
+
+        @Test
+        void updateUserDataAdmin_roleChanged_shouldStartNewTokenGeneration() {
+            User existingUser = new User();
+            existingUser.setRole(Role.USER);
+            User unchangedUser = new User();
+            unchangedUser.setRole(Role.USER);
+            doReturn(existingUser).when(spyUserServiceHelper).updateUser(any(UserRequest.class), eq(existingUser));
+            doReturn(unchangedUser).when(spyUserServiceHelper).updateUser(any(UserRequest.class), eq(unchangedUser));
+
+            spyUserServiceHelper.updateUserDataAdmin(
+                    new UserRequestAdmin("username", "name", "email@example.com", null, Role.ADMIN), existingUser);
+            spyUserServiceHelper.updateUserDataAdmin(
+                    new UserRequestAdmin("username", "name", "email@example.com", null, Role.USER), unchangedUser);
+
+            assertEquals(1, existingUser.getTokenGeneration());
+            assertEquals(0, unchangedUser.getTokenGeneration());
+        }
+
         @Test
         void updateUserData_shouldDelegateToUpdateUser() {
             UserRequest request = new UserRequest("username", "name", "email@example.com", "pass");
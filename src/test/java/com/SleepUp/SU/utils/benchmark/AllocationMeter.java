@@ -0,0 +1,47 @@
+package com.SleepUp.SU.utils.benchmark;
+
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.util.function.Supplier;
+
+/**
+ * Measures the heap bytes allocated by the current thread for the {@code benchmark} tagged tests.
+ * Relies on the HotSpot thread allocation counters. Also estimates the heap a structure retains.
+ */
+public final class AllocationMeter {
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private AllocationMeter() {
+    }
+
+    public static long allocatedBytes(Runnable call) {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        call.run();
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Heap still in use once {@code build} returns, with its result kept reachable. Approximate:
+     * it compares heap usage after requested full collections.
+     */
+    public static long retainedBytes(Supplier<?> build) {
+        long before = usedHeapAfterGc();
+        Object result = build.get();
+        long after = usedHeapAfterGc();
+        Reference.reachabilityFence(result);
+        return after - before;
+    }
+
+    private static long usedHeapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    public static String format(long bytes) {
+        return String.format("%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
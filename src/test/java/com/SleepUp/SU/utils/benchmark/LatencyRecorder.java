@@ -0,0 +1,55 @@
+package com.SleepUp.SU.utils.benchmark;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records per-call latencies and reports percentiles for the {@code benchmark} tagged tests.
+ */
+public class LatencyRecorder {
+
+    private final String name;
+    private long[] samples;
+    private int count;
+
+    public LatencyRecorder(String name, int expectedSamples) {
+        this.name = name;
+        this.samples = new long[Math.max(16, expectedSamples)];
+    }
+
+    public void record(Runnable call) {
+        long start = System.nanoTime();
+        call.run();
+        add(System.nanoTime() - start);
+    }
+
+    public void add(long nanos) {
+        if (count == samples.length) {
+            samples = Arrays.copyOf(samples, count * 2);
+        }
+        samples[count++] = nanos;
+    }
+
+    public long percentileNanos(double percentile) {
+        if (count == 0) {
+            return 0;
+        }
+        long[] sorted = Arrays.copyOf(samples, count);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(percentile / 100.0 * count) - 1;
+        return sorted[Math.max(0, Math.min(count - 1, rank))];
+    }
+
+    public String summary() {
+        return String.format("%s: n=%d p50=%.3f ms p99=%.3f ms",
+                name, count, percentileNanos(50) / 1e6, percentileNanos(99) / 1e6);
+    }
+
+    /**
+     * Blocks the calling thread for roughly {@code micros}, standing in for one database round trip.
+     */
+    public static void simulateRoundTrip(long micros) {
+        LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(micros));
+    }
+}
@@ -15,6 +15,7 @@ import org.thymeleaf.context.Context;
 import org.thymeleaf.spring6.SpringTemplateEngine;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -98,6 +99,32 @@ class EmailServiceImplTest {
         verify(mailSender).send(mimeMessage);
     }
 
+    @Test
+    void sendOwnerBatchReservedNotification_reservationsValid_shouldSendSingleNotification() throws Exception {
+        User owner = new User();
+        owner.setEmail("owner@example.com");
+        Accommodation acc = new Accommodation();
+        acc.setManagedBy(owner);
+        Reservation first = new Reservation();
+        first.setAccommodation(acc);
+        Reservation second = new Reservation();
+        second.setAccommodation(acc);
+        List<Reservation> reservations = List.of(first, second);
+
+        when(emailHelper.canSendReservationEmails(first)).thenReturn(true);
+        when(emailHelper.createBatchContext(reservations, owner)).thenReturn(new Context());
+        when(templateEngine.process(eq("owner_batch_reservation_notification"), any())).thenReturn("<html></html>");
+
+        emailService.sendOwnerBatchReservedNotification(reservations);
+        verify(mailSender, times(1)).send(mimeMessage);
+    }
+
+    @Test
+    void sendOwnerBatchReservedNotification_emptyList_shouldNotSend() {
+        emailService.sendOwnerBatchReservedNotification(List.of());
+        verifyNoInteractions(mailSender);
+    }
+
     @Test
     void sendGuestReservationConfirmationEmail_reservationValid_shouldSendConfirmation() throws Exception {
         User guest = new User();
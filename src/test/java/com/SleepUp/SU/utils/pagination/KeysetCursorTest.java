@@ -0,0 +1,35 @@
+package com.SleepUp.SU.utils.pagination;
+
+import com.SleepUp.SU.exceptions.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class KeysetCursorTest {
+
+    @Test
+    void encode_thenDecode_shouldRoundTrip() {
+        KeysetCursor cursor = new KeysetCursor("2025-10-15", 42L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_sortKeyContainingSeparator_shouldKeepWholeKey() {
+        KeysetCursor cursor = new KeysetCursor("Sea|View", 7L);
+
+        assertEquals(cursor, KeysetCursor.decode(cursor.encode()));
+    }
+
+    @Test
+    void decode_notBase64_shouldThrowInvalidCursor() {
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode("***"));
+    }
+
+    @Test
+    void decode_missingId_shouldThrowInvalidCursor() {
+        String cursor = java.util.Base64.getUrlEncoder().encodeToString("2025-10-15".getBytes());
+
+        assertThrows(InvalidCursorException.class, () -> KeysetCursor.decode(cursor));
+    }
+}
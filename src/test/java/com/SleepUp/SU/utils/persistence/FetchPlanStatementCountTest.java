@@ -0,0 +1,141 @@
+package com.SleepUp.SU.utils.persistence;
+
+import com.SleepUp.SU.user.entity.CustomUserDetails;
+import com.SleepUp.SU.user.entity.User;
+import com.SleepUp.SU.user.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts the SQL statements each read endpoint issues. Deliberately not transactional:
+ * requests run exactly as in production, without a session left open for lazy loading,
+ * so a missing fetch plan shows up either as extra statements or as a failed request.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class FetchPlanStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    private CustomUserDetails principal(String username) {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new RuntimeException(username + " not found"));
+        return new CustomUserDetails(user);
+    }
+
+    private long statementsSinceClear() {
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Nested
+    class ReservationEndpoints {
+
+        @Test
+        void getReservationsForMyAccommodation_severalGuests_shouldCheckOwnershipAndLoadInOneQuery() throws Exception {
+            CustomUserDetails owner = principal("User1");
+            statistics.clear();
+
+            mockMvc.perform(get("/accommodations/{id}/reservations", 1L).with(user(owner)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2))
+                    .andExpect(jsonPath("$[0].userName").value("Name4"))
+                    .andExpect(jsonPath("$[1].userName").value("Name2"));
+
+            assertEquals(2, statementsSinceClear());
+        }
+
+        @Test
+        void getAllReservations_admin_shouldLoadInOneQuery() throws Exception {
+            statistics.clear();
+
+            mockMvc.perform(get("/reservations/admin").with(user("admin").roles("ADMIN")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5))
+                    .andExpect(jsonPath("$[4].accommodationName").value("Mountain View Cabin"));
+
+            assertEquals(1, statementsSinceClear());
+        }
+
+        @Test
+        void getReservationById_guest_shouldCheckAccessAndLoadInOneQuery() throws Exception {
+            CustomUserDetails guest = principal("User2");
+            statistics.clear();
+
+            mockMvc.perform(get("/reservations/{id}", 2L).with(user(guest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.userName").value("Name2"))
+                    .andExpect(jsonPath("$.accommodationName").value("Hotel ABC"));
+
+            assertEquals(3, statementsSinceClear());
+        }
+
+        @Test
+        void getMyReservations_pastPage_shouldLoadInOneQuery() throws Exception {
+            CustomUserDetails guest = principal("User2");
+            statistics.clear();
+
+            mockMvc.perform(get("/reservations").param("time", "PAST").with(user(guest)))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(2));
+
+            assertEquals(1, statementsSinceClear());
+        }
+    }
+
+    @Nested
+    class AccommodationEndpoints {
+
+        @Test
+        void getAccommodationById_shouldLoadWithOwnerInOneQuery() throws Exception {
+            statistics.clear();
+
+            mockMvc.perform(get("/accommodations/{id}", 2L).with(user("visitor")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.managedByUsername").value("Name2"));
+
+            assertEquals(1, statementsSinceClear());
+        }
+
+        @Test
+        void getAllAccommodations_catalogBuilt_shouldNotQuery() throws Exception {
+            statistics.clear();
+
+            mockMvc.perform(get("/accommodations").with(user("visitor")))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.length()").value(5));
+
+            assertEquals(0, statementsSinceClear());
+        }
+    }
+}
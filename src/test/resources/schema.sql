@@ -1,5 +1,8 @@
 SET FOREIGN_KEY_CHECKS = 0;
 
+DROP TABLE IF EXISTS revoked_tokens;
+DROP TABLE IF EXISTS loyalty_stays;
+DROP TABLE IF EXISTS rate_overrides;
 DROP TABLE IF EXISTS reservations;
 DROP TABLE IF EXISTS accommodations;
 DROP TABLE IF EXISTS users;
@@ -13,6 +16,7 @@ CREATE TABLE users (
   email VARCHAR(255) NOT NULL,
   role ENUM('USER', 'ADMIN') NOT NULL,
   password VARCHAR(255) NOT NULL,
+  token_generation INT NOT NULL DEFAULT 0,
   UNIQUE (username),
   UNIQUE (email)
 );
@@ -31,6 +35,15 @@ CREATE TABLE accommodations (
   name VARCHAR(100) NOT NULL,
   description VARCHAR(255) NOT NULL,
   image_url VARCHAR(255) NOT NULL,
+  occupancy_bitmap VARBINARY(512),
+  occupancy_updated_at DATETIME,
+  occupancy_origin DATE,
+  latitude DOUBLE,
+  longitude DOUBLE,
+  geo_cell INT,
+  KEY idx_accommodations_price_id (price, id),
+  KEY idx_accommodations_available_from_id (available_from, id),
+  KEY idx_accommodations_geo_cell (geo_cell),
   CONSTRAINT FK_accommodation_user FOREIGN KEY (managed_by_user_id) REFERENCES users(id)
 );
 
@@ -47,6 +60,34 @@ CREATE TABLE reservations (
   total_price DECIMAL(19,2) NOT NULL,
   KEY FK_accommodation_id (accommodation_id),
   KEY FK_user_id (user_id),
+  KEY idx_reservations_user_check_in (user_id, check_in_date, id),
+  KEY idx_reservations_availability (accommodation_id, check_out_date, check_in_date, booking_status),
   CONSTRAINT FK_accommodation FOREIGN KEY (accommodation_id) REFERENCES accommodations(id),
   CONSTRAINT FK_user FOREIGN KEY (user_id) REFERENCES users(id)
 );
+
+CREATE TABLE loyalty_stays (
+  user_id BIGINT NOT NULL,
+  accommodation_id BIGINT NOT NULL,
+  last_booked_at DATETIME,
+  PRIMARY KEY (user_id, accommodation_id)
+);
+
+CREATE TABLE rate_overrides (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  accommodation_id BIGINT NOT NULL,
+  start_date DATE NOT NULL,
+  end_date DATE NOT NULL,
+  nightly_price DECIMAL(10,2) NOT NULL,
+  weekends_only BOOLEAN NOT NULL,
+  KEY idx_rate_overrides_accommodation (accommodation_id, end_date),
+  CONSTRAINT FK_rate_override_accommodation FOREIGN KEY (accommodation_id) REFERENCES accommodations(id) ON DELETE CASCADE
+);
+
+CREATE TABLE revoked_tokens (
+  id BIGINT PRIMARY KEY AUTO_INCREMENT,
+  token_key BIGINT NOT NULL,
+  expires_at BIGINT NOT NULL,
+  UNIQUE KEY uk_revoked_tokens_token_key (token_key),
+  KEY idx_revoked_tokens_expires_at (expires_at)
+);